@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package binding;
+
+import java.util.Random;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.property.SimpleIntegerProperty;
+
+/**
+ * Measures the listener registry of a property with many listeners: adding
+ * and removing them in random order, detaching and reattaching single
+ * listeners while all the others stay registered, as cells do while
+ * scrolling, and firing when most listeners are weak listeners whose
+ * target was collected.
+ */
+public class ListenerRegistryBench {
+
+    private static final int LISTENERS = 10_000;
+    private static final int ROUNDS = 20;
+
+    private static long checksum;
+
+    public static void main(String[] args) {
+        final Random random = new Random(1);
+        for (int warmup = 0; warmup < 3; warmup++) {
+            addRemove(random);
+            churn(random);
+            fireDead();
+        }
+        System.out.println("add/remove: " + addRemove(random));
+        System.out.println("churn:      " + churn(random));
+        System.out.println("fire dead:  " + fireDead());
+    }
+
+    private static InvalidationListener[] createListeners() {
+        final InvalidationListener[] listeners = new InvalidationListener[LISTENERS];
+        for (int i = 0; i < LISTENERS; i++) {
+            final int id = i;
+            listeners[i] = o -> checksum += id;
+        }
+        return listeners;
+    }
+
+    private static String addRemove(Random random) {
+        final InvalidationListener[] listeners = createListeners();
+        long elapsed = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            final SimpleIntegerProperty property = new SimpleIntegerProperty();
+            shuffle(listeners, random);
+            final long start = System.nanoTime();
+            for (InvalidationListener listener : listeners) {
+                property.addListener(listener);
+            }
+            property.set(round + 1);
+            shuffle(listeners, random);
+            for (InvalidationListener listener : listeners) {
+                property.removeListener(listener);
+            }
+            elapsed += System.nanoTime() - start;
+        }
+        return String.format("%.2f ms per %d listeners", elapsed / 1e6 / ROUNDS, LISTENERS);
+    }
+
+    private static String churn(Random random) {
+        final InvalidationListener[] listeners = createListeners();
+        final SimpleIntegerProperty property = new SimpleIntegerProperty();
+        for (InvalidationListener listener : listeners) {
+            property.addListener(listener);
+        }
+        final long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < LISTENERS; i++) {
+                final InvalidationListener listener = listeners[random.nextInt(LISTENERS)];
+                property.removeListener(listener);
+                property.addListener(listener);
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+        return String.format("%.2f ms per %d detach and reattach", elapsed / 1e6 / ROUNDS, LISTENERS);
+    }
+
+    private static String fireDead() {
+        long elapsed = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            final SimpleIntegerProperty property = new SimpleIntegerProperty();
+            InvalidationListener[] targets = createListeners();
+            for (InvalidationListener target : targets) {
+                property.addListener(new WeakInvalidationListener(target));
+            }
+            targets = null;
+            System.gc();
+            final long start = System.nanoTime();
+            property.set(round + 1);
+            elapsed += System.nanoTime() - start;
+        }
+        return String.format("%.2f ms per fire over %d collected weak listeners", elapsed / 1e6 / ROUNDS, LISTENERS);
+    }
+
+    private static void shuffle(Object[] array, Random random) {
+        for (int i = array.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final Object t = array[i];
+            array[i] = array[j];
+            array[j] = t;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package binding;
+
+import java.lang.management.ManagementFactory;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.ObjectBinding;
+import javafx.beans.binding.PropertyPath;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
+/**
+ * Compares Bindings.select with PropertyPath.select for a two step path, as
+ * used by the cell value factory of a table column: creating a binding per
+ * row and reading it, and then reading all bindings again after the last
+ * property of every row changed. Reports the time and the bytes allocated.
+ */
+public class PropertyPathBench {
+
+    private static final int ROWS = 100_000;
+    private static final int ROUNDS = 10;
+
+    public static class Address {
+        private final StringProperty city = new SimpleStringProperty(this, "city");
+        public StringProperty cityProperty() { return city; }
+    }
+
+    public static class Customer {
+        private final ObjectProperty<Address> address = new SimpleObjectProperty<>(this, "address");
+        public ObjectProperty<Address> addressProperty() { return address; }
+    }
+
+    private static final PropertyPath<String> PATH = PropertyPath.of("address", "city");
+
+    private static long checksum;
+
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) {
+        final Customer[] customers = new Customer[ROWS];
+        final ObjectProperty<Customer>[] rows = new ObjectProperty[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            customers[i] = new Customer();
+            rows[i] = new SimpleObjectProperty<>(customers[i]);
+            customers[i].addressProperty().set(new Address());
+            customers[i].addressProperty().get().cityProperty().set("City " + (i % 100));
+        }
+        for (int warmup = 0; warmup < 3; warmup++) {
+            run(customers, rows, false);
+            run(customers, rows, true);
+        }
+        System.out.println("Bindings.select:     " + run(customers, rows, false));
+        System.out.println("PropertyPath.select: " + run(customers, rows, true));
+        System.out.println(checksum);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String run(Customer[] customers, ObjectProperty<Customer>[] rows, boolean compiled) {
+        final ObjectBinding<String>[] bindings = new ObjectBinding[ROWS];
+        long create = 0;
+        long update = 0;
+        long createBytes = 0;
+        long updateBytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < ROWS; i++) {
+                bindings[i] = compiled
+                        ? PATH.select(rows[i])
+                        : Bindings.select(rows[i], "address", "city");
+                checksum += bindings[i].get().length();
+            }
+            create += System.nanoTime() - start;
+            createBytes += allocatedBytes() - bytes;
+
+            for (int i = 0; i < ROWS; i++) {
+                customers[i].addressProperty().get().cityProperty().set("City " + (round % 100));
+            }
+            bytes = allocatedBytes();
+            start = System.nanoTime();
+            for (int i = 0; i < ROWS; i++) {
+                checksum += bindings[i].get().length();
+            }
+            update += System.nanoTime() - start;
+            updateBytes += allocatedBytes() - bytes;
+
+            for (int i = 0; i < ROWS; i++) {
+                bindings[i].dispose();
+            }
+        }
+        return String.format("create %.1f ms, %d bytes per row; reevaluate %.1f ms, %d bytes per row",
+                create / 1e6 / ROUNDS, createBytes / ROUNDS / ROWS,
+                update / 1e6 / ROUNDS, updateBytes / ROUNDS / ROWS);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package charts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Measures laying out and rendering a line chart with a large series while
+ * the visible range of the x axis is panned. Run it once as is and once with
+ * -Dcanvas=true to compare the node based rendering of the series with the
+ * canvas rendering mode.
+ */
+public class XYChartCanvasBench {
+
+    private static final int POINTS = 200_000;
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 800;
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = 50;
+
+    public static void main(String[] args) throws Exception {
+        final boolean canvas = Boolean.getBoolean("canvas");
+        final CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            final NumberAxis xAxis = new NumberAxis();
+            final NumberAxis yAxis = new NumberAxis(-2, 2, 0.5);
+            xAxis.setAutoRanging(false);
+            final LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
+            chart.setAnimated(false);
+            chart.setCreateSymbols(false);
+            chart.setCanvasRendering(canvas);
+
+            final List<XYChart.Data<Number, Number>> data = new ArrayList<>(POINTS);
+            for (int i = 0; i < POINTS; i++) {
+                data.add(new XYChart.Data<>(i, Math.sin(i / 500.0) + Math.sin(i / 7.0) * 0.3));
+            }
+            final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+            series.getData().setAll(data);
+            chart.getData().add(series);
+
+            new Scene(chart, WIDTH, HEIGHT);
+            final SnapshotParameters params = new SnapshotParameters();
+            final WritableImage image = new WritableImage(WIDTH, HEIGHT);
+
+            for (int i = 0; i < WARMUP; i++) {
+                pan(xAxis, i);
+                chart.snapshot(params, image);
+            }
+            final long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                pan(xAxis, i);
+                chart.snapshot(params, image);
+            }
+            final long elapsed = System.nanoTime() - start;
+            System.out.println("Canvas rendering: " + canvas);
+            System.out.printf("Panning %d points: %.2f ms per frame%n", POINTS, elapsed / 1e6 / ITERATIONS);
+            done.countDown();
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static void pan(NumberAxis xAxis, int frame) {
+        // show three quarters of the series, shifted a little every frame
+        final double offset = (frame % 20) * POINTS / 80.0;
+        xAxis.setLowerBound(offset);
+        xAxis.setUpperBound(offset + POINTS * 0.75);
+        xAxis.setTickUnit(POINTS / 10.0);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package collections;
+
+import java.util.Random;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+
+/**
+ * Measures scattered set calls on a list observed through a filtered and
+ * sorted view, done one by one and as one batch, and counts the change
+ * notifications and sub-changes the listener of the view has to process.
+ * The listener reads the first rows of the view on every notification, as
+ * a table refreshing its visible cells would.
+ */
+public class BatchedEditsBench {
+
+    private static final int SIZE = 200_000;
+    private static final int EDITS = 2_000;
+    private static final int ROUNDS = 10;
+    private static final int VISIBLE_ROWS = 50;
+
+    // keeps the view from being collected, it is only weakly referenced by the source
+    private static SortedList<Integer> view;
+    private static long checksum;
+
+    private static int notifications;
+    private static int subChanges;
+
+    public static void main(String[] args) {
+        final Random random = new Random(1);
+        final ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < SIZE; i++) {
+            source.add(random.nextInt());
+        }
+        view = source.filtered(i -> (i & 3) != 0).sorted();
+        view.addListener((ListChangeListener<Integer>) c -> {
+            notifications++;
+            while (c.next()) {
+                subChanges++;
+            }
+            for (int i = 0; i < VISIBLE_ROWS; i++) {
+                checksum += view.get(i);
+            }
+        });
+
+        for (int warmup = 0; warmup < 2; warmup++) {
+            run(source, random, false);
+            run(source, random, true);
+        }
+        System.out.println("one by one: " + run(source, random, false));
+        System.out.println("batched:    " + run(source, random, true));
+    }
+
+    private static String run(ObservableList<Integer> source, Random random, boolean batched) {
+        notifications = 0;
+        subChanges = 0;
+        final long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            if (batched) {
+                FXCollections.batch(source, l -> edit(l, random));
+            } else {
+                edit(source, random);
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+        return String.format("%.2f ms per %d edits, %d notifications, %d sub-changes",
+                elapsed / 1e6 / ROUNDS, EDITS, notifications / ROUNDS, subChanges / ROUNDS);
+    }
+
+    private static void edit(ObservableList<Integer> list, Random random) {
+        for (int i = 0; i < EDITS; i++) {
+            list.set(random.nextInt(list.size()), random.nextInt());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package collections;
+
+import com.sun.javafx.collections.SortHelper;
+import com.sun.javafx.collections.SortableList;
+import java.util.Comparator;
+import java.util.Random;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Compares sorting a large observable list in place, as the default table
+ * sort policy does on the FX thread, with the parallel permutation sort used
+ * by the asynchronous policy, which only snapshots the list and applies the
+ * permutation on the FX thread.
+ */
+public class ParallelSortBench {
+
+    private static final int ROWS = 2_000_000;
+
+    private static final Comparator<String> COMPARATOR = Comparator.naturalOrder();
+
+    public static void main(String[] args) {
+        final String[] data = new String[ROWS];
+        final Random random = new Random(0);
+        for (int i = 0; i < ROWS; i++) {
+            data[i] = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+        }
+        for (int warmup = 0; warmup < 3; warmup++) {
+            sequential(data);
+            parallel(data);
+        }
+        System.out.println("parallelism: " + java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+        System.out.println("in place:    " + sequential(data));
+        System.out.println("parallel:    " + parallel(data));
+    }
+
+    private static String sequential(String[] data) {
+        final ObservableList<String> list = FXCollections.observableArrayList(data);
+        final long start = System.nanoTime();
+        FXCollections.sort(list, COMPARATOR);
+        final long elapsed = System.nanoTime() - start;
+        return String.format("%.0f ms on the FX thread", elapsed / 1e6);
+    }
+
+    private static String parallel(String[] data) {
+        final ObservableList<String> list = FXCollections.observableArrayList(data);
+        final long start = System.nanoTime();
+        final String[] snapshot = list.toArray(new String[0]);
+        final long snapshotted = System.nanoTime();
+        final int[] perm = SortHelper.parallelSort(snapshot, COMPARATOR, null);
+        final long sorted = System.nanoTime();
+        ((SortableList<String>) list).permute(perm);
+        final long applied = System.nanoTime();
+        return String.format("%.0f ms in background, %.0f ms on the FX thread",
+                (sorted - snapshotted) / 1e6, ((snapshotted - start) + (applied - sorted)) / 1e6);
+    }
+}
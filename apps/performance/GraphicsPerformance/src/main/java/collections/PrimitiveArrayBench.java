@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package collections;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableDoubleArray;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableLongArray;
+
+/**
+ * Compares the heap used by a series of timestamped samples held in boxed
+ * observable lists and in primitive observable arrays, and the time taken
+ * to append them in chunks, as a data feed would.
+ */
+public class PrimitiveArrayBench {
+
+    private static final int SAMPLES = 2_000_000;
+    private static final int CHUNK = 1_000;
+
+    // keeps the data reachable while the heap is measured
+    private static Object times;
+    private static Object values;
+
+    public static void main(String[] args) {
+        for (int warmup = 0; warmup < 2; warmup++) {
+            boxed();
+            primitive();
+        }
+        System.out.println("boxed lists:      " + boxed());
+        System.out.println("primitive arrays: " + primitive());
+    }
+
+    private static String boxed() {
+        times = values = null;
+        final long before = usedHeap();
+        final long start = System.nanoTime();
+        final ObservableList<Long> t = FXCollections.observableArrayList();
+        final ObservableList<Double> v = FXCollections.observableArrayList();
+        final Long[] tc = new Long[CHUNK];
+        final Double[] vc = new Double[CHUNK];
+        for (int i = 0; i < SAMPLES; i += CHUNK) {
+            for (int j = 0; j < CHUNK; j++) {
+                tc[j] = 1_500_000_000_000L + (i + j) * 10L;
+                vc[j] = Math.sin((i + j) * 0.001);
+            }
+            t.addAll(tc);
+            v.addAll(vc);
+        }
+        final long elapsed = System.nanoTime() - start;
+        times = t;
+        values = v;
+        return report(elapsed, usedHeap() - before);
+    }
+
+    private static String primitive() {
+        times = values = null;
+        final long before = usedHeap();
+        final long start = System.nanoTime();
+        final ObservableLongArray t = FXCollections.observableLongArray();
+        final ObservableDoubleArray v = FXCollections.observableDoubleArray();
+        final long[] tc = new long[CHUNK];
+        final double[] vc = new double[CHUNK];
+        for (int i = 0; i < SAMPLES; i += CHUNK) {
+            for (int j = 0; j < CHUNK; j++) {
+                tc[j] = 1_500_000_000_000L + (i + j) * 10L;
+                vc[j] = Math.sin((i + j) * 0.001);
+            }
+            t.addAll(tc);
+            v.addAll(vc);
+        }
+        final long elapsed = System.nanoTime() - start;
+        times = t;
+        values = v;
+        return report(elapsed, usedHeap() - before);
+    }
+
+    private static String report(long elapsed, long bytes) {
+        return String.format("%.1f ms, %.1f MB for %d samples",
+                elapsed / 1e6, bytes / (1024.0 * 1024.0), SAMPLES);
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+
+/**
+ * Measures a feed of single element inserts and removes into a large source
+ * list which is viewed through a FilteredList and a SortedList, as a table
+ * showing a filtered and sorted live data set would.
+ */
+public class TransformationListBench {
+
+    private static final int SIZE = 1_000_000;
+    private static final int UPDATES = 20_000;
+
+    public static void main(String[] args) {
+        final Random random = new Random(1);
+        final List<Integer> initial = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            initial.add(random.nextInt());
+        }
+        final ObservableList<Integer> source = FXCollections.observableArrayList(initial);
+        final FilteredList<Integer> filtered = new FilteredList<>(source, i -> (i & 1) == 0);
+        final SortedList<Integer> sorted = new SortedList<>(filtered, Integer::compare);
+        final int[] changes = new int[1];
+        sorted.addListener((ListChangeListener<Integer>) c -> changes[0]++);
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < UPDATES; i++) {
+                source.add(random.nextInt());
+            }
+            long appends = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < UPDATES; i++) {
+                source.add(random.nextInt(source.size()), random.nextInt());
+            }
+            long inserts = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < 2 * UPDATES; i++) {
+                source.remove(random.nextInt(source.size()));
+            }
+            long removes = System.nanoTime() - start;
+
+            System.out.printf("append %.2f us, insert %.2f us, remove %.2f us per element (%d changes)%n",
+                    appends / 1e3 / UPDATES, inserts / 1e3 / UPDATES, removes / 1e3 / (2 * UPDATES), changes[0]);
+        }
+    }
+}
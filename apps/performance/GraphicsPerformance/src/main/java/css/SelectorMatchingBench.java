@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package css;
+
+import java.util.concurrent.CountDownLatch;
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TitledPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+/**
+ * Measures selector matching over modena.css: a deep tree of controls is
+ * built and css is re-applied to the whole tree repeatedly, which matches
+ * every candidate selector against every node. Run it once as is and once
+ * with -Djavafx.css.ancestorFilter=false to compare matching with and
+ * without the ancestor bloom filter.
+ */
+public class SelectorMatchingBench {
+
+    private static final int DEPTH = 12;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    public static void main(String[] args) throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            final VBox root = new VBox();
+            Parent content = createControls(0);
+            for (int i = 0; i < DEPTH; i++) {
+                final TitledPane pane = new TitledPane("Level " + i, new VBox(content, createControls(i)));
+                content = (i % 3 == 0) ? new ScrollPane(pane) : pane;
+            }
+            root.getChildren().add(content);
+            new Scene(root, 800, 600);
+            root.applyCss();
+            root.layout();
+
+            for (int i = 0; i < WARMUP; i++) {
+                restyle(root);
+            }
+            final long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                restyle(root);
+            }
+            final long elapsed = System.nanoTime() - start;
+            System.out.println("Ancestor filter: " + System.getProperty("javafx.css.ancestorFilter", "true"));
+            System.out.printf("Re-applying css: %.2f ms per pass%n", elapsed / 1e6 / ITERATIONS);
+            done.countDown();
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static Parent createControls(int i) {
+        final HBox box = new HBox(
+                new Label("Label " + i),
+                new Button("Button " + i),
+                new CheckBox("Check " + i),
+                new TextField("Text " + i));
+        box.getStyleClass().add("bench-row");
+        return box;
+    }
+
+    // changing a style class of the root makes the whole tree re-match its selectors
+    private static void restyle(Parent root) {
+        if (!root.getStyleClass().remove("bench")) {
+            root.getStyleClass().add("bench");
+        }
+        root.applyCss();
+    }
+}
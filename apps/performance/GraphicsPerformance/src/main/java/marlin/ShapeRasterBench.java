@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package marlin;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import javafx.application.Platform;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Measures the rasterization of anti-aliased shapes into coverage masks: a
+ * canvas is filled with many random curved paths, none of which can be
+ * served by the shape cache, and snapshotted repeatedly.
+ */
+public class ShapeRasterBench {
+
+    private static final int SIZE = 1024;
+    private static final int SHAPES = 400;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    public static void main(String[] args) throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            final Canvas canvas = new Canvas(SIZE, SIZE);
+            final SnapshotParameters params = new SnapshotParameters();
+            final WritableImage image = new WritableImage(SIZE, SIZE);
+
+            for (int i = 0; i < WARMUP; i++) {
+                draw(canvas.getGraphicsContext2D(), i);
+                canvas.snapshot(params, image);
+            }
+            final long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                draw(canvas.getGraphicsContext2D(), i);
+                canvas.snapshot(params, image);
+            }
+            final long elapsed = System.nanoTime() - start;
+            System.out.printf("Rasterizing %d shapes: %.2f ms per frame%n", SHAPES, elapsed / 1e6 / ITERATIONS);
+            done.countDown();
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static void draw(GraphicsContext gc, int seed) {
+        final Random r = new Random(seed);
+        gc.clearRect(0, 0, SIZE, SIZE);
+        for (int i = 0; i < SHAPES; i++) {
+            final double x = r.nextDouble() * SIZE;
+            final double y = r.nextDouble() * SIZE;
+            final double s = 20 + r.nextDouble() * 300;
+            gc.setFill(Color.hsb(r.nextDouble() * 360, 0.8, 0.9, 0.5));
+            gc.beginPath();
+            gc.moveTo(x, y);
+            gc.bezierCurveTo(x + s, y - s * r.nextDouble(), x + s * r.nextDouble(), y + s,
+                    x - s * r.nextDouble(), y + s * r.nextDouble());
+            gc.quadraticCurveTo(x - s, y, x, y);
+            gc.closePath();
+            gc.fill();
+        }
+    }
+}
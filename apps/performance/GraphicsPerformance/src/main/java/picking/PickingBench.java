@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package picking;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import javafx.application.Platform;
+import javafx.geometry.Point2D;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.robot.Robot;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+
+/**
+ * Measures mouse picking in a flat group of many small shapes, such as a
+ * large network diagram. The robot moves the mouse over the scene and waits
+ * for every move to be delivered before making the next one, so the time per
+ * event is dominated by picking the node under the mouse. Run it once as is
+ * and once with -Djavafx.sg.pickIndexThreshold=0 to compare picking through
+ * the spatial index of Parent with visiting all children.
+ */
+public class PickingBench {
+
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 800;
+    private static final int SHAPES = 50000;
+    private static final int WARMUP = 200;
+    private static final int MOVES = 1000;
+
+    public static void main(String[] args) throws Exception {
+        final Semaphore delivered = new Semaphore(0);
+        final CountDownLatch shown = new CountDownLatch(1);
+        final Scene[] scene = new Scene[1];
+        Platform.startup(() -> {
+            final Random r = new Random(42);
+            final Group root = new Group();
+            for (int i = 0; i < SHAPES; i++) {
+                final Rectangle rect = new Rectangle(r.nextDouble() * WIDTH, r.nextDouble() * HEIGHT, 3, 3);
+                rect.setFill(Color.hsb(r.nextDouble() * 360, 0.8, 0.8));
+                root.getChildren().add(rect);
+            }
+            scene[0] = new Scene(root, WIDTH, HEIGHT);
+            scene[0].addEventFilter(MouseEvent.MOUSE_MOVED, e -> delivered.release());
+            final Stage stage = new Stage();
+            stage.setScene(scene[0]);
+            stage.setOnShown(e -> shown.countDown());
+            stage.show();
+        });
+        shown.await();
+        Thread.sleep(1000);
+
+        final Robot[] robot = new Robot[1];
+        Platform.runLater(() -> robot[0] = new Robot());
+        final Random r = new Random(7);
+        long start = 0;
+        for (int i = 0; i < WARMUP + MOVES; i++) {
+            if (i == WARMUP) {
+                System.gc();
+                Thread.sleep(500);
+                delivered.drainPermits();
+                start = System.nanoTime();
+            }
+            final double x = 10 + r.nextDouble() * (WIDTH - 20);
+            final double y = 10 + r.nextDouble() * (HEIGHT - 20);
+            Platform.runLater(() -> {
+                final Point2D p = scene[0].getRoot().localToScreen(x, y);
+                robot[0].mouseMove(p);
+            });
+            delivered.acquire();
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.println("Pick index threshold: " + System.getProperty("javafx.sg.pickIndexThreshold", "512"));
+        System.out.printf("Picking among %d shapes: %.3f ms per mouse move%n", SHAPES, elapsed / 1e6 / MOVES);
+        Platform.exit();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package scrolling;
+
+import java.util.AbstractList;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.scene.Scene;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+
+/**
+ * Measures jumping to random rows of a list view with a million rows of
+ * varying height. Run it once as is and once with
+ * -Djavafx.scene.control.skin.VirtualFlow.cellSizeTree=true to compare the
+ * estimated positioning of the cells with the cell size tree.
+ */
+public class VariableHeightScrollToBench {
+
+    private static final int ROWS = 1_000_000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2000;
+
+    public static void main(String[] args) throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            final ListView<Integer> listView = new ListView<>(FXCollections.observableList(
+                    new AbstractList<Integer>() {
+                        @Override public Integer get(int index) {
+                            return index;
+                        }
+
+                        @Override public int size() {
+                            return ROWS;
+                        }
+                    }));
+            listView.setCellFactory(lv -> new ListCell<Integer>() {
+                @Override protected void updateItem(Integer item, boolean empty) {
+                    super.updateItem(item, empty);
+                    setText(empty ? null : item.toString());
+                    // rows between 20 and 80 pixels high
+                    setPrefHeight(empty ? USE_COMPUTED_SIZE : 20 + (item * 7919) % 61);
+                }
+            });
+            new Scene(listView, 400, 800);
+            listView.applyCss();
+            final Random random = new Random(42);
+
+            for (int i = 0; i < WARMUP; i++) {
+                jump(listView, random);
+            }
+            final long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                jump(listView, random);
+            }
+            final long elapsed = System.nanoTime() - start;
+            System.out.println("Cell size tree: "
+                    + Boolean.getBoolean("javafx.scene.control.skin.VirtualFlow.cellSizeTree"));
+            System.out.printf("scrollTo over %d rows: %.3f ms per jump%n", ROWS, elapsed / 1e6 / ITERATIONS);
+            done.countDown();
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static void jump(ListView<Integer> listView, Random random) {
+        listView.scrollTo(random.nextInt(ROWS));
+        listView.layout();
+    }
+}
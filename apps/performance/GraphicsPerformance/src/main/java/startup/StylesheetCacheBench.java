@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package startup;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.layout.Region;
+
+/**
+ * Measures the time it takes to style the first scene of an application
+ * with a large author stylesheet, with and without the on-disk binary
+ * stylesheet cache (-Djavafx.css.cache=true).
+ * <p>
+ * Since stylesheets are only loaded once per process, every measurement
+ * is taken in a fresh JVM: once with the cache disabled, once with an
+ * empty cache (cold) and several times with a populated cache (warm).
+ * The stylesheet to use can be given as the first argument, otherwise a
+ * stylesheet with a few thousand rules is generated.
+ */
+public class StylesheetCacheBench {
+
+    private static final int WARM_RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "-child".equals(args[0])) {
+            runChild(args[1]);
+            return;
+        }
+
+        final File tmp = File.createTempFile("cssbench", "");
+        tmp.delete();
+        tmp.mkdirs();
+        final File css = args.length > 0 ? new File(args[0]) : generateStylesheet(new File(tmp, "bench.css"));
+        final File cacheDir = new File(tmp, "cache");
+
+        final long parse = runInNewVM(css, false, cacheDir);
+        final long cold = runInNewVM(css, true, cacheDir);
+        final long[] warm = new long[WARM_RUNS];
+        for (int i = 0; i < WARM_RUNS; i++) {
+            warm[i] = runInNewVM(css, true, cacheDir);
+        }
+        Arrays.sort(warm);
+
+        System.out.println("Stylesheet: " + css + " (" + css.length() / 1024 + " KB)");
+        System.out.println("No cache:   " + parse + " ms");
+        System.out.println("Cold cache: " + cold + " ms");
+        System.out.println("Warm cache: " + warm[WARM_RUNS / 2] + " ms (median of " + WARM_RUNS + ")");
+    }
+
+    private static File generateStylesheet(File file) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            for (int i = 0; i < 2000; i++) {
+                out.println(".bench-" + i + ", .group-" + (i % 50) + " > .bench-" + i + ":hover {");
+                out.println("    -fx-background-color: linear-gradient(to bottom, derive(#" +
+                        String.format("%06x", (i * 7919) & 0xffffff) + ", 20%), #" +
+                        String.format("%06x", (i * 104729) & 0xffffff) + ");");
+                out.println("    -fx-background-radius: " + (i % 7) + " " + (i % 5) + ";");
+                out.println("    -fx-padding: " + (i % 11) + "px " + (i % 13) + "px;");
+                out.println("    -fx-border-color: rgba(" + (i % 256) + ", 0, 0, 0.5);");
+                out.println("}");
+            }
+        }
+        return file;
+    }
+
+    private static long runInNewVM(File css, boolean cache, File cacheDir) throws Exception {
+        final List<String> cmd = new ArrayList<>();
+        cmd.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        cmd.add("-Djavafx.css.cache=" + cache);
+        cmd.add("-Djavafx.cachedir=" + cacheDir.getAbsolutePath());
+        final String modulePath = System.getProperty("jdk.module.path");
+        if (modulePath != null) {
+            cmd.add("--module-path");
+            cmd.add(modulePath);
+            cmd.add("--add-modules");
+            cmd.add("javafx.graphics");
+        }
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        cmd.add(StylesheetCacheBench.class.getName());
+        cmd.add("-child");
+        cmd.add(css.toURI().toURL().toExternalForm());
+
+        final Process process = new ProcessBuilder(cmd)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        final String out = new String(process.getInputStream().readAllBytes()).trim();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Benchmark VM failed: " + out);
+        }
+        return Long.parseLong(out);
+    }
+
+    private static void runChild(String stylesheet) throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            final Region region = new Region();
+            region.getStyleClass().add("bench-0");
+            final Scene scene = new Scene(new Group(region));
+            scene.getStylesheets().add(stylesheet);
+
+            final long start = System.nanoTime();
+            scene.getRoot().applyCss();
+            System.out.println((System.nanoTime() - start) / 1000000L);
+            done.countDown();
+        });
+        done.await();
+        Platform.exit();
+    }
+}
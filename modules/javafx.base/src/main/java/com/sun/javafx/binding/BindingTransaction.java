@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Defers the change events of {@link ExpressionHelper}s while an action
+ * runs, see {@link javafx.beans.binding.Bindings#transaction(Runnable)}.
+ * <p>
+ * Invalidation listeners are still notified right away, so invalidation
+ * propagates through the dependency graph as usual, but no value is
+ * computed for change listeners. Since bindings only notify when they go
+ * from valid to invalid, every binding is invalidated once at most. When
+ * the outermost transaction ends, the helpers are asked to notify their
+ * change listeners in the order in which they were first invalidated,
+ * computing every value once, with all the updates of the action applied.
+ * Change events caused by these listeners are deferred the same way and
+ * delivered before the transaction ends.
+ */
+public final class BindingTransaction {
+
+    /* number of threads running a transaction, so that the common case costs one read */
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+    private static final ThreadLocal<BindingTransaction> CURRENT = new ThreadLocal<>();
+
+    private final List<ExpressionHelper<?>> pending = new ArrayList<>();
+    private int depth;
+
+    private BindingTransaction() {
+    }
+
+    public static void run(Runnable action) {
+        if (action == null) {
+            throw new NullPointerException("Action must be specified");
+        }
+        BindingTransaction transaction = CURRENT.get();
+        if (transaction == null) {
+            transaction = new BindingTransaction();
+            CURRENT.set(transaction);
+            ACTIVE.incrementAndGet();
+        }
+        transaction.depth++;
+        try {
+            action.run();
+        } finally {
+            if (transaction.depth == 1) {
+                try {
+                    transaction.flush();
+                } finally {
+                    transaction.depth = 0;
+                    CURRENT.remove();
+                    ACTIVE.decrementAndGet();
+                }
+            } else {
+                transaction.depth--;
+            }
+        }
+    }
+
+    /**
+     * Defers the change event of {@code helper} if a transaction runs on
+     * the current thread.
+     *
+     * @return true if the event was deferred
+     */
+    static boolean defer(ExpressionHelper<?> helper) {
+        if (ACTIVE.get() == 0) {
+            return false;
+        }
+        final BindingTransaction transaction = CURRENT.get();
+        if (transaction == null) {
+            return false;
+        }
+        if (!helper.deferred) {
+            helper.deferred = true;
+            transaction.pending.add(helper);
+        }
+        return true;
+    }
+
+    private void flush() {
+        try {
+            // listeners may defer further events, which are appended
+            for (int i = 0; i < pending.size(); i++) {
+                final ExpressionHelper<?> helper = pending.get(i);
+                pending.set(i, null);
+                if (helper.deferred) {
+                    helper.deferred = false;
+                    helper.fireDeferredChangeEvent();
+                }
+            }
+        } finally {
+            for (ExpressionHelper<?> helper : pending) {
+                if (helper != null) {
+                    helper.deferred = false;
+                }
+            }
+            pending.clear();
+        }
+    }
+}
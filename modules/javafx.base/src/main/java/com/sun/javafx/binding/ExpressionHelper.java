@@ -29,8 +29,6 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 
-import java.util.Arrays;
-
 /**
  * A convenience class for creating implementations of {@link javafx.beans.value.ObservableValue}.
  * It contains all of the infrastructure support for value invalidation- and
@@ -51,28 +49,44 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             throw new NullPointerException();
         }
         observable.getValue(); // validate observable
-        return (helper == null)? new SingleInvalidation<T>(observable, listener) : helper.addListener(listener);
+        return (helper == null)? new SingleInvalidation<T>(observable, listener) : replace(helper, helper.addListener(listener));
     }
 
     public static <T> ExpressionHelper<T> removeListener(ExpressionHelper<T> helper, InvalidationListener listener) {
         if (listener == null) {
             throw new NullPointerException();
         }
-        return (helper == null)? null : helper.removeListener(listener);
+        return (helper == null)? null : replace(helper, helper.removeListener(listener));
     }
 
     public static <T> ExpressionHelper<T> addListener(ExpressionHelper<T> helper, ObservableValue<T> observable, ChangeListener<? super T> listener) {
         if ((observable == null) || (listener == null)) {
             throw new NullPointerException();
         }
-        return (helper == null)? new SingleChange<T>(observable, listener) : helper.addListener(listener);
+        return (helper == null)? new SingleChange<T>(observable, listener) : replace(helper, helper.addListener(listener));
     }
 
     public static <T> ExpressionHelper<T> removeListener(ExpressionHelper<T> helper, ChangeListener<? super T> listener) {
         if (listener == null) {
             throw new NullPointerException();
         }
-        return (helper == null)? null : helper.removeListener(listener);
+        return (helper == null)? null : replace(helper, helper.removeListener(listener));
+    }
+
+    /**
+     * Hands the change event deferred by a {@link BindingTransaction} over
+     * to the helper replacing {@code oldHelper}, so that the change
+     * listeners are notified once with the value they saw last.
+     */
+    private static <T> ExpressionHelper<T> replace(ExpressionHelper<T> oldHelper, ExpressionHelper<T> newHelper) {
+        if (oldHelper.deferred && (newHelper != oldHelper)) {
+            oldHelper.deferred = false;
+            if ((newHelper != null) && newHelper.hasChangeListeners()) {
+                newHelper.setCurrentValue(oldHelper.getCurrentValue());
+                BindingTransaction.defer(newHelper);
+            }
+        }
+        return newHelper;
     }
 
     public static <T> void fireValueChangedEvent(ExpressionHelper<T> helper) {
@@ -86,6 +100,9 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
     protected final ObservableValue<T> observable;
 
+    /* true while a change event waits for the end of a BindingTransaction */
+    boolean deferred;
+
     private ExpressionHelper(ObservableValue<T> observable) {
         this.observable = observable;
     }
@@ -98,6 +115,24 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
     protected abstract void fireValueChangedEvent();
 
+    /**
+     * Notifies the change listeners of a change event deferred by a
+     * {@link BindingTransaction}.
+     */
+    void fireDeferredChangeEvent() {
+    }
+
+    boolean hasChangeListeners() {
+        return false;
+    }
+
+    T getCurrentValue() {
+        return null;
+    }
+
+    void setCurrentValue(T value) {
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Implementations
 
@@ -173,6 +208,28 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
         @Override
         protected void fireValueChangedEvent() {
+            if (!BindingTransaction.defer(this)) {
+                fireDeferredChangeEvent();
+            }
+        }
+
+        @Override
+        boolean hasChangeListeners() {
+            return true;
+        }
+
+        @Override
+        T getCurrentValue() {
+            return currentValue;
+        }
+
+        @Override
+        void setCurrentValue(T value) {
+            currentValue = value;
+        }
+
+        @Override
+        void fireDeferredChangeEvent() {
             final T oldValue = currentValue;
             currentValue = observable.getValue();
             final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
@@ -188,88 +245,46 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
     private static class Generic<T> extends ExpressionHelper<T> {
 
-        private InvalidationListener[] invalidationListeners;
-        private ChangeListener<? super T>[] changeListeners;
-        private int invalidationSize;
-        private int changeSize;
-        private boolean locked;
+        private ListenerList invalidationListeners;
+        private ListenerList changeListeners;
         private T currentValue;
 
         private Generic(ObservableValue<T> observable, InvalidationListener listener0, InvalidationListener listener1) {
             super(observable);
-            this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
-            this.invalidationSize = 2;
+            this.invalidationListeners = new ListenerList(listener0, listener1);
         }
 
         private Generic(ObservableValue<T> observable, ChangeListener<? super T> listener0, ChangeListener<? super T> listener1) {
             super(observable);
-            this.changeListeners = new ChangeListener[] {listener0, listener1};
-            this.changeSize = 2;
+            this.changeListeners = new ListenerList(listener0, listener1);
             this.currentValue = observable.getValue();
         }
 
         private Generic(ObservableValue<T> observable, InvalidationListener invalidationListener, ChangeListener<? super T> changeListener) {
             super(observable);
-            this.invalidationListeners = new InvalidationListener[] {invalidationListener};
-            this.invalidationSize = 1;
-            this.changeListeners = new ChangeListener[] {changeListener};
-            this.changeSize = 1;
+            this.invalidationListeners = new ListenerList(invalidationListener);
+            this.changeListeners = new ListenerList(changeListener);
             this.currentValue = observable.getValue();
         }
 
+        private static int size(ListenerList listeners) {
+            return (listeners == null)? 0 : listeners.size();
+        }
+
         @Override
         protected Generic<T> addListener(InvalidationListener listener) {
             if (invalidationListeners == null) {
-                invalidationListeners = new InvalidationListener[] {listener};
-                invalidationSize = 1;
+                invalidationListeners = new ListenerList(listener);
             } else {
-                final int oldCapacity = invalidationListeners.length;
-                if (locked) {
-                    final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                } else if (invalidationSize == oldCapacity) {
-                    invalidationSize = trim(invalidationSize, invalidationListeners);
-                    if (invalidationSize == oldCapacity) {
-                        final int newCapacity = (oldCapacity * 3)/2 + 1;
-                        invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                    }
-                }
-                invalidationListeners[invalidationSize++] = listener;
+                invalidationListeners.add(listener);
             }
             return this;
         }
 
         @Override
         protected ExpressionHelper<T> removeListener(InvalidationListener listener) {
-            if (invalidationListeners != null) {
-                for (int index = 0; index < invalidationSize; index++) {
-                    if (listener.equals(invalidationListeners[index])) {
-                        if (invalidationSize == 1) {
-                            if (changeSize == 1) {
-                                return new SingleChange<T>(observable, changeListeners[0]);
-                            }
-                            invalidationListeners = null;
-                            invalidationSize = 0;
-                        } else if ((invalidationSize == 2) && (changeSize == 0)) {
-                            return new SingleInvalidation<T>(observable, invalidationListeners[1-index]);
-                        } else {
-                            final int numMoved = invalidationSize - index - 1;
-                            final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
-                                invalidationListeners = new InvalidationListener[invalidationListeners.length];
-                                System.arraycopy(oldListeners, 0, invalidationListeners, 0, index);
-                            }
-                            if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
-                            }
-                            invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[invalidationSize] = null; // Let gc do its work
-                            }
-                        }
-                        break;
-                    }
-                }
+            if (invalidationListeners != null && invalidationListeners.remove(listener)) {
+                return simplify();
             }
             return this;
         }
@@ -277,23 +292,11 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         @Override
         protected ExpressionHelper<T> addListener(ChangeListener<? super T> listener) {
             if (changeListeners == null) {
-                changeListeners = new ChangeListener[] {listener};
-                changeSize = 1;
+                changeListeners = new ListenerList(listener);
             } else {
-                final int oldCapacity = changeListeners.length;
-                if (locked) {
-                    final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                } else if (changeSize == oldCapacity) {
-                    changeSize = trim(changeSize, changeListeners);
-                    if (changeSize == oldCapacity) {
-                        final int newCapacity = (oldCapacity * 3)/2 + 1;
-                        changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                    }
-                }
-                changeListeners[changeSize++] = listener;
+                changeListeners.add(listener);
             }
-            if (changeSize == 1) {
+            if (changeListeners.size() == 1) {
                 currentValue = observable.getValue();
             }
             return this;
@@ -301,71 +304,115 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
         @Override
         protected ExpressionHelper<T> removeListener(ChangeListener<? super T> listener) {
-            if (changeListeners != null) {
-                for (int index = 0; index < changeSize; index++) {
-                    if (listener.equals(changeListeners[index])) {
-                        if (changeSize == 1) {
-                            if (invalidationSize == 1) {
-                                return new SingleInvalidation<T>(observable, invalidationListeners[0]);
-                            }
-                            changeListeners = null;
-                            changeSize = 0;
-                        } else if ((changeSize == 2) && (invalidationSize == 0)) {
-                            return new SingleChange<T>(observable, changeListeners[1-index]);
-                        } else {
-                            final int numMoved = changeSize - index - 1;
-                            final ChangeListener<? super T>[] oldListeners = changeListeners;
-                            if (locked) {
-                                changeListeners = new ChangeListener[changeListeners.length];
-                                System.arraycopy(oldListeners, 0, changeListeners, 0, index);
-                            }
-                            if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
-                            }
-                            changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
-                            }
-                        }
-                        break;
-                    }
-                }
+            if (changeListeners != null && changeListeners.remove(listener)) {
+                return simplify();
+            }
+            return this;
+        }
+
+        /**
+         * Returns the helper to use after a listener was removed, which is
+         * a single listener helper once only one listener is left.
+         */
+        @SuppressWarnings("unchecked")
+        private ExpressionHelper<T> simplify() {
+            final int invalidationSize = size(invalidationListeners);
+            final int changeSize = size(changeListeners);
+            if (invalidationSize == 0) {
+                invalidationListeners = null;
+            }
+            if (changeSize == 0) {
+                changeListeners = null;
+            }
+            if (invalidationSize + changeSize == 0) {
+                return null;
+            } else if (invalidationSize + changeSize == 1) {
+                return (invalidationSize == 1)
+                        ? new SingleInvalidation<T>(observable, (InvalidationListener) invalidationListeners.first())
+                        : new SingleChange<T>(observable, (ChangeListener<? super T>) changeListeners.first());
             }
             return this;
         }
 
+        @Override
+        boolean hasChangeListeners() {
+            return changeListeners != null;
+        }
+
+        @Override
+        T getCurrentValue() {
+            return currentValue;
+        }
+
+        @Override
+        void setCurrentValue(T value) {
+            currentValue = value;
+        }
+
         @Override
         protected void fireValueChangedEvent() {
-            final InvalidationListener[] curInvalidationList = invalidationListeners;
-            final int curInvalidationSize = invalidationSize;
-            final ChangeListener<? super T>[] curChangeList = changeListeners;
-            final int curChangeSize = changeSize;
+            final ListenerList invalidations = invalidationListeners;
+            final ListenerList changes = ((changeListeners != null) && BindingTransaction.defer(this))? null : changeListeners;
+            final Object[] curInvalidationList = (invalidations == null)? null : invalidations.lock();
+            final int curInvalidationEnd = (invalidations == null)? 0 : invalidations.end();
+            final Object[] curChangeList = (changes == null)? null : changes.lock();
+            final int curChangeEnd = (changes == null)? 0 : changes.end();
 
             try {
-                locked = true;
-                for (int i = 0; i < curInvalidationSize; i++) {
+                for (int i = 0; i < curInvalidationEnd; i++) {
+                    final InvalidationListener listener = (InvalidationListener) curInvalidationList[i];
+                    if (listener == null) {
+                        continue;
+                    }
                     try {
-                        curInvalidationList[i].invalidated(observable);
+                        listener.invalidated(observable);
                     } catch (Exception e) {
                         Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
                     }
                 }
-                if (curChangeSize > 0) {
-                    final T oldValue = currentValue;
-                    currentValue = observable.getValue();
-                    final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
-                    if (changed) {
-                        for (int i = 0; i < curChangeSize; i++) {
-                            try {
-                                curChangeList[i].changed(observable, oldValue, currentValue);
-                            } catch (Exception e) {
-                                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
-                            }
-                        }
-                    }
+                if (curChangeEnd > 0) {
+                    notifyChangeListeners(curChangeList, curChangeEnd);
                 }
             } finally {
-                locked = false;
+                if (invalidations != null) {
+                    invalidations.unlock();
+                }
+                if (changes != null) {
+                    changes.unlock();
+                }
+            }
+        }
+
+        @Override
+        void fireDeferredChangeEvent() {
+            final ListenerList changes = changeListeners;
+            if (changes != null) {
+                final Object[] curChangeList = changes.lock();
+                try {
+                    notifyChangeListeners(curChangeList, changes.end());
+                } finally {
+                    changes.unlock();
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void notifyChangeListeners(Object[] curChangeList, int curChangeEnd) {
+            final T oldValue = currentValue;
+            currentValue = observable.getValue();
+            final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
+            if (changed) {
+                for (int i = 0; i < curChangeEnd; i++) {
+                    final ChangeListener<? super T> listener = (ChangeListener<? super T>) curChangeList[i];
+                    if (listener == null) {
+                        continue;
+                    }
+                    try {
+                        listener.changed(observable, oldValue, currentValue);
+                    } catch (Exception e) {
+                        Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                    }
+                }
             }
         }
     }
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javafx.beans.WeakListener;
+
+/**
+ * The listeners of one kind registered with an {@link ExpressionHelper},
+ * in the order they were added.
+ * <p>
+ * Removing a listener leaves an empty slot behind instead of shifting the
+ * following listeners, and the slots are compacted once at least half of
+ * them are empty. Once there are more than a few listeners, the slot of
+ * every listener is kept in a hash map, which makes removing a listener
+ * O(1) instead of a linear scan. Listeners are looked up with their
+ * {@code equals} and {@code hashCode} methods.
+ * <p>
+ * Every time the slots are compacted or have to grow, the
+ * {@link WeakListener}s whose listener was garbage collected are dropped,
+ * so they are purged in amortized O(1) even if the observable never fires.
+ * <p>
+ * The slots handed out by {@link #lock()} are never modified until the
+ * matching {@link #unlock()}, changes made in the meantime go to a copy.
+ */
+final class ListenerList {
+
+    /* below this number of listeners, a linear scan is cheaper than hashing */
+    private static final int INDEX_THRESHOLD = 16;
+
+    private Object[] slots;
+    private int end;
+    private int size;
+    private Map<Object, Slot> index;
+
+    private int locks;
+    private Object[] locked;
+
+    private static final class Slot {
+        int slot;
+        int count = 1;
+
+        Slot(int slot) {
+            this.slot = slot;
+        }
+    }
+
+    ListenerList(Object listener) {
+        slots = new Object[] {listener};
+        end = 1;
+        size = 1;
+    }
+
+    ListenerList(Object listener0, Object listener1) {
+        slots = new Object[] {listener0, listener1};
+        end = 2;
+        size = 2;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the first listener, or null if there is none.
+     */
+    Object first() {
+        for (int i = 0; i < end; i++) {
+            if (slots[i] != null) {
+                return slots[i];
+            }
+        }
+        return null;
+    }
+
+    void add(Object listener) {
+        prepareForChange();
+        if (end == slots.length) {
+            compact();
+            if (end == slots.length) {
+                slots = Arrays.copyOf(slots, (slots.length * 3) / 2 + 1);
+            }
+        }
+        if (index != null) {
+            final Slot s = index.get(listener);
+            if (s == null) {
+                index.put(listener, new Slot(end));
+            } else {
+                s.count++;
+            }
+        } else if (size >= INDEX_THRESHOLD) {
+            slots[end] = listener;
+            end++;
+            size++;
+            buildIndex();
+            return;
+        }
+        slots[end++] = listener;
+        size++;
+    }
+
+    /**
+     * Removes the first listener equal to the given one, returns false if
+     * there is none.
+     */
+    boolean remove(Object listener) {
+        int slot = -1;
+        if (index != null) {
+            final Slot s = index.get(listener);
+            if (s == null) {
+                return false;
+            }
+            slot = s.slot;
+            if (--s.count == 0) {
+                index.remove(listener);
+            } else {
+                // added several times, the next occurrence is now the first
+                int next = slot + 1;
+                while (!listener.equals(slots[next])) {
+                    next++;
+                }
+                s.slot = next;
+            }
+        } else {
+            for (int i = 0; i < end; i++) {
+                if (slots[i] != null && listener.equals(slots[i])) {
+                    slot = i;
+                    break;
+                }
+            }
+            if (slot < 0) {
+                return false;
+            }
+        }
+        prepareForChange();
+        slots[slot] = null;
+        size--;
+        if (slot == end - 1) {
+            end--;
+        }
+        if (end - size > size && end > INDEX_THRESHOLD) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the slots to iterate over, up to {@link #end()} and skipping
+     * empty ones, which stay unmodified until {@link #unlock()} is called.
+     */
+    Object[] lock() {
+        locks++;
+        locked = slots;
+        return slots;
+    }
+
+    int end() {
+        return end;
+    }
+
+    void unlock() {
+        if (--locks == 0) {
+            locked = null;
+        }
+    }
+
+    private void prepareForChange() {
+        if (locked == slots) {
+            slots = slots.clone();
+        }
+    }
+
+    /**
+     * Moves all listeners to the front of the slots, dropping the weak
+     * listeners which are no longer needed, and reassigns their slots.
+     */
+    private void compact() {
+        prepareForChange();
+        int dst = 0;
+        for (int src = 0; src < end; src++) {
+            final Object listener = slots[src];
+            if (listener != null && !(listener instanceof WeakListener && ((WeakListener) listener).wasGarbageCollected())) {
+                slots[dst++] = listener;
+            }
+        }
+        Arrays.fill(slots, dst, end, null);
+        end = dst;
+        size = dst;
+        if (index != null) {
+            if (size < INDEX_THRESHOLD / 2) {
+                index = null;
+            } else {
+                buildIndex();
+            }
+        }
+    }
+
+    private void buildIndex() {
+        index = new HashMap<>(size * 2);
+        for (int i = 0; i < end; i++) {
+            final Object listener = slots[i];
+            if (listener != null) {
+                final Slot s = index.get(listener);
+                if (s == null) {
+                    index.put(listener, new Slot(i));
+                } else {
+                    s.count++;
+                }
+            }
+        }
+    }
+}
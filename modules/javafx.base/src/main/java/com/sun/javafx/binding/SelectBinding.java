@@ -45,7 +45,7 @@ import javafx.collections.ObservableList;
 import com.sun.javafx.property.JavaBeanAccessHelper;
 import com.sun.javafx.logging.PlatformLogger;
 import com.sun.javafx.logging.PlatformLogger.Level;
-import com.sun.javafx.property.PropertyReference;
+import com.sun.javafx.property.PropertyAccessor;
 import java.util.Arrays;
 
 /**
@@ -53,7 +53,7 @@ import java.util.Arrays;
  * binding will be "c", or null if c could not be reached (due to "b" not having
  * a "c" property, or "b" being null). "a" must be passed to the constructor of
  * the SelectBinding and may be any dependency. All subsequent links are simply
- * PropertyReferences.
+ * PropertyAccessors.
  * <p>
  * With a SelectBinding, "a" must always exist. Usually "a" will refer to
  * "this", or some concrete object. "b"* will be some intermediate step in the
@@ -409,7 +409,7 @@ public class SelectBinding {
         private final Binding<?> binding;
         private final String[] propertyNames;
         private final ObservableValue<?>[] properties;
-        private final PropertyReference<?>[] propRefs;
+        private final PropertyAccessor[] accessors;
         private final WeakInvalidationListener observer;
 
         private ObservableList<ObservableValue<?>> dependencies;
@@ -434,7 +434,7 @@ public class SelectBinding {
             observer = new WeakInvalidationListener(this);
             propertyNames = new String[n];
             System.arraycopy(steps, 0, propertyNames, 0, n);
-            propRefs = new PropertyReference<?>[n];
+            accessors = new PropertyAccessor[n];
             properties = new ObservableValue<?>[n + 1];
             properties[0] = firstProperty;
             properties[0].addListener(observer);
@@ -467,16 +467,14 @@ public class SelectBinding {
             for (int i = 0; i < n - 1; i++) {
                 final Object obj = properties[i].getValue();
                 try {
-                    if ((propRefs[i] == null)
-                            || (!obj.getClass().equals(
-                            propRefs[i].getContainingClass()))) {
-                        propRefs[i] = new PropertyReference<Object>(obj.getClass(),
-                                propertyNames[i]);
+                    if ((accessors[i] == null)
+                            || (obj.getClass() != accessors[i].getContainingClass())) {
+                        accessors[i] = PropertyAccessor.get(obj.getClass(), propertyNames[i]);
                     }
-                    if (propRefs[i].hasProperty()) {
-                        properties[i + 1] = propRefs[i].getProperty(obj);
+                    if (accessors[i].hasProperty()) {
+                        properties[i + 1] = accessors[i].getProperty(obj);
                     } else {
-                        properties[i + 1] = JavaBeanAccessHelper.createReadOnlyJavaBeanProperty(obj, propRefs[i].getName());
+                        properties[i + 1] = JavaBeanAccessHelper.createReadOnlyJavaBeanProperty(obj, accessors[i].getName());
                     }
                 } catch (NoSuchMethodException ex) {
                     Logging.getLogger().warning("Exception while evaluating select-binding " + stepsToString(), ex);
@@ -226,6 +226,14 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
         fireChange(new SimplePermutationChange<E>(0, size(), perm, this));
     }
 
+    @Override
+    public void permute(int[] perm) {
+        SortHelper.permute(backingList, perm);
+        if (perm.length > 0) {
+            fireChange(new SimplePermutationChange<E>(0, size(), perm, this));
+        }
+    }
+
     private SortHelper getSortHelper() {
         if (helper == null) {
             helper = new SortHelper();
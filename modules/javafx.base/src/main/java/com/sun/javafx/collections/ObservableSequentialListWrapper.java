@@ -249,6 +249,14 @@ public final class ObservableSequentialListWrapper<E> extends ModifiableObservab
         fireChange(new NonIterableChange.SimplePermutationChange<E>(0, size(), perm, this));
     }
 
+    @Override
+    public void permute(int[] perm) {
+        SortHelper.permute(backingList, perm);
+        if (perm.length > 0) {
+            fireChange(new NonIterableChange.SimplePermutationChange<E>(0, size(), perm, this));
+        }
+    }
+
     private SortHelper getSortHelper() {
         if (helper == null) {
             helper = new SortHelper();
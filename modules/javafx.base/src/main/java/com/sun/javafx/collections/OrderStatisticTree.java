@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Comparator;
+
+/**
+ * A sequence of nodes kept in a balanced binary tree (a treap with implicit
+ * keys), where every node knows the size of its subtree. This makes looking
+ * up a node by its index, finding the index of a node, and inserting or
+ * removing a node anywhere in the sequence O(log n), without shifting or
+ * renumbering the other nodes.
+ * <p>
+ * Nodes can additionally be marked, and the tree also counts the marked
+ * nodes of every subtree, so that the marked nodes form a second, indexed
+ * sub-sequence. Every node carries a value and can be linked to a peer node
+ * in another tree, which is how a node is mapped between two orderings of
+ * the same elements.
+ *
+ * @param <T> the type of the values
+ */
+public final class OrderStatisticTree<T> {
+
+    public static final class Node<T> {
+        private Node<T> left;
+        private Node<T> right;
+        private Node<T> parent;
+        private int size = 1;
+        private int markedCount;
+        private int priority;
+        private boolean marked;
+        private final T value;
+        private Node<T> peer;
+
+        public Node(T value, boolean marked) {
+            this.value = value;
+            this.marked = marked;
+            this.markedCount = marked ? 1 : 0;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isMarked() {
+            return marked;
+        }
+
+        public Node<T> getPeer() {
+            return peer;
+        }
+
+        public void setPeer(Node<T> peer) {
+            this.peer = peer;
+        }
+    }
+
+    private Node<T> root;
+    private int seed = 0x2545F491;
+
+    public int size() {
+        return root == null ? 0 : root.size;
+    }
+
+    /**
+     * Returns the number of marked nodes.
+     */
+    public int markedSize() {
+        return root == null ? 0 : root.markedCount;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Returns the node at the given index.
+     */
+    public Node<T> get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node<T> n = root;
+        while (true) {
+            final int leftSize = size(n.left);
+            if (index < leftSize) {
+                n = n.left;
+            } else if (index == leftSize) {
+                return n;
+            } else {
+                index -= leftSize + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the marked node at the given index of the marked sub-sequence.
+     */
+    public Node<T> getMarked(int index) {
+        if (index < 0 || index >= markedSize()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + markedSize());
+        }
+        Node<T> n = root;
+        while (true) {
+            final int leftCount = markedCount(n.left);
+            if (index < leftCount) {
+                n = n.left;
+            } else if (n.marked && index == leftCount) {
+                return n;
+            } else {
+                index -= leftCount + (n.marked ? 1 : 0);
+                n = n.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the given node, which has to be in this tree.
+     */
+    public int indexOf(Node<T> node) {
+        int index = size(node.left);
+        for (Node<T> n = node; n.parent != null; n = n.parent) {
+            if (n == n.parent.right) {
+                index += size(n.parent.left) + 1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the number of marked nodes before the given index.
+     */
+    public int markedBefore(int index) {
+        int count = 0;
+        Node<T> n = root;
+        while (n != null) {
+            final int leftSize = size(n.left);
+            if (index <= leftSize) {
+                n = n.left;
+            } else {
+                count += markedCount(n.left) + (n.marked ? 1 : 0);
+                index -= leftSize + 1;
+                n = n.right;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of nodes whose value is less than or equal to the
+     * given value, which is the index at which the value has to be inserted
+     * to keep a sorted sequence sorted, after any equal values.
+     */
+    public int upperBound(T value, Comparator<? super T> comparator) {
+        int index = 0;
+        Node<T> n = root;
+        while (n != null) {
+            if (comparator.compare(value, n.value) < 0) {
+                n = n.left;
+            } else {
+                index += size(n.left) + 1;
+                n = n.right;
+            }
+        }
+        return index;
+    }
+
+    public Node<T> first() {
+        return root == null ? null : leftmost(root);
+    }
+
+    /**
+     * Returns the node following the given one, or null if it is the last.
+     */
+    public static <T> Node<T> next(Node<T> node) {
+        if (node.right != null) {
+            return leftmost(node.right);
+        }
+        Node<T> n = node;
+        while (n.parent != null && n == n.parent.right) {
+            n = n.parent;
+        }
+        return n.parent;
+    }
+
+    /**
+     * Inserts a node, which must not be in any tree, at the given index.
+     */
+    public void insert(int index, Node<T> node) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        node.left = node.right = node.parent = null;
+        node.size = 1;
+        node.markedCount = node.marked ? 1 : 0;
+        node.priority = nextPriority();
+        if (root == null) {
+            root = node;
+            return;
+        }
+        // add the node as a leaf, then rotate it up to restore the heap order
+        Node<T> n = root;
+        while (true) {
+            final int leftSize = size(n.left);
+            if (index <= leftSize) {
+                if (n.left == null) {
+                    n.left = node;
+                    break;
+                }
+                n = n.left;
+            } else {
+                index -= leftSize + 1;
+                if (n.right == null) {
+                    n.right = node;
+                    break;
+                }
+                n = n.right;
+            }
+        }
+        node.parent = n;
+        for (Node<T> p = n; p != null; p = p.parent) {
+            p.size++;
+            p.markedCount += node.markedCount;
+        }
+        while (node.parent != null && node.priority > node.parent.priority) {
+            rotateUp(node);
+        }
+    }
+
+    /**
+     * Removes the given node, which has to be in this tree.
+     */
+    public void remove(Node<T> node) {
+        // rotate the node down until it has at most one child, then splice it out
+        while (node.left != null && node.right != null) {
+            rotateUp(node.left.priority > node.right.priority ? node.left : node.right);
+        }
+        final Node<T> child = node.left != null ? node.left : node.right;
+        final Node<T> parent = node.parent;
+        if (child != null) {
+            child.parent = parent;
+        }
+        if (parent == null) {
+            root = child;
+        } else {
+            if (parent.left == node) {
+                parent.left = child;
+            } else {
+                parent.right = child;
+            }
+            for (Node<T> p = parent; p != null; p = p.parent) {
+                p.size--;
+                p.markedCount -= node.marked ? 1 : 0;
+            }
+        }
+        node.left = node.right = node.parent = null;
+    }
+
+    public void setMarked(Node<T> node, boolean marked) {
+        if (node.marked != marked) {
+            node.marked = marked;
+            final int delta = marked ? 1 : -1;
+            for (Node<T> n = node; n != null; n = n.parent) {
+                n.markedCount += delta;
+            }
+        }
+    }
+
+    /**
+     * Returns all the nodes in order.
+     */
+    @SuppressWarnings("unchecked")
+    public Node<T>[] toArray() {
+        final Node<T>[] nodes = new Node[size()];
+        int i = 0;
+        for (Node<T> n = first(); n != null; n = next(n)) {
+            nodes[i++] = n;
+        }
+        return nodes;
+    }
+
+    /**
+     * Replaces the content of this tree with the given nodes, in O(n). The
+     * nodes may already be in this tree, in any order.
+     */
+    public void setAll(Node<T>[] nodes) {
+        root = build(nodes, 0, nodes.length, null);
+    }
+
+    private static <T> Node<T> build(Node<T>[] nodes, int from, int to, Node<T> parent) {
+        if (from >= to) {
+            return null;
+        }
+        final int mid = (from + to) >>> 1;
+        final Node<T> n = nodes[mid];
+        n.parent = parent;
+        n.left = build(nodes, from, mid, n);
+        n.right = build(nodes, mid + 1, to, n);
+        update(n);
+        // the expected maximum of as many random priorities as there are
+        // nodes in the subtree, which keeps the heap order and lets nodes
+        // inserted later find their usual place
+        n.priority = (int) (Integer.MAX_VALUE * (n.size / (n.size + 1.0)));
+        return n;
+    }
+
+    private void rotateUp(Node<T> n) {
+        final Node<T> p = n.parent;
+        final Node<T> g = p.parent;
+        if (n == p.left) {
+            p.left = n.right;
+            if (n.right != null) {
+                n.right.parent = p;
+            }
+            n.right = p;
+        } else {
+            p.right = n.left;
+            if (n.left != null) {
+                n.left.parent = p;
+            }
+            n.left = p;
+        }
+        p.parent = n;
+        n.parent = g;
+        if (g == null) {
+            root = n;
+        } else if (g.left == p) {
+            g.left = n;
+        } else {
+            g.right = n;
+        }
+        update(p);
+        update(n);
+    }
+
+    private int nextPriority() {
+        // xorshift, good enough to balance the tree and cheaper than Random
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        seed = x;
+        return x & Integer.MAX_VALUE;
+    }
+
+    private static void update(Node<?> n) {
+        n.size = 1 + size(n.left) + size(n.right);
+        n.markedCount = (n.marked ? 1 : 0) + markedCount(n.left) + markedCount(n.right);
+    }
+
+    private static int size(Node<?> n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static int markedCount(Node<?> n) {
+        return n == null ? 0 : n.markedCount;
+    }
+
+    private static <T> Node<T> leftmost(Node<T> n) {
+        while (n.left != null) {
+            n = n.left;
+        }
+        return n;
+    }
+}
@@ -26,10 +26,15 @@
 package com.sun.javafx.collections;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
 
 /**
  * Helper class that contains algorithms taken from JDK that additionally
@@ -41,6 +46,17 @@ public class SortHelper {
 
     private static final int INSERTIONSORT_THRESHOLD = 7;
 
+    /**
+     * Arrays shorter than this, and the chunks a parallel sort is split into,
+     * are sorted sequentially. Same as in {@code Arrays.parallelSort}.
+     */
+    private static final int MIN_PARALLEL_SORT_GRAN = 1 << 13;
+
+    /**
+     * Sequential sorts of ranges at least this long check for cancellation.
+     */
+    private static final int MIN_CANCEL_CHECK_LENGTH = 1 << 10;
+
     public <T extends Comparable<? super T>> int[] sort(List<T> list) {
         T[] a = (T[]) Array.newInstance(Comparable.class, list.size());
         try {
@@ -109,6 +125,307 @@ public class SortHelper {
         return Arrays.copyOfRange(result, fromIndex, toIndex);
     }
 
+    /**
+     * Sorts the array like {@link #sort(Object[], Comparator)}, but splits the
+     * work into fork-join tasks running on the common pool, as done by
+     * {@code Arrays.parallelSort}. The comparator is called concurrently from
+     * several threads and must be safe to use that way.
+     * <p>
+     * The sort is stable and checks {@code cancelled} before every chunk of
+     * work; once it returns true, the sort is abandoned and the array is left
+     * unmodified.
+     *
+     * @param a the array to sort
+     * @param c the comparator, or null to use the natural ordering
+     * @param cancelled tells whether the sort should be abandoned, may be null
+     * @return the permutation, mapping the old index of each element to its
+     *         new index
+     * @throws CancellationException if the sort was cancelled
+     */
+    public static <T> int[] parallelSort(T[] a, Comparator<? super T> c, BooleanSupplier cancelled) {
+        final Object[] elements = a.clone();
+        final int[] perm = parallelSortInPlace(elements, comparator(c), cancelled);
+        System.arraycopy(elements, 0, a, 0, a.length);
+        return perm;
+    }
+
+    /**
+     * Computes the permutation that {@link #parallelSort(Object[], Comparator,
+     * BooleanSupplier)} would apply to the elements of the list, leaving the
+     * list unmodified.
+     *
+     * @param list the list to sort
+     * @param c the comparator, or null to use the natural ordering
+     * @param cancelled tells whether the sort should be abandoned, may be null
+     * @return the permutation, mapping the old index of each element to its
+     *         new index
+     * @throws CancellationException if the sort was cancelled
+     */
+    public static <T> int[] parallelSortPermutation(List<? extends T> list, Comparator<? super T> c,
+                                                    BooleanSupplier cancelled) {
+        return parallelSortInPlace(list.toArray(), comparator(c), cancelled);
+    }
+
+    /**
+     * Sorts the elements in place and returns the permutation.
+     */
+    private static int[] parallelSortInPlace(Object[] elements, Comparator<Object> c, BooleanSupplier cancelled) {
+        final int n = elements.length;
+        // the elements are sorted together with their original indices, so
+        // that comparisons read the elements in sequence
+        final Object[] elementsWork = elements.clone();
+        final int[] indices = new int[n];
+        final int[] indicesWork = new int[n];
+        for (int i = 0; i < n; ++i) {
+            indices[i] = indicesWork[i] = i;
+        }
+        final int p = ForkJoinPool.getCommonPoolParallelism();
+        final int gran = (n <= MIN_PARALLEL_SORT_GRAN || p == 1) ? n
+                : Math.max(n / (p << 2), MIN_PARALLEL_SORT_GRAN);
+        new Sorter(new Run(elements, indices), new Run(elementsWork, indicesWork),
+                   0, n, gran, c, cancelled).invoke();
+
+        final int[] result = indicesWork;
+        for (int i = 0; i < n; ++i) {
+            result[indices[i]] = i;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the comparator, or the natural ordering if it is null, for
+     * comparing the elements of an Object array holding only elements it
+     * accepts.
+     */
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> comparator(Comparator<?> c) {
+        return c != null ? (Comparator<Object>) c
+                : (a, b) -> ((Comparable<Object>) a).compareTo(b);
+    }
+
+    /**
+     * An array of elements along with the original index of every element.
+     */
+    private static final class Run {
+        final Object[] e;
+        final int[] i;
+
+        Run(Object[] e, int[] i) {
+            this.e = e;
+            this.i = i;
+        }
+
+        void copy(int from, Run dest, int to, int length) {
+            System.arraycopy(e, from, dest.e, to, length);
+            System.arraycopy(i, from, dest.i, to, length);
+        }
+    }
+
+    /**
+     * Base class of the parallel sort tasks, holding the comparator.
+     */
+    private static abstract class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int gran;
+        final Comparator<Object> c;
+        final BooleanSupplier cancelled;
+
+        SortTask(int gran, Comparator<Object> c, BooleanSupplier cancelled) {
+            this.gran = gran;
+            this.c = c;
+            this.cancelled = cancelled;
+        }
+
+        final int compare(Object a, Object b) {
+            return c.compare(a, b);
+        }
+
+        final void checkCancelled() {
+            if (cancelled != null && cancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+        }
+
+        /**
+         * Merge sort from Oracle JDK 6, sorting dest; src must hold the same
+         * content in the range when called.
+         */
+        final void mergeSort(Run src, Run dest, int low, int high) {
+            int length = high - low;
+
+            // Insertion sort on smallest arrays
+            if (length < INSERTIONSORT_THRESHOLD) {
+                final Object[] d = dest.e;
+                final int[] di = dest.i;
+                for (int i=low; i<high; i++)
+                    for (int j=i; j>low && compare(d[j-1], d[j])>0; j--) {
+                        Object t = d[j];
+                        d[j] = d[j-1];
+                        d[j-1] = t;
+                        int ti = di[j];
+                        di[j] = di[j-1];
+                        di[j-1] = ti;
+                    }
+                return;
+            }
+
+            if (length >= MIN_CANCEL_CHECK_LENGTH) {
+                checkCancelled();
+            }
+
+            // Recursively sort halves of dest into src
+            int mid = (low + high) >>> 1;
+            mergeSort(dest, src, low, mid);
+            mergeSort(dest, src, mid, high);
+
+            // If list is already sorted, just copy from src to dest.
+            if (compare(src.e[mid-1], src.e[mid]) <= 0) {
+                src.copy(low, dest, low, length);
+                return;
+            }
+
+            merge(src, low, mid, mid, high, dest, low);
+        }
+
+        /**
+         * Merges the sorted ranges [lo1, hi1) and [lo2, hi2) of src into
+         * dest, taking from the first range on ties.
+         */
+        final void merge(Run src, int lo1, int hi1, int lo2, int hi2, Run dest, int k) {
+            final Object[] se = src.e, de = dest.e;
+            final int[] si = src.i, di = dest.i;
+            while (lo1 < hi1 && lo2 < hi2) {
+                final int from = compare(se[lo1], se[lo2]) <= 0 ? lo1++ : lo2++;
+                de[k] = se[from];
+                di[k++] = si[from];
+            }
+            if (lo1 < hi1) {
+                src.copy(lo1, dest, k, hi1 - lo1);
+            } else if (lo2 < hi2) {
+                src.copy(lo2, dest, k, hi2 - lo2);
+            }
+        }
+    }
+
+    /**
+     * Sorts a range of {@code a}, using the same range of {@code w} as
+     * workspace. Both runs hold the same content in the range when the task
+     * starts.
+     */
+    private static final class Sorter extends SortTask {
+        private static final long serialVersionUID = 1L;
+
+        private final Run a;
+        private final Run w;
+        private final int lo;
+        private final int hi;
+
+        Sorter(Run a, Run w, int lo, int hi, int gran, Comparator<Object> c, BooleanSupplier cancelled) {
+            super(gran, c, cancelled);
+            this.a = a;
+            this.w = w;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            checkCancelled();
+            if (hi - lo <= gran) {
+                mergeSort(w, a, lo, hi);
+                return;
+            }
+            // sort both halves into the workspace, then merge them back
+            final int mid = (lo + hi) >>> 1;
+            invokeAll(new Sorter(w, a, lo, mid, gran, c, cancelled),
+                      new Sorter(w, a, mid, hi, gran, c, cancelled));
+            new Merger(w, lo, mid, mid, hi, a, lo, gran, c, cancelled).compute();
+        }
+    }
+
+    /**
+     * Merges two sorted ranges, splitting the larger one in half and the
+     * other one at the matching position, so that both parts can be merged
+     * in parallel without giving up stability.
+     */
+    private static final class Merger extends SortTask {
+        private static final long serialVersionUID = 1L;
+
+        private final Run src;
+        private final int lo1, hi1, lo2, hi2;
+        private final Run dest;
+        private final int k;
+
+        Merger(Run src, int lo1, int hi1, int lo2, int hi2, Run dest, int k,
+               int gran, Comparator<Object> c, BooleanSupplier cancelled) {
+            super(gran, c, cancelled);
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dest = dest;
+            this.k = k;
+        }
+
+        @Override
+        protected void compute() {
+            checkCancelled();
+            final int n1 = hi1 - lo1;
+            final int n2 = hi2 - lo2;
+            if (n1 + n2 <= gran) {
+                merge(src, lo1, hi1, lo2, hi2, dest, k);
+                return;
+            }
+            final Object[] e = src.e;
+            int m1, m2;
+            if (n1 >= n2) {
+                // elements of the second range equal to the pivot stay behind it
+                m1 = (lo1 + hi1) >>> 1;
+                final Object pivot = e[m1];
+                int l = lo2, h = hi2;
+                while (l < h) {
+                    final int m = (l + h) >>> 1;
+                    if (compare(e[m], pivot) < 0) l = m + 1; else h = m;
+                }
+                m2 = l;
+            } else {
+                // elements of the first range equal to the pivot stay before it
+                m2 = (lo2 + hi2) >>> 1;
+                final Object pivot = e[m2];
+                int l = lo1, h = hi1;
+                while (l < h) {
+                    final int m = (l + h) >>> 1;
+                    if (compare(e[m], pivot) <= 0) l = m + 1; else h = m;
+                }
+                m1 = l;
+            }
+            invokeAll(new Merger(src, lo1, m1, lo2, m2, dest, k, gran, c, cancelled),
+                      new Merger(src, m1, hi1, m2, hi2, dest, k + (m1 - lo1) + (m2 - lo2), gran, c, cancelled));
+        }
+    }
+
+    /**
+     * Moves every element of the list from its index i to {@code perm[i]}.
+     */
+    public static <T> void permute(List<T> list, int[] perm) {
+        if (perm.length != list.size()) {
+            throw new IllegalArgumentException("Permutation size " + perm.length
+                    + " doesn't match list size " + list.size());
+        }
+        final List<T> elements = new ArrayList<>(list);
+        final int[] from = new int[perm.length];
+        for (int i = 0; i < perm.length; i++) {
+            from[perm[i]] = i;
+        }
+        final ListIterator<T> it = list.listIterator();
+        for (int j = 0; j < from.length; j++) {
+            it.next();
+            it.set(elements.get(from[j]));
+        }
+    }
+
     private static void rangeCheck(int arrayLen, int fromIndex, int toIndex) {
         if (fromIndex > toIndex)
             throw new IllegalArgumentException("fromIndex(" + fromIndex +
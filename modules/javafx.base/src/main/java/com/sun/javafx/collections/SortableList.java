@@ -53,4 +53,14 @@ public interface SortableList<E> extends List<E> {
      */
     public void sort(Comparator<? super E> comparator);
 
+    /**
+     * Reorders the elements according to a permutation computed in advance,
+     * e.g. by {@link SortHelper#parallelSort}, and fires one permutation change.
+     * @param perm the permutation, mapping the current index of each element
+     *        to its new index; must have the size of the list
+     * @throws IllegalArgumentException if the permutation doesn't match the
+     *         size of the list
+     */
+    public void permute(int[] perm);
+
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.property;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javafx.beans.value.ObservableValue;
+
+import com.sun.javafx.reflect.ReflectUtil;
+
+/**
+ * The compiled accessors of a property of a bean class: the
+ * {@code <name>Property()} method and the {@code get<Name>()} or
+ * {@code is<Name>()} getter, looked up the same way as
+ * {@link PropertyReference} does.
+ * <p>
+ * Accessors are resolved once per class and name and cached with the
+ * class, so that evaluating a property path or a cell value factory does
+ * no reflection and allocates nothing. Methods of public classes in
+ * exported packages are called through a {@code MethodHandle}. Any other
+ * method is called reflectively through {@link MethodHelper}, which opens
+ * packages that are open to {@code javafx.base} to its trampoline.
+ */
+public final class PropertyAccessor {
+
+    private static final ClassValue<Map<String, PropertyAccessor>> CACHE =
+            new ClassValue<Map<String, PropertyAccessor>>() {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodHandle INVOKE_REFLECTIVELY;
+    static {
+        try {
+            INVOKE_REFLECTIVELY = MethodHandles.lookup().findStatic(PropertyAccessor.class,
+                    "invokeReflectively", MethodType.methodType(Object.class, Method.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private final Class<?> clazz;
+    private final String name;
+    private final MethodHandle propertyGetter;
+    private final MethodHandle getter;
+
+    private PropertyAccessor(Class<?> clazz, String name) {
+        this.clazz = clazz;
+        this.name = name;
+
+        final String properName = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        MethodHandle g = find(clazz, "get" + properName, Object.class);
+        if (g == null) {
+            g = find(clazz, "is" + properName, Object.class);
+        }
+        this.getter = g;
+        this.propertyGetter = find(clazz, name + "Property", ObservableValue.class);
+    }
+
+    /**
+     * Returns the accessors of the property {@code name} of {@code clazz}.
+     *
+     * @throws NullPointerException if {@code clazz} or {@code name} are null
+     * @throws IllegalArgumentException if {@code name} is empty
+     */
+    public static PropertyAccessor get(Class<?> clazz, String name) {
+        if (name == null) {
+            throw new NullPointerException("Name must be specified");
+        }
+        if (name.trim().length() == 0) {
+            throw new IllegalArgumentException("Name must be specified");
+        }
+        if (clazz == null) {
+            throw new NullPointerException("Class must be specified");
+        }
+        ReflectUtil.checkPackageAccess(clazz);
+        final Map<String, PropertyAccessor> accessors = CACHE.get(clazz);
+        PropertyAccessor accessor = accessors.get(name);
+        if (accessor == null) {
+            accessor = new PropertyAccessor(clazz, name);
+            final PropertyAccessor previous = accessors.putIfAbsent(name, accessor);
+            if (previous != null) {
+                accessor = previous;
+            }
+        }
+        return accessor;
+    }
+
+    public Class<?> getContainingClass() {
+        return clazz;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns true if the class has a {@code <name>Property()} method
+     * returning an {@code ObservableValue}.
+     */
+    public boolean hasProperty() {
+        return propertyGetter != null;
+    }
+
+    /**
+     * Returns true if the class has a {@code get<Name>()} or
+     * {@code is<Name>()} getter.
+     */
+    public boolean isReadable() {
+        return getter != null;
+    }
+
+    /**
+     * Returns the {@code ObservableValue} of the property of {@code bean}.
+     *
+     * @throws IllegalStateException if the class has no property method
+     */
+    public ObservableValue<?> getProperty(Object bean) {
+        if (propertyGetter == null) {
+            throw new IllegalStateException("Cannot get property " + name);
+        }
+        return (ObservableValue<?>) invoke(propertyGetter, bean);
+    }
+
+    /**
+     * Returns the value of the property of {@code bean}, read through its
+     * getter.
+     *
+     * @throws IllegalStateException if the class has no getter
+     */
+    public Object get(Object bean) {
+        if (getter == null) {
+            throw new IllegalStateException("Cannot read from unreadable property " + name);
+        }
+        return invoke(getter, bean);
+    }
+
+    private static Object invoke(MethodHandle handle, Object bean) {
+        try {
+            return (Object) handle.invokeExact(bean);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Finds the public method {@code methodName} without parameters whose
+     * return type is a subtype of {@code returnType}, as a handle of type
+     * {@code (Object)Object}.
+     */
+    private static MethodHandle find(Class<?> clazz, String methodName, Class<?> returnType) {
+        final Method method;
+        try {
+            method = clazz.getMethod(methodName);
+        } catch (NoSuchMethodException ex) {
+            // This is a legitimate error
+            return null;
+        }
+        if (!returnType.isAssignableFrom(method.getReturnType())
+                && !(returnType == Object.class && method.getReturnType().isPrimitive()
+                        && method.getReturnType() != void.class)) {
+            return null;
+        }
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException ex) {
+            // not accessible unconditionally, let MethodHelper check the module
+            handle = MethodHandles.insertArguments(INVOKE_REFLECTIVELY, 0, method);
+        }
+        return handle.asType(ACCESSOR_TYPE);
+    }
+
+    private static Object invokeReflectively(Method method, Object bean) throws Exception {
+        return MethodHelper.invoke(method, bean, (Object[]) null);
+    }
+}
@@ -51,6 +51,7 @@ import javafx.collections.ObservableSet;
 import javafx.util.StringConverter;
 import com.sun.javafx.binding.BidirectionalBinding;
 import com.sun.javafx.binding.BidirectionalContentBinding;
+import com.sun.javafx.binding.BindingTransaction;
 import com.sun.javafx.binding.ContentBinding;
 import com.sun.javafx.binding.DoubleConstant;
 import com.sun.javafx.binding.FloatConstant;
@@ -419,6 +420,40 @@ public final class Bindings {
     }
 
 
+    // =================================================================================================================
+    // Transactions
+
+    /**
+     * Runs {@code action} in a binding transaction, which defers the
+     * notification of {@link javafx.beans.value.ChangeListener}s until
+     * the action is done.
+     * <p>
+     * {@link javafx.beans.InvalidationListener}s are notified right away
+     * as usual. The change listeners of every property and binding changed
+     * by the action are notified once the action is done, with the value
+     * from before the action as the old value and the final value as the
+     * new value, in the order in which the properties and bindings were
+     * first invalidated. A binding which is only observed by change
+     * listeners is therefore computed at most once for all the updates of
+     * the action, and no listener sees a state in which only part of the
+     * updates were applied. Change listeners are not notified at all if a
+     * value ends up unchanged.
+     * <p>
+     * Changes made by change listeners while the deferred notifications
+     * are delivered are deferred as well and delivered before this method
+     * returns. Transactions can be nested, the notifications are delivered
+     * when the outermost transaction is done, also if the action throws an
+     * exception. A transaction only affects the current thread, and it
+     * does not affect observable collections.
+     *
+     * @param action the action to run
+     * @throws NullPointerException if {@code action} is null
+     * @since 14
+     */
+    public static void transaction(Runnable action) {
+        BindingTransaction.run(action);
+    }
+
     // =================================================================================================================
     // Select Bindings
 
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.beans.binding;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import com.sun.javafx.binding.Logging;
+import com.sun.javafx.binding.ObjectConstant;
+import com.sun.javafx.property.PropertyAccessor;
+
+/**
+ * A path of property names leading from a root object to a member, such as
+ * {@code a.b.c}, which can be evaluated and observed on any number of roots.
+ * <p>
+ * The accessors of every step are looked up once per class and reused by
+ * all evaluations and bindings of all paths. A step is read through the
+ * {@code <name>Property()} method of its class if there is one, and through
+ * its {@code get<Name>()} or {@code is<Name>()} getter otherwise. Unlike
+ * {@link Bindings#select(ObservableValue, String...)}, steps read through a
+ * getter are not observed.
+ * <p>
+ * A binding created by {@link #select(ObservableValue)} only listens to the
+ * properties it has reached, and when one of them changes, only the steps
+ * after it are resolved again. Reaching a {@code null} value ends the path
+ * without logging, the value of the binding is {@code null} then.
+ * <p>
+ * All classes and properties used in a path have to be declared public.
+ * Additionally, if any class is in a named module, then it must be
+ * reflectively accessible to the {@code javafx.base} module.
+ *
+ * @param <T> the type of the member at the end of the path
+ * @see Bindings#select(ObservableValue, String...)
+ * @since 14
+ */
+public final class PropertyPath<T> {
+
+    private final String[] steps;
+
+    /*
+     * The accessors last used by every step. They are shared by all
+     * bindings of this path and replaced when the class changes.
+     */
+    private final PropertyAccessor[] accessors;
+
+    private PropertyPath(String[] steps) {
+        this.steps = steps;
+        this.accessors = new PropertyAccessor[steps.length];
+    }
+
+    /**
+     * Creates a path of the given property names.
+     *
+     * @param <T> the type of the member at the end of the path
+     * @param steps the property names to reach the member
+     * @return the path
+     * @throws NullPointerException if {@code steps} or any step is null
+     * @throws IllegalArgumentException if there are no steps or a step is
+     * empty
+     */
+    public static <T> PropertyPath<T> of(String... steps) {
+        if (steps == null) {
+            throw new NullPointerException("Steps must be specified");
+        }
+        if (steps.length == 0) {
+            throw new IllegalArgumentException("At least one step must be specified");
+        }
+        final String[] copy = steps.clone();
+        for (String step : copy) {
+            if (step == null) {
+                throw new NullPointerException("All steps must be specified");
+            }
+            if (step.trim().isEmpty()) {
+                throw new IllegalArgumentException("Steps must not be empty");
+            }
+        }
+        return new PropertyPath<>(copy);
+    }
+
+    /**
+     * Creates a path from property names separated by dots, such as
+     * {@code "address.city"}.
+     *
+     * @param <T> the type of the member at the end of the path
+     * @param path the property names separated by dots
+     * @return the path
+     * @throws NullPointerException if {@code path} is null
+     * @throws IllegalArgumentException if a property name is empty
+     */
+    public static <T> PropertyPath<T> parse(String path) {
+        if (path == null) {
+            throw new NullPointerException("Path must be specified");
+        }
+        return of(path.split("\\.", -1));
+    }
+
+    /**
+     * Returns the number of steps of this path.
+     *
+     * @return the number of steps
+     */
+    public int getLength() {
+        return steps.length;
+    }
+
+    /**
+     * Returns the property name of a step.
+     *
+     * @param index the index of the step
+     * @return the property name
+     * @throws IndexOutOfBoundsException if {@code index} is not a step
+     */
+    public String getStep(int index) {
+        return steps[index];
+    }
+
+    /**
+     * Evaluates this path once, without observing anything.
+     * Getters are preferred over property methods here, so that properties
+     * which are created lazily are not created by reading them.
+     *
+     * @param root the object the first step is applied to
+     * @return the member at the end of the path, or {@code null} if a step
+     * is {@code null} or does not exist
+     */
+    @SuppressWarnings("unchecked")
+    public T getValue(Object root) {
+        Object value = root;
+        for (int i = 0; i < steps.length; i++) {
+            if (value == null) {
+                return null;
+            }
+            final PropertyAccessor accessor = accessor(i, value);
+            if (accessor.isReadable()) {
+                value = accessor.get(value);
+            } else if (accessor.hasProperty()) {
+                final ObservableValue<?> property = accessor.getProperty(value);
+                value = (property == null)? null : property.getValue();
+            } else {
+                warnMissing(i, value);
+                return null;
+            }
+        }
+        return (T) value;
+    }
+
+    /**
+     * Creates a binding to the member at the end of this path, starting
+     * from the value of {@code root}.
+     *
+     * @param root the observable value the first step is applied to
+     * @return the binding
+     * @throws NullPointerException if {@code root} is null
+     */
+    public ObjectBinding<T> select(ObservableValue<?> root) {
+        if (root == null) {
+            throw new NullPointerException("Must specify the root");
+        }
+        return new PathBinding<>(this, root);
+    }
+
+    /**
+     * Creates a binding to the member at the end of this path, starting
+     * from {@code root}.
+     *
+     * @param root the object the first step is applied to
+     * @return the binding
+     * @throws NullPointerException if {@code root} is null
+     */
+    public ObjectBinding<T> select(Object root) {
+        if (root == null) {
+            throw new NullPointerException("Must specify the root");
+        }
+        return new PathBinding<>(this, ObjectConstant.valueOf(root));
+    }
+
+    /**
+     * Returns the property names of this path separated by dots.
+     *
+     * @return the string representation of this path
+     */
+    @Override
+    public String toString() {
+        return String.join(".", steps);
+    }
+
+    private PropertyAccessor accessor(int step, Object bean) {
+        PropertyAccessor accessor = accessors[step];
+        if (accessor == null || accessor.getContainingClass() != bean.getClass()) {
+            accessor = PropertyAccessor.get(bean.getClass(), steps[step]);
+            accessors[step] = accessor;
+        }
+        return accessor;
+    }
+
+    private void warnMissing(int step, Object bean) {
+        Logging.getLogger().warning("Property '" + steps[step] + "' does not exist in "
+                + bean.getClass() + ", evaluating property path " + this);
+    }
+
+    private static final class PathBinding<T> extends ObjectBinding<T> {
+
+        private final PropertyPath<T> path;
+
+        /*
+         * observables[i] is the observable the value of step i is read
+         * from, observables[0] being the root. An entry is null if the
+         * step before was read through a getter. Only the first
+         * {@code reached} entries are set and listened to.
+         */
+        private final ObservableValue<?>[] observables;
+        private int reached;
+
+        private final InvalidationListener listener = this::stepInvalidated;
+        private final WeakInvalidationListener observer = new WeakInvalidationListener(listener);
+
+        private PathBinding(PropertyPath<T> path, ObservableValue<?> root) {
+            this.path = path;
+            this.observables = new ObservableValue<?>[path.steps.length + 1];
+            this.observables[0] = root;
+            this.reached = 1;
+            root.addListener(observer);
+        }
+
+        private void stepInvalidated(Observable observable) {
+            for (int i = 0; i < reached; i++) {
+                if (observables[i] == observable) {
+                    release(i + 1);
+                    break;
+                }
+            }
+            invalidate();
+        }
+
+        /**
+         * Stops listening to all observables from {@code from} on.
+         */
+        private void release(int from) {
+            for (int i = from; i < reached; i++) {
+                if (observables[i] != null) {
+                    observables[i].removeListener(observer);
+                    observables[i] = null;
+                }
+            }
+            reached = Math.max(from, 1);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected T computeValue() {
+            // resume from the last observable which did not change
+            int start = reached - 1;
+            while (observables[start] == null) {
+                start--;
+            }
+            Object value = observables[start].getValue();
+            for (int i = start; i < path.steps.length; i++) {
+                if (value == null) {
+                    release(i + 1);
+                    return null;
+                }
+                final PropertyAccessor accessor = path.accessor(i, value);
+                if (accessor.hasProperty()) {
+                    final ObservableValue<?> property = accessor.getProperty(value);
+                    if (property == null) {
+                        release(i + 1);
+                        return null;
+                    }
+                    if (observables[i + 1] != property) {
+                        release(i + 1);
+                        observables[i + 1] = property;
+                        property.addListener(observer);
+                    }
+                    value = property.getValue();
+                } else if (accessor.isReadable()) {
+                    if (observables[i + 1] != null) {
+                        release(i + 1);
+                    }
+                    value = accessor.get(value);
+                } else {
+                    release(i + 1);
+                    path.warnMissing(i, value);
+                    return null;
+                }
+                reached = i + 2;
+            }
+            return (T) value;
+        }
+
+        @Override
+        public void dispose() {
+            release(1);
+        }
+
+        @Override
+        public ObservableList<?> getDependencies() {
+            final ObservableList<ObservableValue<?>> dependencies = FXCollections.observableArrayList();
+            for (int i = 0; i < reached; i++) {
+                if (observables[i] != null) {
+                    dependencies.add(observables[i]);
+                }
+            }
+            return FXCollections.unmodifiableObservableList(dependencies);
+        }
+    }
+}
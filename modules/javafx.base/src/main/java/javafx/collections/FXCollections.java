@@ -44,8 +44,10 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import javafx.beans.InvalidationListener;
 
@@ -53,8 +55,10 @@ import com.sun.javafx.collections.ObservableListWrapper;
 import com.sun.javafx.collections.ObservableMapWrapper;
 import com.sun.javafx.collections.ObservableSetWrapper;
 import com.sun.javafx.collections.MapAdapterChange;
+import com.sun.javafx.collections.ObservableDoubleArrayImpl;
 import com.sun.javafx.collections.ObservableFloatArrayImpl;
 import com.sun.javafx.collections.ObservableIntegerArrayImpl;
+import com.sun.javafx.collections.ObservableLongArrayImpl;
 import com.sun.javafx.collections.ObservableSequentialListWrapper;
 import com.sun.javafx.collections.SetAdapterChange;
 import com.sun.javafx.collections.SortableList;
@@ -306,6 +310,66 @@ public class FXCollections {
         return new ObservableFloatArrayImpl(array);
     }
 
+    /**
+     * Creates a new empty observable long array.
+     * @return a newly created ObservableLongArray
+     * @since 14
+     */
+    public static ObservableLongArray observableLongArray() {
+        return new ObservableLongArrayImpl();
+    }
+
+    /**
+     * Creates a new observable long array with {@code values} set to it.
+     * @param values the values that will be in the new observable long array
+     * @return a newly created ObservableLongArray
+     * @since 14
+     */
+    public static ObservableLongArray observableLongArray(long... values) {
+        return new ObservableLongArrayImpl(values);
+    }
+
+    /**
+     * Creates a new observable long array with copy of elements in given
+     * {@code array}.
+     * @param array observable long array to copy
+     * @return a newly created ObservableLongArray
+     * @since 14
+     */
+    public static ObservableLongArray observableLongArray(ObservableLongArray array) {
+        return new ObservableLongArrayImpl(array);
+    }
+
+    /**
+     * Creates a new empty observable double array.
+     * @return a newly created ObservableDoubleArray
+     * @since 14
+     */
+    public static ObservableDoubleArray observableDoubleArray() {
+        return new ObservableDoubleArrayImpl();
+    }
+
+    /**
+     * Creates a new observable double array with {@code values} set to it.
+     * @param values the values that will be in the new observable double array
+     * @return a newly created ObservableDoubleArray
+     * @since 14
+     */
+    public static ObservableDoubleArray observableDoubleArray(double... values) {
+        return new ObservableDoubleArrayImpl(values);
+    }
+
+    /**
+     * Creates a new observable double array with copy of elements in given
+     * {@code array}.
+     * @param array observable double array to copy
+     * @return a newly created ObservableDoubleArray
+     * @since 14
+     */
+    public static ObservableDoubleArray observableDoubleArray(ObservableDoubleArray array) {
+        return new ObservableDoubleArrayImpl(array);
+    }
+
     /**
      * Creates a new empty observable list that is backed by an arraylist.
      * @see #observableList(java.util.List)
@@ -702,6 +766,65 @@ public class FXCollections {
         }
     }
 
+    /**
+     * Performs the edits done by the given consumer on the list as one batch.
+     * Instead of firing a change notification for every edit, the list fires
+     * only <b>one</b> change notification after the consumer returns, or
+     * throws an exception. Edits to adjacent or overlapping ranges are merged
+     * into as few sub-changes as possible, so listeners, and lists like
+     * {@link javafx.collections.transformation.SortedList} built on top of the
+     * list, process the whole batch at once.
+     * <p>
+     * Batches can be nested, in which case the notification is fired when
+     * the outermost batch completes. Lists created by this class, as well as
+     * all lists extending {@link ObservableListBase}, support batches; other
+     * lists fire their notifications as the edits are done. Like any other
+     * compound operation, a batch on a synchronized list has to be guarded
+     * by the caller.
+     *
+     * @param <E> the type of the list elements
+     * @param list the list to edit
+     * @param edits the edits to perform on the list
+     * @throws NullPointerException if {@code list} or {@code edits} is null
+     * @since 14
+     */
+    public static <E> void batch(ObservableList<E> list, Consumer<? super ObservableList<E>> edits) {
+        Objects.requireNonNull(edits);
+        final ObservableListBase<?> base = getListBase(list);
+        if (base == null) {
+            edits.accept(list);
+            return;
+        }
+        base.beginChange();
+        try {
+            edits.accept(list);
+        } finally {
+            base.endChange();
+        }
+    }
+
+    /**
+     * Returns the list which fires the change notifications for the given
+     * list, looking through the wrappers created by this class, or null if
+     * it does not support building a change from several edits.
+     */
+    private static ObservableListBase<?> getListBase(ObservableList<?> list) {
+        while (true) {
+            if (list instanceof UnmodifiableObservableListImpl) {
+                list = ((UnmodifiableObservableListImpl<?>) list).backingList;
+            } else if (list instanceof CheckedObservableList) {
+                list = ((CheckedObservableList<?>) list).list;
+            } else if (list instanceof SynchronizedObservableList) {
+                list = ((SynchronizedObservableList<?>) list).backingList;
+            } else if (list instanceof ObservableListBase) {
+                return (ObservableListBase<?>) list;
+            } else {
+                Objects.requireNonNull(list);
+                return null;
+            }
+        }
+    }
+
     private static class EmptyObservableList<E> extends AbstractList<E> implements ObservableList<E> {
 
         private static final ListIterator iterator = new ListIterator() {
@@ -450,9 +450,51 @@ final class ListChangeBuilder<E> {
     }
 
     public void nextSet(int idx, E old) {
-        nextRemove(idx, old);
-        nextAdd(idx, idx + 1);
+        checkState();
+        checkAddRemoveList();
+
+        // Unlike a remove followed by an add, a set does not move any other
+        // element, so the sub-changes after idx need not be shifted
+        int pos = findSubChange(idx, addRemoveChanges);
+        if (pos < 0) {
+            pos = ~pos;
+            SubChange<E> change;
+            if (pos > 0 && (change = addRemoveChanges.get(pos - 1)).to == idx) {
+                change.to++;
+                if (change.removed == null) {
+                    change.removed = new ArrayList<E>();
+                }
+                change.removed.add(old);
+            } else if (pos < addRemoveChanges.size() && (change = addRemoveChanges.get(pos)).from == idx + 1) {
+                change.from--;
+                if (change.removed == null) {
+                    change.removed = new ArrayList<E>();
+                }
+                change.removed.add(0, old);
+            } else {
+                ArrayList<E> removedList = new ArrayList<E>();
+                removedList.add(old);
+                addRemoveChanges.add(pos, new SubChange<E>(idx, idx + 1, removedList, EMPTY_PERM, false));
+            }
+        } // If found, the element was added by this change and stays added
 
+        if (updateChanges != null && !updateChanges.isEmpty()) {
+            final int uPos = findSubChange(idx, updateChanges);
+            if (uPos >= 0) {
+                // the replaced element is no longer updated
+                final SubChange<E> change = updateChanges.get(uPos);
+                if (change.from == change.to - 1) {
+                    updateChanges.remove(uPos);
+                } else if (change.from == idx) {
+                    change.from++;
+                } else if (change.to == idx + 1) {
+                    change.to--;
+                } else {
+                    updateChanges.add(uPos + 1, new SubChange<E>(idx + 1, change.to, null, EMPTY_PERM, true));
+                    change.to = idx;
+                }
+            }
+        }
     }
 
     public void nextUpdate(int idx) {
@@ -26,9 +26,9 @@
 package javafx.collections.transformation;
 
 import com.sun.javafx.collections.NonIterableChange.GenericAddRemoveChange;
-import com.sun.javafx.collections.SortHelper;
+import com.sun.javafx.collections.OrderStatisticTree;
+import com.sun.javafx.collections.OrderStatisticTree.Node;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
@@ -49,10 +49,11 @@ import javafx.collections.ObservableList;
  */
 public final class FilteredList<E> extends TransformationList<E, E>{
 
-    private int[] filtered;
-    private int size;
+    // one node per element of the source list, marked if the element matches
+    // the predicate, so that the index of an element in this list is the
+    // number of marked nodes before it
+    private final OrderStatisticTree<Void> filtered = new OrderStatisticTree<>();
 
-    private SortHelper helper;
     private static final Predicate ALWAYS_TRUE = t -> true;
 
     /**
@@ -64,13 +65,10 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     public FilteredList(@NamedArg("source") ObservableList<E> source, @NamedArg("predicate") Predicate<? super E> predicate) {
         super(source);
-        filtered = new int[source.size() * 3 / 2  + 1];
         if (predicate != null) {
             setPredicate(predicate);
         } else {
-            for (size = 0; size < source.size(); size++) {
-                filtered[size] = size;
-            }
+            refilter();
         }
     }
 
@@ -154,7 +152,7 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     @Override
     public int size() {
-        return size;
+        return filtered.markedSize();
     }
 
     /**
@@ -166,176 +164,181 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     @Override
     public E get(int index) {
-        if (index >= size) {
-            throw new IndexOutOfBoundsException();
-        }
-        return getSource().get(filtered[index]);
+        return getSource().get(getSourceIndex(index));
     }
 
     @Override
     public int getSourceIndex(int index) {
-        if (index >= size) {
+        if (index < 0 || index >= size()) {
             throw new IndexOutOfBoundsException();
         }
-        return filtered[index];
+        return filtered.indexOf(filtered.getMarked(index));
     }
 
     @Override
     public int getViewIndex(int index) {
-        return Arrays.binarySearch(filtered, 0, size, index);
-    }
-
-    private SortHelper getSortHelper() {
-        if (helper == null) {
-            helper = new SortHelper();
-        }
-        return helper;
-    }
-
-    private int findPosition(int p) {
-        if (filtered.length == 0) {
-            return 0;
-        }
-        if (p == 0) {
-            return 0;
+        // like a binary search, return the insertion point as -(point) - 1
+        // for an element that does not match the predicate
+        if (index < 0) {
+            return -1;
         }
-        int pos = Arrays.binarySearch(filtered, 0, size, p);
-        if (pos < 0 ) {
-            pos = ~pos;
-        }
-        return pos;
-    }
-
-
-    @SuppressWarnings("unchecked")
-    private void ensureSize(int size) {
-        if (filtered.length < size) {
-            int[] replacement = new int[size * 3/2 + 1];
-            System.arraycopy(filtered, 0, replacement, 0, this.size);
-            filtered = replacement;
-        }
-    }
-
-    private void updateIndexes(int from, int delta) {
-        for (int i = from; i < size; ++i) {
-            filtered[i] += delta;
+        if (index >= filtered.size()) {
+            return ~size();
         }
+        final int pos = filtered.markedBefore(index);
+        return filtered.get(index).isMarked() ? pos : ~pos;
     }
 
     private void permutate(Change<? extends E> c) {
-        int from = findPosition(c.getFrom());
-        int to = findPosition(c.getTo());
+        final int sourceFrom = c.getFrom();
+        final int sourceTo = c.getTo();
+        final int from = filtered.markedBefore(sourceFrom);
+        final int to = filtered.markedBefore(sourceTo);
 
         if (to > from) {
-            for (int i = from; i < to; ++i) {
-                filtered[i] = c.getPermutation(filtered[i]);
+            // where the matching elements end up in the source list
+            final boolean[] marks = new boolean[sourceTo - sourceFrom];
+            Node<Void> node = filtered.get(sourceFrom);
+            for (int i = sourceFrom; i < sourceTo; ++i, node = OrderStatisticTree.next(node)) {
+                if (node.isMarked()) {
+                    marks[c.getPermutation(i) - sourceFrom] = true;
+                }
+            }
+            final int[] viewIndexes = new int[sourceTo - sourceFrom];
+            for (int i = 0, pos = from; i < marks.length; ++i) {
+                if (marks[i]) {
+                    viewIndexes[i] = pos++;
+                }
+            }
+            final int[] perm = new int[to - from];
+            node = filtered.get(sourceFrom);
+            for (int i = sourceFrom, pos = 0; i < sourceTo; ++i, node = OrderStatisticTree.next(node)) {
+                if (node.isMarked()) {
+                    perm[pos++] = viewIndexes[c.getPermutation(i) - sourceFrom];
+                }
+            }
+            node = filtered.get(sourceFrom);
+            for (int i = sourceFrom; i < sourceTo; ++i, node = OrderStatisticTree.next(node)) {
+                filtered.setMarked(node, marks[i - sourceFrom]);
             }
-
-            int[] perm = getSortHelper().sort(filtered, from, to);
             nextPermutation(from, to, perm);
         }
     }
 
     private void addRemove(Change<? extends E> c) {
         Predicate<? super E> pred = getPredicateImpl();
-        ensureSize(getSource().size());
-        final int from = findPosition(c.getFrom());
-        final int to = findPosition(c.getFrom() + c.getRemovedSize());
-
-        // Mark the nodes that are going to be removed
-        for (int i = from; i < to; ++i) {
-            nextRemove(from, c.getRemoved().get(filtered[i] - c.getFrom()));
-        }
-
-        // Update indexes of the sublist following the last element that was removed
-        updateIndexes(to, c.getAddedSize() - c.getRemovedSize());
-
-        // Replace as many removed elements as possible
-        int fpos = from;
-        int pos = c.getFrom();
-
-        ListIterator<? extends E> it = getSource().listIterator(pos);
-        for (; fpos < to && it.nextIndex() < c.getTo();) {
-            if (pred.test(it.next())) {
-                filtered[fpos] = it.previousIndex();
-                nextAdd(fpos, fpos + 1);
-                ++fpos;
+        final int sourceFrom = c.getFrom();
+        final int from = filtered.markedBefore(sourceFrom);
+
+        final List<E> removedMatching = new ArrayList<>();
+        if (c.getRemovedSize() > 0) {
+            final List<? extends E> removed = c.getRemoved();
+            if (sourceFrom == 0 && c.getRemovedSize() == filtered.size()) {
+                int i = 0;
+                for (Node<Void> node = filtered.first(); node != null; node = OrderStatisticTree.next(node), ++i) {
+                    if (node.isMarked()) {
+                        removedMatching.add(removed.get(i));
+                    }
+                }
+                filtered.clear();
+            } else {
+                Node<Void> node = filtered.get(sourceFrom);
+                for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
+                    // removing a node does not change the order of the others
+                    final Node<Void> next = OrderStatisticTree.next(node);
+                    if (node.isMarked()) {
+                        removedMatching.add(removed.get(i));
+                    }
+                    filtered.remove(node);
+                    node = next;
+                }
             }
         }
 
-        if (fpos < to) {
-            // If there were more removed elements than added
-            System.arraycopy(filtered, to, filtered, fpos, size - to);
-            size -= to - fpos;
-        } else {
-            // Add the remaining elements
-            while (it.nextIndex() < c.getTo()) {
-                if (pred.test(it.next())) {
-                    System.arraycopy(filtered, fpos, filtered, fpos + 1, size - fpos);
-                    filtered[fpos] = it.previousIndex();
-                    nextAdd(fpos, fpos + 1);
-                    ++fpos;
-                    ++size;
+        int added = 0;
+        if (c.getAddedSize() > 0) {
+            final ListIterator<? extends E> it = getSource().listIterator(sourceFrom);
+            if (filtered.size() == 0) {
+                // build the tree at once instead of inserting node by node
+                @SuppressWarnings("unchecked")
+                final Node<Void>[] nodes = new Node[c.getAddedSize()];
+                for (int i = 0; i < nodes.length; ++i) {
+                    nodes[i] = new Node<>(null, pred.test(it.next()));
+                }
+                filtered.setAll(nodes);
+                added = filtered.markedSize();
+            } else {
+                for (int i = sourceFrom, to = c.getTo(); i < to; ++i) {
+                    final boolean matches = pred.test(it.next());
+                    filtered.insert(i, new Node<>(null, matches));
+                    if (matches) {
+                        ++added;
+                    }
                 }
-                ++pos;
             }
         }
+
+        // report replaced elements as such, which is cheaper to merge with
+        // the other sub-changes than a remove and an add
+        final int replaced = Math.min(removedMatching.size(), added);
+        for (int i = 0; i < replaced; ++i) {
+            nextSet(from + i, removedMatching.get(i));
+        }
+        if (removedMatching.size() > replaced) {
+            nextRemove(from + replaced, removedMatching.subList(replaced, removedMatching.size()));
+        } else if (added > replaced) {
+            nextAdd(from + replaced, from + added);
+        }
     }
 
     private void update(Change<? extends E> c) {
         Predicate<? super E> pred = getPredicateImpl();
-        ensureSize(getSource().size());
-        int sourceFrom = c.getFrom();
-        int sourceTo = c.getTo();
-        int filterFrom = findPosition(sourceFrom);
-        int filterTo = findPosition(sourceTo);
+        final int sourceFrom = c.getFrom();
+        final int sourceTo = c.getTo();
+        int pos = filtered.markedBefore(sourceFrom);
         ListIterator<? extends E> it = getSource().listIterator(sourceFrom);
-        int pos = filterFrom;
-        while (pos < filterTo || sourceFrom < sourceTo) {
+        Node<Void> node = filtered.get(sourceFrom);
+        for (int i = sourceFrom; i < sourceTo; ++i, node = OrderStatisticTree.next(node)) {
             E el = it.next();
-            if (pos < size && filtered[pos] == sourceFrom) {
-                if (!pred.test(el)) {
+            final boolean matches = pred.test(el);
+            if (node.isMarked()) {
+                if (!matches) {
                     nextRemove(pos, el);
-                    System.arraycopy(filtered, pos + 1, filtered, pos, size - pos - 1);
-                    --size;
-                    --filterTo;
+                    filtered.setMarked(node, false);
                 } else {
                     nextUpdate(pos);
                     ++pos;
                 }
-            } else {
-                if (pred.test(el)) {
-                    nextAdd(pos, pos + 1);
-                    System.arraycopy(filtered, pos, filtered, pos + 1, size - pos);
-                    filtered[pos] = sourceFrom;
-                    ++size;
-                    ++pos;
-                    ++filterTo;
-                }
+            } else if (matches) {
+                filtered.setMarked(node, true);
+                nextAdd(pos, pos + 1);
+                ++pos;
             }
-            sourceFrom++;
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void refilter() {
-        ensureSize(getSource().size());
         List<E> removed = null;
         if (hasListeners()) {
-            removed = new ArrayList<>(this);
+            removed = new ArrayList<>(size());
+            Iterator<? extends E> it = getSource().iterator();
+            for (Node<Void> node = filtered.first(); node != null; node = OrderStatisticTree.next(node)) {
+                final E next = it.next();
+                if (node.isMarked()) {
+                    removed.add(next);
+                }
+            }
         }
-        size = 0;
+        @SuppressWarnings("unchecked")
+        final Node<Void>[] nodes = new Node[getSource().size()];
         int i = 0;
         Predicate<? super E> pred = getPredicateImpl();
         for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
-            final E next = it.next();
-            if (pred.test(next)) {
-                filtered[size++] = i;
-            }
-            ++i;
+            nodes[i++] = new Node<>(null, pred.test(it.next()));
         }
+        filtered.setAll(nodes);
         if (hasListeners()) {
-            fireChange(new GenericAddRemoveChange<>(0, size, removed, this));
+            fireChange(new GenericAddRemoveChange<>(0, size(), removed, this));
         }
     }
 
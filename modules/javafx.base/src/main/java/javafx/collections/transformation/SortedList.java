@@ -26,11 +26,12 @@
 package javafx.collections.transformation;
 
 import com.sun.javafx.collections.NonIterableChange.SimplePermutationChange;
+import com.sun.javafx.collections.OrderStatisticTree;
+import com.sun.javafx.collections.OrderStatisticTree.Node;
 import com.sun.javafx.collections.SortHelper;
 import com.sun.javafx.collections.SourceAdapterChange;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -53,14 +54,14 @@ import javafx.collections.ObservableList;
  */
 public final class SortedList<E> extends TransformationList<E, E>{
 
-    private Comparator<Element<E>> elementComparator;
-    private Element<E>[] sorted;
-    private int[] perm;
-    private int size;
+    private Comparator<? super E> elementComparator;
 
-    private final SortHelper helper = new SortHelper();
+    // every element has a node in both trees, linked to each other as peers:
+    // one tree keeps the order of this list, the other the order of the source
+    private final OrderStatisticTree<E> sorted = new OrderStatisticTree<>();
+    private final OrderStatisticTree<E> sourceOrder = new OrderStatisticTree<>();
 
-    private final Element<E> tempElement = new Element<>(null, -1);
+    private final SortHelper helper = new SortHelper();
 
 
     /**
@@ -70,16 +71,10 @@ public final class SortedList<E> extends TransformationList<E, E>{
      * @param source a list to wrap
      * @param comparator a comparator to use or null for unordered List
      */
-    @SuppressWarnings("unchecked")
     public SortedList(@NamedArg("source") ObservableList<? extends E> source, @NamedArg("comparator") Comparator<? super E> comparator) {
         super(source);
-        sorted = (Element<E>[]) new Element[source.size() *3/2 + 1];
-        perm = new int[sorted.length];
-        size = source.size();
-        for (int i = 0; i < size; ++i) {
-            sorted[i] = new Element<E>(source.get(i), i);
-            perm[i] = i;
-        }
+        final Node<E>[] nodes = createNodes(source, source.size());
+        sorted.setAll(nodes);
         if (comparator != null) {
             setComparator(comparator);
         }
@@ -127,8 +122,7 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
                 @Override
                 protected void invalidated() {
-                    Comparator<? super E> current = get();
-                    elementComparator = current != null ? new ElementComparator<>(current) : null;
+                    elementComparator = get();
                     doSortWithPermutationChange();
                 }
 
@@ -164,10 +158,10 @@ public final class SortedList<E> extends TransformationList<E, E>{
      */
     @Override
     public E get(int index) {
-        if (index >= size) {
+        if (index >= size()) {
             throw new IndexOutOfBoundsException();
         }
-        return sorted[index].e;
+        return sorted.get(index).getValue();
     }
 
     /**
@@ -177,43 +171,31 @@ public final class SortedList<E> extends TransformationList<E, E>{
      */
     @Override
     public int size() {
-        return size;
+        return sorted.size();
     }
 
     private void doSortWithPermutationChange() {
         if (elementComparator != null) {
-            int[] perm = helper.sort(sorted, 0, size, elementComparator);
-            for (int i = 0; i < size; i++) {
-                this.perm[sorted[i].index] = i;
-            }
-            fireChange(new SimplePermutationChange<>(0, size, perm, this));
+            final Node<E>[] nodes = sorted.toArray();
+            int[] perm = helper.sort(nodes, 0, nodes.length, nodeComparator());
+            sorted.setAll(nodes);
+            fireChange(new SimplePermutationChange<>(0, nodes.length, perm, this));
         } else {
+            // back to the order of the source list
+            final int size = size();
+            @SuppressWarnings("unchecked")
+            final Node<E>[] nodes = new Node[size];
             int[] perm = new int[size];
-            int[] rperm = new int[size];
-            for (int i = 0; i < size; ++i) {
-                perm[i] = rperm[i] = i;
-            }
             boolean changed = false;
             int idx = 0;
-            while (idx < size) {
-                final int otherIdx = sorted[idx].index;
-                if (otherIdx == idx) {
-                    ++idx;
-                    continue;
-                }
-                Element<E> other = sorted[otherIdx];
-                sorted[otherIdx] = sorted[idx];
-                sorted[idx] = other;
-                this.perm[idx] = idx;
-                this.perm[otherIdx] = otherIdx;
-                perm[rperm[idx]] = otherIdx;
-                perm[rperm[otherIdx]] = idx;
-                int tp = rperm[idx];
-                rperm[idx] = rperm[otherIdx];
-                rperm[otherIdx] = tp;
-                changed = true;
+            for (Node<E> n = sorted.first(); n != null; n = OrderStatisticTree.next(n), ++idx) {
+                final int sourceIdx = sourceOrder.indexOf(n.getPeer());
+                nodes[sourceIdx] = n;
+                perm[idx] = sourceIdx;
+                changed |= sourceIdx != idx;
             }
             if (changed) {
+                sorted.setAll(nodes);
                 fireChange(new SimplePermutationChange<>(0, size, perm, this));
             }
         }
@@ -221,184 +203,145 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     @Override
     public int getSourceIndex(int index) {
-        return sorted[index].index;
+        return sourceOrder.indexOf(sorted.get(index).getPeer());
     }
 
     @Override
     public int getViewIndex(int index) {
-        return perm[index];
+        return sorted.indexOf(sourceOrder.get(index).getPeer());
     }
 
     private void updatePermutationIndexes(Change<? extends E> change) {
-        for (int i = 0; i < size; ++i) {
-            int p = change.getPermutation(sorted[i].index);
-            sorted[i].index = p;
-            perm[p] = i;
-        }
+        sourceOrder.setAll(permute(sourceOrder.toArray(), change));
     }
 
     private void updateUnsorted(Change<? extends E> c) {
         while (c.next()) {
             if (c.wasPermutated()) {
-                Element[] sortedTmp = new Element[sorted.length];
-                for (int i = 0; i < size; ++i) {
-                    if (i >= c.getFrom() && i < c.getTo()) {
-                        int p = c.getPermutation(i);
-                        sortedTmp[p] = sorted[i];
-                        sortedTmp[p].index = p;
-                        perm[i] = i;
-                    } else {
-                        sortedTmp[i] = sorted[i];
-                    }
+                final Node<E>[] nodes = permute(sorted.toArray(), c);
+                sorted.setAll(nodes);
+                for (int i = 0; i < nodes.length; ++i) {
+                    nodes[i] = nodes[i].getPeer();
                 }
-                sorted = sortedTmp;
+                sourceOrder.setAll(nodes);
             }
             if (c.wasRemoved()) {
-                final int removedTo = c.getFrom() + c.getRemovedSize();
-                System.arraycopy(sorted, removedTo, sorted, c.getFrom(), size - removedTo);
-                System.arraycopy(perm, removedTo, perm, c.getFrom(), size - removedTo);
-                size -= c.getRemovedSize();
-                updateIndices(removedTo, removedTo, -c.getRemovedSize());
+                Node<E> node = sorted.get(c.getFrom());
+                for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
+                    final Node<E> next = OrderStatisticTree.next(node);
+                    sourceOrder.remove(node.getPeer());
+                    sorted.remove(node);
+                    node = next;
+                }
             }
             if (c.wasAdded()) {
-                ensureSize(size + c.getAddedSize());
-                updateIndices(c.getFrom(), c.getFrom(), c.getAddedSize());
-                System.arraycopy(sorted, c.getFrom(), sorted, c.getTo(), size - c.getFrom());
-                System.arraycopy(perm, c.getFrom(), perm, c.getTo(), size - c.getFrom());
-                size += c.getAddedSize();
-                for (int i = c.getFrom(); i < c.getTo(); ++i) {
-                    sorted[i] = new Element<E>(c.getList().get(i), i);
-                    perm[i] = i;
+                final List<? extends E> list = c.getList();
+                if (size() == 0) {
+                    sorted.setAll(createNodes(list, c.getTo()));
+                } else {
+                    for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                        final Node<E> node = createNode(list.get(i));
+                        sorted.insert(i, node);
+                        sourceOrder.insert(i, node.getPeer());
+                    }
                 }
             }
         }
     }
 
-    private static class Element<E> {
-
-        public Element(E e, int index) {
-            this.e = e;
-            this.index = index;
-        }
-
-        private E e;
-        private int index;
-    }
-
-    private static class ElementComparator<E> implements Comparator<Element<E>> {
-
-        private final Comparator<? super E> comparator;
-
-        public ElementComparator(Comparator<? super E> comparator) {
-            this.comparator = comparator;
-        }
-
-        @Override
-        @SuppressWarnings("unchecked")
-        public int compare(Element<E> o1, Element<E> o2) {
-            return comparator.compare(o1.e, o2.e);
-        }
-
+    private Comparator<Node<E>> nodeComparator() {
+        final Comparator<? super E> comparator = elementComparator;
+        return (n1, n2) -> comparator.compare(n1.getValue(), n2.getValue());
     }
 
-    private void ensureSize(int size) {
-        if (sorted.length < size) {
-            Element<E>[] replacement = new Element[size * 3/2 + 1];
-            System.arraycopy(sorted, 0, replacement, 0, this.size);
-            sorted = replacement;
-            int[] replacementPerm = new int[size * 3/2 + 1];
-            System.arraycopy(perm, 0, replacementPerm, 0, this.size);
-            perm = replacementPerm;
+    private static <E> Node<E>[] permute(Node<E>[] nodes, Change<? extends E> c) {
+        final Node<E>[] result = nodes.clone();
+        for (int i = c.getFrom(); i < c.getTo(); ++i) {
+            result[c.getPermutation(i)] = nodes[i];
         }
+        return result;
     }
 
-    private void updateIndices(int from, int viewFrom, int difference) {
-        for (int i = 0 ; i < size; ++i) {
-            if (sorted[i].index >= from) {
-                sorted[i].index += difference;
-            }
-            if (perm[i] >= viewFrom) {
-                perm[i] += difference;
-            }
-        }
+    private static <E> Node<E> createNode(E e) {
+        final Node<E> node = new Node<>(e, false);
+        final Node<E> sourceNode = new Node<>(e, false);
+        node.setPeer(sourceNode);
+        sourceNode.setPeer(node);
+        return node;
     }
 
-    private int findPosition(E e) {
-        if (sorted.length == 0) {
-            return 0;
+    /**
+     * Creates the nodes for the first {@code to} elements of the list and
+     * sets the source order tree to them. Returns the nodes for the sorted
+     * tree, in the order of the source.
+     */
+    private Node<E>[] createNodes(List<? extends E> list, int to) {
+        @SuppressWarnings("unchecked")
+        final Node<E>[] nodes = new Node[to];
+        @SuppressWarnings("unchecked")
+        final Node<E>[] sourceNodes = new Node[to];
+        for (int i = 0; i < to; ++i) {
+            nodes[i] = createNode(list.get(i));
+            sourceNodes[i] = nodes[i].getPeer();
         }
-        tempElement.e = e;
-        int pos = Arrays.binarySearch(sorted, 0, size, tempElement, elementComparator);
-        return pos;
+        sourceOrder.setAll(sourceNodes);
+        return nodes;
     }
 
     private void insertToMapping(E e, int idx) {
-        int pos = findPosition(e);
-        if (pos < 0) {
-            pos = ~pos;
-        }
-        ensureSize(size + 1);
-        updateIndices(idx, pos, 1);
-        System.arraycopy(sorted, pos, sorted, pos + 1, size - pos);
-        sorted[pos] = new Element<>(e, idx);
-        System.arraycopy(perm, idx, perm, idx + 1, size - idx);
-        perm[idx] = pos;
-        ++size;
+        final int pos = sorted.upperBound(e, elementComparator);
+        final Node<E> node = createNode(e);
+        sorted.insert(pos, node);
+        sourceOrder.insert(idx, node.getPeer());
         nextAdd(pos, pos + 1);
-
     }
 
     private void setAllToMapping(List<? extends E> list, int to) {
-        ensureSize(to);
-        size = to;
-        for (int i = 0; i < to; ++i) {
-            sorted[i] = new Element<E>(list.get(i), i);
-        }
-        int[] perm = helper.sort(sorted, 0, size, elementComparator);
-        System.arraycopy(perm, 0, this.perm, 0, size);
-        nextAdd(0, size);
+        final Node<E>[] nodes = createNodes(list, to);
+        helper.sort(nodes, 0, to, nodeComparator());
+        sorted.setAll(nodes);
+        nextAdd(0, to);
     }
 
     private void removeFromMapping(int idx, E e) {
-        int pos = perm[idx];
-        System.arraycopy(sorted, pos + 1, sorted, pos, size - pos - 1);
-        System.arraycopy(perm, idx + 1, perm, idx, size - idx - 1);
-        --size;
-        sorted[size] = null;
-        updateIndices(idx + 1, pos, - 1);
+        final Node<E> sourceNode = sourceOrder.get(idx);
+        final Node<E> node = sourceNode.getPeer();
+        final int pos = sorted.indexOf(node);
+        sorted.remove(node);
+        sourceOrder.remove(sourceNode);
 
         nextRemove(pos, e);
     }
 
     private void removeAllFromMapping() {
-        List<E> removed = new ArrayList(this);
-        for (int i = 0; i < size; ++i) {
-            sorted[i] = null;
+        List<E> removed = new ArrayList<>(size());
+        for (Node<E> n = sorted.first(); n != null; n = OrderStatisticTree.next(n)) {
+            removed.add(n.getValue());
         }
-        size = 0;
+        sorted.clear();
+        sourceOrder.clear();
         nextRemove(0, removed);
     }
 
     private void update(Change<? extends E> c) {
-        int[] perm = helper.sort(sorted, 0, size, elementComparator);
-        for (int i = 0; i < size; i++) {
-            this.perm[sorted[i].index] = i;
-        }
-        nextPermutation(0, size, perm);
+        final Node<E>[] nodes = sorted.toArray();
+        int[] perm = helper.sort(nodes, 0, nodes.length, nodeComparator());
+        sorted.setAll(nodes);
+        nextPermutation(0, nodes.length, perm);
         for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
-            nextUpdate(this.perm[i]);
+            nextUpdate(getViewIndex(i));
         }
     }
 
     private void addRemove(Change<? extends E> c) {
-        if (c.getFrom() == 0 && c.getRemovedSize() == size) {
+        if (c.getFrom() == 0 && c.getRemovedSize() == size()) {
             removeAllFromMapping();
         } else {
             for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
                 removeFromMapping(c.getFrom(), c.getRemoved().get(i));
             }
         }
-        if (size == 0) {
+        if (size() == 0) {
             setAllToMapping(c.getList(), c.getTo()); // This is basically equivalent to getAddedSubList
                                                      // as size is 0, only valid "from" is also 0
         } else {
@@ -30,6 +30,8 @@ import com.sun.javafx.binding.ExpressionHelperShim;
 import javafx.beans.InvalidationListener;
 import test.javafx.beans.InvalidationListenerMock;
 import javafx.beans.Observable;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import test.javafx.beans.WeakInvalidationListenerMock;
 import javafx.beans.value.ChangeListener;
 import test.javafx.beans.value.ChangeListenerMock;
@@ -39,11 +41,16 @@ import test.javafx.beans.value.WeakChangeListenerMock;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class ExpressionHelperTest {
@@ -645,4 +652,110 @@ public class ExpressionHelperTest {
         assertEquals(4, called.get());
     }
 
+    @Test
+    public void testAddRemoveManyListeners() {
+        final List<Integer> notified = new ArrayList<>();
+        final InvalidationListener[] listeners = new InvalidationListener[1000];
+        for (int i = 0; i < listeners.length; i++) {
+            final int id = i;
+            listeners[i] = o -> notified.add(id);
+            helper = ExpressionHelper.addListener(helper, observable, listeners[i]);
+        }
+        // remove the odd listeners, from the last one to the first one
+        for (int i = listeners.length - 1; i > 0; i -= 2) {
+            helper = ExpressionHelper.removeListener(helper, listeners[i]);
+        }
+        ExpressionHelperShim.fireValueChangedEvent(helper);
+        assertEquals(listeners.length / 2, notified.size());
+        for (int i = 0; i < notified.size(); i++) {
+            assertEquals(2 * i, (int) notified.get(i));
+        }
+
+        for (int i = 2; i < listeners.length; i += 2) {
+            helper = ExpressionHelper.removeListener(helper, listeners[i]);
+        }
+        notified.clear();
+        ExpressionHelperShim.fireValueChangedEvent(helper);
+        assertEquals(Collections.singletonList(0), notified);
+
+        helper = ExpressionHelper.removeListener(helper, listeners[0]);
+        assertNull(helper);
+    }
+
+    @Test
+    public void testAddRemoveManyListenersWithDuplicates() {
+        final List<Integer> notified = new ArrayList<>();
+        final InvalidationListener duplicate = o -> notified.add(-1);
+        final InvalidationListener[] listeners = new InvalidationListener[50];
+        for (int i = 0; i < listeners.length; i++) {
+            final int id = i;
+            listeners[i] = o -> notified.add(id);
+            helper = ExpressionHelper.addListener(helper, observable, listeners[i]);
+            if (i % 10 == 0) {
+                helper = ExpressionHelper.addListener(helper, observable, duplicate);
+            }
+        }
+        ExpressionHelperShim.fireValueChangedEvent(helper);
+        assertEquals(55, notified.size());
+        assertEquals(-1, (int) notified.get(1));
+
+        // removes the first occurrence only
+        helper = ExpressionHelper.removeListener(helper, duplicate);
+        notified.clear();
+        ExpressionHelperShim.fireValueChangedEvent(helper);
+        assertEquals(54, notified.size());
+        assertEquals(1, (int) notified.get(1));
+        assertEquals(-1, (int) notified.get(11));
+
+        for (int i = 0; i < 4; i++) {
+            helper = ExpressionHelper.removeListener(helper, duplicate);
+        }
+        notified.clear();
+        ExpressionHelperShim.fireValueChangedEvent(helper);
+        assertEquals(50, notified.size());
+        assertFalse(notified.contains(-1));
+    }
+
+    @Test
+    public void testRemoveManyListenersWhileLocked() {
+        final List<Integer> notified = new ArrayList<>();
+        final InvalidationListener[] listeners = new InvalidationListener[100];
+        for (int i = 0; i < listeners.length; i++) {
+            final int id = i;
+            listeners[i] = o -> {
+                notified.add(id);
+                if (id == 0) {
+                    for (int j = 1; j < listeners.length; j++) {
+                        helper = ExpressionHelper.removeListener(helper, listeners[j]);
+                    }
+                }
+            };
+            helper = ExpressionHelper.addListener(helper, observable, listeners[i]);
+        }
+        ExpressionHelperShim.fireValueChangedEvent(helper);
+        assertEquals(listeners.length, notified.size());
+
+        notified.clear();
+        ExpressionHelperShim.fireValueChangedEvent(helper);
+        assertEquals(Collections.singletonList(0), notified);
+    }
+
+    @Test
+    public void testGarbageCollectedWeakListenersArePurged() {
+        final IntegerProperty property = new SimpleIntegerProperty();
+        property.addListener(invalidationListener[0]);
+        for (int i = 0; i < 100; i++) {
+            property.addListener(new WeakInvalidationListenerMock());
+        }
+        for (int i = 0; i < 200; i++) {
+            property.addListener(new InvalidationListenerMock());
+        }
+        final List<InvalidationListener> listeners = ExpressionHelperUtility.getInvalidationListeners(property);
+        assertEquals(201, listeners.size());
+        assertEquals(invalidationListener[0], listeners.get(0));
+        for (InvalidationListener listener : listeners) {
+            assertFalse(listener instanceof WeakInvalidationListenerMock);
+        }
+    }
+
 }
@@ -26,6 +26,7 @@
 package test.com.sun.javafx.binding;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -342,13 +343,14 @@ public class ExpressionHelperUtility {
         try {
             final Field field = clazz.getDeclaredField("invalidationListeners");
             field.setAccessible(true);
-            final InvalidationListener[] listeners = (InvalidationListener[])field.get(helper);
-            if (listeners != null) {
+            final Object listeners = field.get(helper);
+            if (listeners instanceof InvalidationListener[]) {
                 final Field sizeField = clazz.getDeclaredField("invalidationSize");
                 sizeField.setAccessible(true);
                 final int size = sizeField.getInt(helper);
-                return Arrays.asList(Arrays.copyOf(listeners, size));
+                return Arrays.asList(Arrays.copyOf((InvalidationListener[])listeners, size));
             }
+            return getListenersFromListenerList(listeners);
         } catch (Exception ex) { }
         return Collections.emptyList();
     }
@@ -367,14 +369,35 @@ public class ExpressionHelperUtility {
         try {
             final Field field = clazz.getDeclaredField("changeListeners");
             field.setAccessible(true);
-            final ChangeListener<? super T>[] listeners = (ChangeListener[])field.get(helper);
-            if (listeners != null) {
+            final Object listeners = field.get(helper);
+            if (listeners instanceof ChangeListener[]) {
                 final Field sizeField = clazz.getDeclaredField("changeSize");
                 sizeField.setAccessible(true);
                 final int size = sizeField.getInt(helper);
-                return Arrays.asList(Arrays.copyOf(listeners, size));
+                return Arrays.asList(Arrays.copyOf((ChangeListener<? super T>[])listeners, size));
             }
+            return getListenersFromListenerList(listeners);
         } catch (Exception ex) { }
         return Collections.emptyList();
     }
+
+    // ExpressionHelper.Generic keeps its listeners in a ListenerList, where removed slots are null
+    private static <L> List<L> getListenersFromListenerList(Object listenerList) throws Exception {
+        final List<L> result = new ArrayList<>();
+        if (listenerList != null) {
+            final Class<?> clazz = listenerList.getClass();
+            final Field slotsField = clazz.getDeclaredField("slots");
+            slotsField.setAccessible(true);
+            final Field endField = clazz.getDeclaredField("end");
+            endField.setAccessible(true);
+            final Object[] slots = (Object[]) slotsField.get(listenerList);
+            final int end = endField.getInt(listenerList);
+            for (int i = 0; i < end; i++) {
+                if (slots[i] != null) {
+                    result.add((L) slots[i]);
+                }
+            }
+        }
+        return result;
+    }
 }
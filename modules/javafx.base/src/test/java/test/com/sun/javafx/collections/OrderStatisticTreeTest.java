@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.collections;
+
+import com.sun.javafx.collections.OrderStatisticTree;
+import com.sun.javafx.collections.OrderStatisticTree.Node;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class OrderStatisticTreeTest {
+
+    private OrderStatisticTree<Integer> tree;
+    private List<Node<Integer>> model;
+
+    @Before
+    public void setUp() {
+        tree = new OrderStatisticTree<>();
+        model = new ArrayList<>();
+    }
+
+    private void insert(int index, int value, boolean marked) {
+        final Node<Integer> node = new Node<>(value, marked);
+        tree.insert(index, node);
+        model.add(index, node);
+    }
+
+    private void check() {
+        assertEquals(model.size(), tree.size());
+        int marked = 0;
+        Node<Integer> n = tree.first();
+        for (int i = 0; i < model.size(); i++) {
+            final Node<Integer> node = model.get(i);
+            assertSame(node, n);
+            assertSame(node, tree.get(i));
+            assertEquals(i, tree.indexOf(node));
+            assertEquals(marked, tree.markedBefore(i));
+            if (node.isMarked()) {
+                assertSame(node, tree.getMarked(marked));
+                marked++;
+            }
+            n = OrderStatisticTree.next(n);
+        }
+        assertNull(n);
+        assertEquals(marked, tree.markedSize());
+        assertEquals(marked, tree.markedBefore(model.size()));
+    }
+
+    @Test
+    public void testEmpty() {
+        check();
+        assertNull(tree.first());
+    }
+
+    @Test
+    public void testInsertAtEnds() {
+        for (int i = 0; i < 100; i++) {
+            insert(tree.size(), i, i % 2 == 0);
+            insert(0, -i, i % 3 == 0);
+        }
+        check();
+    }
+
+    @Test
+    public void testRandomInsertRemoveAndMark() {
+        final Random random = new Random(3);
+        for (int step = 0; step < 3000; step++) {
+            final int op = random.nextInt(3);
+            if (op == 0 || model.isEmpty()) {
+                insert(random.nextInt(model.size() + 1), random.nextInt(), random.nextBoolean());
+            } else if (op == 1) {
+                tree.remove(model.remove(random.nextInt(model.size())));
+            } else {
+                tree.setMarked(model.get(random.nextInt(model.size())), random.nextBoolean());
+            }
+            if (step % 100 == 0) {
+                check();
+            }
+        }
+        check();
+    }
+
+    @Test
+    public void testSetAllThenInsert() {
+        final List<Node<Integer>> nodes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            nodes.add(new Node<>(i, i % 5 == 0));
+        }
+        @SuppressWarnings("unchecked")
+        final Node<Integer>[] array = nodes.toArray(new Node[0]);
+        tree.setAll(array);
+        model.addAll(nodes);
+        check();
+
+        final Random random = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            insert(random.nextInt(model.size() + 1), i, random.nextBoolean());
+            tree.remove(model.remove(random.nextInt(model.size())));
+        }
+        check();
+    }
+
+    @Test
+    public void testSetAllReordersNodesOfTheTree() {
+        for (int i = 0; i < 50; i++) {
+            insert(i, i, false);
+        }
+        final Node<Integer>[] reversed = tree.toArray();
+        for (int i = 0; i < reversed.length / 2; i++) {
+            final Node<Integer> t = reversed[i];
+            reversed[i] = reversed[reversed.length - 1 - i];
+            reversed[reversed.length - 1 - i] = t;
+        }
+        tree.setAll(reversed);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(49 - i, (int) tree.get(i).getValue());
+        }
+    }
+
+    @Test
+    public void testUpperBound() {
+        for (int i = 0; i < 10; i++) {
+            insert(i, i / 2, false);
+        }
+        final Comparator<Integer> c = Comparator.naturalOrder();
+        assertEquals(0, tree.upperBound(-1, c));
+        assertEquals(2, tree.upperBound(0, c));
+        assertEquals(6, tree.upperBound(2, c));
+        assertEquals(10, tree.upperBound(4, c));
+        assertEquals(10, tree.upperBound(7, c));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        insert(0, 1, true);
+        tree.get(1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetMarkedOutOfBounds() {
+        insert(0, 1, false);
+        tree.getMarked(0);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.collections;
+
+import com.sun.javafx.collections.SortHelper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SortHelperTest {
+
+    private static final class Item {
+        final int key;
+        final int id;
+
+        Item(int key, int id) {
+            this.key = key;
+            this.id = id;
+        }
+    }
+
+    private static final Comparator<Item> BY_KEY = Comparator.comparingInt(i -> i.key);
+
+    private static Item[] randomItems(int size, int keys) {
+        final Random random = new Random(size);
+        final Item[] items = new Item[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = new Item(random.nextInt(keys), i);
+        }
+        return items;
+    }
+
+    private static void assertSortedStable(Item[] original, Item[] sorted, int[] perm) {
+        for (int i = 1; i < sorted.length; i++) {
+            assertTrue(sorted[i - 1].key <= sorted[i].key);
+            if (sorted[i - 1].key == sorted[i].key) {
+                assertTrue(sorted[i - 1].id < sorted[i].id);
+            }
+        }
+        for (int i = 0; i < original.length; i++) {
+            assertSame(original[i], sorted[perm[i]]);
+        }
+    }
+
+    @Test
+    public void testParallelSortMatchesSequentialSort() {
+        for (int size : new int[] {0, 1, 5, 100, 8192, 8193, 100_000, 300_001}) {
+            final Item[] original = randomItems(size, size / 4 + 1);
+            final Item[] parallel = original.clone();
+            final Item[] sequential = original.clone();
+            final int[] parallelPerm = SortHelper.parallelSort(parallel, BY_KEY, null);
+            final int[] sequentialPerm = new SortHelper().sort(sequential, BY_KEY);
+            assertArrayEquals(sequential, parallel);
+            assertArrayEquals(sequentialPerm, parallelPerm);
+            assertSortedStable(original, parallel, parallelPerm);
+        }
+    }
+
+    @Test
+    public void testParallelSortWithFewKeysIsStable() {
+        final Item[] original = randomItems(200_000, 3);
+        final Item[] sorted = original.clone();
+        assertSortedStable(original, sorted, SortHelper.parallelSort(sorted, BY_KEY, null));
+    }
+
+    @Test
+    public void testParallelSortOfSortedAndReversedArrays() {
+        final Item[] ascending = new Item[100_000];
+        final Item[] descending = new Item[ascending.length];
+        for (int i = 0; i < ascending.length; i++) {
+            ascending[i] = new Item(i, i);
+            descending[i] = new Item(ascending.length - i, i);
+        }
+        Item[] sorted = ascending.clone();
+        assertSortedStable(ascending, sorted, SortHelper.parallelSort(sorted, BY_KEY, null));
+        sorted = descending.clone();
+        assertSortedStable(descending, sorted, SortHelper.parallelSort(sorted, BY_KEY, null));
+    }
+
+    @Test
+    public void testParallelSortNaturalOrder() {
+        final Integer[] a = {5, 3, 9, 1, 3};
+        final int[] perm = SortHelper.parallelSort(a, null, null);
+        assertArrayEquals(new Integer[] {1, 3, 3, 5, 9}, a);
+        assertArrayEquals(new int[] {3, 1, 4, 0, 2}, perm);
+    }
+
+    @Test
+    public void testCancelledParallelSortLeavesArrayUnmodified() {
+        final Item[] original = randomItems(100_000, 1000);
+        final Item[] a = original.clone();
+        final AtomicInteger comparisons = new AtomicInteger();
+        try {
+            SortHelper.parallelSort(a, (x, y) -> {
+                comparisons.incrementAndGet();
+                return BY_KEY.compare(x, y);
+            }, () -> comparisons.get() > 1000);
+            fail("CancellationException expected");
+        } catch (CancellationException e) {
+            // expected
+        }
+        assertArrayEquals(original, a);
+    }
+
+    @Test
+    public void testParallelSortPermutationLeavesListUnmodified() {
+        final Item[] original = randomItems(50_000, 100);
+        final List<Item> list = new ArrayList<>(Arrays.asList(original));
+        final int[] perm = SortHelper.parallelSortPermutation(list, BY_KEY, null);
+        assertEquals(Arrays.asList(original), list);
+
+        final Item[] sorted = original.clone();
+        assertArrayEquals(SortHelper.parallelSort(sorted, BY_KEY, null), perm);
+        SortHelper.permute(list, perm);
+        assertArrayEquals(sorted, list.toArray());
+    }
+
+    @Test
+    public void testPermute() {
+        final List<String> list = new ArrayList<>(Arrays.asList("a", "b", "c", "d"));
+        SortHelper.permute(list, new int[] {2, 0, 3, 1});
+        assertEquals(Arrays.asList("b", "d", "a", "c"), list);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPermuteWithWrongSize() {
+        SortHelper.permute(new ArrayList<>(Arrays.asList("a", "b")), new int[] {0});
+    }
+}
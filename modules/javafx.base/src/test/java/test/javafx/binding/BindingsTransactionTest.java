@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.binding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javafx.beans.InvalidationListener;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.IntegerBinding;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BindingsTransactionTest {
+
+    private IntegerProperty a;
+    private IntegerProperty b;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        a = new SimpleIntegerProperty(this, "a");
+        b = new SimpleIntegerProperty(this, "b");
+        events = new ArrayList<>();
+    }
+
+    private ChangeListener<Number> record(String name) {
+        return (observable, oldValue, newValue) -> events.add(name + ":" + oldValue + "->" + newValue);
+    }
+
+    /**
+     * Creates a binding which counts how often it is computed, in
+     * {@code computations[0]}.
+     */
+    private static IntegerBinding sum(int[] computations, ObservableValue<Number> x, ObservableValue<Number> y) {
+        return new IntegerBinding() {
+            {
+                bind(x, y);
+            }
+
+            @Override
+            protected int computeValue() {
+                computations[0]++;
+                return x.getValue().intValue() + y.getValue().intValue();
+            }
+        };
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullAction() {
+        Bindings.transaction(null);
+    }
+
+    @Test
+    public void testChangeListenerIsNotifiedOnceAtTheEnd() {
+        a.addListener(record("a"));
+        Bindings.transaction(() -> {
+            a.set(1);
+            a.set(2);
+            a.set(3);
+            assertTrue(events.isEmpty());
+        });
+        assertEquals(Arrays.asList("a:0->3"), events);
+
+        events.clear();
+        a.set(4);
+        assertEquals(Arrays.asList("a:3->4"), events);
+    }
+
+    @Test
+    public void testChangeListenerIsNotNotifiedIfTheValueIsRestored() {
+        a.addListener(record("a"));
+        Bindings.transaction(() -> {
+            a.set(1);
+            a.set(0);
+        });
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testInvalidationListenerIsNotifiedRightAway() {
+        final int[] invalidations = new int[1];
+        final InvalidationListener listener = o -> invalidations[0]++;
+        a.addListener(listener);
+        a.addListener(record("a"));
+        Bindings.transaction(() -> {
+            a.set(1);
+            assertEquals(1, invalidations[0]);
+            a.get();
+            a.set(2);
+            assertEquals(2, invalidations[0]);
+        });
+        assertEquals(Arrays.asList("a:0->2"), events);
+    }
+
+    @Test
+    public void testDiamondIsComputedOnce() {
+        final int[] computations = new int[1];
+        final IntegerBinding left = sum(new int[1], a, b);
+        final IntegerBinding right = sum(new int[1], a, a);
+        final IntegerBinding bottom = sum(computations, left, right);
+        bottom.addListener(record("bottom"));
+        assertEquals(1, computations[0]);
+
+        Bindings.transaction(() -> {
+            a.set(1);
+            b.set(1);
+            a.set(2);
+        });
+        assertEquals(2, computations[0]);
+        assertEquals(Arrays.asList("bottom:0->7"), events);
+
+        // without a transaction, both paths from a recompute the binding,
+        // and the listener sees the values in between
+        events.clear();
+        a.set(3);
+        b.set(2);
+        a.set(4);
+        assertEquals(9, computations[0]);
+        assertEquals(Arrays.asList("bottom:7->8", "bottom:8->10", "bottom:10->11", "bottom:11->12", "bottom:12->14"), events);
+    }
+
+    @Test
+    public void testListenersAreNotifiedInTheOrderOfInvalidation() {
+        a.addListener(record("a"));
+        b.addListener(record("b"));
+        Bindings.transaction(() -> {
+            b.set(1);
+            a.set(1);
+            b.set(2);
+        });
+        assertEquals(Arrays.asList("b:0->2", "a:0->1"), events);
+    }
+
+    @Test
+    public void testNestedTransactions() {
+        a.addListener(record("a"));
+        Bindings.transaction(() -> {
+            Bindings.transaction(() -> a.set(1));
+            assertTrue(events.isEmpty());
+            a.set(2);
+        });
+        assertEquals(Arrays.asList("a:0->2"), events);
+    }
+
+    @Test
+    public void testChangesOfListenersAreDeliveredBeforeTheEnd() {
+        a.addListener((observable, oldValue, newValue) -> b.set(newValue.intValue() * 10));
+        b.addListener(record("b"));
+        Bindings.transaction(() -> a.set(1));
+        assertEquals(Arrays.asList("b:0->10"), events);
+    }
+
+    @Test
+    public void testChangesAreDeliveredIfTheActionThrows() {
+        a.addListener(record("a"));
+        try {
+            Bindings.transaction(() -> {
+                a.set(1);
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        assertEquals(Arrays.asList("a:0->1"), events);
+
+        events.clear();
+        a.set(2);
+        assertEquals(Arrays.asList("a:1->2"), events);
+    }
+
+    @Test
+    public void testAddListenerDuringTransaction() {
+        a.addListener(record("first"));
+        Bindings.transaction(() -> {
+            a.set(1);
+            a.addListener(record("second"));
+            a.set(2);
+        });
+        assertEquals(Arrays.asList("first:0->2", "second:0->2"), events);
+    }
+
+    @Test
+    public void testRemoveListenerDuringTransaction() {
+        final ChangeListener<Number> first = record("first");
+        a.addListener(first);
+        a.addListener(record("second"));
+        Bindings.transaction(() -> {
+            a.set(1);
+            a.removeListener(first);
+            a.set(2);
+        });
+        assertEquals(Arrays.asList("second:0->2"), events);
+
+        events.clear();
+        final ChangeListener<Number> third = record("third");
+        b.addListener(third);
+        Bindings.transaction(() -> {
+            b.set(1);
+            b.removeListener(third);
+        });
+        assertEquals(Collections.emptyList(), events);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.binding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import javafx.beans.binding.ObjectBinding;
+import javafx.beans.binding.PropertyPath;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import test.com.sun.javafx.binding.ErrorLoggingUtiltity;
+
+public class PropertyPathTest {
+
+    public static class POJOHolder {
+        private final Object next;
+
+        public POJOHolder(Object next) {
+            this.next = next;
+        }
+
+        public Object getNext() {
+            return next;
+        }
+    }
+
+    private Variable a;
+    private Variable b;
+    private Variable c;
+    private Variable d;
+
+    @Before
+    public void setUp() {
+        a = new Variable("a");
+        b = new Variable("b");
+        c = new Variable("c");
+        d = new Variable("d");
+        a.setNext(b);
+        b.setNext(c);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testOf_Null() {
+        PropertyPath.of((String[]) null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testOf_NullStep() {
+        PropertyPath.of("next", null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOf_NoSteps() {
+        PropertyPath.of();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_EmptyStep() {
+        PropertyPath.parse("next..name");
+    }
+
+    @Test
+    public void testParse() {
+        final PropertyPath<String> path = PropertyPath.parse("next.next.name");
+        assertEquals(3, path.getLength());
+        assertEquals("next", path.getStep(1));
+        assertEquals("name", path.getStep(2));
+        assertEquals("next.next.name", path.toString());
+    }
+
+    @Test
+    public void testGetValue() {
+        final PropertyPath<String> path = PropertyPath.of("next", "next", "name");
+        assertEquals("c", path.getValue(a));
+        assertEquals("b", PropertyPath.of("next", "name").getValue(a));
+        b.setNext(null);
+        assertNull(path.getValue(a));
+        assertNull(path.getValue(null));
+    }
+
+    @Test
+    public void testGetValueThroughGetters() {
+        final POJOHolder holder = new POJOHolder(new POJOHolder(b));
+        assertEquals("c", PropertyPath.of("next", "next", "next", "name").getValue(holder));
+    }
+
+    @Test
+    public void testGetValueOfMissingProperty() {
+        assertNull(PropertyPath.of("next", "dummy").getValue(a));
+    }
+
+    @Test
+    public void testSelect() {
+        final ObjectBinding<String> binding = PropertyPath.<String>of("next", "name").select(a.nextProperty());
+        assertEquals("c", binding.get());
+        c.setName("x");
+        assertEquals("x", binding.get());
+        b.setNext(d);
+        assertEquals("d", binding.get());
+        d.setNext(c);
+        a.setNext(d);
+        assertEquals("x", binding.get());
+    }
+
+    @Test
+    public void testSelectFromBean() {
+        final ObjectBinding<String> binding = PropertyPath.<String>of("next", "next", "name").select(a);
+        assertEquals("c", binding.get());
+        b.setNext(d);
+        assertEquals("d", binding.get());
+    }
+
+    @Test
+    public void testSelectIsLazy() {
+        final ObjectBinding<String> binding = PropertyPath.<String>of("next", "name").select(a.nextProperty());
+        assertEquals(1, a.numChangedListenersForNext);
+        assertEquals(0, b.numChangedListenersForNext);
+        assertEquals(Arrays.asList(a.nextProperty()), binding.getDependencies());
+        binding.get();
+        assertEquals(1, b.numChangedListenersForNext);
+        assertEquals(1, c.numChangedListenersForName);
+        assertEquals(Arrays.asList(a.nextProperty(), b.nextProperty(), c.nameProperty()), binding.getDependencies());
+    }
+
+    @Test
+    public void testSelectKeepsListenersBeforeTheChangedStep() {
+        final ObjectBinding<String> binding = PropertyPath.<String>of("next", "name").select(a.nextProperty());
+        binding.get();
+
+        c.setName("x");
+        assertEquals(Arrays.asList(a.nextProperty(), b.nextProperty(), c.nameProperty()), binding.getDependencies());
+        assertEquals(1, b.numChangedListenersForNext);
+        assertEquals(1, c.numChangedListenersForName);
+        assertEquals("x", binding.get());
+        assertEquals(1, c.numChangedListenersForName);
+
+        b.setNext(d);
+        assertEquals(Arrays.asList(a.nextProperty(), b.nextProperty()), binding.getDependencies());
+        assertEquals(0, c.numChangedListenersForName);
+        assertEquals("d", binding.get());
+        assertEquals(0, c.numChangedListenersForName);
+        assertEquals(1, d.numChangedListenersForName);
+        assertEquals(1, b.numChangedListenersForNext);
+
+        a.setNext(null);
+        assertEquals(Arrays.asList(a.nextProperty()), binding.getDependencies());
+        assertEquals(0, b.numChangedListenersForNext);
+        assertEquals(0, d.numChangedListenersForName);
+    }
+
+    @Test
+    public void testSelectWithNullInThePath() {
+        final ObjectBinding<String> binding = PropertyPath.<String>of("next", "name").select(a.nextProperty());
+        ErrorLoggingUtiltity.reset();
+        b.setNext(null);
+        assertNull(binding.get());
+        assertEquals(Arrays.asList(a.nextProperty(), b.nextProperty()), binding.getDependencies());
+        assertTrue(ErrorLoggingUtiltity.isEmpty());
+        b.setNext(c);
+        assertEquals("c", binding.get());
+    }
+
+    @Test
+    public void testSelectThroughGetter() {
+        c.setNext(new POJOHolder(d));
+        final ObjectBinding<String> binding = PropertyPath.<String>of("next", "next", "next", "next", "name").select(a);
+        assertEquals("d", binding.get());
+        assertEquals(1, d.numChangedListenersForName);
+        d.setName("x");
+        assertEquals("x", binding.get());
+        c.setNext(new POJOHolder(b));
+        assertEquals("b", binding.get());
+        assertEquals(0, d.numChangedListenersForName);
+    }
+
+    @Test
+    public void testSelectMissingProperty() {
+        final ObjectBinding<Object> binding = PropertyPath.of("next", "dummy").select(a.nextProperty());
+        assertNull(binding.get());
+        assertEquals(Arrays.asList(a.nextProperty(), b.nextProperty()), binding.getDependencies());
+    }
+
+    @Test
+    public void testDispose() {
+        final ObjectBinding<String> binding = PropertyPath.<String>of("next", "name").select(a.nextProperty());
+        binding.get();
+        binding.dispose();
+        assertEquals(0, b.numChangedListenersForNext);
+        assertEquals(0, c.numChangedListenersForName);
+        assertEquals(Arrays.asList(a.nextProperty()), binding.getDependencies());
+    }
+}
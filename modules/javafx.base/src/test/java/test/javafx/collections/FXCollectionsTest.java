@@ -685,6 +685,115 @@ public class FXCollectionsTest {
         new HashMap<>(map);
     }
 
+    @Test
+    public void batchFiresOneChangeWithMergedRanges() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b", "c", "d", "e", "f");
+        final MockListObserver<String> observer = new MockListObserver<>();
+        list.addListener(observer);
+
+        FXCollections.batch(list, l -> {
+            l.set(1, "B");
+            l.set(4, "E");
+            l.set(2, "C");
+        });
+        assertEquals(Arrays.asList("a", "B", "C", "d", "E", "f"), list);
+        assertEquals(2, observer.calls.size());
+        observer.checkAddRemove(0, list, Arrays.asList("b", "c"), 1, 3);
+        observer.checkAddRemove(1, list, Arrays.asList("e"), 4, 5);
+    }
+
+    @Test
+    public void batchMergesAddsAndRemoves() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b", "c");
+        final MockListObserver<String> observer = new MockListObserver<>();
+        list.addListener(observer);
+
+        FXCollections.batch(list, l -> {
+            l.add("d");
+            l.add("e");
+            l.remove("e");
+            l.add(0, "z");
+        });
+        assertEquals(Arrays.asList("z", "a", "b", "c", "d"), list);
+        assertEquals(2, observer.calls.size());
+        observer.checkAddRemove(0, list, Collections.emptyList(), 0, 1);
+        observer.checkAddRemove(1, list, Collections.emptyList(), 4, 5);
+    }
+
+    @Test
+    public void nestedBatchFiresOnceOuterBatchCompletes() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b");
+        final MockListObserver<String> observer = new MockListObserver<>();
+        list.addListener(observer);
+
+        FXCollections.batch(list, l -> {
+            FXCollections.batch(l, inner -> inner.add("c"));
+            observer.check0();
+            l.add("d");
+        });
+        observer.check1AddRemove(list, Collections.emptyList(), 2, 4);
+    }
+
+    @Test
+    public void batchFiresChangeWhenEditsThrow() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b");
+        final MockListObserver<String> observer = new MockListObserver<>();
+        list.addListener(observer);
+
+        try {
+            FXCollections.batch(list, l -> {
+                l.add("c");
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        observer.check1AddRemove(list, Collections.emptyList(), 2, 3);
+
+        observer.clear();
+        list.add("d");
+        observer.check1AddRemove(list, Collections.emptyList(), 3, 4);
+    }
+
+    @Test
+    public void batchThroughWrappers() {
+        ObservableList<String> backing = FXCollections.observableArrayList("a", "b", "c");
+        ObservableList<String> checked = FXCollections.checkedObservableList(backing, String.class);
+        ObservableList<String> synced = FXCollections.synchronizedObservableList(checked);
+        ObservableList<String> unmodifiable = FXCollections.unmodifiableObservableList(synced);
+        final MockListObserver<String> observer = new MockListObserver<>();
+        unmodifiable.addListener(observer);
+
+        FXCollections.batch(synced, l -> {
+            l.add("d");
+            l.add(0, "z");
+        });
+        assertEquals(Arrays.asList("z", "a", "b", "c", "d"), unmodifiable);
+        assertEquals(2, observer.calls.size());
+    }
+
+    @Test
+    public void batchOnTransformedListsFiresOnce() {
+        ObservableList<Integer> list = FXCollections.observableArrayList(5, 1, 4, 2, 3);
+        ObservableList<Integer> sorted = list.filtered(i -> i != 4).sorted();
+        final int[] changes = new int[1];
+        sorted.addListener((ListChangeListener<Integer>) c -> changes[0]++);
+
+        FXCollections.batch(list, l -> {
+            l.set(0, 0);
+            l.set(4, 6);
+            l.add(7);
+        });
+        assertEquals(Arrays.asList(0, 1, 2, 6, 7), sorted);
+        assertEquals(1, changes[0]);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void batchNullList() {
+        FXCollections.batch(null, l -> {});
+    }
+
     @Test
     public void synchronizedSetIterationProtectionTest() {
         testIterationProtection(FXCollections.synchronizedObservableSet(FXCollections.observableSet()), this::addRandomValue, this::copySet);
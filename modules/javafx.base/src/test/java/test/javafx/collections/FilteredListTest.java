@@ -26,13 +26,17 @@
 package test.javafx.collections;
 
 import com.sun.javafx.collections.ObservableListWrapper;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 import java.util.function.Predicate;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableListWrapperShim;
 import javafx.collections.transformation.FilteredList;
@@ -288,4 +292,62 @@ public class FilteredListTest {
         assertEquals(list, filteredList);
         compareIndices();
     }
+
+    @Test
+    public void testRandomChanges() {
+        final Random random = new Random(7);
+        final ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 500; i++) {
+            source.add(random.nextInt(1000));
+        }
+        final FilteredList<Integer> filtered = new FilteredList<>(source, i -> i % 3 != 0);
+        final List<Integer> mirror = new ArrayList<>(filtered);
+        filtered.addListener(applyTo(mirror));
+
+        for (int step = 0; step < 2000; step++) {
+            final int index = random.nextInt(source.size() + 1);
+            switch (random.nextInt(4)) {
+                case 0:
+                    source.add(index, random.nextInt(1000));
+                    break;
+                case 1:
+                    source.addAll(index, Arrays.asList(random.nextInt(1000), random.nextInt(1000), random.nextInt(1000)));
+                    break;
+                case 2:
+                    if (index < source.size()) {
+                        source.remove(index, Math.min(source.size(), index + 1 + random.nextInt(3)));
+                    }
+                    break;
+                default:
+                    if (index < source.size()) {
+                        source.set(index, random.nextInt(1000));
+                    }
+                    break;
+            }
+            if (step % 100 == 0) {
+                FXCollections.sort(source);
+            }
+            assertEquals(source.stream().filter(i -> i % 3 != 0).collect(Collectors.toList()), filtered);
+            assertEquals(filtered, mirror);
+        }
+        compareIndices(filtered);
+    }
+
+    static <E> ListChangeListener<E> applyTo(List<E> mirror) {
+        return c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    final List<E> copy = new ArrayList<>(mirror);
+                    for (int i = c.getFrom(); i < c.getTo(); i++) {
+                        mirror.set(c.getPermutation(i), copy.get(i));
+                    }
+                } else {
+                    final List<E> removed = mirror.subList(c.getFrom(), c.getFrom() + c.getRemovedSize());
+                    assertEquals(c.getRemoved(), removed);
+                    removed.clear();
+                    mirror.addAll(c.getFrom(), c.getAddedSubList());
+                }
+            }
+        };
+    }
 }
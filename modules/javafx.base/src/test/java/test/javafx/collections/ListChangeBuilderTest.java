@@ -523,6 +523,55 @@ public class ListChangeBuilderTest {
         builder.endChange();
     }
 
+    @Test
+    public void testScatteredSets() {
+        builder.beginChange();
+        list.set(3, "dd");
+        builder.nextSet(3, "d");
+        list.set(0, "aa");
+        builder.nextSet(0, "a");
+        list.set(2, "cc");
+        builder.nextSet(2, "c");
+        builder.endChange();
+
+        assertEquals(Arrays.asList("aa", "b", "cc", "dd"), list);
+        observer.checkAddRemove(0, observableList, Arrays.asList("a"), 0, 1);
+        observer.checkAddRemove(1, observableList, Arrays.asList("c", "d"), 2, 4);
+    }
+
+    @Test
+    public void testSetAfterAddAndRemove() {
+        builder.beginChange();
+        list.add(1, "x");
+        builder.nextAdd(1, 2);
+        list.remove(4);
+        builder.nextRemove(4, "d");
+        list.set(1, "y");
+        builder.nextSet(1, "x");
+        list.set(3, "cc");
+        builder.nextSet(3, "c");
+        builder.endChange();
+
+        assertEquals(Arrays.asList("a", "y", "b", "cc"), list);
+        observer.checkAddRemove(0, observableList, Collections.EMPTY_LIST, 1, 2);
+        observer.checkAddRemove(1, observableList, Arrays.asList("c", "d"), 3, 4);
+    }
+
+    @Test
+    public void testSetSplitsUpdate() {
+        builder.beginChange();
+        builder.nextUpdate(0);
+        builder.nextUpdate(1);
+        builder.nextUpdate(2);
+        list.set(1, "bb");
+        builder.nextSet(1, "b");
+        builder.endChange();
+
+        observer.checkAddRemove(0, observableList, Arrays.asList("b"), 1, 2);
+        observer.checkUpdate(1, observableList, 0, 1);
+        observer.checkUpdate(2, observableList, 2, 3);
+    }
+
     @Test
     public void testToString_Permutation() {
         observableList.removeListener(observer);
@@ -34,6 +34,7 @@ import java.util.Collections;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
+import java.util.Random;
 
 import javafx.beans.Observable;
 import javafx.beans.property.SimpleObjectProperty;
@@ -595,4 +596,51 @@ public class SortedListTest {
         mockListObserver.check1Permutation(sortedList, new int[] {0, 3, 2, 1});
         compareIndices();
     }
+
+    @Test
+    public void testRandomChanges() {
+        final Random random = new Random(11);
+        final ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 500; i++) {
+            source.add(random.nextInt(100));
+        }
+        final SortedList<Integer> sorted = source.sorted(Comparator.reverseOrder());
+        final List<Integer> mirror = new ArrayList<>(sorted);
+        sorted.addListener(FilteredListTest.applyTo(mirror));
+
+        for (int step = 0; step < 2000; step++) {
+            final int index = random.nextInt(source.size() + 1);
+            switch (random.nextInt(4)) {
+                case 0:
+                    source.add(index, random.nextInt(100));
+                    break;
+                case 1:
+                    source.addAll(index, Arrays.asList(random.nextInt(100), random.nextInt(100), random.nextInt(100)));
+                    break;
+                case 2:
+                    if (index < source.size()) {
+                        source.remove(index, Math.min(source.size(), index + 1 + random.nextInt(3)));
+                    }
+                    break;
+                default:
+                    if (index < source.size()) {
+                        source.set(index, random.nextInt(100));
+                    }
+                    break;
+            }
+            if (step % 100 == 0) {
+                FXCollections.shuffle(source, random);
+            }
+            final List<Integer> expected = new ArrayList<>(source);
+            expected.sort(Comparator.reverseOrder());
+            assertEquals(expected, sorted);
+            assertEquals(sorted, mirror);
+        }
+        compareIndices(sorted);
+
+        sorted.setComparator(null);
+        assertEquals(source, sorted);
+        assertEquals(sorted, mirror);
+        compareIndices(sorted);
+    }
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.charts;
+
+import java.util.Arrays;
+
+/**
+ * Reduces the points of a chart series, given in display coordinates, to the
+ * points which make a visible difference when drawn into a plot area of a
+ * given size.
+ * <p>
+ * Lines are reduced per pixel column: every run of consecutive points falling
+ * into the same column is replaced by its first, minimum, maximum and last
+ * point, which draws the same pixels as the full run. Scattered points are
+ * reduced to one point per pixel. The points are kept in growable primitive
+ * arrays so that an instance can be reused for every series and every layout
+ * pass without allocating.
+ */
+public final class SeriesDecimator {
+
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private int size;
+
+    private double[] sortX;
+    private double[] sortY;
+    private long[] pixels;
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Appends a point, ignoring points with a NaN coordinate.
+     */
+    public void add(double x, double y) {
+        if (Double.isNaN(x) || Double.isNaN(y)) {
+            return;
+        }
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, size * 2);
+            ys = Arrays.copyOf(ys, size * 2);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the x coordinates of the points; only the first {@link #size()}
+     * entries are valid.
+     */
+    public double[] getXs() {
+        return xs;
+    }
+
+    /**
+     * Returns the y coordinates of the points; only the first {@link #size()}
+     * entries are valid.
+     */
+    public double[] getYs() {
+        return ys;
+    }
+
+    /**
+     * Sorts the points by their x coordinate, or by their y coordinate when
+     * {@code byY} is true. The sort is stable and does nothing if the points
+     * are already sorted, which is the common case for time series.
+     */
+    public void sort(boolean byY) {
+        final double[] keys = byY ? ys : xs;
+        boolean sorted = true;
+        for (int i = 1; i < size; i++) {
+            if (keys[i] < keys[i - 1]) {
+                sorted = false;
+                break;
+            }
+        }
+        if (sorted) {
+            return;
+        }
+        if (sortX == null || sortX.length < size) {
+            sortX = new double[xs.length];
+            sortY = new double[ys.length];
+        }
+        // bottom up merge sort, swapping source and destination every pass
+        double[] srcX = xs, srcY = ys, dstX = sortX, dstY = sortY;
+        for (int width = 1; width < size; width *= 2) {
+            final double[] srcKeys = byY ? srcY : srcX;
+            for (int lo = 0; lo < size; lo += 2 * width) {
+                final int mid = Math.min(lo + width, size);
+                final int hi = Math.min(lo + 2 * width, size);
+                int i = lo, j = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (i < mid && (j >= hi || srcKeys[i] <= srcKeys[j])) {
+                        dstX[k] = srcX[i];
+                        dstY[k] = srcY[i++];
+                    } else {
+                        dstX[k] = srcX[j];
+                        dstY[k] = srcY[j++];
+                    }
+                }
+            }
+            double[] t = srcX; srcX = dstX; dstX = t;
+            t = srcY; srcY = dstY; dstY = t;
+        }
+        if (srcX != xs) {
+            sortX = xs;
+            sortY = ys;
+            xs = srcX;
+            ys = srcY;
+        }
+    }
+
+    /**
+     * Reduces every run of consecutive points falling into the same pixel
+     * column to the first, minimum, maximum and last point of the run, in
+     * their original order. When {@code byRows} is true, the runs are formed
+     * by pixel rows instead and the minimum and maximum are taken along x.
+     * <p>
+     * All the points left of the plot area fall into one column, and so do
+     * all the points right of it, since segments between them are never
+     * visible.
+     *
+     * @param extent the width of the plot area, or its height when
+     *               {@code byRows} is true
+     */
+    public void decimate(boolean byRows, double extent) {
+        final double[] keys = byRows ? ys : xs;
+        final double[] values = byRows ? xs : ys;
+        final int maxColumn = (int) Math.ceil(extent);
+        int out = 0;
+        int start = 0;
+        while (start < size) {
+            final int column = column(keys[start], maxColumn);
+            int end = start + 1;
+            int min = start;
+            int max = start;
+            while (end < size && column(keys[end], maxColumn) == column) {
+                if (values[end] < values[min]) {
+                    min = end;
+                } else if (values[end] > values[max]) {
+                    max = end;
+                }
+                end++;
+            }
+            final int last = end - 1;
+            // emit first, min, max and last in index order, without duplicates
+            out = emit(start, out);
+            final int lo = Math.min(min, max);
+            final int hi = Math.max(min, max);
+            if (lo != start && lo != last) {
+                out = emit(lo, out);
+            }
+            if (hi != start && hi != last && hi != lo) {
+                out = emit(hi, out);
+            }
+            if (last != start) {
+                out = emit(last, out);
+            }
+            start = end;
+        }
+        size = out;
+    }
+
+    private static int column(double coord, int maxColumn) {
+        if (coord < 0) {
+            return -1;
+        }
+        if (coord >= maxColumn) {
+            return maxColumn;
+        }
+        return (int) coord;
+    }
+
+    private int emit(int index, int out) {
+        xs[out] = xs[index];
+        ys[out] = ys[index];
+        return out + 1;
+    }
+
+    /**
+     * Keeps only the first point drawn into each pixel and drops the points
+     * which are further than {@code margin} outside of the plot area, so that
+     * no symbol is drawn twice at the same location.
+     */
+    public void decimatePixels(double width, double height, double margin) {
+        final int m = (int) Math.ceil(Math.max(0, margin));
+        final int w = (int) Math.ceil(width) + 2 * m;
+        final int h = (int) Math.ceil(height) + 2 * m;
+        if (w <= 0 || h <= 0) {
+            size = 0;
+            return;
+        }
+        final int words = (int) (((long) w * h + 63) >>> 6);
+        if (pixels == null || pixels.length < words) {
+            pixels = new long[words];
+        } else {
+            Arrays.fill(pixels, 0, words, 0L);
+        }
+        int out = 0;
+        for (int i = 0; i < size; i++) {
+            final double px = Math.floor(xs[i]) + m;
+            final double py = Math.floor(ys[i]) + m;
+            if (px < 0 || py < 0 || px >= w || py >= h) {
+                continue;
+            }
+            final long bit = (long) py * w + (long) px;
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            if ((pixels[word] & mask) == 0) {
+                pixels[word] |= mask;
+                out = emit(i, out);
+            }
+        }
+        size = out;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene.control;
+
+import com.sun.javafx.collections.SortHelper;
+import com.sun.javafx.collections.SortableList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.collections.ObservableList;
+
+/**
+ * Sorts an observable list off the FX application thread.
+ * <p>
+ * The sort works on a snapshot of the list taken when it is started and
+ * computes the permutation on the common fork-join pool. The permutation is
+ * then applied on the FX application thread with a single permutation change,
+ * which requires the list to be a {@link SortableList}. The sort is cancelled
+ * when the list changes in the meantime, since the result would then be
+ * stale. If the list turns out not to be modifiable when the permutation is
+ * applied, or the comparator throws, a failure handler is run so that the
+ * caller can back out the sort.
+ *
+ * @param <T> the type of the list elements
+ */
+public final class BackgroundSort<T> implements Runnable {
+
+    private final ObservableList<T> items;
+    private final List<T> snapshot;
+    private final Comparator<? super T> comparator;
+    private final Runnable onFailure;
+    private final InvalidationListener itemsListener = o -> cancel();
+    private volatile boolean cancelled;
+    private boolean done;
+
+    private BackgroundSort(ObservableList<T> items, Comparator<? super T> comparator, Runnable onFailure) {
+        this.items = items;
+        this.snapshot = new ArrayList<>(items);
+        this.comparator = comparator;
+        this.onFailure = onFailure;
+    }
+
+    /**
+     * Starts sorting the list with the given comparator, which is called
+     * concurrently from background threads. Must be called on the FX
+     * application thread.
+     *
+     * @param onFailure run on the FX application thread if the sort fails,
+     *        may be null
+     * @throws IllegalArgumentException if the list is not a SortableList
+     */
+    public static <T> BackgroundSort<T> start(ObservableList<T> items, Comparator<? super T> comparator,
+                                              Runnable onFailure) {
+        if (!(items instanceof SortableList)) {
+            throw new IllegalArgumentException("The list must be a SortableList");
+        }
+        final BackgroundSort<T> sort = new BackgroundSort<>(items, comparator, onFailure);
+        items.addListener(sort.itemsListener);
+        ForkJoinPool.commonPool().execute(sort);
+        return sort;
+    }
+
+    /**
+     * Cancels the sort, unless it has been applied already. Must be called on
+     * the FX application thread.
+     */
+    public void cancel() {
+        if (!done) {
+            done = true;
+            cancelled = true;
+            items.removeListener(itemsListener);
+        }
+    }
+
+    @Override
+    public void run() {
+        final int[] perm;
+        try {
+            perm = SortHelper.parallelSortPermutation(snapshot, comparator, () -> cancelled);
+        } catch (CancellationException e) {
+            return;
+        } catch (RuntimeException e) {
+            Platform.runLater(() -> {
+                // a sort cancelled in the meantime doesn't need backing out
+                final boolean pending = !done;
+                cancel();
+                if (pending) {
+                    fail();
+                }
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            });
+            return;
+        }
+        Platform.runLater(() -> apply(perm));
+    }
+
+    private void apply(int[] perm) {
+        if (done || cancelled) {
+            return;
+        }
+        done = true;
+        items.removeListener(itemsListener);
+        try {
+            ((SortableList<T>) items).permute(perm);
+        } catch (UnsupportedOperationException e) {
+            // the list cannot be modified after all
+            fail();
+        }
+    }
+
+    private void fail() {
+        if (onFailure != null) {
+            onFailure.run();
+        }
+    }
+}
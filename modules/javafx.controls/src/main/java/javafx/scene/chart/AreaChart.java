@@ -42,6 +42,7 @@ import javafx.collections.ObservableList;
 import javafx.scene.AccessibleRole;
 import javafx.scene.Group;
 import javafx.scene.Node;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.ClosePath;
 import javafx.scene.shape.LineTo;
@@ -52,6 +53,7 @@ import javafx.scene.shape.StrokeLineJoin;
 import javafx.util.Duration;
 
 import com.sun.javafx.charts.Legend.LegendItem;
+import com.sun.javafx.charts.SeriesDecimator;
 import javafx.css.converter.BooleanConverter;
 import javafx.beans.property.BooleanProperty;
 import javafx.css.CssMetaData;
@@ -86,6 +88,7 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
                     Data<X,Y> item = series.getData().get(itemIndex);
                     Node symbol = item.getNode();
                     if(get() && symbol == null) { // create any symbols
+                        if (isDrawingToCanvas()) continue;
                         symbol = createSymbol(series, getData().indexOf(series), item, itemIndex);
                         if (null != symbol) {
                             getPlotChildren().add(symbol);
@@ -180,6 +183,7 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
     }
 
     @Override protected void dataItemAdded(Series<X,Y> series, int itemIndex, Data<X,Y> item) {
+        if (isDrawingToCanvas()) return;
         final Node symbol = createSymbol(series, getData().indexOf(series), item, itemIndex);
         if (shouldAnimate()) {
             boolean animate = false;
@@ -383,7 +387,7 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
                 new KeyValue(seriesYAnimMultiplier, 1)
             ));
         }
-        for (int j=0; j<series.getData().size(); j++) {
+        for (int j=0; j<series.getData().size() && !isDrawingToCanvas(); j++) {
             Data<X,Y> item = series.getData().get(j);
             final Node symbol = createSymbol(series, seriesIndex, item, j);
             if (symbol != null) {
@@ -425,11 +429,63 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
             final ObservableList<Node> children = ((Group) series.getNode()).getChildren();
             Path fillPath = (Path) children.get(0);
             Path linePath = (Path) children.get(1);
+            if (isDrawingToCanvas()) {
+                // the paths only hold the series styles, the area is drawn in drawPlotCanvas
+                fillPath.getElements().clear();
+                linePath.getElements().clear();
+                continue;
+            }
             makePaths(this, series, constructedPath, fillPath, linePath,
                       seriesYAnimMultiplier.get(), SortingPolicy.X_AXIS);
         }
     }
 
+    /** {@inheritDoc} */
+    @Override boolean supportsCanvasRendering() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override void canvasRenderingChanged() {
+        updateItemNodes(this::createSymbol);
+    }
+
+    /** {@inheritDoc} */
+    @Override void drawPlotCanvas(GraphicsContext gc, double width, double height) {
+        final Axis<Y> axisY = getYAxis();
+        final double yOrigin = axisY.getDisplayPosition(axisY.toRealValue(0.0));
+        for (int seriesIndex=0; seriesIndex < getDataSize(); seriesIndex++) {
+            Series<X, Y> series = getData().get(seriesIndex);
+            final Node seriesNode = series.getNode();
+            if (!seriesNode.isVisible()) continue;
+            final ObservableList<Node> children = ((Group) seriesNode).getChildren();
+            final Path fillPath = (Path) children.get(0);
+            final Path linePath = (Path) children.get(1);
+            final SeriesDecimator decimator = collectDisplayPositions(series);
+            decimator.sort(false);
+            decimator.decimate(false, width);
+            final int count = decimator.size();
+            if (count == 0) continue;
+            final double[] xs = decimator.getXs();
+            final double[] ys = decimator.getYs();
+            gc.setGlobalAlpha(seriesNode.getOpacity());
+            if (fillPath.isVisible() && !Double.isNaN(yOrigin)) {
+                // close the area down to the zero line, like the fill path does
+                decimator.add(xs[count - 1], yOrigin);
+                decimator.add(xs[0], yOrigin);
+                gc.setGlobalAlpha(seriesNode.getOpacity() * fillPath.getOpacity());
+                gc.setFill(fillPath.getFill());
+                gc.fillPolygon(decimator.getXs(), decimator.getYs(), decimator.size());
+            }
+            if (linePath.isVisible()) {
+                applyStroke(gc, linePath);
+                gc.setGlobalAlpha(seriesNode.getOpacity() * linePath.getOpacity());
+                gc.strokePolyline(decimator.getXs(), decimator.getYs(), count);
+            }
+        }
+        gc.setGlobalAlpha(1);
+    }
+
     static <X,Y> void makePaths(XYChart<X, Y> chart, Series<X, Y> series,
                                 List<LineTo> constructedPath,
                                 Path fillPath, Path linePath,
@@ -312,7 +312,15 @@ public abstract class Chart extends Region {
      * @return true if animation is enabled and the node is visible and in a scene
      */
     protected final boolean shouldAnimate(){
-        return getAnimated() && NodeHelper.isTreeShowing(this);
+        return getAnimated() && !isAnimationSuppressed() && NodeHelper.isTreeShowing(this);
+    }
+
+    /**
+     * Returns true if the chart is in a mode where data changes are never animated, regardless of the animated
+     * property.
+     */
+    boolean isAnimationSuppressed() {
+        return false;
     }
 
     /**
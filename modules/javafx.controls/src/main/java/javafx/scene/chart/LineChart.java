@@ -49,6 +49,7 @@ import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.scene.AccessibleRole;
 import javafx.scene.Node;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
@@ -58,6 +59,7 @@ import javafx.scene.shape.StrokeLineJoin;
 import javafx.util.Duration;
 
 import com.sun.javafx.charts.Legend.LegendItem;
+import com.sun.javafx.charts.SeriesDecimator;
 
 import javafx.css.StyleableBooleanProperty;
 import javafx.css.CssMetaData;
@@ -99,6 +101,7 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
                     Data<X,Y> item = series.getData().get(itemIndex);
                     Node symbol = item.getNode();
                     if(get() && symbol == null) { // create any symbols
+                        if (isDrawingToCanvas()) continue;
                         symbol = createSymbol(series, getData().indexOf(series), item, itemIndex);
                         getPlotChildren().add(symbol);
                     } else if (!get() && symbol != null) { // remove symbols
@@ -214,6 +217,7 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
     }
 
     @Override protected void dataItemAdded(final Series<X,Y> series, int itemIndex, final Data<X,Y> item) {
+        if (isDrawingToCanvas()) return;
         final Node symbol = createSymbol(series, getData().indexOf(series), item, itemIndex);
         if (shouldAnimate()) {
             if (dataRemoveTimeline != null && dataRemoveTimeline.getStatus().equals(Animation.Status.RUNNING)) {
@@ -418,7 +422,7 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
                 new KeyValue(seriesYAnimMultiplier, 1)
             ));
         }
-        for (int j=0; j<series.getData().size(); j++) {
+        for (int j=0; j<series.getData().size() && !isDrawingToCanvas(); j++) {
             Data<X,Y> item = series.getData().get(j);
             final Node symbol = createSymbol(series, seriesIndex, item, j);
             if(symbol != null) {
@@ -455,6 +459,11 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
             final DoubleProperty seriesYAnimMultiplier = seriesYMultiplierMap.get(series);
             final Node seriesNode = series.getNode();
             if (seriesNode instanceof Path) {
+                if (isDrawingToCanvas()) {
+                    // the path only holds the series styles, the line is drawn in drawPlotCanvas
+                    ((Path) seriesNode).getElements().clear();
+                    continue;
+                }
                 AreaChart.makePaths(this, series,
                                     constructedPath, null, (Path) seriesNode,
                                     seriesYAnimMultiplier.get(), getAxisSortingPolicy());
@@ -462,6 +471,35 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override boolean supportsCanvasRendering() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override void canvasRenderingChanged() {
+        updateItemNodes(this::createSymbol);
+    }
+
+    /** {@inheritDoc} */
+    @Override void drawPlotCanvas(GraphicsContext gc, double width, double height) {
+        final SortingPolicy sortingPolicy = getAxisSortingPolicy();
+        final boolean byY = sortingPolicy == SortingPolicy.Y_AXIS;
+        for (int seriesIndex=0; seriesIndex < getDataSize(); seriesIndex++) {
+            Series<X,Y> series = getData().get(seriesIndex);
+            final Node seriesNode = series.getNode();
+            if (!(seriesNode instanceof Path) || !seriesNode.isVisible()) continue;
+            final SeriesDecimator decimator = collectDisplayPositions(series);
+            if (sortingPolicy != SortingPolicy.NONE) decimator.sort(byY);
+            decimator.decimate(byY, byY ? height : width);
+            if (decimator.size() == 0) continue;
+            applyStroke(gc, (Path) seriesNode);
+            gc.setGlobalAlpha(seriesNode.getOpacity());
+            gc.strokePolyline(decimator.getXs(), decimator.getYs(), decimator.size());
+        }
+        gc.setGlobalAlpha(1);
+    }
+
     /** {@inheritDoc} */
     @Override void dataBeingRemovedIsAdded(Data item, Series series) {
         if (fadeSymbolTransition != null) {
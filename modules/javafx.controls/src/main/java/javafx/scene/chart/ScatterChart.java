@@ -32,13 +32,30 @@ import javafx.beans.NamedArg;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.AccessibleRole;
+import javafx.geometry.Insets;
 import javafx.scene.Node;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.StackPane;
+import javafx.scene.shape.FillRule;
+import javafx.scene.shape.SVGPath;
+import javafx.scene.shape.Shape;
 import javafx.util.Duration;
 
 import com.sun.javafx.charts.Legend.LegendItem;
+import com.sun.javafx.charts.SeriesDecimator;
+import com.sun.javafx.geom.IllegalPathStateException;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.PathIterator;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.transform.Affine2D;
 
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Chart type that plots symbols for the data points in a series.
@@ -46,6 +63,14 @@ import java.util.Iterator;
  */
 public class ScatterChart<X,Y> extends XYChart<X,Y> {
 
+    // -------------- PRIVATE FIELDS ------------------------------------------
+
+    /** Hidden symbols holding the CSS styles of the series while drawing into the canvas */
+    private final Map<Series<X,Y>, StackPane> symbolTemplates = new HashMap<>();
+    /** Scratch objects used to draw shaped symbols into the canvas */
+    private final Affine2D symbolTransform = new Affine2D();
+    private final float[] symbolCoords = new float[6];
+
     // -------------- CONSTRUCTORS ----------------------------------------------
 
     /**
@@ -74,6 +99,7 @@ public class ScatterChart<X,Y> extends XYChart<X,Y> {
 
     /** {@inheritDoc} */
     @Override protected void dataItemAdded(Series<X,Y> series, int itemIndex, Data<X,Y> item) {
+        if (isDrawingToCanvas()) return;
         Node symbol = item.getNode();
         // check if symbol has already been created
         if (symbol == null) {
@@ -128,6 +154,10 @@ public class ScatterChart<X,Y> extends XYChart<X,Y> {
 
     /** {@inheritDoc} */
     @Override protected  void seriesAdded(Series<X,Y> series, int seriesIndex) {
+        if (isDrawingToCanvas()) {
+            addSymbolTemplate(series, seriesIndex);
+            return;
+        }
         // handle any data already in series
         for (int j=0; j<series.getData().size(); j++) {
             dataItemAdded(series,j,series.getData().get(j));
@@ -136,6 +166,7 @@ public class ScatterChart<X,Y> extends XYChart<X,Y> {
 
     /** {@inheritDoc} */
     @Override protected  void seriesRemoved(final Series<X,Y> series) {
+        getPlotChildren().remove(symbolTemplates.remove(series));
         // remove all symbol nodes
         if (shouldAnimate()) {
             ParallelTransition pt = new ParallelTransition();
@@ -165,6 +196,12 @@ public class ScatterChart<X,Y> extends XYChart<X,Y> {
 
     /** {@inheritDoc} */
     @Override protected void layoutPlotChildren() {
+        if (isDrawingToCanvas()) {
+            for (StackPane template : symbolTemplates.values()) {
+                template.resize(template.prefWidth(-1), template.prefHeight(-1));
+            }
+            return;
+        }
         // update symbol positions
         for (int seriesIndex=0; seriesIndex < getDataSize(); seriesIndex++) {
             Series<X,Y> series = getData().get(seriesIndex);
@@ -185,10 +222,150 @@ public class ScatterChart<X,Y> extends XYChart<X,Y> {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override boolean supportsCanvasRendering() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override void canvasRenderingChanged() {
+        getPlotChildren().removeAll(symbolTemplates.values());
+        symbolTemplates.clear();
+        if (isDrawingToCanvas()) {
+            for (int seriesIndex = 0; seriesIndex < getDataSize(); seriesIndex++) {
+                addSymbolTemplate(getData().get(seriesIndex), seriesIndex);
+            }
+        }
+        updateItemNodes((series, seriesIndex, item, itemIndex) -> {
+            dataItemAdded(series, itemIndex, item);
+            return null;
+        });
+    }
+
+    private void addSymbolTemplate(Series<X,Y> series, int seriesIndex) {
+        final StackPane template = new StackPane();
+        template.getStyleClass().setAll("chart-symbol", "series" + seriesIndex, series.defaultColorStyleClass);
+        template.setVisible(false);
+        template.setManaged(false);
+        symbolTemplates.put(series, template);
+        getPlotChildren().add(template);
+    }
+
+    /** {@inheritDoc} */
+    @Override void drawPlotCanvas(GraphicsContext gc, double width, double height) {
+        for (int seriesIndex = 0; seriesIndex < getDataSize(); seriesIndex++) {
+            final Series<X,Y> series = getData().get(seriesIndex);
+            final StackPane template = symbolTemplates.get(series);
+            final Background background = template == null ? null : template.getBackground();
+            if (background == null || background.getFills().isEmpty()) continue;
+            final double w = template.getWidth();
+            final double h = template.getHeight();
+            // symbols shaped with -fx-shape are filled with the shape fitted into each fill, like the Region does
+            final Shape shape = template.getShape();
+            final Path2D symbolPath = shape instanceof SVGPath ? createSymbolPath((SVGPath) shape) : null;
+            if (symbolPath != null) {
+                gc.setFillRule(((SVGPath) shape).getFillRule());
+            }
+            final SeriesDecimator decimator = collectDisplayPositions(series);
+            // a symbol drawn at the same pixel as an earlier one would cover it exactly
+            decimator.decimatePixels(width, height, Math.max(w, h) / 2);
+            final double[] xs = decimator.getXs();
+            final double[] ys = decimator.getYs();
+            final List<BackgroundFill> fills = background.getFills();
+            for (int i = 0; i < decimator.size(); i++) {
+                final double x = xs[i] - w / 2;
+                final double y = ys[i] - h / 2;
+                for (int f = 0; f < fills.size(); f++) {
+                    final BackgroundFill fill = fills.get(f);
+                    final Insets insets = fill.getInsets();
+                    final double fw = w - insets.getLeft() - insets.getRight();
+                    final double fh = h - insets.getTop() - insets.getBottom();
+                    gc.setFill(fill.getFill());
+                    if (symbolPath != null) {
+                        fillSymbolShape(gc, symbolPath, template.isScaleShape(), template.isCenterShape(),
+                                x + insets.getLeft(), y + insets.getTop(), fw, fh);
+                        continue;
+                    }
+                    final CornerRadii radii = fill.getRadii();
+                    // symbols are drawn with uniform corners, taken from the top left one
+                    double arcW = radii.getTopLeftHorizontalRadius() * 2;
+                    double arcH = radii.getTopLeftVerticalRadius() * 2;
+                    if (radii.isTopLeftHorizontalRadiusAsPercentage()) arcW *= fw;
+                    if (radii.isTopLeftVerticalRadiusAsPercentage()) arcH *= fh;
+                    if (arcW > 0 && arcH > 0) {
+                        gc.fillRoundRect(x + insets.getLeft(), y + insets.getTop(), fw, fh, arcW, arcH);
+                    } else {
+                        gc.fillRect(x + insets.getLeft(), y + insets.getTop(), fw, fh);
+                    }
+                }
+            }
+        }
+        gc.setFillRule(FillRule.NON_ZERO);
+    }
+
+    /**
+     * Parses the outline of a symbol shape once per drawing, so that it is not parsed again for every symbol.
+     * Returns null if the path is empty or invalid, in which case the symbol is drawn as a rectangle.
+     */
+    private static Path2D createSymbolPath(SVGPath shape) {
+        final String content = shape.getContent();
+        if (content == null || content.isEmpty()) return null;
+        final Path2D path = new Path2D(shape.getFillRule() == FillRule.NON_ZERO ?
+                                       Path2D.WIND_NON_ZERO : Path2D.WIND_EVEN_ODD);
+        try {
+            path.appendSVGPath(content);
+        } catch (IllegalArgumentException | IllegalPathStateException e) {
+            return null;
+        }
+        final RectBounds bounds = path.getBounds();
+        return bounds.getWidth() > 0 && bounds.getHeight() > 0 ? path : null;
+    }
+
+    /**
+     * Fills the symbol shape into the given box. A scaled shape is stretched to the box, an unscaled one is
+     * centered in it, following the scaleShape and centerShape properties of the symbol template.
+     */
+    private void fillSymbolShape(GraphicsContext gc, Path2D path, boolean scaleShape, boolean centerShape,
+                                 double x, double y, double w, double h) {
+        final RectBounds bounds = path.getBounds();
+        final Affine2D tx = symbolTransform;
+        tx.setToTranslation(x, y);
+        if (scaleShape) {
+            tx.scale(w / bounds.getWidth(), h / bounds.getHeight());
+            if (centerShape) tx.translate(-bounds.getMinX(), -bounds.getMinY());
+        } else if (centerShape) {
+            tx.translate((w - bounds.getWidth()) / 2 - bounds.getMinX(),
+                         (h - bounds.getHeight()) / 2 - bounds.getMinY());
+        }
+        final float[] coords = symbolCoords;
+        gc.beginPath();
+        for (PathIterator pi = path.getPathIterator(tx); !pi.isDone(); pi.next()) {
+            switch (pi.currentSegment(coords)) {
+                case PathIterator.SEG_MOVETO:
+                    gc.moveTo(coords[0], coords[1]);
+                    break;
+                case PathIterator.SEG_LINETO:
+                    gc.lineTo(coords[0], coords[1]);
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    gc.quadraticCurveTo(coords[0], coords[1], coords[2], coords[3]);
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    gc.bezierCurveTo(coords[0], coords[1], coords[2], coords[3], coords[4], coords[5]);
+                    break;
+                case PathIterator.SEG_CLOSE:
+                    gc.closePath();
+                    break;
+            }
+        }
+        gc.fill();
+    }
+
     @Override
     LegendItem createLegendItemForSeries(Series<X, Y> series, int seriesIndex) {
         LegendItem legendItem = new LegendItem(series.getName());
         Node node = series.getData().isEmpty() ? null : series.getData().get(0).getNode();
+        if (node == null) node = symbolTemplates.get(series);
         if (node != null) {
             legendItem.getSymbol().getStyleClass().addAll(node.getStyleClass());
         }
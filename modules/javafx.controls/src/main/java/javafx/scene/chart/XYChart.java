@@ -27,6 +27,7 @@ package javafx.scene.chart;
 
 
 import com.sun.javafx.charts.Legend;
+import com.sun.javafx.charts.SeriesDecimator;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
@@ -42,6 +43,7 @@ import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.beans.binding.StringBinding;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.ReadOnlyObjectProperty;
@@ -62,6 +64,8 @@ import javafx.geometry.Orientation;
 import javafx.geometry.Side;
 import javafx.scene.Group;
 import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.layout.Region;
 import javafx.scene.shape.ClosePath;
 import javafx.scene.shape.Line;
@@ -69,6 +73,7 @@ import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
 import javafx.util.Duration;
 
 import com.sun.javafx.collections.NonIterableChange;
@@ -112,6 +117,8 @@ public abstract class XYChart<X,Y> extends Chart {
     };
     private final Group plotContent = new Group();
     private final Rectangle plotAreaClip = new Rectangle();
+    private Canvas plotCanvas;
+    private SeriesDecimator decimator;
 
     private final List<Series<X, Y>> displayedSeries = new ArrayList<>();
     private Legend legend = new Legend();
@@ -411,6 +418,51 @@ public abstract class XYChart<X,Y> extends Chart {
     public final void setHorizontalZeroLineVisible(boolean value) { horizontalZeroLineVisible.set(value); }
     public final BooleanProperty horizontalZeroLineVisibleProperty() { return horizontalZeroLineVisible; }
 
+    /**
+     * When true, the series are drawn into a single {@link Canvas} layer behind the plot children instead of being
+     * represented by a scene graph of paths and per data item nodes. Only the points which make a visible difference
+     * at the current plot size are drawn, so this mode scales to series with hundreds of thousands of data items.
+     * <p>
+     * In this mode no nodes are created for the data items and data changes are not animated. The colors and sizes
+     * used for drawing are still taken from the CSS styles of the series, and the axes, legend and series APIs work
+     * as before. Charts that do not support canvas rendering ignore this property.
+     *
+     * @since 14
+     */
+    private BooleanProperty canvasRendering = new BooleanPropertyBase(false) {
+        @Override protected void invalidated() {
+            if (get() && supportsCanvasRendering()) {
+                if (plotCanvas == null) {
+                    plotCanvas = new Canvas();
+                    plotCanvas.setManaged(false);
+                    plotCanvas.getStyleClass().setAll("chart-plot-canvas");
+                }
+                plotArea.getChildren().add(plotArea.getChildren().indexOf(plotContent), plotCanvas);
+            } else if (plotCanvas != null) {
+                plotArea.getChildren().remove(plotCanvas);
+                plotCanvas = null;
+                decimator = null;
+            } else {
+                return;
+            }
+            canvasRenderingChanged();
+            requestChartLayout();
+        }
+
+        @Override
+        public Object getBean() {
+            return XYChart.this;
+        }
+
+        @Override
+        public String getName() {
+            return "canvasRendering";
+        }
+    };
+    public final boolean isCanvasRendering() { return canvasRendering.get(); }
+    public final void setCanvasRendering(boolean value) { canvasRendering.set(value); }
+    public final BooleanProperty canvasRenderingProperty() { return canvasRendering; }
+
     // -------------- PROTECTED PROPERTIES -----------------------------------------------------------------------------
 
     /**
@@ -662,6 +714,121 @@ public abstract class XYChart<X,Y> extends Chart {
      */
     protected abstract void layoutPlotChildren();
 
+    /**
+     * Returns true if this chart implements drawing its series into the canvas layer.
+     */
+    boolean supportsCanvasRendering() {
+        return false;
+    }
+
+    /**
+     * Returns true if the series are currently drawn into the canvas layer.
+     */
+    final boolean isDrawingToCanvas() {
+        return plotCanvas != null;
+    }
+
+    /**
+     * Called when the canvas rendering mode has been switched, so that charts supporting it can remove or recreate
+     * the nodes which are not used while drawing into the canvas.
+     */
+    void canvasRenderingChanged() {}
+
+    /**
+     * Called after the plot children have been laid out when the canvas rendering mode is on, to draw the series
+     * into the cleared canvas covering the plot area. The origin is the top left of the plot area.
+     *
+     * @param gc the graphics context of the canvas
+     * @param width the width of the plot area
+     * @param height the height of the plot area
+     */
+    void drawPlotCanvas(GraphicsContext gc, double width, double height) {}
+
+    /**
+     * Returns true if this chart draws its series into the canvas layer, in which case no animations are run.
+     */
+    @Override boolean isAnimationSuppressed() {
+        return isDrawingToCanvas();
+    }
+
+    /** Creates the node of a data item, as done by the charts when a data item is added. */
+    interface ItemNodeFactory<X,Y> {
+        Node create(Series<X,Y> series, int seriesIndex, Data<X,Y> item, int itemIndex);
+    }
+
+    /**
+     * Removes the nodes of all the data items from the plot children when the series are drawn into the canvas, or
+     * adds them back, creating the missing ones through the given factory, when they are not.
+     */
+    final void updateItemNodes(ItemNodeFactory<X,Y> factory) {
+        final ObservableList<Node> plotChildren = getPlotChildren();
+        final ObservableList<Series<X,Y>> data = getData();
+        if (data == null) return;
+        if (isDrawingToCanvas()) {
+            final Set<Node> nodes = new HashSet<>();
+            for (Series<X,Y> series : data) {
+                for (Data<X,Y> item : series.getData()) {
+                    if (item.getNode() != null) nodes.add(item.getNode());
+                }
+            }
+            plotChildren.removeAll(nodes);
+        } else {
+            final List<Node> nodes = new ArrayList<>();
+            for (int seriesIndex = 0; seriesIndex < data.size(); seriesIndex++) {
+                final Series<X,Y> series = data.get(seriesIndex);
+                final ObservableList<Data<X,Y>> items = series.getData();
+                for (int itemIndex = 0; itemIndex < items.size(); itemIndex++) {
+                    final Data<X,Y> item = items.get(itemIndex);
+                    Node node = item.getNode();
+                    if (node == null) node = factory.create(series, seriesIndex, item, itemIndex);
+                    if (node != null) nodes.add(node);
+                }
+            }
+            plotChildren.addAll(nodes);
+        }
+    }
+
+    /**
+     * Sets up the graphics context to stroke like the given shape, which is one of the series nodes kept as a holder
+     * of the CSS styles of the series while drawing into the canvas.
+     */
+    static void applyStroke(GraphicsContext gc, Shape shape) {
+        gc.setStroke(shape.getStroke());
+        gc.setLineWidth(shape.getStrokeWidth());
+        gc.setLineCap(shape.getStrokeLineCap());
+        gc.setLineJoin(shape.getStrokeLineJoin());
+        gc.setMiterLimit(shape.getStrokeMiterLimit());
+        final List<Double> dashes = shape.getStrokeDashArray();
+        if (dashes.isEmpty()) {
+            gc.setLineDashes((double[]) null);
+        } else {
+            final double[] array = new double[dashes.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = dashes.get(i);
+            }
+            gc.setLineDashes(array);
+            gc.setLineDashOffset(shape.getStrokeDashOffset());
+        }
+    }
+
+    /**
+     * Fills the shared decimator with the display positions of the displayed data items of the given series.
+     */
+    final SeriesDecimator collectDisplayPositions(Series<X,Y> series) {
+        if (decimator == null) {
+            decimator = new SeriesDecimator();
+        }
+        decimator.clear();
+        final Axis<X> xa = getXAxis();
+        final Axis<Y> ya = getYAxis();
+        final List<Data<X,Y>> items = series.displayedData;
+        for (int i = 0, n = items.size(); i < n; i++) {
+            final Data<X,Y> item = items.get(i);
+            decimator.add(xa.getDisplayPosition(item.getCurrentX()), ya.getDisplayPosition(item.getCurrentY()));
+        }
+        return decimator;
+    }
+
     /** {@inheritDoc} */
     @Override protected final void layoutChartChildren(double top, double left, double width, double height) {
         if(getData() == null) return;
@@ -773,6 +940,16 @@ public abstract class XYChart<X,Y> extends Chart {
         plotContent.setLayoutX(left);
         plotContent.setLayoutY(top);
         plotContent.requestLayout(); // Note: not sure this is right, maybe plotContent should be resizeable
+        // draw series into the canvas layer
+        if (plotCanvas != null) {
+            plotCanvas.setLayoutX(left);
+            plotCanvas.setLayoutY(top);
+            plotCanvas.setWidth(xAxisWidth);
+            plotCanvas.setHeight(yAxisHeight);
+            final GraphicsContext gc = plotCanvas.getGraphicsContext2D();
+            gc.clearRect(0, 0, xAxisWidth, yAxisHeight);
+            drawPlotCanvas(gc, xAxisWidth, yAxisHeight);
+        }
         // update vertical grid lines
         verticalGridLines.getElements().clear();
         if(getVerticalGridLinesVisible()) {
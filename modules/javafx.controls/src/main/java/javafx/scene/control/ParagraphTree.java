@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The paragraphs of a {@link TextArea}, kept in a balanced binary tree
+ * ordered by paragraph index. Every node stores the number of paragraphs and
+ * the number of characters in its subtree, so that paragraphs can be looked
+ * up by index or by character offset, and inserted or removed, in
+ * O(log n) time instead of walking or shifting a list of all paragraphs.
+ * <p>
+ * The tree is balanced by merging subtrees at random, weighted by their
+ * sizes, which keeps its expected height logarithmic without storing any
+ * balancing information in the nodes. Since the paragraphs are mutable,
+ * {@link #paragraphChanged(int)} has to be called after a paragraph has been
+ * edited in place.
+ */
+final class ParagraphTree {
+
+    private static final class Node {
+        final StringBuilder paragraph;
+        Node left;
+        Node right;
+        // number of paragraphs in this subtree
+        int count;
+        // number of characters of the paragraphs in this subtree, not
+        // counting the line breaks between them
+        int length;
+
+        Node(StringBuilder paragraph) {
+            this.paragraph = paragraph;
+            this.count = 1;
+            this.length = paragraph.length();
+        }
+    }
+
+    private final Random random = new Random(0);
+    private Node root;
+
+    // results of split()
+    private Node splitLeft;
+    private Node splitRight;
+
+    ParagraphTree(StringBuilder paragraph) {
+        root = new Node(paragraph);
+    }
+
+    /**
+     * Returns the number of paragraphs.
+     */
+    int size() {
+        return count(root);
+    }
+
+    StringBuilder get(int index) {
+        checkIndex(index);
+        Node n = root;
+        while (true) {
+            final int leftCount = count(n.left);
+            if (index < leftCount) {
+                n = n.left;
+            } else if (index == leftCount) {
+                return n.paragraph;
+            } else {
+                index -= leftCount + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the offset of the first character of the paragraph at the given
+     * index, counting one line break between every two paragraphs.
+     */
+    int getStart(int index) {
+        checkIndex(index);
+        int start = 0;
+        Node n = root;
+        while (true) {
+            final int leftCount = count(n.left);
+            if (index < leftCount) {
+                n = n.left;
+            } else {
+                start += length(n.left) + leftCount;
+                if (index == leftCount) {
+                    return start;
+                }
+                start += n.paragraph.length() + 1;
+                index -= leftCount + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the paragraph containing the given offset. The
+     * offset of the line break following a paragraph belongs to that
+     * paragraph, and offsets beyond the end belong to the last paragraph.
+     */
+    int getIndexAt(int offset) {
+        int index = 0;
+        Node n = root;
+        while (true) {
+            final int leftCount = count(n.left);
+            final int leftLength = length(n.left) + leftCount;
+            if (offset < leftLength) {
+                n = n.left;
+            } else {
+                offset -= leftLength;
+                index += leftCount;
+                if (offset <= n.paragraph.length() || n.right == null) {
+                    return index;
+                }
+                offset -= n.paragraph.length() + 1;
+                index++;
+                n = n.right;
+            }
+        }
+    }
+
+    /**
+     * Updates the lengths stored in the tree after the paragraph at the given
+     * index has been edited in place.
+     */
+    void paragraphChanged(int index) {
+        checkIndex(index);
+        paragraphChanged(root, index);
+    }
+
+    private static void paragraphChanged(Node n, int index) {
+        final int leftCount = count(n.left);
+        if (index < leftCount) {
+            paragraphChanged(n.left, index);
+        } else if (index > leftCount) {
+            paragraphChanged(n.right, index - leftCount - 1);
+        }
+        update(n);
+    }
+
+    /**
+     * Inserts the given paragraphs before the paragraph at the given index.
+     */
+    void addAll(int index, List<StringBuilder> paragraphs) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (paragraphs.isEmpty()) {
+            return;
+        }
+        split(root, index);
+        final Node right = splitRight;
+        root = merge(merge(splitLeft, build(paragraphs, 0, paragraphs.size())), right);
+        splitLeft = splitRight = null;
+    }
+
+    /**
+     * Removes the paragraphs from the index {@code from}, inclusive, to the
+     * index {@code to}, exclusive, and returns them in order. At least one
+     * paragraph has to remain.
+     */
+    List<StringBuilder> remove(int from, int to) {
+        if (from < 0 || to > size() || from > to || to - from == size()) {
+            throw new IndexOutOfBoundsException("From: " + from + ", To: " + to + ", Size: " + size());
+        }
+        final List<StringBuilder> removed = new ArrayList<>(to - from);
+        if (from == to) {
+            return removed;
+        }
+        split(root, to);
+        final Node right = splitRight;
+        split(splitLeft, from);
+        collect(splitRight, removed);
+        root = merge(splitLeft, right);
+        splitLeft = splitRight = null;
+        return removed;
+    }
+
+    /*
+     * Splits the subtree into the first k paragraphs, stored in splitLeft, and
+     * the remaining ones, stored in splitRight.
+     */
+    private void split(Node n, int k) {
+        if (n == null) {
+            splitLeft = splitRight = null;
+            return;
+        }
+        final int leftCount = count(n.left);
+        if (k <= leftCount) {
+            split(n.left, k);
+            n.left = splitRight;
+            update(n);
+            splitRight = n;
+        } else {
+            split(n.right, k - leftCount - 1);
+            n.right = splitLeft;
+            update(n);
+            splitLeft = n;
+        }
+    }
+
+    /*
+     * Concatenates two subtrees, choosing the new root from either of them
+     * with a probability proportional to its size.
+     */
+    private Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (random.nextInt(a.count + b.count) < a.count) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        } else {
+            b.left = merge(a, b.left);
+            update(b);
+            return b;
+        }
+    }
+
+    private static Node build(List<StringBuilder> paragraphs, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        final int mid = (from + to) >>> 1;
+        final Node n = new Node(paragraphs.get(mid));
+        n.left = build(paragraphs, from, mid);
+        n.right = build(paragraphs, mid + 1, to);
+        update(n);
+        return n;
+    }
+
+    private static void collect(Node n, List<StringBuilder> paragraphs) {
+        if (n != null) {
+            collect(n.left, paragraphs);
+            paragraphs.add(n.paragraph);
+            collect(n.right, paragraphs);
+        }
+    }
+
+    private static void update(Node n) {
+        n.count = 1 + count(n.left) + count(n.right);
+        n.length = n.paragraph.length() + length(n.left) + length(n.right);
+    }
+
+    private static int count(Node n) {
+        return n == null ? 0 : n.count;
+    }
+
+    private static int length(Node n) {
+        return n == null ? 0 : n.length;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+}
@@ -30,13 +30,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.WeakHashMap;
 
 import com.sun.javafx.logging.PlatformLogger.Level;
+import com.sun.javafx.collections.SortableList;
+import com.sun.javafx.scene.control.BackgroundSort;
 import com.sun.javafx.scene.control.Logging;
 import com.sun.javafx.scene.control.Properties;
 import com.sun.javafx.scene.control.SelectedCellsMap;
@@ -494,6 +495,47 @@ public class TableView<S> extends Control {
         }
     };
 
+    /**
+     * A {@link #sortPolicyProperty() sort policy} that sorts the items off the
+     * JavaFX Application Thread, so that sorting a large TableView does not
+     * block the user interface. The permutation is computed in parallel on a
+     * snapshot of the items and applied once it is complete, with a single
+     * permutation change on the items list. A pending sort is cancelled if the
+     * TableView is sorted again, or if the items list is modified, before it
+     * completes.
+     * <p>
+     * The {@link #comparatorProperty() comparator} is called concurrently from
+     * background threads, hence the comparators and cell value factories of
+     * the sorted columns must be safe to call from any thread. Lists which
+     * cannot be sorted that way, such as a {@link SortedList} or an
+     * unmodifiable list, are sorted by the {@link #DEFAULT_SORT_POLICY}
+     * instead.
+     * @since 14
+     */
+    // raw type, so that both policies can be used in the same places
+    @SuppressWarnings("rawtypes")
+    public static final Callback<TableView, Boolean> ASYNC_SORT_POLICY = new Callback<TableView, Boolean>() {
+        @Override public Boolean call(TableView table) {
+            return sortAsync((TableView<?>) table);
+        }
+    };
+
+    private static <S> boolean sortAsync(TableView<S> table) {
+        final ObservableList<S> itemsList = table.getItems();
+        final Comparator<S> comparator = table.getComparator();
+        // only lists firing a single permutation change can be sorted this
+        // way, the others are sorted on the FX application thread
+        if (!(itemsList instanceof SortableList) || itemsList instanceof SortedList
+                || itemsList.isEmpty() || comparator == null) {
+            return DEFAULT_SORT_POLICY.call(table);
+        }
+        final TableUtil.SortEventType sortEventType = table.lastSortEventType;
+        final Object[] sortEventSupportInfo = table.lastSortEventSupportInfo;
+        table.backgroundSort = BackgroundSort.start(itemsList, comparator,
+                () -> table.backOutSort(sortEventType, sortEventSupportInfo));
+        return true;
+    }
+
 
 
     /***************************************************************************
@@ -851,6 +893,12 @@ public class TableView<S> extends Control {
                     return;
                 }
 
+                // a sort still running in the background is for the old items
+                if (backgroundSort != null) {
+                    backgroundSort.cancel();
+                    backgroundSort = null;
+                }
+
                 // Fix for RT-35763
                 if (! (newItems instanceof SortedList)) {
                     getSortOrder().clear();
@@ -1548,7 +1596,7 @@ public class TableView<S> extends Control {
 
         // update the Comparator property
         final Comparator<S> oldComparator = getComparator();
-        setComparator(sortOrder.isEmpty() ? null : new TableColumnComparator(sortOrder));
+        setComparator(sortOrderComparator());
 
         // fire the onSort event and check if it is consumed, if
         // so, don't run the sort
@@ -1573,6 +1621,12 @@ public class TableView<S> extends Control {
         // of this method.
         getSelectionModel().startAtomic();
 
+        // a sort still running in the background is stale now
+        if (backgroundSort != null) {
+            backgroundSort.cancel();
+            backgroundSort = null;
+        }
+
         // get the sort policy and run it
         Callback<TableView<S>, Boolean> sortPolicy = getSortPolicy();
         if (sortPolicy == null) return;
@@ -1638,9 +1692,32 @@ public class TableView<S> extends Control {
      **************************************************************************/
 
     private boolean sortLock = false;
+    private BackgroundSort<?> backgroundSort;
     private TableUtil.SortEventType lastSortEventType = null;
     private Object[] lastSortEventSupportInfo = null;
 
+    /*
+     * Backs out a sort which failed after the sort policy returned, like sort()
+     * does when the policy fails. Nothing else can have been sorted since, as
+     * that would have cancelled the background sort.
+     */
+    private void backOutSort(TableUtil.SortEventType sortEventType, Object[] supportInfo) {
+        backgroundSort = null;
+        if (sortEventType == TableUtil.SortEventType.SORT_ORDER_CHANGE) {
+            // the change has been iterated by the other listeners in the meantime
+            ((ListChangeListener.Change<?>) supportInfo[0]).reset();
+        }
+        sortLock = true;
+        TableUtil.handleSortFailure(sortOrder, sortEventType, supportInfo);
+        setComparator(sortOrderComparator());
+        sortLock = false;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Comparator<S> sortOrderComparator() {
+        return sortOrder.isEmpty() ? null : new TableColumnComparator(sortOrder);
+    }
+
     private void doSort(final TableUtil.SortEventType sortEventType, final Object... supportInfo) {
         if (sortLock) {
             return;
@@ -2285,25 +2362,20 @@ public class TableView<S> extends Control {
                 } else if (c.wasPermutated()) {
                     // General approach:
                     //   -- detected a sort has happened
-                    //   -- Create a permutation lookup map (1)
                     //   -- dump all the selected indices into a list (2)
                     //   -- create a list containing the new indices (3)
                     //   -- for each previously-selected index (4)
-                    //     -- if index is in the permutation lookup map
+                    //     -- if index is in the permutated range
                     //       -- add the new index to the new indices list
                     //   -- Perform batch selection (5)
+                    // The permutation is looked up in the change directly, as
+                    // copying it into a map costs more than the sort itself on
+                    // large tables.
 
                     startAtomic();
 
                     final int oldSelectedIndex = getSelectedIndex();
 
-                    // (1)
-                    int length = c.getTo() - c.getFrom();
-                    HashMap<Integer, Integer> pMap = new HashMap<> (length);
-                    for (int i = c.getFrom(); i < c.getTo(); i++) {
-                        pMap.put(i, c.getPermutation(i));
-                    }
-
                     // (2)
                     List<TablePosition<S,?>> selectedIndices = new ArrayList<>((ObservableList<TablePosition<S,?>>)(Object)getSelectedCells());
 
@@ -2316,8 +2388,8 @@ public class TableView<S> extends Control {
                         final TablePosition<S,?> oldIndex = selectedIndices.get(i);
                         final int oldRow = oldIndex.getRow();
 
-                        if (pMap.containsKey(oldRow)) {
-                            int newIndex = pMap.get(oldRow);
+                        if (oldRow >= c.getFrom() && oldRow < c.getTo()) {
+                            int newIndex = c.getPermutation(oldRow);
 
                             selectionIndicesChanged = selectionIndicesChanged || newIndex != oldRow;
 
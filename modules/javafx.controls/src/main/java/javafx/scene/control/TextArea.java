@@ -87,13 +87,15 @@ public class TextArea extends TextInputControl {
     // Text area content model
     private static final class TextAreaContent implements Content {
         private ExpressionHelper<String> helper = null;
-        private ArrayList<StringBuilder> paragraphs = new ArrayList<StringBuilder>();
+        private ParagraphTree paragraphs = new ParagraphTree(new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY));
         private int contentLength = 0;
         private ParagraphList paragraphList = new ParagraphList();
         private ListListenerHelper<CharSequence> listenerHelper;
+        // The whole text, created lazily on the first call to get() after
+        // a change
+        private String cachedText;
 
         private TextAreaContent() {
-            paragraphs.add(new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY));
             paragraphList.content = this;
         }
 
@@ -101,22 +103,8 @@ public class TextArea extends TextInputControl {
             int length = end - start;
             StringBuilder textBuilder = new StringBuilder(length);
 
-            int paragraphCount = paragraphs.size();
-
-            int paragraphIndex = 0;
-            int offset = start;
-
-            while (paragraphIndex < paragraphCount) {
-                StringBuilder paragraph = paragraphs.get(paragraphIndex);
-                int count = paragraph.length() + 1;
-
-                if (offset < count) {
-                    break;
-                }
-
-                offset -= count;
-                paragraphIndex++;
-            }
+            int paragraphIndex = paragraphs.getIndexAt(start);
+            int offset = start - paragraphs.getStart(paragraphIndex);
 
             // Read characters until end is reached, appending to text builder
             // and moving to next paragraph as needed
@@ -169,26 +157,20 @@ public class TextArea extends TextInputControl {
                 }
 
                 lines.add(line);
+                cachedText = null;
 
                 // Merge the text into the existing content
-                // Merge the text into the existing content
-                int paragraphIndex = paragraphs.size();
-                int offset = contentLength + 1;
-
-                StringBuilder paragraph = null;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (index < offset);
+                int paragraphIndex = paragraphs.getIndexAt(index);
+                StringBuilder paragraph = paragraphs.get(paragraphIndex);
 
-                int start = index - offset;
+                int start = index - paragraphs.getStart(paragraphIndex);
 
                 int n = lines.size();
                 if (n == 1) {
                     // The text contains only a single line; insert it into the
                     // intersecting paragraph
                     paragraph.insert(start, line);
+                    paragraphs.paragraphChanged(paragraphIndex);
                     fireParagraphListChangeEvent(paragraphIndex, paragraphIndex + 1,
                         Collections.singletonList((CharSequence)paragraph));
                 } else {
@@ -203,6 +185,7 @@ public class TextArea extends TextInputControl {
                     StringBuilder first = lines.get(0);
                     paragraph.insert(start, first);
                     line.append(trailingText);
+                    paragraphs.paragraphChanged(paragraphIndex);
                     fireParagraphListChangeEvent(paragraphIndex, paragraphIndex + 1,
                         Collections.singletonList((CharSequence)paragraph));
 
@@ -214,6 +197,7 @@ public class TextArea extends TextInputControl {
 
                 // Update content length
                 contentLength += length;
+                cachedText = null;
                 if (notifyListeners) {
                     ExpressionHelper.fireValueChangedEvent(helper);
                 }
@@ -233,39 +217,24 @@ public class TextArea extends TextInputControl {
             int length = end - start;
 
             if (length > 0) {
-                // Identify the trailing paragraph index
-                int paragraphIndex = paragraphs.size();
-                int offset = contentLength + 1;
-
-                StringBuilder paragraph = null;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (end < offset);
+                cachedText = null;
 
-                int trailingParagraphIndex = paragraphIndex;
-                int trailingOffset = offset;
-                StringBuilder trailingParagraph = paragraph;
+                // Identify the trailing paragraph index
+                int trailingParagraphIndex = paragraphs.getIndexAt(end);
+                int trailingOffset = paragraphs.getStart(trailingParagraphIndex);
+                StringBuilder trailingParagraph = paragraphs.get(trailingParagraphIndex);
 
                 // Identify the leading paragraph index
-                paragraphIndex++;
-                offset += paragraph.length() + 1;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (start < offset);
-
-                int leadingParagraphIndex = paragraphIndex;
-                int leadingOffset = offset;
-                StringBuilder leadingParagraph = paragraph;
+                int leadingParagraphIndex = paragraphs.getIndexAt(start);
+                int leadingOffset = paragraphs.getStart(leadingParagraphIndex);
+                StringBuilder leadingParagraph = paragraphs.get(leadingParagraphIndex);
 
                 // Remove the text
                 if (leadingParagraphIndex == trailingParagraphIndex) {
                     // The removal affects only a single paragraph
                     leadingParagraph.delete(start - leadingOffset,
                         end - leadingOffset);
+                    paragraphs.paragraphChanged(leadingParagraphIndex);
 
                     fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex + 1,
                         Collections.singletonList((CharSequence)leadingParagraph));
@@ -277,26 +246,27 @@ public class TextArea extends TextInputControl {
                     int trailingSegmentLength = (start + length) - trailingOffset;
 
                     trailingParagraph.delete(0, trailingSegmentLength);
+                    paragraphs.paragraphChanged(trailingParagraphIndex);
                     fireParagraphListChangeEvent(trailingParagraphIndex, trailingParagraphIndex + 1,
                         Collections.singletonList((CharSequence)trailingParagraph));
 
                     if (trailingParagraphIndex - leadingParagraphIndex > 0) {
-                        List<CharSequence> removed = new ArrayList<CharSequence>(paragraphs.subList(leadingParagraphIndex,
+                        List<CharSequence> removed = new ArrayList<CharSequence>(paragraphs.remove(leadingParagraphIndex,
                             trailingParagraphIndex));
-                        paragraphs.subList(leadingParagraphIndex,
-                            trailingParagraphIndex).clear();
                         fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex,
                             removed);
                     }
 
                     // Trailing paragraph is now at the former leading paragraph's index
                     trailingParagraph.insert(0, leadingSegment);
+                    paragraphs.paragraphChanged(leadingParagraphIndex);
                     fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex + 1,
                         Collections.singletonList((CharSequence)leadingParagraph));
                 }
 
                 // Update content length
                 contentLength -= length;
+                cachedText = null;
                 if (notifyListeners) {
                     ExpressionHelper.fireValueChangedEvent(helper);
                 }
@@ -308,7 +278,10 @@ public class TextArea extends TextInputControl {
         }
 
         @Override public String get() {
-            return get(0, length());
+            if (cachedText == null) {
+                cachedText = get(0, length());
+            }
+            return cachedText;
         }
 
         @Override public void addListener(ChangeListener<? super String> changeListener) {
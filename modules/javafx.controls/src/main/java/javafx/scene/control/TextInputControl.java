@@ -144,12 +144,13 @@ public abstract class TextInputControl extends Control {
             text.controlContentHasChanged();
         });
 
-        // Bind the length to be based on the length of the text property
+        // Bind the length to be based on the length of the text property.
+        // The length is taken from the content, so that the whole text does
+        // not have to be created on every change.
         length.bind(new IntegerBinding() {
             { bind(text); }
             @Override protected int computeValue() {
-                String txt = text.get();
-                return txt == null ? 0 : txt.length();
+                return text.textIsNull ? 0 : content.length();
             }
         });
 
@@ -157,16 +158,15 @@ public abstract class TextInputControl extends Control {
         selectedText.bind(new StringBinding() {
             { bind(selection, text); }
             @Override protected String computeValue() {
-                String txt = text.get();
                 IndexRange sel = selection.get();
-                if (txt == null || sel == null) return "";
+                if (text.textIsNull || sel == null) return "";
 
                 int start = sel.getStart();
                 int end = sel.getEnd();
-                int length = txt.length();
+                int length = content.length();
                 if (end > start + length) end = length;
                 if (start > length-1) start = end = 0;
-                return txt.substring(start, end);
+                return content.get(start, end);
             }
         });
 
@@ -917,7 +917,6 @@ public abstract class TextInputControl extends Control {
     public boolean deletePreviousChar() {
         boolean failed = true;
         if (isEditable() && !isDisabled()) {
-            final String text = getText();
             final int dot = getCaretPosition();
             final int mark = getAnchor();
             if (dot != mark) {
@@ -930,8 +929,12 @@ public abstract class TextInputControl extends Control {
                 // in some cases you must remove two depending on the unicode
                 // characters
                 // Note: Do not use charIterator here, because we do want to
-                // break up clusters when deleting backwards.
-                int p = Character.offsetByCodePoints(text, dot, -1);
+                // break up clusters when deleting backwards. Only the two
+                // chars before the caret are needed to find the code point,
+                // so the whole text is not created.
+                final int start = Math.max(0, dot - 2);
+                final String text = getText(start, dot);
+                int p = start + Character.offsetByCodePoints(text, dot - start, -1);
                 deleteText(p, dot);
                 failed = false;
             }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control.cell;
+
+import javafx.beans.NamedArg;
+import javafx.beans.binding.PropertyPath;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+
+import com.sun.javafx.logging.PlatformLogger;
+import com.sun.javafx.logging.PlatformLogger.Level;
+import com.sun.javafx.property.PropertyAccessor;
+import com.sun.javafx.scene.control.Logging;
+
+/**
+ * A {@link PropertyValueFactory} alternative which takes a path of property
+ * names separated by dots, and looks up the accessors of every class only
+ * once, through a {@link PropertyPath}. An example of how to use this class
+ * is:
+ *
+ * <pre><code>
+ * TableColumn&lt;Person,String&gt; cityCol = new TableColumn&lt;Person,String&gt;("City");
+ * cityCol.setCellValueFactory(new PropertyPathValueFactory&lt;Person,String&gt;("address.city"));
+ * </code></pre>
+ *
+ * <p>
+ * For a path of one property, such as {@code "firstName"}, the cell value
+ * is obtained exactly as by {@code PropertyValueFactory}: the
+ * {@code firstNameProperty()} method is called if it exists, otherwise the
+ * value of the {@code getFirstName()} or {@code isFirstName()} getter is
+ * wrapped in a {@link ReadOnlyObjectWrapper}. For a longer path, the cell
+ * value is a binding created by {@link PropertyPath#select(Object)}, which
+ * follows changes of the intermediate properties as well.
+ * </p>
+ * <p>
+ * The classes and properties used must be declared public, and must be
+ * reflectively accessible to the {@code javafx.base} module if they are in
+ * a named module, as described for {@link PropertyValueFactory}.
+ * </p>
+ *
+ * @see PropertyValueFactory
+ * @see PropertyPath
+ * @see TableColumn
+ * @see TableView
+ * @see TableCell
+ * @param <S> The type of the class contained within the TableView.items list.
+ * @param <T> The type of the class contained within the TableColumn cells.
+ * @since 14
+ */
+public class PropertyPathValueFactory<S,T> implements Callback<CellDataFeatures<S,T>, ObservableValue<T>> {
+
+    private final String path;
+    private final PropertyPath<T> propertyPath;
+
+    /**
+     * Creates a PropertyPathValueFactory to extract the value from a given
+     * TableView row item, using the given path of property names.
+     *
+     * @param path The property names separated by dots, such as
+     *      {@code "address.city"}.
+     * @throws NullPointerException if {@code path} is null
+     * @throws IllegalArgumentException if a property name in {@code path}
+     *      is empty
+     */
+    public PropertyPathValueFactory(@NamedArg("path") String path) {
+        this.path = path;
+        this.propertyPath = PropertyPath.parse(path);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ObservableValue<T> call(CellDataFeatures<S,T> param) {
+        final S rowData = param.getValue();
+        if (rowData == null) return null;
+
+        try {
+            if (propertyPath.getLength() > 1) {
+                return propertyPath.select(rowData);
+            }
+            final PropertyAccessor accessor = PropertyAccessor.get(rowData.getClass(), path);
+            if (accessor.hasProperty()) {
+                @SuppressWarnings("unchecked")
+                final ObservableValue<T> property = (ObservableValue<T>) accessor.getProperty(rowData);
+                return property;
+            }
+            @SuppressWarnings("unchecked")
+            final T value = (T) accessor.get(rowData);
+            return new ReadOnlyObjectWrapper<T>(value);
+        } catch (RuntimeException e) {
+            // log the warning and move on
+            final PlatformLogger logger = Logging.getControlsLogger();
+            if (logger.isLoggable(Level.WARNING)) {
+               logger.warning("Can not retrieve property path '" + path +
+                        "' in PropertyPathValueFactory: " + this +
+                        " with provided class type: " + rowData.getClass(), e);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the path provided in the constructor.
+     * @return the path provided in the constructor
+     */
+    public final String getPath() { return path; }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control.skin;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the lengths of the cells of a {@link VirtualFlow}, or of the paragraphs
+ * of a virtualized {@link TextAreaSkin}, in a Fenwick tree
+ * (binary indexed tree), so that the start position of any cell and the cell
+ * at any position can be found in O(log n) time.
+ * <p>
+ * Cells which have not been measured yet are counted with the average length
+ * of the cells which have been, so the estimated total length becomes more
+ * accurate as more cells are measured. The measured lengths and the number of
+ * measured cells are summed in two separate trees, which lets a change of the
+ * average apply to all unmeasured cells without updating the trees.
+ */
+class CellSizeTree {
+
+    /* measured length of each cell, or NaN if it has not been measured */
+    private double[] lengths = new double[0];
+
+    /* Fenwick trees of the measured lengths and of the number of measured cells, 1-based */
+    private double[] sums = new double[1];
+    private int[] counts = new int[1];
+
+    private int size;
+    private int measuredCount;
+    private double measuredSum;
+
+    /* length of the unmeasured cells while no cell has been measured */
+    private double defaultLength;
+
+    /**
+     * Clears all the measurements and sets the number of cells.
+     */
+    void reset(int size) {
+        this.size = Math.max(0, size);
+        if (lengths.length < this.size || lengths.length > 2 * this.size + 64) {
+            lengths = new double[this.size];
+            sums = new double[this.size + 1];
+            counts = new int[this.size + 1];
+        } else {
+            Arrays.fill(sums, 0);
+            Arrays.fill(counts, 0);
+        }
+        Arrays.fill(lengths, Double.NaN);
+        measuredCount = 0;
+        measuredSum = 0;
+    }
+
+    /**
+     * Inserts {@code count} cells which have not been measured yet before the
+     * cell at the given index, keeping the measurements of all other cells.
+     * This rebuilds the trees in O(n) time.
+     */
+    void insert(int index, int count) {
+        replace(index, 0, count);
+    }
+
+    /**
+     * Removes {@code count} cells starting at the given index, keeping the
+     * measurements of all other cells. This rebuilds the trees in O(n) time.
+     */
+    void remove(int index, int count) {
+        replace(index, count, 0);
+    }
+
+    /**
+     * Replaces {@code removedCount} cells starting at the given index with
+     * {@code addedCount} cells which have not been measured yet, keeping the
+     * measurements of all other cells. This rebuilds the trees once, in O(n)
+     * time.
+     */
+    void replace(int index, int removedCount, int addedCount) {
+        index = Math.min(Math.max(index, 0), size);
+        removedCount = Math.max(0, Math.min(removedCount, size - index));
+        addedCount = Math.max(0, addedCount);
+        if (removedCount == 0 && addedCount == 0) {
+            return;
+        }
+        final int newSize = size - removedCount + addedCount;
+        if (lengths.length < newSize) {
+            final int capacity = Math.max(newSize, size + (size >> 1));
+            lengths = Arrays.copyOf(lengths, capacity);
+            sums = new double[capacity + 1];
+            counts = new int[capacity + 1];
+        }
+        System.arraycopy(lengths, index + removedCount, lengths, index + addedCount,
+                         size - index - removedCount);
+        Arrays.fill(lengths, index, index + addedCount, Double.NaN);
+        size = newSize;
+        rebuild();
+    }
+
+    /* builds both Fenwick trees from the lengths in O(n) */
+    private void rebuild() {
+        Arrays.fill(sums, 0);
+        Arrays.fill(counts, 0);
+        measuredCount = 0;
+        measuredSum = 0;
+        for (int i = 1; i <= size; i++) {
+            final double length = lengths[i - 1];
+            if (!Double.isNaN(length)) {
+                sums[i] += length;
+                counts[i]++;
+                measuredSum += length;
+                measuredCount++;
+            }
+            final int parent = i + (i & -i);
+            if (parent <= size) {
+                sums[parent] += sums[i];
+                counts[parent] += counts[i];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getMeasuredCount() {
+        return measuredCount;
+    }
+
+    boolean isMeasured(int index) {
+        return index >= 0 && index < size && !Double.isNaN(lengths[index]);
+    }
+
+    /**
+     * Sets the length used for cells which have not been measured yet, for
+     * as long as no cell has been measured. This is 0 by default.
+     */
+    void setDefaultLength(double length) {
+        defaultLength = length;
+    }
+
+    /**
+     * Returns the length used for cells which have not been measured yet,
+     * which is the average length of the measured cells, or the default
+     * length if no cell has been measured.
+     */
+    double getEstimatedLength() {
+        return measuredCount == 0 ? defaultLength : measuredSum / measuredCount;
+    }
+
+    double getLength(int index) {
+        final double length = lengths[index];
+        return Double.isNaN(length) ? getEstimatedLength() : length;
+    }
+
+    /**
+     * Records the measured length of the cell at the given index.
+     */
+    void setLength(int index, double length) {
+        if (index < 0 || index >= size || Double.isNaN(length)) {
+            return;
+        }
+        final double old = lengths[index];
+        final double delta;
+        final int countDelta;
+        if (Double.isNaN(old)) {
+            delta = length;
+            countDelta = 1;
+        } else if (old == length) {
+            return;
+        } else {
+            delta = length - old;
+            countDelta = 0;
+        }
+        lengths[index] = length;
+        measuredSum += delta;
+        measuredCount += countDelta;
+        for (int i = index + 1; i <= size; i += i & -i) {
+            sums[i] += delta;
+            counts[i] += countDelta;
+        }
+    }
+
+    /**
+     * Returns the position of the start of the cell at the given index, that
+     * is the total length of all the cells before it. Indices beyond the last
+     * cell return the total length.
+     */
+    double getStart(int index) {
+        index = Math.min(Math.max(index, 0), size);
+        double sum = 0;
+        int count = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += sums[i];
+            count += counts[i];
+        }
+        return sum + (index - count) * getEstimatedLength();
+    }
+
+    double getTotalLength() {
+        return measuredSum + (size - measuredCount) * getEstimatedLength();
+    }
+
+    /**
+     * Returns the index of the cell containing the given position, clamped to
+     * the range of cells.
+     */
+    int getIndexAt(double position) {
+        if (size == 0) {
+            return 0;
+        }
+        final double estimate = getEstimatedLength();
+        // walk down the tree, skipping every node which ends before the position
+        int index = 0;
+        double remaining = position;
+        for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+            final int next = index + step;
+            if (next <= size) {
+                final double nodeLength = sums[next] + (step - counts[next]) * estimate;
+                if (nodeLength <= remaining) {
+                    index = next;
+                    remaining -= nodeLength;
+                }
+            }
+        }
+        return Math.min(index, size - 1);
+    }
+}
@@ -132,6 +132,11 @@ public class ListViewSkin<T> extends VirtualContainerBase<ListView<T>, ListCell<
     private final ListChangeListener<T> listViewItemsListener = new ListChangeListener<T>() {
         @Override public void onChanged(Change<? extends T> c) {
             while (c.next()) {
+                if (!c.wasUpdated()) {
+                    // lets the flow keep the lengths measured for the other cells
+                    flow.cellsChanged(c.getFrom(), c.wasPermutated() ? c.getTo() - c.getFrom() : c.getRemovedSize(),
+                            c.wasPermutated() ? c.getTo() - c.getFrom() : c.getAddedSize());
+                }
                 if (c.wasReplaced()) {
                     // RT-28397: Support for when an item is replaced with itself (but
                     // updated internal values that should be shown visually).
@@ -174,6 +174,11 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
 
     private ListChangeListener<S> rowCountListener = c -> {
         while (c.next()) {
+            if (!c.wasUpdated()) {
+                // lets the flow keep the lengths measured for the other rows
+                flow.cellsChanged(c.getFrom(), c.wasPermutated() ? c.getTo() - c.getFrom() : c.getRemovedSize(),
+                        c.wasPermutated() ? c.getTo() - c.getFrom() : c.getAddedSize());
+            }
             if (c.wasReplaced()) {
                 // RT-28397: Support for when an item is replaced with itself (but
                 // updated internal values that should be shown visually).
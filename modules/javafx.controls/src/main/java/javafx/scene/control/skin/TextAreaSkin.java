@@ -28,6 +28,7 @@ package javafx.scene.control.skin;
 import com.sun.javafx.scene.control.behavior.BehaviorBase;
 import com.sun.javafx.scene.control.behavior.TextAreaBehavior;
 import com.sun.javafx.scene.control.skin.Utils;
+import com.sun.javafx.scene.text.HitInfoHelper;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
@@ -65,6 +66,9 @@ import javafx.scene.text.Text;
 import javafx.scene.text.HitInfo;
 import javafx.util.Duration;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.sun.javafx.PlatformUtil.isMac;
@@ -87,6 +91,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     /** A shared helper object, used only by downLines(). */
     private static final Path tmpCaretPath = new Path();
 
+    /**
+     * When true, Text nodes are created only for the paragraphs in and around
+     * the viewport instead of one Text node for the whole text, and the
+     * heights and character offsets of all the paragraphs are kept in prefix
+     * sum trees. This keeps layout and scrolling fast for very long texts.
+     */
+    private static final boolean USE_VIRTUALIZATION =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.scene.control.skin.TextAreaSkin.virtualized"));
+
+    /** The number of paragraphs laid out above and below the viewport when virtualized. */
+    private static final int VIRTUALIZED_OVERSCAN = 4;
+
 
 
     /**************************************************************************
@@ -113,6 +129,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     private ContentView contentView = new ContentView();
     private Group paragraphNodes = new Group();
 
+    // When virtualized, paragraphNodes holds the nodes of the paragraphs from
+    // firstParagraph on, and paragraphs which are not laid out are accessed
+    // through offscreenParagraphNode.
+    private final boolean virtualized;
+    private int firstParagraph;
+    private CellSizeTree paragraphHeights;
+    private CellSizeTree paragraphOffsets;
+    private double paragraphsWrappingWidth;
+    private double maxParagraphWidth;
+    private Text offscreenParagraphNode;
+    private int offscreenParagraph = -1;
+
     private Text promptNode;
     private ObservableBooleanValue usePromptText;
 
@@ -165,7 +193,12 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
      * @param control The control that this skin should be installed onto.
      */
     public TextAreaSkin(final TextArea control) {
+        this(control, USE_VIRTUALIZATION);
+    }
+
+    TextAreaSkin(final TextArea control, boolean virtualized) {
         super(control);
+        this.virtualized = virtualized;
 
         // install default input map for the text area control
         this.behavior = new TextAreaBehavior(control);
@@ -189,7 +222,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
         forwardBiasProperty().addListener(observable -> {
             if (control.getWidth() > 0) {
-                updateTextNodeCaretPos(control.getCaretPosition());
+                int caretPos = control.getCaretPosition();
+                int paragraphIndex = getParagraphIndex(caretPos);
+                updateTextNodeCaretPos(getParagraphNode(paragraphIndex), caretPos - getParagraphStart(paragraphIndex));
             }
         });
 
@@ -241,6 +276,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
         scrollPane.vvalueProperty().addListener((observable, oldValue, newValue) -> {
             getSkinnable().setScrollTop(newValue.doubleValue() * getScrollTopMax());
+            if (virtualized) {
+                // lay out the paragraphs scrolled into view
+                contentView.requestLayout();
+            }
         });
 
         // Initialize the scroll selection timeline
@@ -250,9 +289,26 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         scrollSelectionFrames.add(new KeyFrame(Duration.millis(350), scrollSelectionHandler));
 
         // Add initial text content
-        for (int i = 0, n = USE_MULTIPLE_NODES ? control.getParagraphs().size() : 1; i < n; i++) {
-            CharSequence paragraph = (n == 1) ? control.textProperty().getValueSafe() : control.getParagraphs().get(i);
-            addParagraphNode(i, paragraph.toString());
+        if (virtualized) {
+            List<CharSequence> paragraphs = control.getParagraphs();
+            paragraphHeights = new CellSizeTree();
+            paragraphHeights.reset(paragraphs.size());
+            paragraphOffsets = new CellSizeTree();
+            paragraphOffsets.reset(paragraphs.size());
+            for (int i = 0; i < paragraphs.size(); i++) {
+                paragraphOffsets.setLength(i, paragraphs.get(i).length() + 1);
+            }
+            // The paragraph nodes are filled in by layout, but there is
+            // always at least one
+            addParagraphNode(0, "");
+            offscreenParagraphNode = createParagraphNode("");
+            offscreenParagraphNode.setVisible(false);
+            contentView.getChildren().add(contentView.getChildren().indexOf(paragraphNodes) + 1, offscreenParagraphNode);
+        } else {
+            for (int i = 0, n = USE_MULTIPLE_NODES ? control.getParagraphs().size() : 1; i < n; i++) {
+                CharSequence paragraph = (n == 1) ? control.textProperty().getValueSafe() : control.getParagraphs().get(i);
+                addParagraphNode(i, paragraph.toString());
+            }
         }
 
         control.selectionProperty().addListener((observable, oldValue, newValue) -> {
@@ -342,6 +398,26 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                     }
                 }
             });
+        } else if (virtualized) {
+            control.getParagraphs().addListener((ListChangeListener.Change<? extends CharSequence> change) -> {
+                while (change.next()) {
+                    int from = change.getFrom();
+                    int to = change.getTo();
+                    int removedSize = change.getRemovedSize();
+                    if (to - from != removedSize) {
+                        // Splicing rebuilds each tree in O(n), so do it once per
+                        // tree. Lookups by offset or position stay O(log n).
+                        paragraphOffsets.replace(from, removedSize, to - from);
+                        paragraphHeights.replace(from, removedSize, to - from);
+                    }
+                    for (int i = from; i < to; i++) {
+                        paragraphOffsets.setLength(i, change.getList().get(i).length() + 1);
+                    }
+                }
+                updateParagraphNodes();
+                invalidateMetrics();
+                contentView.requestLayout();
+            });
         } else {
             control.textProperty().addListener(observable -> {
                 invalidateMetrics();
@@ -397,22 +473,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             selectionHandle2.setOnMouseReleased(handleReleaseHandler);
 
             caretHandle.setOnMouseDragged(e -> {
-                Text textNode = getTextNode();
-                Point2D tp = textNode.localToScene(0, 0);
-                Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + caretHandle.getWidth() / 2,
-                                        e.getSceneY() - tp.getY() - pressY - 6);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                Point2D p = contentView.sceneToLocal(e.getSceneX() - pressX + caretHandle.getWidth() / 2,
+                                                     e.getSceneY() - pressY - 6);
+                HitInfo hit = getIndex(p.getX(), p.getY());
                 positionCaret(hit, false);
                 e.consume();
             });
 
             selectionHandle1.setOnMouseDragged(e -> {
                 TextArea control1 = getSkinnable();
-                Text textNode = getTextNode();
-                Point2D tp = textNode.localToScene(0, 0);
-                Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + selectionHandle1.getWidth() / 2,
-                                        e.getSceneY() - tp.getY() - pressY + selectionHandle1.getHeight() + 5);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                Point2D p = contentView.sceneToLocal(e.getSceneX() - pressX + selectionHandle1.getWidth() / 2,
+                                                     e.getSceneY() - pressY + selectionHandle1.getHeight() + 5);
+                HitInfo hit = getIndex(p.getX(), p.getY());
                 if (control1.getAnchor() < control1.getCaretPosition()) {
                     // Swap caret and anchor
                     control1.selectRange(control1.getCaretPosition(), control1.getAnchor());
@@ -429,11 +501,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
             selectionHandle2.setOnMouseDragged(e -> {
                 TextArea control1 = getSkinnable();
-                Text textNode = getTextNode();
-                Point2D tp = textNode.localToScene(0, 0);
-                Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + selectionHandle2.getWidth() / 2,
-                                        e.getSceneY() - tp.getY() - pressY - 6);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                Point2D p = contentView.sceneToLocal(e.getSceneX() - pressX + selectionHandle2.getWidth() / 2,
+                                                     e.getSceneY() - pressY - 6);
+                HitInfo hit = getIndex(p.getX(), p.getY());
                 if (control1.getAnchor() > control1.getCaretPosition()) {
                     // Swap caret and anchor
                     control1.selectRange(control1.getCaretPosition(), control1.getAnchor());
@@ -488,6 +558,16 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
      * @return a {@code HitInfo} object describing the index and forward bias.
      */
     public HitInfo getIndex(double x, double y) {
+        if (virtualized) {
+            int paragraphIndex = getParagraphIndexAt(y - getTextTranslateY());
+            Text paragraphNode = getParagraphNode(paragraphIndex);
+            Point2D p = new Point2D(x - paragraphNode.getLayoutX(), y - paragraphNode.getLayoutY());
+            HitInfo hit = paragraphNode.hitTest(translateCaretPosition(p));
+            // map the hit in the paragraph to an index in the content
+            int paragraphOffset = getParagraphStart(paragraphIndex);
+            return HitInfoHelper.createHitInfo(hit.getCharIndex() + paragraphOffset,
+                    hit.getInsertionIndex() + paragraphOffset, hit.isLeading());
+        }
         // adjust the event to be in the same coordinate space as the
         // text content of the textInputControl
         Text textNode = getTextNode();
@@ -572,7 +652,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             moveRight = !moveRight;
         }
 
-        Text textNode = getTextNode();
+        int paragraphIndex = getParagraphIndex(textArea.getCaretPosition());
+        int paragraphOffset = getParagraphStart(paragraphIndex);
+        Text textNode = getParagraphNode(paragraphIndex);
         Bounds caretBounds = caretPath.getLayoutBounds();
         if (caretPath.getElements().size() == 4) {
             // The caret is split
@@ -589,7 +671,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         if ((moveRight && charShape.getLayoutBounds().getMaxX() > caretBounds.getMaxX()) ||
                 (!moveRight && charShape.getLayoutBounds().getMinX() < caretBounds.getMinX())) {
             leading = !leading;
-            positionCaret(hit.getInsertionIndex(), leading, false, false);
+            positionCaret(hit.getInsertionIndex() + paragraphOffset, leading, false, false);
         } else {
             // We're at beginning or end of line. Try moving up / down.
             int dot = textArea.getCaretPosition();
@@ -608,11 +690,14 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     }
 
     private void downLines(int nLines, boolean select, boolean extendSelection) {
-        Text textNode = getTextNode();
         Bounds caretBounds = caretPath.getLayoutBounds();
 
+        // The y coordinates below are relative to the top of the text, the
+        // caret path is positioned on the paragraph of the caret.
+        double caretY = caretPath.getLayoutY() - getTextTranslateY();
+
         // The middle y coordinate of the the line we want to go to.
-        double targetLineMidY = (caretBounds.getMinY() + caretBounds.getMaxY()) / 2 + nLines * lineHeight;
+        double targetLineMidY = caretY + (caretBounds.getMinY() + caretBounds.getMaxY()) / 2 + nLines * lineHeight;
         if (targetLineMidY < 0) {
             targetLineMidY = 0;
         }
@@ -622,7 +707,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         double x = (targetCaretX >= 0) ? targetCaretX : (caretBounds.getMaxX());
 
         // Find a text position for the target x,y.
-        HitInfo hit = textNode.hitTest(translateCaretPosition(new Point2D(x, targetLineMidY)));
+        int paragraphIndex = getParagraphIndexAt(targetLineMidY);
+        Text textNode = getParagraphNode(paragraphIndex);
+        double textNodeY = textNode.getLayoutY() - getTextTranslateY();
+        HitInfo hit = textNode.hitTest(translateCaretPosition(new Point2D(x, targetLineMidY - textNodeY)));
         int pos = hit.getCharIndex();
 
         // Save the old pos temporarily while testing the new one.
@@ -636,17 +724,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         tmpCaretPath.setLayoutY(textNode.getLayoutY());
         Bounds tmpCaretBounds = tmpCaretPath.getLayoutBounds();
         // The y for the middle of the row we found.
-        double foundLineMidY = (tmpCaretBounds.getMinY() + tmpCaretBounds.getMaxY()) / 2;
+        double foundLineMidY = textNodeY + (tmpCaretBounds.getMinY() + tmpCaretBounds.getMaxY()) / 2;
         textNode.setCaretBias(oldBias);
         textNode.setCaretPosition(oldPos);
 
         // Test if the found line is in the correct direction and move
         // the caret.
         if (nLines == 0 ||
-                (nLines > 0 && foundLineMidY > caretBounds.getMaxY()) ||
-                (nLines < 0 && foundLineMidY < caretBounds.getMinY())) {
+                (nLines > 0 && foundLineMidY > caretY + caretBounds.getMaxY()) ||
+                (nLines < 0 && foundLineMidY < caretY + caretBounds.getMinY())) {
 
-            positionCaret(hit.getInsertionIndex(), hit.isLeading(), select, extendSelection);
+            positionCaret(hit.getInsertionIndex() + getParagraphStart(paragraphIndex), hit.isLeading(),
+                    select, extendSelection);
             targetCaretX = x;
         }
     }
@@ -742,44 +831,34 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     /** {@inheritDoc} */
     @Override protected PathElement[] getUnderlineShape(int start, int end) {
-        int pStart = 0;
-        for (Node node : paragraphNodes.getChildren()) {
-            Text p = (Text)node;
-            int pEnd = pStart + p.textProperty().getValueSafe().length();
-            if (pEnd >= start) {
-                return p.underlineShape(start - pStart, end - pStart);
-            }
-            pStart = pEnd + 1;
+        int paragraphIndex = getParagraphIndex(start);
+        int pStart = getParagraphStart(paragraphIndex);
+        Text p = getParagraphNode(paragraphIndex);
+        int pEnd = pStart + p.textProperty().getValueSafe().length();
+        if (pEnd >= start) {
+            return p.underlineShape(start - pStart, end - pStart);
         }
         return null;
     }
 
     /** {@inheritDoc} */
     @Override protected PathElement[] getRangeShape(int start, int end) {
-        int pStart = 0;
-        for (Node node : paragraphNodes.getChildren()) {
-            Text p = (Text)node;
-            int pEnd = pStart + p.textProperty().getValueSafe().length();
-            if (pEnd >= start) {
-                return p.rangeShape(start - pStart, end - pStart);
-            }
-            pStart = pEnd + 1;
+        int paragraphIndex = getParagraphIndex(start);
+        int pStart = getParagraphStart(paragraphIndex);
+        Text p = getParagraphNode(paragraphIndex);
+        int pEnd = pStart + p.textProperty().getValueSafe().length();
+        if (pEnd >= start) {
+            return p.rangeShape(start - pStart, end - pStart);
         }
         return null;
     }
 
     /** {@inheritDoc} */
     @Override protected void addHighlight(List<? extends Node> nodes, int start) {
-        int pStart = 0;
-        Text paragraphNode = null;
-        for (Node node : paragraphNodes.getChildren()) {
-            Text p = (Text)node;
-            int pEnd = pStart + p.textProperty().getValueSafe().length();
-            if (pEnd >= start) {
-                paragraphNode = p;
-                break;
-            }
-            pStart = pEnd + 1;
+        int paragraphIndex = getParagraphIndex(start);
+        Text paragraphNode = getParagraphNode(paragraphIndex);
+        if (start > getParagraphStart(paragraphIndex) + paragraphNode.textProperty().getValueSafe().length()) {
+            paragraphNode = null;
         }
 
         if (paragraphNode != null) {
@@ -818,6 +897,48 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     /** {@inheritDoc} */
     @Override protected Object queryAccessibleAttribute(AccessibleAttribute attribute, Object... parameters) {
+        if (virtualized) {
+            switch (attribute) {
+                // Lines are only known for the paragraphs which are laid out,
+                // so every paragraph is reported as a line
+                case LINE_FOR_OFFSET: {
+                    int offset = (Integer)parameters[0];
+                    if (offset > getSkinnable().getLength()) return null;
+                    return getParagraphIndex(offset);
+                }
+                case LINE_START:
+                case LINE_END: {
+                    int paragraphIndex = (Integer)parameters[0];
+                    if (paragraphIndex < 0 || paragraphIndex >= getParagraphCount()) return null;
+                    int start = getParagraphStart(paragraphIndex);
+                    return attribute == AccessibleAttribute.LINE_START ? start
+                            : start + getSkinnable().getParagraphs().get(paragraphIndex).length();
+                }
+                case BOUNDS_FOR_RANGE: {
+                    int start = (Integer)parameters[0];
+                    int end = (Integer)parameters[1];
+                    // The bounds of the first paragraph, and of the other
+                    // paragraphs in the range which are laid out
+                    List<Bounds> bounds = new ArrayList<>();
+                    int first = getParagraphIndex(start);
+                    int last = Math.min(getParagraphIndex(end), firstParagraph + paragraphNodes.getChildren().size() - 1);
+                    addParagraphBounds(bounds, first, start, end);
+                    for (int i = Math.max(first + 1, firstParagraph); i <= last; i++) {
+                        addParagraphBounds(bounds, i, start, end);
+                    }
+                    return bounds.toArray(new Bounds[bounds.size()]);
+                }
+                case OFFSET_AT_POINT: {
+                    Point2D point = contentView.screenToLocal((Point2D)parameters[0]);
+                    if (point == null) return null;
+                    int paragraphIndex = getParagraphIndexAt(point.getY() - getTextTranslateY());
+                    Text paragraphNode = getParagraphNode(paragraphIndex);
+                    return (Integer)paragraphNode.queryAccessibleAttribute(attribute, parameters)
+                            + getParagraphStart(paragraphIndex);
+                }
+                default: return super.queryAccessibleAttribute(attribute, parameters);
+            }
+        }
         switch (attribute) {
             case LINE_FOR_OFFSET:
             case LINE_START:
@@ -830,6 +951,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         }
     }
 
+    private void addParagraphBounds(List<Bounds> bounds, int paragraphIndex, int start, int end) {
+        Text paragraphNode = getParagraphNode(paragraphIndex);
+        int pStart = getParagraphStart(paragraphIndex);
+        int s = Math.max(start - pStart, 0);
+        int e = Math.min(end - pStart, paragraphNode.getText().length() - 1);
+        if (s <= e) {
+            for (Bounds b : (Bounds[])paragraphNode.queryAccessibleAttribute(AccessibleAttribute.BOUNDS_FOR_RANGE, s, e)) {
+                bounds.add(b);
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void dispose() {
         super.dispose();
@@ -886,11 +1019,19 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 index = getNextInsertionPoint(paragraphNode, x, -1, VerticalDirection.DOWN);
             } else if (y > contentView.snappedTopInset() + contentView.getHeight()) {
                 // Select the character at x in the last row
-                int lastParagraphIndex = n - 1;
-                Text lastParagraphView = (Text)paragraphNodes.getChildren().get(lastParagraphIndex);
+                int lastParagraphIndex = getParagraphCount() - 1;
+                Text lastParagraphView = virtualized ? getParagraphNode(lastParagraphIndex)
+                        : (Text)paragraphNodes.getChildren().get(lastParagraphIndex);
 
                 index = getNextInsertionPoint(lastParagraphView, x, -1, VerticalDirection.UP)
                         + (textArea.getLength() - lastParagraphView.getText().length());
+            } else if (virtualized) {
+                // Select the character at x in the paragraph at y
+                int paragraphIndex = getParagraphIndexAt(y - getTextTranslateY());
+                Text paragraphNode = getParagraphNode(paragraphIndex);
+                index = getInsertionPoint(paragraphNode,
+                        x - paragraphNode.getLayoutX(),
+                        y - paragraphNode.getLayoutY()) + getParagraphStart(paragraphIndex);
             } else {
                 // Select the character at x in the row at y
                 int paragraphOffset = 0;
@@ -955,14 +1096,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     @Override public Rectangle2D getCharacterBounds(int index) {
         TextArea textArea = getSkinnable();
 
-        int paragraphIndex = paragraphNodes.getChildren().size();
-        int paragraphOffset = textArea.getLength() + 1;
-
-        Text paragraphNode = null;
-        do {
-            paragraphNode = (Text)paragraphNodes.getChildren().get(--paragraphIndex);
-            paragraphOffset -= paragraphNode.getText().length() + 1;
-        } while (index < paragraphOffset);
+        int paragraphIndex = getParagraphIndex(index);
+        int paragraphOffset = getParagraphStart(paragraphIndex);
+        Text paragraphNode = getParagraphNode(paragraphIndex);
 
         int characterIndex = index - paragraphOffset;
         boolean terminator = false;
@@ -1021,6 +1157,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         return behavior;
     }
 
+    List<Node> test_getParagraphNodes() {
+        return paragraphNodes.getChildren();
+    }
+
     private void createPromptNode() {
         if (promptNode == null && usePromptText.get()) {
             promptNode = new Text();
@@ -1035,6 +1175,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     }
 
     private void addParagraphNode(int i, String string) {
+        paragraphNodes.getChildren().add(i, createParagraphNode(string));
+    }
+
+    private Text createParagraphNode(String string) {
         final TextArea textArea = getSkinnable();
         Text paragraphNode = new Text(string);
         paragraphNode.setTextOrigin(VPos.TOP);
@@ -1044,11 +1188,11 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             invalidateMetrics();
             updateFontMetrics();
         });
-        paragraphNodes.getChildren().add(i, paragraphNode);
 
         paragraphNode.fontProperty().bind(textArea.fontProperty());
         paragraphNode.fillProperty().bind(textFillProperty());
         paragraphNode.selectionFillProperty().bind(highlightTextFillProperty());
+        return paragraphNode;
     }
 
     private double getScrollTopMax() {
@@ -1074,7 +1218,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         TextArea textArea = getSkinnable();
         Bounds bounds = caretPath.getLayoutBounds();
         double x = bounds.getMinX() - textArea.getScrollLeft();
-        double y = bounds.getMinY() - textArea.getScrollTop();
+        double y = bounds.getMinY() + (caretPath.getLayoutY() - getTextTranslateY()) - textArea.getScrollTop();
         double w = bounds.getWidth();
         double h = bounds.getHeight();
 
@@ -1148,8 +1292,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     private void updateFontMetrics() {
         Text firstParagraph = (Text)paragraphNodes.getChildren().get(0);
+        double oldLineHeight = lineHeight;
+        double oldCharacterWidth = characterWidth;
         lineHeight = Utils.getLineHeight(getSkinnable().getFont(), firstParagraph.getBoundsType());
         characterWidth = fontMetrics.get().getCharWidth('W');
+        if (virtualized && (lineHeight != oldLineHeight || characterWidth != oldCharacterWidth)) {
+            // all the paragraphs have to be measured again, but not every
+            // time CSS is applied to a new paragraph node
+            paragraphHeights.reset(paragraphHeights.size());
+            paragraphHeights.setDefaultLength(Math.max(lineHeight, 0));
+            maxParagraphWidth = 0;
+            offscreenParagraph = -1;
+        }
     }
 
     private double getTextTranslateX() {
@@ -1175,8 +1329,158 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         return (Text)paragraphNodes.getChildren().get(0);
     }
 
-    private void updateTextNodeCaretPos(int pos) {
-        Text textNode = getTextNode();
+    private int getParagraphCount() {
+        return virtualized ? paragraphOffsets.size() : paragraphNodes.getChildren().size();
+    }
+
+    /**
+     * Returns the index of the paragraph containing the given offset into
+     * the text.
+     */
+    private int getParagraphIndex(int offset) {
+        return virtualized ? paragraphOffsets.getIndexAt(offset) : 0;
+    }
+
+    /**
+     * Returns the offset into the text at which the given paragraph starts.
+     */
+    private int getParagraphStart(int paragraphIndex) {
+        return virtualized ? (int)paragraphOffsets.getStart(paragraphIndex) : 0;
+    }
+
+    /**
+     * Returns the index of the paragraph at the given y coordinate, relative
+     * to the top of the text.
+     */
+    private int getParagraphIndexAt(double y) {
+        return virtualized ? paragraphHeights.getIndexAt(y) : 0;
+    }
+
+    /**
+     * Returns the node of the given paragraph. When virtualized, paragraphs
+     * which are not laid out are set up on the hidden off-screen node, at
+     * their estimated position.
+     */
+    private Text getParagraphNode(int paragraphIndex) {
+        if (!virtualized) {
+            return getTextNode();
+        }
+        List<Node> nodes = paragraphNodes.getChildren();
+        int i = paragraphIndex - firstParagraph;
+        if (i >= 0 && i < nodes.size()) {
+            return (Text)nodes.get(i);
+        }
+        if (offscreenParagraph != paragraphIndex) {
+            offscreenParagraph = paragraphIndex;
+            offscreenParagraphNode.setText(getSkinnable().getParagraphs().get(paragraphIndex).toString());
+        }
+        offscreenParagraphNode.setWrappingWidth(paragraphsWrappingWidth);
+        offscreenParagraphNode.setLayoutX(getTextTranslateX());
+        offscreenParagraphNode.setLayoutY(getTextTranslateY() + paragraphHeights.getStart(paragraphIndex));
+        return offscreenParagraphNode;
+    }
+
+    /**
+     * Sets the text of the laid out paragraph nodes again after the
+     * paragraphs changed, so that they are up to date before the next layout.
+     */
+    private void updateParagraphNodes() {
+        List<CharSequence> paragraphs = getSkinnable().getParagraphs();
+        List<Node> nodes = paragraphNodes.getChildren();
+        firstParagraph = Math.min(firstParagraph, paragraphs.size() - 1);
+        int count = Math.min(nodes.size(), paragraphs.size() - firstParagraph);
+        if (count < nodes.size()) {
+            nodes.subList(count, nodes.size()).clear();
+        }
+        for (int i = 0; i < count; i++) {
+            updateParagraphNode((Text)nodes.get(i), paragraphs.get(firstParagraph + i));
+        }
+        offscreenParagraph = -1;
+    }
+
+    private static void updateParagraphNode(Text paragraphNode, CharSequence paragraph) {
+        if (!paragraphNode.getText().contentEquals(paragraph)) {
+            paragraphNode.setText(paragraph.toString());
+        }
+    }
+
+    /**
+     * Lays out the paragraphs in the viewport and VIRTUALIZED_OVERSCAN
+     * paragraphs above and below it, reusing the existing paragraph nodes,
+     * and records their heights.
+     */
+    private void layoutVisibleParagraphs() {
+        TextArea textArea = getSkinnable();
+        List<CharSequence> paragraphs = textArea.getParagraphs();
+        List<Node> nodes = paragraphNodes.getChildren();
+        double topPadding = contentView.snappedTopInset();
+        double leftPadding = contentView.snappedLeftInset();
+
+        // Without wrapping, the paragraphs are not wrapped at the width of
+        // the content either, since it only fits the widest paragraph laid
+        // out so far
+        double wrappingWidth = textArea.isWrapText()
+                ? Math.max(contentView.getWidth() - (leftPadding + contentView.snappedRightInset()), 0) : 0;
+        if (wrappingWidth != paragraphsWrappingWidth) {
+            paragraphsWrappingWidth = wrappingWidth;
+            paragraphHeights.reset(paragraphHeights.size());
+            offscreenParagraph = -1;
+        }
+        double oldHeight = paragraphHeights.getTotalLength();
+        double oldWidth = maxParagraphWidth;
+
+        double viewportHeight = scrollPane.getViewportBounds().getHeight();
+        double viewportTop = Math.max(0, getViewportTop() - topPadding);
+        int count = paragraphs.size();
+        int first = Math.max(0, paragraphHeights.getIndexAt(viewportTop) - VIRTUALIZED_OVERSCAN);
+        int last = count - 1;
+
+        double y = paragraphHeights.getStart(first);
+        int i = 0;
+        for (int p = first; p <= last; p++, i++) {
+            if (i == nodes.size()) {
+                addParagraphNode(i, "");
+            }
+            Text paragraphNode = (Text)nodes.get(i);
+            updateParagraphNode(paragraphNode, paragraphs.get(p));
+            paragraphNode.setWrappingWidth(wrappingWidth);
+
+            Bounds bounds = paragraphNode.getBoundsInLocal();
+            paragraphNode.setLayoutX(leftPadding);
+            paragraphNode.setLayoutY(topPadding + y);
+            paragraphHeights.setLength(p, bounds.getHeight());
+            if (wrappingWidth == 0) {
+                maxParagraphWidth = Math.max(maxParagraphWidth, bounds.getWidth());
+            }
+
+            y += bounds.getHeight();
+            if (y >= viewportTop + viewportHeight && last == count - 1) {
+                last = Math.min(p + VIRTUALIZED_OVERSCAN, count - 1);
+            }
+        }
+        if (i < nodes.size()) {
+            nodes.subList(i, nodes.size()).clear();
+        }
+        firstParagraph = first;
+
+        if (paragraphHeights.getTotalLength() != oldHeight || maxParagraphWidth != oldWidth) {
+            // The content has to be resized to the new estimate
+            invalidateMetrics();
+            contentView.requestLayout();
+        }
+    }
+
+    /**
+     * Returns the y coordinate of the content at the top of the viewport.
+     */
+    private double getViewportTop() {
+        double vmin = scrollPane.getVmin();
+        double vmax = scrollPane.getVmax();
+        double v = (vmax > vmin) ? (scrollPane.getVvalue() - vmin) / (vmax - vmin) : 0;
+        return Math.min(Math.max(v, 0), 1) * getScrollTopMax();
+    }
+
+    private void updateTextNodeCaretPos(Text textNode, int pos) {
         if (isForwardBias()) {
             textNode.setCaretPosition(pos);
         } else {
@@ -1225,11 +1529,16 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             if (computedPrefWidth < 0) {
                 double prefWidth = 0;
 
-                for (Node node : paragraphNodes.getChildren()) {
-                    Text paragraphNode = (Text)node;
-                    prefWidth = Math.max(prefWidth,
-                            Utils.computeTextWidth(paragraphNode.getFont(),
-                                    paragraphNode.getText(), 0));
+                if (virtualized) {
+                    // the widest paragraph laid out so far
+                    prefWidth = maxParagraphWidth;
+                } else {
+                    for (Node node : paragraphNodes.getChildren()) {
+                        Text paragraphNode = (Text)node;
+                        prefWidth = Math.max(prefWidth,
+                                Utils.computeTextWidth(paragraphNode.getFont(),
+                                        paragraphNode.getText(), 0));
+                    }
                 }
 
                 prefWidth += snappedLeftInset() + snappedRightInset();
@@ -1256,13 +1565,19 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
                 double prefHeight = 0;
 
-                for (Node node : paragraphNodes.getChildren()) {
-                    Text paragraphNode = (Text)node;
-                    prefHeight += Utils.computeTextHeight(
-                            paragraphNode.getFont(),
-                            paragraphNode.getText(),
-                            wrappingWidth,
-                            paragraphNode.getBoundsType());
+                if (virtualized) {
+                    // the measured heights, and the estimated heights of the
+                    // paragraphs which were not laid out yet
+                    prefHeight = paragraphHeights.getTotalLength();
+                } else {
+                    for (Node node : paragraphNodes.getChildren()) {
+                        Text paragraphNode = (Text)node;
+                        prefHeight += Utils.computeTextHeight(
+                                paragraphNode.getFont(),
+                                paragraphNode.getText(),
+                                wrappingWidth,
+                                paragraphNode.getBoundsType());
+                    }
                 }
 
                 prefHeight += snappedTopInset() + snappedBottomInset();
@@ -1303,16 +1618,20 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
             final List<Node> paragraphNodesChildren = paragraphNodes.getChildren();
 
-            for (int i = 0; i < paragraphNodesChildren.size(); i++) {
-                Node node = paragraphNodesChildren.get(i);
-                Text paragraphNode = (Text)node;
-                paragraphNode.setWrappingWidth(wrappingWidth);
+            if (virtualized) {
+                layoutVisibleParagraphs();
+            } else {
+                for (int i = 0; i < paragraphNodesChildren.size(); i++) {
+                    Node node = paragraphNodesChildren.get(i);
+                    Text paragraphNode = (Text)node;
+                    paragraphNode.setWrappingWidth(wrappingWidth);
 
-                Bounds bounds = paragraphNode.getBoundsInLocal();
-                paragraphNode.setLayoutX(leftPadding);
-                paragraphNode.setLayoutY(y);
+                    Bounds bounds = paragraphNode.getBoundsInLocal();
+                    paragraphNode.setLayoutX(leftPadding);
+                    paragraphNode.setLayoutY(y);
 
-                y += bounds.getHeight();
+                    y += bounds.getHeight();
+                }
             }
 
             if (promptNode != null) {
@@ -1345,15 +1664,11 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 // Position the handle for the anchor. This could be handle1 or handle2.
                 // Do this before positioning the actual caret.
                 if (selection.getLength() > 0) {
-                    int paragraphIndex = paragraphNodesChildren.size();
-                    int paragraphOffset = textArea.getLength() + 1;
-                    Text paragraphNode = null;
-                    do {
-                        paragraphNode = (Text)paragraphNodesChildren.get(--paragraphIndex);
-                        paragraphOffset -= paragraphNode.getText().length() + 1;
-                    } while (anchorPos < paragraphOffset);
-
-                    updateTextNodeCaretPos(anchorPos - paragraphOffset);
+                    int paragraphIndex = getParagraphIndex(anchorPos);
+                    int paragraphOffset = getParagraphStart(paragraphIndex);
+                    Text paragraphNode = getParagraphNode(paragraphIndex);
+
+                    updateTextNodeCaretPos(paragraphNode, anchorPos - paragraphOffset);
                     caretPath.getElements().clear();
                     caretPath.getElements().addAll(paragraphNode.getCaretShape());
                     caretPath.setLayoutX(paragraphNode.getLayoutX());
@@ -1372,16 +1687,11 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
             {
                 // Position caret
-                int paragraphIndex = paragraphNodesChildren.size();
-                int paragraphOffset = textArea.getLength() + 1;
-
-                Text paragraphNode = null;
-                do {
-                    paragraphNode = (Text)paragraphNodesChildren.get(--paragraphIndex);
-                    paragraphOffset -= paragraphNode.getText().length() + 1;
-                } while (caretPos < paragraphOffset);
+                int paragraphIndex = getParagraphIndex(caretPos);
+                int paragraphOffset = getParagraphStart(paragraphIndex);
+                Text paragraphNode = getParagraphNode(paragraphIndex);
 
-                updateTextNodeCaretPos(caretPos - paragraphOffset);
+                updateTextNodeCaretPos(paragraphNode, caretPos - paragraphOffset);
 
                 caretPath.getElements().clear();
                 caretPath.getElements().addAll(paragraphNode.getCaretShape());
@@ -1397,9 +1707,11 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 }
             }
 
-            // Update selection fg and bg
-            int start = selection.getStart();
-            int end = selection.getEnd();
+            // Update selection fg and bg, relative to the first paragraph node
+            int firstParagraphOffset = virtualized ? getParagraphStart(firstParagraph) : 0;
+            int start = Math.max(0, selection.getStart() - firstParagraphOffset);
+            int end = Math.max(0, selection.getEnd() - firstParagraphOffset);
+            selectionHighlightGroup.setVisible(false);
             for (int i = 0, max = paragraphNodesChildren.size(); i < max; i++) {
                 Node paragraphNode = paragraphNodesChildren.get(i);
                 Text textNode = (Text)paragraphNode;
@@ -1423,7 +1735,6 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 } else {
                     textNode.setSelectionStart(-1);
                     textNode.setSelectionEnd(-1);
-                    selectionHighlightGroup.setVisible(false);
                 }
                 start = Math.max(0, start - paragraphLength);
                 end   = Math.max(0, end   - paragraphLength);
@@ -69,8 +69,11 @@ import javafx.util.Callback;
 import javafx.util.Duration;
 import com.sun.javafx.logging.PlatformLogger;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 
@@ -110,6 +113,16 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
     private static final double GOLDEN_RATIO_MULTIPLIER = 0.618033987;
 
+    /**
+     * When true, the lengths of the measured cells are kept in a prefix sum
+     * tree and the position is mapped to pixels through it, instead of giving
+     * every cell the same share of the position. This makes scrolling with
+     * cells of very different lengths smooth, and makes mapping between
+     * positions and cell indices O(log n).
+     */
+    private static final boolean USE_CELL_SIZE_TREE =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.scene.control.skin.VirtualFlow.cellSizeTree"));
+
 
 
     /***************************************************************************
@@ -242,6 +255,23 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
     private boolean fixedCellSizeEnabled = false;
 
+    /**
+     * The lengths of the cells measured so far, or null if the position is
+     * mapped by giving every cell the same share of it.
+     */
+    private CellSizeTree cellSizeTree = USE_CELL_SIZE_TREE ? new CellSizeTree() : null;
+
+    /*
+     * Changes of the items reported through cellsChanged() which have not been
+     * applied to the cell size tree yet, as triples of the index of the first
+     * changed cell, the number of removed and the number of added cells.
+     */
+    private int[] pendingCellChanges = new int[3];
+    private int pendingCellChangeCount;
+
+    /* true if the position has been moved with the cells changed since the last layout */
+    private boolean positionKeptForCellChanges;
+
     private boolean needsReconfigureCells = false; // when cell contents are the same
     private boolean needsRecreateCells = false; // when cell factory changed
     private boolean needsRebuildCells = false; // when cell contents have changed
@@ -815,6 +845,10 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
             if (countChanged) {
                 VirtualScrollBar lengthBar = isVertical() ? vbar : hbar;
                 lengthBar.setMax(cellCount);
+                if (isCellSizeTreeUsed()) {
+                    // keep the measured lengths and the position before laying out
+                    getCellSizeTree();
+                }
             }
 
             // I decided *not* to reset maxPrefBreadth here for the following
@@ -974,6 +1008,11 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
     /** {@inheritDoc} */
     @Override protected void layoutChildren() {
+        if (cellSizeTree != null && (needsRecreateCells || isVertical() != lastVertical)) {
+            // all the cells may have a different length now
+            cellSizeTree.reset(getCellCount());
+            pendingCellChangeCount = 0;
+        }
         if (needsRecreateCells) {
             lastWidth = -1;
             lastHeight = -1;
@@ -1222,7 +1261,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
             } else if (currentIndex >= cellCount) {
                 setPosition(1.0f);
 //                setItemCount(cellCount);
-            } else if (firstCell != null) {
+            } else if (firstCell != null && !positionKeptForCellChanges) {
                 double firstCellOffset = getCellPosition(firstCell);
                 int firstCellIndex = getCellIndex(firstCell);
 //                setItemCount(cellCount);
@@ -1233,6 +1272,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
             // Update the current index
             currentIndex = computeCurrentIndex();
+            positionKeptForCellChanges = false;
         }
 
         if (rebuild) {
@@ -2389,6 +2429,9 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         // the breadth scrollbar which changes viewport length, so we need
         // to re-position the cells.
         if (!cells.isEmpty()) {
+            if (isCellSizeTreeUsed()) {
+                updateCellSizeTree();
+            }
             final double currOffset = -computeViewportOffset(getPosition());
             final int currIndex = computeCurrentIndex() - cells.getFirst().getIndex();
             final int size = cells.size();
@@ -2466,7 +2509,12 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
         // determine how many cells there are on screen so that the scrollbar
         // thumb can be appropriately sized
-        if (recreate && (lengthBar.isVisible() || Properties.IS_TOUCH_SUPPORTED)) {
+        if (isCellSizeTreeUsed()) {
+            // the estimated total length improves with every layout, keep the thumb in sync
+            final double totalLength = getCellSizeTree().getTotalLength();
+            lengthBar.setMax(1);
+            lengthBar.setVisibleAmount(totalLength <= 0 ? 1 : Math.min(1, viewportLength / totalLength));
+        } else if (recreate && (lengthBar.isVisible() || Properties.IS_TOUCH_SUPPORTED)) {
             final int cellCount = getCellCount();
             int numCellsVisibleOnScreen = 0;
             for (int i = 0, max = cells.size(); i < max; i++) {
@@ -2748,6 +2796,11 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      * item would end up positioned correctly.
      */
     private double computeViewportOffset(double position) {
+        if (isCellSizeTreeUsed()) {
+            final CellSizeTree tree = getCellSizeTree();
+            final double offset = com.sun.javafx.util.Utils.clamp(0, position, 1) * getMaxScrollOffset(tree);
+            return offset - tree.getStart(tree.getIndexAt(offset));
+        }
         double p = com.sun.javafx.util.Utils.clamp(0, position, 1);
         double fractionalPosition = p * getCellCount();
         int cellIndex = (int) fractionalPosition;
@@ -2760,7 +2813,9 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
     private void adjustPositionToIndex(int index) {
         int cellCount = getCellCount();
-        if (cellCount <= 0) {
+        if (isCellSizeTreeUsed()) {
+            setScrollOffset(getCellSizeTree().getStart(index));
+        } else if (cellCount <= 0) {
             setPosition(0.0f);
         } else {
             setPosition(((double)index) / cellCount);
@@ -2776,6 +2831,10 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     private void adjustByPixelAmount(double numPixels) {
         if (numPixels == 0) return;
+        if (isCellSizeTreeUsed()) {
+            setScrollOffset(getPosition() * getMaxScrollOffset(getCellSizeTree()) + numPixels);
+            return;
+        }
         // Starting from the current cell, we move in the direction indicated
         // by numPixels one cell at a team. For each cell, we discover how many
         // pixels the "position" line would move within that cell, and adjust
@@ -2846,6 +2905,10 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
     private int computeCurrentIndex() {
+        if (isCellSizeTreeUsed()) {
+            final CellSizeTree tree = getCellSizeTree();
+            return tree.getIndexAt(getPosition() * getMaxScrollOffset(tree));
+        }
         return (int) (getPosition() * getCellCount());
     }
 
@@ -2857,6 +2920,11 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      * calculation.
      */
     private double computeOffsetForCell(int itemIndex) {
+        if (isCellSizeTreeUsed()) {
+            // adjustPositionToIndex already moves the start of the cell to
+            // the start of the viewport
+            return 0;
+        }
         double cellCount = getCellCount();
         double p = com.sun.javafx.util.Utils.clamp(0, itemIndex, cellCount) / cellCount;
         return -(getViewportLength() * p);
@@ -2872,6 +2940,155 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 //    }
     // end of old PositionMapper code
 
+    final void setCellSizeTreeEnabled(boolean enabled) {
+        if (enabled != (cellSizeTree != null)) {
+            cellSizeTree = enabled ? new CellSizeTree() : null;
+            pendingCellChangeCount = 0;
+            requestLayout();
+        }
+    }
+
+    private boolean isCellSizeTreeUsed() {
+        // with a fixed cell size, every cell already has the same share
+        return cellSizeTree != null && !fixedCellSizeEnabled;
+    }
+
+    /**
+     * Returns the cell size tree, resized to the current cell count. If no
+     * cell has been measured yet, the cells in use, or else the first cell,
+     * are measured so that there is an estimate for the others.
+     */
+    private CellSizeTree getCellSizeTree() {
+        final int cellCount = getCellCount();
+        if (cellSizeTree.size() != cellCount || pendingCellChangeCount > 0) {
+            applyCellChanges(cellCount);
+        }
+        if (cellCount > 0 && cellSizeTree.getMeasuredCount() == 0) {
+            for (int i = 0, max = cells.size(); i < max; i++) {
+                final T cell = cells.get(i);
+                final int index = getCellIndex(cell);
+                if (index >= 0 && index < cellCount) {
+                    cellSizeTree.setLength(index, getCellLength(cell));
+                }
+            }
+            if (cellSizeTree.getMeasuredCount() == 0) {
+                cellSizeTree.setLength(0, getCellLength(0));
+            }
+        }
+        return cellSizeTree;
+    }
+
+    /**
+     * Records that {@code removedCount} items starting at the given index have
+     * been replaced with {@code addedCount} items, so that the lengths measured
+     * for the other cells are kept when the cell count is updated. Skins call
+     * this from their items listener, before the cell count changes.
+     */
+    void cellsChanged(int from, int removedCount, int addedCount) {
+        if (!isCellSizeTreeUsed() || (removedCount == 0 && addedCount == 0)) {
+            return;
+        }
+        final int n = pendingCellChangeCount * 3;
+        if (pendingCellChanges.length < n + 3) {
+            pendingCellChanges = Arrays.copyOf(pendingCellChanges, n * 2);
+        }
+        pendingCellChanges[n] = from;
+        pendingCellChanges[n + 1] = removedCount;
+        pendingCellChanges[n + 2] = addedCount;
+        pendingCellChangeCount++;
+    }
+
+    /**
+     * Brings the cell size tree to the given cell count. The reported item
+     * changes are applied if they account for the new count, and the position
+     * is adjusted so that the cell at the start of the viewport stays there.
+     * Otherwise cells are added or removed at the end of the tree.
+     */
+    private void applyCellChanges(int cellCount) {
+        final CellSizeTree tree = cellSizeTree;
+        final int oldSize = tree.size();
+        int expectedSize = oldSize;
+        for (int i = 0; i < pendingCellChangeCount; i++) {
+            expectedSize += pendingCellChanges[i * 3 + 2] - pendingCellChanges[i * 3 + 1];
+        }
+        if (expectedSize != cellCount && oldSize == cellCount) {
+            // the cell count has not been updated for the reported changes yet
+            return;
+        }
+        final int changeCount = pendingCellChangeCount;
+        pendingCellChangeCount = 0;
+        if (expectedSize != cellCount || tree.getMeasuredCount() == 0) {
+            if (cellCount > oldSize) {
+                tree.insert(oldSize, cellCount - oldSize);
+            } else {
+                tree.remove(cellCount, oldSize - cellCount);
+            }
+            return;
+        }
+
+        // find the cell at the start of the viewport before changing the tree
+        final double position = getPosition();
+        final double offset = position * getMaxScrollOffset(tree);
+        int index = tree.getIndexAt(offset);
+        double offsetInCell = offset - tree.getStart(index);
+        for (int i = 0; i < changeCount; i++) {
+            final int from = pendingCellChanges[i * 3];
+            final int removedCount = pendingCellChanges[i * 3 + 1];
+            final int addedCount = pendingCellChanges[i * 3 + 2];
+            tree.replace(from, removedCount, addedCount);
+            if (index >= from + removedCount) {
+                index += addedCount - removedCount;
+            } else if (index >= from) {
+                index = from;
+                offsetInCell = 0;
+            }
+        }
+        // the start and the end of the cells stay where they are
+        if (position > 0 && position < 1) {
+            setScrollOffset(tree.getStart(index) + offsetInCell);
+            positionKeptForCellChanges = true;
+        }
+    }
+
+    /**
+     * Returns the distance in pixels the viewport can travel from the start of
+     * the first cell, which is what the position maps to.
+     */
+    private double getMaxScrollOffset(CellSizeTree tree) {
+        return Math.max(0, tree.getTotalLength() - getViewportLength());
+    }
+
+    /**
+     * Sets the position so that the viewport starts at the given distance in
+     * pixels from the start of the first cell.
+     */
+    private void setScrollOffset(double offset) {
+        final double max = getMaxScrollOffset(getCellSizeTree());
+        setPosition(max <= 0 ? 0 : com.sun.javafx.util.Utils.clamp(0, offset / max, 1));
+    }
+
+    /**
+     * Records the lengths of the cells in use and then adjusts the position,
+     * which is relative to the estimated total length, so that the first cell
+     * stays where it has been laid out.
+     */
+    private void updateCellSizeTree() {
+        final CellSizeTree tree = getCellSizeTree();
+        final int cellCount = getCellCount();
+        for (int i = 0, max = cells.size(); i < max; i++) {
+            final T cell = cells.get(i);
+            final int index = getCellIndex(cell);
+            if (index >= 0 && index < cellCount) {
+                tree.setLength(index, getCellLength(cell));
+            }
+        }
+        final T firstCell = cells.getFirst();
+        final int firstIndex = getCellIndex(firstCell);
+        if (firstIndex >= 0 && firstIndex < cellCount && getPosition() != 0 && getPosition() != 1) {
+            setScrollOffset(tree.getStart(firstIndex) - getCellPosition(firstCell));
+        }
+    }
+
 
 
 
@@ -26,6 +26,7 @@ package javafx.scene.chart;
 
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.chart.XYChart.Data;
 import javafx.scene.chart.XYChart.Series;
 
@@ -39,6 +40,10 @@ public class XYChartShim {
         return xy.getPlotChildren();
     }
 
+    public static void drawPlotCanvas(XYChart xy, GraphicsContext gc, double width, double height) {
+        xy.drawPlotCanvas(gc, width, height);
+    }
+
     public static void updateAxisRange(XYChart c) {
         c.updateAxisRange();
     }
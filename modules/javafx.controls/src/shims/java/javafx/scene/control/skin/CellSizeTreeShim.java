@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control.skin;
+
+public class CellSizeTreeShim extends CellSizeTree {
+
+    @Override
+    public void reset(int size) {
+        super.reset(size);
+    }
+
+    @Override
+    public void insert(int index, int count) {
+        super.insert(index, count);
+    }
+
+    @Override
+    public void remove(int index, int count) {
+        super.remove(index, count);
+    }
+
+    @Override
+    public void replace(int index, int removedCount, int addedCount) {
+        super.replace(index, removedCount, addedCount);
+    }
+
+    @Override
+    public int size() {
+        return super.size();
+    }
+
+    @Override
+    public int getMeasuredCount() {
+        return super.getMeasuredCount();
+    }
+
+    @Override
+    public boolean isMeasured(int index) {
+        return super.isMeasured(index);
+    }
+
+    @Override
+    public void setDefaultLength(double length) {
+        super.setDefaultLength(length);
+    }
+
+    @Override
+    public double getEstimatedLength() {
+        return super.getEstimatedLength();
+    }
+
+    @Override
+    public double getLength(int index) {
+        return super.getLength(index);
+    }
+
+    @Override
+    public void setLength(int index, double length) {
+        super.setLength(index, length);
+    }
+
+    @Override
+    public double getStart(int index) {
+        return super.getStart(index);
+    }
+
+    @Override
+    public double getTotalLength() {
+        return super.getTotalLength();
+    }
+
+    @Override
+    public int getIndexAt(double position) {
+        return super.getIndexAt(position);
+    }
+}
@@ -90,6 +90,14 @@ public class VirtualFlowShim<T extends IndexedCell> extends VirtualFlow<T> {
         return super.corner;
     }
 
+    public void shim_setCellSizeTreeEnabled(boolean enabled) {
+        super.setCellSizeTreeEnabled(enabled);
+    }
+
+    public void shim_cellsChanged(int from, int removedCount, int addedCount) {
+        super.cellsChanged(from, removedCount, addedCount);
+    }
+
     public T get_accumCell() {
         return super.accumCell;
     }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.charts;
+
+import com.sun.javafx.charts.SeriesDecimator;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SeriesDecimatorTest {
+
+    private SeriesDecimator decimator;
+
+    @Before
+    public void setUp() {
+        decimator = new SeriesDecimator();
+    }
+
+    private void assertPoints(double[] expectedXs, double[] expectedYs) {
+        assertEquals(expectedXs.length, decimator.size());
+        double[] xs = new double[decimator.size()];
+        double[] ys = new double[decimator.size()];
+        System.arraycopy(decimator.getXs(), 0, xs, 0, xs.length);
+        System.arraycopy(decimator.getYs(), 0, ys, 0, ys.length);
+        assertArrayEquals(expectedXs, xs, 0);
+        assertArrayEquals(expectedYs, ys, 0);
+    }
+
+    @Test
+    public void testNaNPointsAreIgnored() {
+        decimator.add(1, 1);
+        decimator.add(Double.NaN, 2);
+        decimator.add(3, Double.NaN);
+        assertEquals(1, decimator.size());
+    }
+
+    @Test
+    public void testSortIsStable() {
+        decimator.add(3, 0);
+        decimator.add(1, 1);
+        decimator.add(2, 2);
+        decimator.add(1, 3);
+        decimator.sort(false);
+        assertPoints(new double[] {1, 1, 2, 3}, new double[] {1, 3, 2, 0});
+    }
+
+    @Test
+    public void testSortByY() {
+        decimator.add(0, 3);
+        decimator.add(1, 1);
+        decimator.add(2, 2);
+        decimator.sort(true);
+        assertPoints(new double[] {1, 2, 0}, new double[] {1, 2, 3});
+    }
+
+    @Test
+    public void testSortManyPoints() {
+        for (int i = 0; i < 1000; i++) {
+            decimator.add((i * 7919) % 1000, i);
+        }
+        decimator.sort(false);
+        assertEquals(1000, decimator.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, decimator.getXs()[i], 0);
+        }
+    }
+
+    @Test
+    public void testDecimateKeepsFirstMinMaxLastPerColumn() {
+        decimator.add(0.1, 5);
+        decimator.add(0.2, 9);
+        decimator.add(0.3, 1);
+        decimator.add(0.4, 4);
+        decimator.add(0.5, 6);
+        decimator.add(1.5, 3);
+        decimator.decimate(false, 10);
+        assertPoints(new double[] {0.1, 0.2, 0.3, 0.5, 1.5}, new double[] {5, 9, 1, 6, 3});
+    }
+
+    @Test
+    public void testDecimateDoesNotDuplicateExtremes() {
+        decimator.add(0.1, 1);
+        decimator.add(0.2, 5);
+        decimator.add(0.3, 9);
+        decimator.decimate(false, 10);
+        assertPoints(new double[] {0.1, 0.3}, new double[] {1, 9});
+    }
+
+    @Test
+    public void testDecimateMergesPointsOutsideOfPlot() {
+        for (int i = 0; i < 100; i++) {
+            decimator.add(-100 + i, i % 2);
+        }
+        decimator.add(5, 0);
+        for (int i = 0; i < 100; i++) {
+            decimator.add(20 + i, i % 3);
+        }
+        decimator.decimate(false, 10);
+        assertPoints(new double[] {-100, -99, -1, 5, 20, 22, 119},
+                     new double[] {0, 1, 1, 0, 0, 2, 0});
+    }
+
+    @Test
+    public void testDecimateByRows() {
+        decimator.add(5, 0.1);
+        decimator.add(9, 0.2);
+        decimator.add(1, 0.3);
+        decimator.add(4, 0.4);
+        decimator.decimate(true, 10);
+        assertPoints(new double[] {5, 9, 1, 4}, new double[] {0.1, 0.2, 0.3, 0.4});
+        decimator.add(3, 0.5);
+        decimator.decimate(true, 10);
+        assertPoints(new double[] {5, 9, 1, 3}, new double[] {0.1, 0.2, 0.3, 0.5});
+    }
+
+    @Test
+    public void testDecimateReducesToFourPointsPerColumn() {
+        for (int i = 0; i < 100000; i++) {
+            decimator.add(i / 1000.0, (i * 7919) % 1000);
+        }
+        decimator.decimate(false, 100);
+        assertTrue(decimator.size() > 200);
+        assertTrue(decimator.size() <= 400);
+    }
+
+    @Test
+    public void testDecimatePixelsKeepsFirstPointPerPixel() {
+        decimator.add(1.2, 1.2);
+        decimator.add(1.7, 1.9);
+        decimator.add(2.1, 1.5);
+        decimator.add(1.5, 1.5);
+        decimator.decimatePixels(10, 10, 0);
+        assertPoints(new double[] {1.2, 2.1}, new double[] {1.2, 1.5});
+    }
+
+    @Test
+    public void testDecimatePixelsDropsPointsOutsideOfMargin() {
+        decimator.add(-3, 5);
+        decimator.add(-1, 5);
+        decimator.add(11, 5);
+        decimator.add(13, 5);
+        decimator.add(5, -3);
+        decimator.decimatePixels(10, 10, 2);
+        assertPoints(new double[] {-1, 11}, new double[] {5, 5});
+    }
+}
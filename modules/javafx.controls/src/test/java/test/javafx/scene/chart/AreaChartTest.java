@@ -151,4 +151,20 @@ public class AreaChartTest extends XYChartTestBase {
          pulse();
          assertEquals(5, countSymbols(ac, "chart-area-symbol"));
      }
+
+    @Test public void testCanvasRenderingSkipsSymbols() {
+        startApp();
+        ac.getData().clear();
+        ac.setCanvasRendering(true);
+        pulse();
+        ac.getData().addAll(series1);
+        pulse();
+        assertEquals(0, countSymbols(ac, "chart-area-symbol"));
+        assertEquals("", getSeriesLineFromPlot());
+
+        ac.setCanvasRendering(false);
+        pulse();
+        assertEquals(5, countSymbols(ac, "chart-area-symbol"));
+        assertEquals(5, getSeriesLineFromPlot().split("L").length - 1);
+    }
 }
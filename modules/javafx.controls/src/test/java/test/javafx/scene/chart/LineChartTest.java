@@ -159,4 +159,47 @@ public class LineChartTest extends XYChartTestBase {
         int nodesPerSeries = 4; // 3 symbols + 1 path
         checkSeriesRemoveAnimatedStyleClasses(lineChart, nodesPerSeries, 900);
     }
+
+    @Test
+    public void testCanvasRenderingSkipsSymbols() {
+        startApp();
+        lineChart.setCanvasRendering(true);
+        lineChart.getData().addAll(series1);
+        pulse();
+        assertEquals(0, countSymbols(lineChart, "chart-line-symbol"));
+        // only the empty series path holding the line styles is left
+        assertEquals(1, XYChartShim.getPlotChildren(lineChart).size());
+        assertEquals("", getSeriesLineFromPlot());
+    }
+
+    @Test
+    public void testToggleCanvasRendering() {
+        startApp();
+        lineChart.getData().addAll(series1);
+        pulse();
+        assertEquals(5, countSymbols(lineChart, "chart-line-symbol"));
+        lineChart.setCanvasRendering(true);
+        pulse();
+        assertEquals(0, countSymbols(lineChart, "chart-line-symbol"));
+        series1.getData().add(new XYChart.Data(60d, 30d));
+        pulse();
+        assertEquals(0, countSymbols(lineChart, "chart-line-symbol"));
+        lineChart.setCanvasRendering(false);
+        pulse();
+        assertEquals(6, countSymbols(lineChart, "chart-line-symbol"));
+        assertEquals(6, getSeriesLineFromPlot().split("L").length - 1);
+    }
+
+    @Test
+    public void testCanvasRenderingDoesNotAnimate() {
+        startApp();
+        lineChart.getData().addAll(series1);
+        lineChart.setCanvasRendering(true);
+        lineChart.setAnimated(true);
+        pulse();
+        XYChart.Data<Number, Number> data = new XYChart.Data<>(60d, 30d);
+        series1.getData().add(data);
+        data.setYValue(40d);
+        assertEquals(40d, XYChartShim.Data_getCurrentY(data));
+    }
 }
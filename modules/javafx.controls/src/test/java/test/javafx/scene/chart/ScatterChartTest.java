@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.chart;
+
+import com.sun.javafx.sg.prism.GrowableDataBuffer;
+import com.sun.javafx.sg.prism.NGCanvas;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.CanvasShim;
+import javafx.scene.chart.Chart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.ScatterChart;
+import javafx.scene.chart.XYChart;
+import javafx.scene.chart.XYChartShim;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.SVGPath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class ScatterChartTest extends XYChartTestBase {
+
+    ScatterChart<Number,Number> scatterChart;
+    final XYChart.Series<Number, Number> series1 = new XYChart.Series<Number, Number>();
+
+    @Override protected Chart createChart() {
+        scatterChart = new ScatterChart<Number,Number>(new NumberAxis(), new NumberAxis());
+        series1.getData().add(new XYChart.Data(10d, 10d));
+        series1.getData().add(new XYChart.Data(25d, 20d));
+        series1.getData().add(new XYChart.Data(30d, 15d));
+        series1.getData().add(new XYChart.Data(50d, 15d));
+        series1.getData().add(new XYChart.Data(80d, 10d));
+        return scatterChart;
+    }
+
+    @Override
+    void checkSeriesStyleClasses(XYChart.Series<?, ?> series,
+            int seriesIndex, int colorIndex) {
+    }
+
+    @Override
+    void checkDataStyleClasses(XYChart.Data<?, ?> data,
+            int seriesIndex, int dataIndex, int colorIndex) {
+        checkStyleClass(data.getNode(), "series"+seriesIndex, "data"+dataIndex, "default-color"+colorIndex);
+    }
+
+    @Test
+    public void testDataItemAdd() {
+        startApp();
+        scatterChart.getData().addAll(series1);
+        pulse();
+        assertEquals(5, countSymbols(scatterChart, "chart-symbol"));
+        series1.getData().add(new XYChart.Data(60d, 30d));
+        pulse();
+        assertEquals(6, countSymbols(scatterChart, "chart-symbol"));
+    }
+
+    @Test
+    public void testCanvasRenderingKeepsOneHiddenSymbolPerSeries() {
+        startApp();
+        scatterChart.setCanvasRendering(true);
+        scatterChart.getData().addAll(series1);
+        pulse();
+        assertEquals(1, XYChartShim.getPlotChildren(scatterChart).size());
+        Node template = XYChartShim.getPlotChildren(scatterChart).get(0);
+        assertFalse(template.isVisible());
+        checkStyleClass(template, "chart-symbol", "series0", "default-color0");
+
+        scatterChart.getData().remove(series1);
+        pulse();
+        assertEquals(0, XYChartShim.getPlotChildren(scatterChart).size());
+    }
+
+    @Test
+    public void testToggleCanvasRendering() {
+        startApp();
+        scatterChart.getData().addAll(series1);
+        pulse();
+        scatterChart.setCanvasRendering(true);
+        pulse();
+        assertEquals(1, countSymbols(scatterChart, "chart-symbol"));
+        series1.getData().add(new XYChart.Data(60d, 30d));
+        pulse();
+        assertEquals(1, countSymbols(scatterChart, "chart-symbol"));
+        scatterChart.setCanvasRendering(false);
+        pulse();
+        assertEquals(6, countSymbols(scatterChart, "chart-symbol"));
+        for (Node n : XYChartShim.getPlotChildren(scatterChart)) {
+            checkStyleClass(n, "chart-symbol", "series0");
+        }
+    }
+
+    @Test
+    public void testCanvasRenderingDrawsSymbolShape() {
+        startApp();
+        scatterChart.setCanvasRendering(true);
+        scatterChart.getData().addAll(series1);
+        pulse();
+        Region template = (Region) XYChartShim.getPlotChildren(scatterChart).get(0);
+        SVGPath diamond = new SVGPath();
+        diamond.setContent("M5,0 L10,9 L5,18 L0,9 Z");
+        template.setShape(diamond);
+        template.setBackground(new Background(new BackgroundFill(Color.RED, null, null)));
+        template.resize(10, 10);
+
+        Canvas canvas = new Canvas(1000, 1000);
+        XYChartShim.drawPlotCanvas(scatterChart, canvas.getGraphicsContext2D(), 1000, 1000);
+
+        // decode the drawing commands: one diamond fitted into 10x10 pixels per symbol
+        GrowableDataBuffer buf = CanvasShim.getBuffer(canvas);
+        int fillPaths = 0;
+        int segments = 0;
+        float minX = Float.POSITIVE_INFINITY, maxX = Float.NEGATIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        while (buf.hasValues()) {
+            byte op = buf.getByte();
+            switch (op) {
+                case NGCanvas.SET_DIMS:
+                    buf.getFloat();
+                    buf.getFloat();
+                    break;
+                case NGCanvas.FILL_PAINT:
+                    buf.getObject();
+                    break;
+                case NGCanvas.FILL_RULE:
+                    buf.getByte();
+                    break;
+                case NGCanvas.TRANSFORM:
+                    for (int i = 0; i < 6; i++) buf.getDouble();
+                    break;
+                case NGCanvas.PATHSTART:
+                    segments = 0;
+                    minX = minY = Float.POSITIVE_INFINITY;
+                    maxX = maxY = Float.NEGATIVE_INFINITY;
+                    break;
+                case NGCanvas.MOVETO:
+                case NGCanvas.LINETO:
+                    float x = buf.getFloat();
+                    float y = buf.getFloat();
+                    minX = Math.min(minX, x);
+                    maxX = Math.max(maxX, x);
+                    minY = Math.min(minY, y);
+                    maxY = Math.max(maxY, y);
+                    segments++;
+                    break;
+                case NGCanvas.CLOSEPATH:
+                case NGCanvas.PATHEND:
+                    break;
+                case NGCanvas.FILL_PATH:
+                    fillPaths++;
+                    assertEquals(4, segments);
+                    assertEquals(10, maxX - minX, 1e-3);
+                    assertEquals(10, maxY - minY, 1e-3);
+                    break;
+                default:
+                    fail("Unexpected canvas command " + op);
+            }
+        }
+        assertEquals(5, fillPaths);
+    }
+}
@@ -31,6 +31,9 @@ import static javafx.scene.control.TableColumn.SortType.DESCENDING;
 import static org.junit.Assert.*;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
@@ -575,6 +578,182 @@ public class TableViewTest {
         VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Apple", "Orange", "Banana");
     }
 
+    private static void awaitBackgroundSort() {
+        // the stub toolkit runs deferred runnables right away, so the sort
+        // has been applied once the pool is idle
+        assertTrue(ForkJoinPool.commonPool().awaitQuiescence(10, TimeUnit.SECONDS));
+    }
+
+    private static Comparator<String> gatedComparator(CountDownLatch started, CountDownLatch gate) {
+        return (s1, s2) -> {
+            started.countDown();
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return s1.compareTo(s2);
+        };
+    }
+
+    @Test public void testAsyncSortPolicyFiresOnePermutationChange() {
+        TableColumn<String, String> col = initSortTestStructure();
+        col.setSortType(DESCENDING);
+        table.setSortPolicy((Callback) TableView.ASYNC_SORT_POLICY);
+        List<String> changes = new ArrayList<>();
+        table.getItems().addListener((ListChangeListener<String>) c -> {
+            while (c.next()) {
+                changes.add(c.wasPermutated() ? "permutated" : c.toString());
+            }
+        });
+
+        table.getSortOrder().add(col);
+        awaitBackgroundSort();
+
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Orange", "Banana", "Apple");
+        assertEquals(Arrays.asList("permutated"), changes);
+    }
+
+    @Test public void testAsyncSortPolicyUpdatesSelection() {
+        TableColumn<String, String> col = initSortTestStructure();
+        table.setSortPolicy((Callback) TableView.ASYNC_SORT_POLICY);
+        sm.select(0);
+        assertEquals("Apple", sm.getSelectedItem());
+
+        col.setSortType(DESCENDING);
+        table.getSortOrder().add(col);
+        awaitBackgroundSort();
+
+        assertEquals(2, sm.getSelectedIndex());
+        assertEquals("Apple", sm.getSelectedItem());
+    }
+
+    @Test public void testAsyncSortPolicyCancelsPendingSort() throws InterruptedException {
+        TableColumn<String, String> col = initSortTestStructure();
+        table.setSortPolicy((Callback) TableView.ASYNC_SORT_POLICY);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        col.setComparator(gatedComparator(started, gate));
+        AtomicLong changes = new AtomicLong();
+        table.getItems().addListener((InvalidationListener) o -> changes.incrementAndGet());
+
+        col.setSortType(DESCENDING);
+        table.getSortOrder().add(col);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // request another sort while the first one is still running
+        col.setSortType(ASCENDING);
+        gate.countDown();
+        awaitBackgroundSort();
+
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Apple", "Banana", "Orange");
+        assertEquals(1, changes.get());
+    }
+
+    @Test public void testAsyncSortPolicyIsCancelledWhenItemsChange() throws InterruptedException {
+        TableColumn<String, String> col = initSortTestStructure();
+        table.setSortPolicy((Callback) TableView.ASYNC_SORT_POLICY);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        col.setComparator(gatedComparator(started, gate));
+
+        table.getSortOrder().add(col);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        table.getItems().add("Cherry");
+        gate.countDown();
+        awaitBackgroundSort();
+
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Apple", "Orange", "Banana", "Cherry");
+    }
+
+    @Test public void testAsyncSortPolicyWithUnmodifiableList() {
+        TableColumn<String, String> col = initSortTestStructure();
+        table.setItems(FXCollections.unmodifiableObservableList(
+                FXCollections.observableArrayList("Apple", "Orange", "Banana")));
+        table.setSortPolicy((Callback) TableView.ASYNC_SORT_POLICY);
+
+        table.getSortOrder().add(col);
+        awaitBackgroundSort();
+
+        // like the default policy, the sort fails right away and is backed out
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Apple", "Orange", "Banana");
+        assertTrue(table.getSortOrder().isEmpty());
+        assertNull(table.getComparator());
+    }
+
+    @Test public void testAsyncSortPolicyBacksOutSortWhenListCannotBeModified() {
+        TableColumn<String, String> col = initSortTestStructure();
+        // a SortableList whose backing list turns out to be unmodifiable
+        table.setItems(FXCollections.observableList(
+                Collections.unmodifiableList(Arrays.asList("Apple", "Orange", "Banana"))));
+        table.setSortPolicy((Callback) TableView.ASYNC_SORT_POLICY);
+
+        table.getSortOrder().add(col);
+        awaitBackgroundSort();
+
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Apple", "Orange", "Banana");
+        assertTrue(table.getSortOrder().isEmpty());
+        assertNull(table.getComparator());
+    }
+
+    @Test public void testAsyncSortPolicyBacksOutSortTypeChangeWhenListCannotBeModified() {
+        TableColumn<String, String> col = initSortTestStructure();
+        boolean[] frozen = new boolean[1];
+        table.setItems(FXCollections.observableList(new ArrayList<String>(table.getItems()) {
+            @Override public String set(int index, String element) {
+                if (frozen[0]) {
+                    throw new UnsupportedOperationException();
+                }
+                return super.set(index, element);
+            }
+        }));
+        table.setSortPolicy((Callback) TableView.ASYNC_SORT_POLICY);
+        table.getSortOrder().add(col);
+        awaitBackgroundSort();
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Apple", "Banana", "Orange");
+
+        frozen[0] = true;
+        col.setSortType(DESCENDING);
+        awaitBackgroundSort();
+
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Apple", "Banana", "Orange");
+        assertEquals(ASCENDING, col.getSortType());
+        assertEquals(Arrays.asList(col), table.getSortOrder());
+    }
+
+    @Test public void testAsyncSortPolicyIsCancelledWhenItemsAreReplaced() throws InterruptedException {
+        TableColumn<String, String> col = initSortTestStructure();
+        ObservableList<String> oldItems = table.getItems();
+        table.setSortPolicy((Callback) TableView.ASYNC_SORT_POLICY);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        col.setComparator(gatedComparator(started, gate));
+
+        col.setSortType(DESCENDING);
+        table.getSortOrder().add(col);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        table.setItems(FXCollections.observableArrayList("Kiwi", "Lime"));
+        gate.countDown();
+        awaitBackgroundSort();
+
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(oldItems, "Apple", "Orange", "Banana");
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Kiwi", "Lime");
+    }
+
+    @Test public void testAsyncSortPolicyWithSortedList() {
+        TableColumn<String, String> col = initSortTestStructure();
+        SortedList<String> sortedList = new SortedList<>(FXCollections.observableArrayList("Apple", "Orange", "Banana"));
+        sortedList.comparatorProperty().bind(table.comparatorProperty());
+        table.getItems().clear();
+        table.setItems(sortedList);
+        table.setSortPolicy((Callback) TableView.ASYNC_SORT_POLICY);
+
+        col.setSortType(DESCENDING);
+        table.getSortOrder().add(col);
+
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Orange", "Banana", "Apple");
+    }
+
     @Test public void testFailedSortPolicyBacksOutLastChange_sortOrderAddition() {
         TableColumn<String, String> col = initSortTestStructure();
         col.setSortType(DESCENDING);
@@ -25,6 +25,10 @@
 
 package test.javafx.scene.control;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javafx.collections.ListChangeListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -482,4 +486,72 @@ public class TextAreaTest {
         dummyTxtArea.deleteText(0,6);
         assertEquals(dummyTxtArea.getParagraphs().get(0).toString(), "another");
     }
+
+    @Test public void editManyParagraphsAndCheckParagraphContents() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append(i == 0 ? "" : "\n").append("paragraph ").append(i);
+        }
+        txtArea.setText(text.toString());
+
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(text.length() + 1);
+            if (random.nextBoolean()) {
+                String insert = random.nextBoolean() ? "x" : "a\nb\n";
+                txtArea.insertText(start, insert);
+                text.insert(start, insert);
+            } else {
+                int end = Math.min(text.length(), start + random.nextInt(40));
+                txtArea.deleteText(start, end);
+                text.delete(start, end);
+            }
+            assertEquals(text.length(), txtArea.getLength());
+            int offset = random.nextInt(text.length() + 1);
+            int end = Math.min(text.length(), offset + 30);
+            assertEquals(text.substring(offset, end), txtArea.getText(offset, end));
+        }
+        assertEquals(text.toString(), txtArea.getText());
+        assertEquals(text.toString(), String.join("\n", txtArea.getParagraphs()));
+    }
+
+    @Test public void paragraphChangesAreReportedIncrementally() {
+        txtArea.setText("one\ntwo\nthree\nfour");
+        List<CharSequence> paragraphs = new ArrayList<>();
+        for (CharSequence paragraph : txtArea.getParagraphs()) {
+            paragraphs.add(paragraph.toString());
+        }
+        txtArea.getParagraphs().addListener((ListChangeListener<CharSequence>) c -> {
+            while (c.next()) {
+                paragraphs.subList(c.getFrom(), c.getFrom() + c.getRemovedSize()).clear();
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    paragraphs.add(i, c.getList().get(i).toString());
+                }
+            }
+        });
+
+        txtArea.insertText(5, "w\nnew\nt");
+        txtArea.deleteText(2, 12);
+        txtArea.appendText("\nfive");
+        assertEquals(txtArea.getText(), String.join("\n", paragraphs));
+    }
+
+    @Test public void getTextIsUpdatedAfterEachChange() {
+        txtArea.setText("one\ntwo");
+        assertEquals("one\ntwo", txtArea.getText());
+        txtArea.insertText(3, "!");
+        assertEquals("one!\ntwo", txtArea.getText());
+        txtArea.deleteText(0, 5);
+        assertEquals("two", txtArea.getText());
+        assertEquals(3, txtArea.getLength());
+    }
+
+    @Test public void selectedTextFollowsContent() {
+        txtArea.setText("one\ntwo\nthree");
+        txtArea.selectRange(2, 9);
+        assertEquals("e\ntwo\nt", txtArea.getSelectedText());
+        txtArea.replaceSelection("X");
+        txtArea.selectRange(0, 4);
+        assertEquals("onXh", txtArea.getSelectedText());
+    }
 }
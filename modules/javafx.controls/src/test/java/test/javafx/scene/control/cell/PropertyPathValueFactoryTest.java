@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.control.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyPathValueFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import test.com.sun.javafx.scene.control.test.Person;
+
+public class PropertyPathValueFactoryTest {
+
+    public static class Team {
+        private final ObjectProperty<Person> lead = new SimpleObjectProperty<>();
+        private final String name;
+
+        public Team(String name, Person lead) {
+            this.name = name;
+            this.lead.set(lead);
+        }
+
+        public String getName() { return name; }
+        public ObjectProperty<Person> leadProperty() { return lead; }
+    }
+
+    private TableView<Team> table;
+    private TableColumn<Team, String> column;
+    private Person jacob;
+    private Person isabella;
+    private Team team;
+
+    @Before public void setup() {
+        table = new TableView<>();
+        column = new TableColumn<>();
+        table.getColumns().add(column);
+        jacob = new Person("Jacob", "Smith", "jacob.smith@example.com");
+        isabella = new Person("Isabella", "Johnson", "isabella.johnson@example.com");
+        team = new Team("Core", jacob);
+    }
+
+    private ObservableValue<String> call(PropertyPathValueFactory<Team, String> factory, Team row) {
+        return factory.call(new CellDataFeatures<>(table, column, row));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullPath() {
+        new PropertyPathValueFactory<Team, String>(null);
+    }
+
+    @Test public void testGetPath() {
+        assertEquals("lead.firstName", new PropertyPathValueFactory<Team, String>("lead.firstName").getPath());
+    }
+
+    @Test public void testNullRow() {
+        assertNull(call(new PropertyPathValueFactory<>("name"), null));
+    }
+
+    @Test public void testPropertyIsReturnedDirectly() {
+        final PropertyPathValueFactory<Team, Person> factory = new PropertyPathValueFactory<>("lead");
+        assertSame(team.leadProperty(), factory.call(new CellDataFeatures<>(table, new TableColumn<>(), team)));
+    }
+
+    @Test public void testGetterIsWrapped() {
+        assertEquals("Core", call(new PropertyPathValueFactory<>("name"), team).getValue());
+    }
+
+    @Test public void testPathFollowsChanges() {
+        final ObservableValue<String> value = call(new PropertyPathValueFactory<>("lead.firstName"), team);
+        assertEquals("Jacob", value.getValue());
+        jacob.setFirstName("Jake");
+        assertEquals("Jake", value.getValue());
+        team.leadProperty().set(isabella);
+        assertEquals("Isabella", value.getValue());
+        team.leadProperty().set(null);
+        assertNull(value.getValue());
+    }
+
+    @Test public void testMissingProperty() {
+        assertNull(call(new PropertyPathValueFactory<>("dummy"), team));
+        assertNull(call(new PropertyPathValueFactory<>("lead.dummy"), team).getValue());
+    }
+}
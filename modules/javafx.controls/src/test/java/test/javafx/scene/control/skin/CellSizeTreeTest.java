@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.control.skin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javafx.scene.control.skin.CellSizeTreeShim;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CellSizeTreeTest {
+
+    private CellSizeTreeShim tree;
+
+    @Before public void setUp() {
+        tree = new CellSizeTreeShim();
+        tree.reset(10);
+    }
+
+    @Test public void testEmptyTreeHasNoLength() {
+        assertEquals(10, tree.size());
+        assertEquals(0, tree.getMeasuredCount());
+        assertEquals(0, tree.getTotalLength(), 0);
+        assertEquals(0, tree.getStart(5), 0);
+    }
+
+    @Test public void testUnmeasuredCellsUseAverageLength() {
+        tree.setLength(0, 10);
+        tree.setLength(1, 30);
+        assertEquals(20, tree.getEstimatedLength(), 0);
+        assertEquals(20, tree.getLength(5), 0);
+        assertEquals(10 + 30 + 8 * 20, tree.getTotalLength(), 0);
+        assertEquals(10 + 30 + 3 * 20, tree.getStart(5), 0);
+    }
+
+    @Test public void testMeasuringAgainReplacesLength() {
+        tree.setLength(3, 10);
+        tree.setLength(3, 50);
+        assertEquals(1, tree.getMeasuredCount());
+        assertEquals(50, tree.getLength(3), 0);
+        assertEquals(500, tree.getTotalLength(), 0);
+    }
+
+    @Test public void testStartIsClampedToRange() {
+        tree.setLength(0, 10);
+        assertEquals(0, tree.getStart(-5), 0);
+        assertEquals(100, tree.getStart(20), 0);
+    }
+
+    @Test public void testIndexAt() {
+        for (int i = 0; i < 10; i++) {
+            tree.setLength(i, i + 1);
+        }
+        // starts are 0, 1, 3, 6, 10, 15, 21, 28, 36, 45
+        assertEquals(0, tree.getIndexAt(-1));
+        assertEquals(0, tree.getIndexAt(0));
+        assertEquals(1, tree.getIndexAt(1));
+        assertEquals(1, tree.getIndexAt(2.9));
+        assertEquals(4, tree.getIndexAt(10));
+        assertEquals(9, tree.getIndexAt(54));
+        assertEquals(9, tree.getIndexAt(1000));
+    }
+
+    @Test public void testIndexAtSkipsEmptyCells() {
+        tree.setLength(0, 10);
+        tree.setLength(1, 0);
+        tree.setLength(2, 0);
+        tree.setLength(3, 10);
+        assertEquals(3, tree.getIndexAt(10));
+    }
+
+    @Test public void testResetClearsMeasurements() {
+        tree.setLength(2, 10);
+        tree.reset(1000);
+        assertEquals(1000, tree.size());
+        assertEquals(0, tree.getMeasuredCount());
+        assertFalse(tree.isMeasured(2));
+        tree.setLength(999, 5);
+        assertTrue(tree.isMeasured(999));
+        assertEquals(5000, tree.getTotalLength(), 0);
+    }
+
+    @Test public void testMatchesLinearSums() {
+        final int size = 1000;
+        final Random random = new Random(7);
+        final double[] lengths = new double[size];
+        tree.reset(size);
+        for (int i = 0; i < size; i++) {
+            lengths[i] = 10 + random.nextInt(50);
+            tree.setLength(i, lengths[i]);
+        }
+        for (int n = 0; n < 200; n++) {
+            final int index = random.nextInt(size);
+            lengths[index] = 10 + random.nextInt(50);
+            tree.setLength(index, lengths[index]);
+        }
+        double start = 0;
+        for (int i = 0; i < size; i++) {
+            assertEquals(start, tree.getStart(i), 1e-6);
+            assertEquals(i, tree.getIndexAt(start));
+            assertEquals(i, tree.getIndexAt(start + lengths[i] / 2));
+            start += lengths[i];
+        }
+        assertEquals(start, tree.getTotalLength(), 1e-6);
+    }
+
+    @Test public void testDefaultLengthUntilFirstMeasurement() {
+        tree.setDefaultLength(15);
+        assertEquals(150, tree.getTotalLength(), 0);
+        assertEquals(45, tree.getStart(3), 0);
+        assertEquals(3, tree.getIndexAt(50));
+        tree.setLength(0, 5);
+        assertEquals(50, tree.getTotalLength(), 0);
+    }
+
+    @Test public void testInsertKeepsMeasurements() {
+        for (int i = 0; i < 10; i++) {
+            tree.setLength(i, i + 1);
+        }
+        tree.insert(3, 2);
+        assertEquals(12, tree.size());
+        assertEquals(10, tree.getMeasuredCount());
+        assertFalse(tree.isMeasured(3));
+        assertFalse(tree.isMeasured(4));
+        assertEquals(4, tree.getLength(5), 0);
+        assertEquals(1 + 2 + 3 + 2 * 5.5, tree.getStart(5), 1e-9);
+        assertEquals(55 + 2 * 5.5, tree.getTotalLength(), 1e-9);
+    }
+
+    @Test public void testInsertGrowsTree() {
+        tree.insert(10, 1000);
+        assertEquals(1010, tree.size());
+        for (int i = 0; i < tree.size(); i++) {
+            tree.setLength(i, 2);
+        }
+        assertEquals(2020, tree.getTotalLength(), 0);
+        assertEquals(1009, tree.getIndexAt(2019));
+    }
+
+    @Test public void testRemoveKeepsMeasurements() {
+        for (int i = 0; i < 10; i++) {
+            tree.setLength(i, i + 1);
+        }
+        tree.remove(2, 3);
+        assertEquals(7, tree.size());
+        assertEquals(7, tree.getMeasuredCount());
+        // lengths are now 1, 2, 6, 7, 8, 9, 10
+        assertEquals(6, tree.getLength(2), 0);
+        assertEquals(3, tree.getStart(2), 0);
+        assertEquals(43, tree.getTotalLength(), 0);
+        assertEquals(2, tree.getIndexAt(8.5));
+    }
+
+    @Test public void testReplaceKeepsOtherMeasurements() {
+        for (int i = 0; i < 10; i++) {
+            tree.setLength(i, i + 1);
+        }
+        tree.replace(2, 3, 1);
+        assertEquals(8, tree.size());
+        assertEquals(7, tree.getMeasuredCount());
+        // lengths are now 1, 2, ?, 6, 7, 8, 9, 10 with 43 / 7 for the new cell
+        assertFalse(tree.isMeasured(2));
+        assertEquals(6, tree.getLength(3), 0);
+        assertEquals(3 + 43.0 / 7, tree.getStart(3), 1e-9);
+        assertEquals(43 + 43.0 / 7, tree.getTotalLength(), 1e-9);
+    }
+
+    @Test public void testRemoveIsClampedToRange() {
+        tree.remove(8, 5);
+        assertEquals(8, tree.size());
+        tree.remove(20, 1);
+        assertEquals(8, tree.size());
+    }
+
+    @Test public void testInsertAndRemoveMatchLinearSums() {
+        final Random random = new Random(11);
+        final List<Double> lengths = new ArrayList<>();
+        tree.reset(0);
+        for (int n = 0; n < 300; n++) {
+            if (lengths.size() > 0 && random.nextInt(3) == 0) {
+                final int index = random.nextInt(lengths.size());
+                final int count = 1 + random.nextInt(Math.min(5, lengths.size() - index));
+                tree.remove(index, count);
+                lengths.subList(index, index + count).clear();
+            } else {
+                final int index = random.nextInt(lengths.size() + 1);
+                final int count = 1 + random.nextInt(4);
+                tree.insert(index, count);
+                for (int i = 0; i < count; i++) {
+                    final double length = 1 + random.nextInt(20);
+                    lengths.add(index + i, length);
+                    tree.setLength(index + i, length);
+                }
+            }
+        }
+        assertEquals(lengths.size(), tree.size());
+        double start = 0;
+        for (int i = 0; i < lengths.size(); i++) {
+            assertEquals(start, tree.getStart(i), 1e-6);
+            assertEquals(i, tree.getIndexAt(start));
+            start += lengths.get(i);
+        }
+        assertEquals(start, tree.getTotalLength(), 1e-6);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.control.skin;
+
+import com.sun.javafx.tk.Toolkit;
+import java.util.List;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.AccessibleAttribute;
+import javafx.scene.Node;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.skin.TextAreaSkinShim;
+import javafx.scene.text.HitInfo;
+import javafx.scene.text.Text;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the virtualized mode of TextAreaSkin, in which only the
+ * paragraphs in and around the viewport have Text nodes.
+ */
+public class TextAreaSkinTest {
+
+    private static final int PARAGRAPH_COUNT = 10000;
+
+    private TextArea textArea;
+    private TextAreaSkinShim skin;
+    private StageLoader stageLoader;
+
+    @Before public void setup() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < PARAGRAPH_COUNT; i++) {
+            if (i > 0) {
+                text.append('\n');
+            }
+            text.append("paragraph ").append(i);
+        }
+        textArea = new TextArea(text.toString());
+        textArea.setPrefSize(400, 200);
+        textArea.setMaxSize(400, 200);
+        skin = new TextAreaSkinShim(textArea, true);
+        textArea.setSkin(skin);
+        stageLoader = new StageLoader(textArea);
+        Toolkit.getToolkit().firePulse();
+    }
+
+    @After public void cleanup() {
+        stageLoader.dispose();
+    }
+
+    private List<Node> getParagraphNodes() {
+        return skin.getParagraphNodes();
+    }
+
+    private Text getParagraphNode(int i) {
+        return (Text)getParagraphNodes().get(i);
+    }
+
+    private double getLineHeight() {
+        return getParagraphNode(1).getLayoutY() - getParagraphNode(0).getLayoutY();
+    }
+
+    private int getParagraphStart(int paragraph) {
+        int offset = 0;
+        for (int i = 0; i < paragraph; i++) {
+            offset += textArea.getParagraphs().get(i).length() + 1;
+        }
+        return offset;
+    }
+
+    /* index of the paragraph shown by the first paragraph node */
+    private int getFirstParagraph() {
+        return Integer.parseInt(getParagraphNode(0).getText().substring("paragraph ".length()));
+    }
+
+    @Test public void testOnlyParagraphsInViewportHaveNodes() {
+        int count = getParagraphNodes().size();
+        assertTrue("Too many paragraph nodes: " + count, count < 100);
+        assertTrue(count > textArea.getPrefRowCount());
+        for (int i = 0; i < count; i++) {
+            assertEquals("paragraph " + i, getParagraphNode(i).getText());
+        }
+    }
+
+    @Test public void testParagraphNodesAreStacked() {
+        double lineHeight = getLineHeight();
+        assertTrue(lineHeight > 0);
+        for (int i = 1; i < getParagraphNodes().size(); i++) {
+            assertEquals(getParagraphNode(0).getLayoutY() + i * lineHeight, getParagraphNode(i).getLayoutY(), 0.001);
+        }
+    }
+
+    @Test public void testScrollingLaysOutParagraphsInViewport() {
+        double lineHeight = getLineHeight();
+        textArea.setScrollTop(5000 * lineHeight);
+        Toolkit.getToolkit().firePulse();
+
+        assertTrue(getParagraphNodes().size() < 100);
+        int first = getFirstParagraph();
+        assertTrue("First paragraph " + first, first > 4900 && first <= 5000);
+        Text node = getParagraphNode(5000 - first);
+        assertEquals("paragraph 5000", node.getText());
+        assertEquals(getParagraphNode(0).getLayoutY() - first * lineHeight, node.getLayoutY() - 5000 * lineHeight, 0.001);
+    }
+
+    @Test public void testScrollingToBottomLaysOutLastParagraph() {
+        textArea.setScrollTop(Double.MAX_VALUE);
+        Toolkit.getToolkit().firePulse();
+
+        List<Node> nodes = getParagraphNodes();
+        assertEquals("paragraph " + (PARAGRAPH_COUNT - 1), ((Text)nodes.get(nodes.size() - 1)).getText());
+    }
+
+    @Test public void testHitTestMapsToOffsetInContent() {
+        double lineHeight = getLineHeight();
+        Text node = getParagraphNode(5);
+        HitInfo hit = skin.getIndex(node.getLayoutX(), node.getLayoutY() + lineHeight / 2);
+        assertEquals(getParagraphStart(5), hit.getInsertionIndex());
+
+        textArea.setScrollTop(3000 * lineHeight);
+        Toolkit.getToolkit().firePulse();
+        int first = getFirstParagraph();
+        node = getParagraphNode(3000 - first);
+        hit = skin.getIndex(node.getLayoutX(), node.getLayoutY() + lineHeight / 2);
+        assertEquals(getParagraphStart(3000), hit.getInsertionIndex());
+    }
+
+    @Test public void testCharacterBoundsOfParagraphWhichIsNotLaidOut() {
+        double lineHeight = getLineHeight();
+        double top = getParagraphNode(0).getLayoutY();
+        Rectangle2D bounds = skin.getCharacterBounds(getParagraphStart(7000) + 2);
+        assertEquals(top + 7000 * lineHeight, bounds.getMinY(), 0.001);
+        // no node is created for it
+        assertTrue(getParagraphNodes().size() < 100);
+    }
+
+    @Test public void testInsertingParagraphsUpdatesNodesAndOffsets() {
+        textArea.insertText(0, "first\nsecond\n");
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals("first", getParagraphNode(0).getText());
+        assertEquals("second", getParagraphNode(1).getText());
+        assertEquals("paragraph 0", getParagraphNode(2).getText());
+
+        double lineHeight = getLineHeight();
+        Text node = getParagraphNode(4);
+        HitInfo hit = skin.getIndex(node.getLayoutX(), node.getLayoutY() + lineHeight / 2);
+        assertEquals(getParagraphStart(4), hit.getInsertionIndex());
+        assertEquals("first\nsecond\nparagraph 0\nparagraph 1\n".length(), hit.getInsertionIndex());
+    }
+
+    @Test public void testDeletingParagraphsUpdatesNodesAndOffsets() {
+        int start = getParagraphStart(2);
+        textArea.deleteText(start + 3, getParagraphStart(5) + 3);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals("paragraph 1", getParagraphNode(1).getText());
+        assertEquals("paragraph 5", getParagraphNode(2).getText());
+        assertEquals("paragraph 6", getParagraphNode(3).getText());
+
+        double lineHeight = getLineHeight();
+        Text node = getParagraphNode(3);
+        HitInfo hit = skin.getIndex(node.getLayoutX(), node.getLayoutY() + lineHeight / 2);
+        assertEquals(textArea.getText().indexOf("paragraph 6"), hit.getInsertionIndex());
+    }
+
+    @Test public void testTypingInParagraphUpdatesItsNode() {
+        textArea.positionCaret(getParagraphStart(3));
+        textArea.replaceSelection("new ");
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals("new paragraph 3", getParagraphNode(3).getText());
+        Text node = getParagraphNode(4);
+        HitInfo hit = skin.getIndex(node.getLayoutX(), node.getLayoutY() + getLineHeight() / 2);
+        assertEquals(getParagraphStart(4), hit.getInsertionIndex());
+    }
+
+    @Test public void testSelectionAcrossParagraphs() {
+        int start = getParagraphStart(2) + 4;
+        int end = getParagraphStart(4) + 3;
+        textArea.selectRange(start, end);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(-1, getParagraphNode(1).getSelectionStart());
+        assertEquals(4, getParagraphNode(2).getSelectionStart());
+        assertEquals("paragraph 2".length() + 1, getParagraphNode(2).getSelectionEnd());
+        assertEquals(0, getParagraphNode(3).getSelectionStart());
+        assertEquals("paragraph 3".length() + 1, getParagraphNode(3).getSelectionEnd());
+        assertEquals(0, getParagraphNode(4).getSelectionStart());
+        assertEquals(3, getParagraphNode(4).getSelectionEnd());
+        assertEquals(-1, getParagraphNode(5).getSelectionStart());
+    }
+
+    @Test public void testSelectionStartingAboveViewport() {
+        double lineHeight = getLineHeight();
+        textArea.selectRange(getParagraphStart(10), getParagraphStart(5000) + 5);
+        textArea.setScrollTop(5000 * lineHeight);
+        Toolkit.getToolkit().firePulse();
+
+        int first = getFirstParagraph();
+        assertTrue(first > 10);
+        assertEquals(0, getParagraphNode(0).getSelectionStart());
+        Text node = getParagraphNode(5000 - first);
+        assertEquals(0, node.getSelectionStart());
+        assertEquals(5, node.getSelectionEnd());
+        assertEquals(-1, getParagraphNode(5001 - first).getSelectionStart());
+    }
+
+    @Test public void testCaretInParagraphWhichIsNotLaidOut() {
+        textArea.positionCaret(getParagraphStart(8000) + 3);
+        Toolkit.getToolkit().firePulse();
+        assertEquals(getParagraphStart(8000) + 3, textArea.getCaretPosition());
+
+        textArea.end();
+        Toolkit.getToolkit().firePulse();
+        assertEquals(textArea.getLength(), textArea.getCaretPosition());
+    }
+
+    @Test public void testReplacingTextLaysOutNewParagraphs() {
+        textArea.setText("one\ntwo");
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(2, getParagraphNodes().size());
+        assertEquals("one", getParagraphNode(0).getText());
+        assertEquals("two", getParagraphNode(1).getText());
+    }
+
+    @Test public void testParagraphsAreAccessibleLines() {
+        int offset = getParagraphStart(6000) + 2;
+        assertEquals(6000, textArea.queryAccessibleAttribute(AccessibleAttribute.LINE_FOR_OFFSET, offset));
+        assertEquals(getParagraphStart(6000), textArea.queryAccessibleAttribute(AccessibleAttribute.LINE_START, 6000));
+        assertEquals(getParagraphStart(6000) + "paragraph 6000".length(),
+                textArea.queryAccessibleAttribute(AccessibleAttribute.LINE_END, 6000));
+    }
+}
@@ -39,6 +39,7 @@ import java.util.LinkedList;
 import javafx.beans.InvalidationListener;
 import javafx.event.Event;
 import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ScrollBar;
 import test.javafx.scene.control.SkinStub;
 import javafx.scene.input.ScrollEvent;
 
@@ -1168,6 +1169,160 @@ public class VirtualFlowTest {
     public void testScrollOneCellHorizontal() {
         assertLastCellInsideViewport(false);
     }
+
+    /* index of the item shown by the first cell, as if items had been removed before it */
+    private int firstItem;
+
+    private void createVariableHeightFlow(int cellCount) {
+        firstItem = 0;
+        flow = new VirtualFlowShim();
+        flow.shim_setCellSizeTreeEnabled(true);
+        flow.setVertical(true);
+        flow.setCellFactory(p -> new CellStub(flow) {
+            @Override
+            protected double computeMinHeight(double width) {
+                return computePrefHeight(width);
+            }
+
+            @Override
+            protected double computeMaxHeight(double width) {
+                return computePrefHeight(width);
+            }
+
+            @Override
+            protected double computePrefHeight(double width) {
+                return (firstItem + getIndex()) % 3 == 0 ? 50 : 20;
+            }
+        });
+        flow.setCellCount(cellCount);
+        flow.resize(300, 300);
+        pulse();
+        pulse();
+    }
+
+    @Test
+    public void testCellSizeTree_scrollToTopPlacesCellAtTop() {
+        createVariableHeightFlow(100000);
+        flow.scrollToTop(70001);
+        pulse();
+        IndexedCell cell = flow.getVisibleCell(70001);
+        assertNotNull(cell);
+        assertEquals(0, flow.getCellPosition(cell), 0.1);
+        assertMinimalNumberOfCellsAreUsed(flow);
+    }
+
+    @Test
+    public void testCellSizeTree_scrollPixelsMovesCellsByAmount() {
+        createVariableHeightFlow(1000);
+        flow.scrollToTop(500);
+        pulse();
+        IndexedCell cell = flow.getVisibleCell(502);
+        double before = flow.getCellPosition(cell);
+        flow.scrollPixels(35);
+        pulse();
+        cell = flow.getVisibleCell(502);
+        assertNotNull(cell);
+        assertEquals(before - 35, flow.getCellPosition(cell), 0.1);
+    }
+
+    @Test
+    public void testCellSizeTree_scrollToLastCell() {
+        createVariableHeightFlow(1000);
+        flow.scrollTo(999);
+        pulse();
+        IndexedCell cell = flow.getVisibleCell(999);
+        assertNotNull(cell);
+        assertEquals(flow.getViewportLength(),
+                flow.getCellPosition(cell) + flow.getCellLength(999), 0.1);
+    }
+
+    @Test
+    public void testCellSizeTree_appendingCellsKeepsPosition() {
+        createVariableHeightFlow(1000);
+        flow.scrollToTop(500);
+        pulse();
+        flow.scrollPixels(15);
+        pulse();
+        double before = flow.getCellPosition(flow.getVisibleCell(502));
+
+        flow.shim_cellsChanged(1000, 0, 1000);
+        flow.setCellCount(2000);
+        pulse();
+        IndexedCell cell = flow.getVisibleCell(502);
+        assertNotNull(cell);
+        assertEquals(before, flow.getCellPosition(cell), 0.1);
+    }
+
+    @Test
+    public void testCellSizeTree_appendingCellsKeepsMeasurements() {
+        createVariableHeightFlow(99);
+        for (int i = 0; i < 99; i += 5) {
+            flow.scrollTo(i);
+            pulse();
+        }
+        flow.scrollTo(98);
+        pulse();
+        flow.scrollTo(0);
+        pulse();
+        ScrollBar vbar = flow.shim_getVbar();
+        double visibleAmount = vbar.getVisibleAmount();
+
+        // 99 measured cells plus 99 cells estimated with their average length
+        flow.shim_cellsChanged(99, 0, 99);
+        flow.setCellCount(198);
+        pulse();
+        assertEquals(visibleAmount / 2, vbar.getVisibleAmount(), 0.0001);
+    }
+
+    @Test
+    public void testCellSizeTree_removingCellsBeforeViewportKeepsPosition() {
+        createVariableHeightFlow(1000);
+        flow.scrollToTop(500);
+        pulse();
+        flow.scrollPixels(15);
+        pulse();
+        double before = flow.getCellPosition(flow.getVisibleCell(502));
+
+        firstItem = 10;
+        flow.shim_cellsChanged(0, 10, 0);
+        flow.setCellCount(990);
+        pulse();
+        IndexedCell cell = flow.getVisibleCell(492);
+        assertNotNull(cell);
+        assertEquals(before, flow.getCellPosition(cell), 0.1);
+    }
+
+    @Test
+    public void testCellSizeTree_insertingCellsBeforeViewportKeepsPosition() {
+        createVariableHeightFlow(1000);
+        flow.scrollToTop(500);
+        pulse();
+        flow.scrollPixels(15);
+        pulse();
+        double before = flow.getCellPosition(flow.getVisibleCell(502));
+
+        firstItem = -3;
+        flow.shim_cellsChanged(100, 0, 3);
+        flow.setCellCount(1003);
+        pulse();
+        IndexedCell cell = flow.getVisibleCell(505);
+        assertNotNull(cell);
+        assertEquals(before, flow.getCellPosition(cell), 0.1);
+    }
+
+    @Test
+    public void testCellSizeTree_scrollBarVisibleAmountMatchesContent() {
+        // 33 cells of 50 and 66 cells of 20 when all are measured
+        createVariableHeightFlow(99);
+        for (int i = 0; i < 99; i += 5) {
+            flow.scrollTo(i);
+            pulse();
+        }
+        flow.scrollTo(98);
+        pulse();
+        ScrollBar vbar = flow.shim_getVbar();
+        assertEquals(flow.getViewportLength() / (33 * 50 + 66 * 20), vbar.getVisibleAmount(), 0.01);
+    }
 }
 
 class CellStub extends IndexedCellShim {
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import javafx.css.CompoundSelector;
+import javafx.css.Selector;
+import javafx.css.SimpleSelector;
+import javafx.css.Styleable;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.List;
+
+/**
+ * A bloom filter of the type selectors, ids and style classes of the
+ * ancestors of a Styleable. Most descendant and child selectors in a large
+ * stylesheet do not apply to a given node because some ancestor part of
+ * the selector does not match anything above the node. The filter answers
+ * this without walking up the parent chain for every candidate selector.
+ * The filter may give false positives, in which case the selector is matched
+ * as usual, but never false negatives.
+ */
+final class AncestorFilter {
+
+    static final boolean enabled =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+                    !"false".equals(System.getProperty("javafx.css.ancestorFilter")));
+
+    // number of bits in the filter is WORDS * 64
+    private static final int WORDS = 4;
+    private static final int MASK = WORDS * Long.SIZE - 1;
+
+    private static final int TYPE = 1;
+    private static final int ID = 2;
+    private static final int STYLE_CLASS = 3;
+
+    private final long[] bits = new long[WORDS];
+
+    /**
+     * Creates the filter from the ancestors of the given styleable, not
+     * including the styleable itself.
+     */
+    AncestorFilter(Styleable styleable) {
+        Styleable parent = styleable.getStyleableParent();
+        while (parent != null) {
+            add(hash(TYPE, parent.getTypeSelector()));
+            add(hash(ID, parent.getId()));
+            final List<String> styleClasses = parent.getStyleClass();
+            for (int n = 0, nMax = styleClasses.size(); n < nMax; n++) {
+                add(hash(STYLE_CLASS, styleClasses.get(n)));
+            }
+            parent = parent.getStyleableParent();
+        }
+    }
+
+    /**
+     * Returns the hashes of everything that the ancestors of a node must
+     * have for the selector to apply to the node, or null if the selector
+     * does not constrain the ancestors.
+     */
+    static int[] getAncestorHashes(Selector selector) {
+        if (!(selector instanceof CompoundSelector)) {
+            return null;
+        }
+        final List<SimpleSelector> selectors = ((CompoundSelector) selector).getSelectors();
+        // the last selector is matched against the node itself
+        final int nMax = selectors.size() - 1;
+        int count = 0;
+        for (int n = 0; n < nMax; n++) {
+            count += featureCount(selectors.get(n));
+        }
+        if (count == 0) {
+            return null;
+        }
+        final int[] hashes = new int[count];
+        int index = 0;
+        for (int n = 0; n < nMax; n++) {
+            final SimpleSelector simple = selectors.get(n);
+            if (isSpecific(simple.getName())) {
+                hashes[index++] = hash(TYPE, simple.getName());
+            }
+            if (isSpecific(simple.getId())) {
+                hashes[index++] = hash(ID, simple.getId());
+            }
+            for (String styleClass : simple.getStyleClasses()) {
+                hashes[index++] = hash(STYLE_CLASS, styleClass);
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Returns false if some ancestor hash is definitely not in the filter.
+     */
+    boolean mightContainAll(int[] hashes) {
+        for (int n = 0; n < hashes.length; n++) {
+            if (!mightContain(hashes[n])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int featureCount(SimpleSelector simple) {
+        int count = simple.getStyleClassSet().size();
+        if (isSpecific(simple.getName())) count += 1;
+        if (isSpecific(simple.getId())) count += 1;
+        return count;
+    }
+
+    // mirrors the matchOnName and matchOnId tests in SimpleSelector
+    private static boolean isSpecific(String s) {
+        return s != null && !s.isEmpty() && !"*".equals(s);
+    }
+
+    private static int hash(int kind, String s) {
+        if (s == null || s.isEmpty()) {
+            return 0;
+        }
+        int h = s.hashCode() * 31 + kind;
+        // spread the bits, see the finalization step of MurmurHash3
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        // zero is reserved for "nothing to add"
+        return h != 0 ? h : 1;
+    }
+
+    // each hash sets two bits in the filter
+    private void add(int hash) {
+        if (hash == 0) {
+            return;
+        }
+        final int b1 = hash & MASK;
+        final int b2 = (hash >>> 16) & MASK;
+        bits[b1 >>> 6] |= 1L << b1;
+        bits[b2 >>> 6] |= 1L << b2;
+    }
+
+    private boolean mightContain(int hash) {
+        final int b1 = hash & MASK;
+        final int b2 = (hash >>> 16) & MASK;
+        return (bits[b1 >>> 6] & (1L << b1)) != 0
+                && (bits[b2 >>> 6] & (1L << b2)) != 0;
+    }
+}
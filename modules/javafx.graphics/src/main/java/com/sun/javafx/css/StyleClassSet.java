@@ -26,11 +26,11 @@ package com.sun.javafx.css;
 
 import javafx.css.StyleClass;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
@@ -129,25 +129,26 @@ public final class StyleClassSet  extends BitSet<StyleClass> {
             throw new IllegalArgumentException("styleClass cannot be null or empty String");
         }
 
-        StyleClass instance = null;
-
+        // Scenes may be styled concurrently, so new style classes are added
+        // under a lock, and existing ones are looked up without it.
         final Integer value = styleClassMap.get(styleClass);
-        final int index = value != null ? value.intValue() : -1;
-
-        final int size = styleClasses.size();
-        assert index < size;
-
-        if (index != -1 && index < size) {
-            instance = styleClasses.get(index);
+        if (value != null) {
+            return styleClasses.get(value.intValue());
         }
 
-        if (instance == null) {
-            instance = new StyleClass(styleClass, size);
+        synchronized (styleClasses) {
+            final Integer index = styleClassMap.get(styleClass);
+            if (index != null) {
+                return styleClasses.get(index.intValue());
+            }
+            final int size = styleClasses.size();
+            final StyleClass instance = new StyleClass(styleClass, size);
+            // add to the list first, so that the index is valid once it is
+            // visible in the map
             styleClasses.add(instance);
             styleClassMap.put(styleClass, Integer.valueOf(size));
+            return instance;
         }
-
-        return instance;
     }
 
    static StyleClass getStyleClass(int index) {
@@ -159,10 +160,11 @@ public final class StyleClassSet  extends BitSet<StyleClass> {
 
     // package private for unit test purposes
     static final Map<String,Integer> styleClassMap =
-            new HashMap<String,Integer>(64);
+            new ConcurrentHashMap<String,Integer>(64);
 
+    // only appended to, while holding its lock
     static final List<StyleClass> styleClasses =
-            new ArrayList<StyleClass>();
+            new CopyOnWriteArrayList<StyleClass>();
 
 }
 
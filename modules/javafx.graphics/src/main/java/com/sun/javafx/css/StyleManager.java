@@ -136,7 +136,11 @@ final public class StyleManager {
      * It needs to be thread-safe since a Node or Scene can be constructed and
      * load its stylesheets on an arbitrary thread, meaning that multiple Scenes
      * can load or apply their stylesheets concurrently. The global lock is used
-     * to serialize access to the various state in the StyleManager.
+     * to serialize access to the stylesheet state in the StyleManager. The
+     * per-scene style caches have their own locks (see cacheContainerMap), so
+     * that matching styles for a node, which is the most frequent operation,
+     * only takes the global lock to gather stylesheets and, on a cache miss,
+     * to collect the candidate selectors.
      */
     private static final Object styleLock = new Object();
 
@@ -164,7 +168,11 @@ final public class StyleManager {
     /**
      * A map from a parent to its style cache. The parent is either a Scene root, or a
      * Parent with author stylesheets. If a Scene or Parent is removed from the scene,
-     * it's cache is annihilated.
+     * it's cache is annihilated. Access is synchronized on the map itself rather than
+     * on the styleLock so that looking up the cache of one scene does not contend
+     * with loading stylesheets for another. Each CacheContainer is in turn guarded
+     * by its own monitor. The lock order is styleLock, then cacheContainerMap, then
+     * CacheContainer.
      */
     // public for testing
     public static final Map<Parent, CacheContainer> cacheContainerMap = new WeakHashMap<>();
@@ -194,7 +202,7 @@ final public class StyleManager {
 
         if (root == null) return null;
 
-        synchronized (styleLock) {
+        synchronized (cacheContainerMap) {
             CacheContainer container = cacheContainerMap.get(root);
             if (container == null) {
                 container = new CacheContainer();
@@ -214,16 +222,18 @@ final public class StyleManager {
         CacheContainer container = getCacheContainer(styleable, subScene);
         if (container == null) return null;
 
-        Map<StyleCache.Key,StyleCache> styleCache = container.getStyleCache();
-        if (styleCache == null) return null;
+        synchronized (container) {
+            Map<StyleCache.Key,StyleCache> styleCache = container.getStyleCache();
+            if (styleCache == null) return null;
 
-        StyleCache sharedCache = styleCache.get(key);
-        if (sharedCache == null) {
-            sharedCache = new StyleCache();
-            styleCache.put(new StyleCache.Key(key), sharedCache);
-        }
+            StyleCache sharedCache = styleCache.get(key);
+            if (sharedCache == null) {
+                sharedCache = new StyleCache();
+                styleCache.put(new StyleCache.Key(key), sharedCache);
+            }
 
-        return sharedCache;
+            return sharedCache;
+        }
     }
 
     public StyleMap getStyleMap(Styleable styleable, SubScene subScene, int smapId) {
@@ -492,14 +502,16 @@ final public class StyleManager {
 
         synchronized (styleLock) {
             // Clear the cache so the cache will be rebuilt.
-            Set<Entry<Parent,CacheContainer>> entrySet = cacheContainerMap.entrySet();
-            for(Entry<Parent,CacheContainer> entry : entrySet) {
-                Parent parent = entry.getKey();
-                CacheContainer container = entry.getValue();
-                if (parent.getScene() == scene) {
-                    container.clearCache();
-                }
+            synchronized (cacheContainerMap) {
+                Set<Entry<Parent,CacheContainer>> entrySet = cacheContainerMap.entrySet();
+                for(Entry<Parent,CacheContainer> entry : entrySet) {
+                    Parent parent = entry.getKey();
+                    CacheContainer container = entry.getValue();
+                    if (parent.getScene() == scene) {
+                        container.clearCache();
+                    }
 
+                }
             }
 
             c.reset();
@@ -533,7 +545,10 @@ final public class StyleManager {
 
         synchronized (styleLock) {
             // RT-34863 - clean up CSS cache when Parent is removed from scene-graph
-            CacheContainer removedContainer = cacheContainerMap.remove(parent);
+            CacheContainer removedContainer;
+            synchronized (cacheContainerMap) {
+                removedContainer = cacheContainerMap.remove(parent);
+            }
             if (removedContainer != null) {
                 removedContainer.clearCache();
             }
@@ -693,29 +708,13 @@ final public class StyleManager {
             }
 
             // if container has no references, then remove it
-            for(Entry<Parent,CacheContainer> entry : cacheContainerMap.entrySet()) {
-
-                CacheContainer container = entry.getValue();
-                if (container == null || container.cacheMap == null || container.cacheMap.isEmpty()) {
-                    continue;
-                }
-
-                List<List<String>> entriesToRemove = new ArrayList<>();
-
-                for (Entry<List<String>, Map<Key,Cache>> cacheMapEntry : container.cacheMap.entrySet()) {
-                    List<String> cacheMapKey = cacheMapEntry.getKey();
-                    if (cacheMapKey != null ? cacheMapKey.contains(fname) : fname == null) {
-                        entriesToRemove.add(cacheMapKey);
-                    }
-                }
-
-                if (!entriesToRemove.isEmpty()) {
-                    for (List<String> cacheMapKey : entriesToRemove) {
-                        Map<Key,Cache> cacheEntry = container.cacheMap.remove(cacheMapKey);
-                        if (cacheEntry != null) {
-                            cacheEntry.clear();
-                        }
-                    }
+            final List<CacheContainer> containers;
+            synchronized (cacheContainerMap) {
+                containers = new ArrayList<>(cacheContainerMap.values());
+            }
+            for (CacheContainer container : containers) {
+                if (container != null) {
+                    container.removeCacheMaps(fname);
                 }
             }
 
@@ -1114,7 +1113,13 @@ final public class StyleManager {
                 // either we failed to load the .bss file, or parse
                 // was set to true.
                 if ((url != null) && parse) {
-                    stylesheet = new CssParser().parse(url);
+                    // The on-disk cache is bypassed if someone is listening
+                    // for parse errors, since a cached stylesheet reports none.
+                    if (StylesheetCache.enabled && errors == null) {
+                        stylesheet = StylesheetCache.load(url);
+                    } else {
+                        stylesheet = new CssParser().parse(url);
+                    }
                 }
 
                 if (stylesheet == null) {
@@ -1497,17 +1502,19 @@ final public class StyleManager {
         List<Parent> parents = new ArrayList<>();
 
         synchronized (styleLock) {
-            for (CacheContainer container : cacheContainerMap.values()) {
-                container.clearCache();
-            }
+            synchronized (cacheContainerMap) {
+                for (CacheContainer container : cacheContainerMap.values()) {
+                    container.clearCache();
+                }
 
-            StyleConverter.clearCache();
+                StyleConverter.clearCache();
 
-            for (Parent root : cacheContainerMap.keySet()) {
-                if (root == null) {
-                    continue;
+                for (Parent root : cacheContainerMap.keySet()) {
+                    if (root == null) {
+                        continue;
+                    }
+                    parents.add(root);
                 }
-                parents.add(root);
             }
         }
 
@@ -1611,9 +1618,6 @@ final public class StyleManager {
         }
     }
 
-    // reuse key to avoid creation of numerous small objects
-    private Key key = null;
-
     // Stores weak references to regions which return non-null user agent stylesheets
     private final WeakHashMap<Region, String> weakRegionUserAgentStylesheetMap = new WeakHashMap<>();
 
@@ -1633,35 +1637,22 @@ final public class StyleManager {
             return StyleMap.EMPTY_MAP;
         }
 
-        synchronized (styleLock) {
-            final Parent parent =
-                (node instanceof Parent)
-                    ? (Parent) node : node.getParent();
-
-            final List<StylesheetContainer> parentStylesheets =
-                        gatherParentStylesheets(parent);
-
-            final boolean hasParentStylesheets = parentStylesheets.isEmpty() == false;
-
-            final List<StylesheetContainer> sceneStylesheets = gatherSceneStylesheets(scene);
-
-            final boolean hasSceneStylesheets = sceneStylesheets.isEmpty() == false;
-
-            final String inlineStyle = node.getStyle();
-            final boolean hasInlineStyles = inlineStyle != null && inlineStyle.trim().isEmpty() == false;
+        final Parent parent =
+            (node instanceof Parent)
+                ? (Parent) node : node.getParent();
 
-            final String sceneUserAgentStylesheet = scene.getUserAgentStylesheet();
-            final boolean hasSceneUserAgentStylesheet =
-                    sceneUserAgentStylesheet != null && sceneUserAgentStylesheet.trim().isEmpty() == false;
+        final List<StylesheetContainer> parentStylesheets;
+        final List<StylesheetContainer> sceneStylesheets;
+        final boolean hasPlatformUserAgentStylesheets;
+        String regionUserAgentStylesheet = null;
+        // is this node in a region that has its own stylesheet?
+        Node region = node;
 
-            final String subSceneUserAgentStylesheet =
-                    (subScene != null) ? subScene.getUserAgentStylesheet() : null;
-            final boolean hasSubSceneUserAgentStylesheet =
-                    subSceneUserAgentStylesheet != null && subSceneUserAgentStylesheet.trim().isEmpty() == false;
+        synchronized (styleLock) {
+            parentStylesheets = gatherParentStylesheets(parent);
+            sceneStylesheets = gatherSceneStylesheets(scene);
+            hasPlatformUserAgentStylesheets = platformUserAgentStylesheetContainers.isEmpty() == false;
 
-            String regionUserAgentStylesheet = null;
-            // is this node in a region that has its own stylesheet?
-            Node region = node;
             while (region != null) {
                 if (region instanceof Region) {
                     regionUserAgentStylesheet = weakRegionUserAgentStylesheetMap.computeIfAbsent(
@@ -1675,59 +1666,75 @@ final public class StyleManager {
                 }
                 region = region.getParent();
             }
+        }
 
+        final boolean hasParentStylesheets = parentStylesheets.isEmpty() == false;
 
-            final boolean hasRegionUserAgentStylesheet =
-                    regionUserAgentStylesheet != null && regionUserAgentStylesheet.trim().isEmpty() == false;
+        final boolean hasSceneStylesheets = sceneStylesheets.isEmpty() == false;
 
-            //
-            // Are there any stylesheets at all?
-            // If not, then there is nothing to match and the
-            // resulting StyleMap is going to end up empty
-            //
-            if (hasInlineStyles == false
-                    && hasParentStylesheets == false
-                    && hasSceneStylesheets == false
-                    && hasSceneUserAgentStylesheet == false
-                    && hasSubSceneUserAgentStylesheet == false
-                    && hasRegionUserAgentStylesheet == false
-                    && platformUserAgentStylesheetContainers.isEmpty()) {
-                return StyleMap.EMPTY_MAP;
-            }
+        final String inlineStyle = node.getStyle();
+        final boolean hasInlineStyles = inlineStyle != null && inlineStyle.trim().isEmpty() == false;
 
-            final String cname = node.getTypeSelector();
-            final String id = node.getId();
-            final List<String> styleClasses = node.getStyleClass();
+        final String sceneUserAgentStylesheet = scene.getUserAgentStylesheet();
+        final boolean hasSceneUserAgentStylesheet =
+                sceneUserAgentStylesheet != null && sceneUserAgentStylesheet.trim().isEmpty() == false;
 
-            if (key == null) {
-                key = new Key();
-            }
+        final String subSceneUserAgentStylesheet =
+                (subScene != null) ? subScene.getUserAgentStylesheet() : null;
+        final boolean hasSubSceneUserAgentStylesheet =
+                subSceneUserAgentStylesheet != null && subSceneUserAgentStylesheet.trim().isEmpty() == false;
 
-            key.className = cname;
-            key.id = id;
-            for(int n=0, nMax=styleClasses.size(); n<nMax; n++) {
+        final boolean hasRegionUserAgentStylesheet =
+                regionUserAgentStylesheet != null && regionUserAgentStylesheet.trim().isEmpty() == false;
 
-                final String styleClass = styleClasses.get(n);
-                if (styleClass == null || styleClass.isEmpty()) continue;
+        //
+        // Are there any stylesheets at all?
+        // If not, then there is nothing to match and the
+        // resulting StyleMap is going to end up empty
+        //
+        if (hasInlineStyles == false
+                && hasParentStylesheets == false
+                && hasSceneStylesheets == false
+                && hasSceneUserAgentStylesheet == false
+                && hasSubSceneUserAgentStylesheet == false
+                && hasRegionUserAgentStylesheet == false
+                && hasPlatformUserAgentStylesheets == false) {
+            return StyleMap.EMPTY_MAP;
+        }
 
-                key.styleClasses.add(StyleClassSet.getStyleClass(styleClass));
-            }
+        final String cname = node.getTypeSelector();
+        final String id = node.getId();
+        final List<String> styleClasses = node.getStyleClass();
 
-            Map<Key, Cache> cacheMap = cacheContainer.getCacheMap(parentStylesheets,regionUserAgentStylesheet);
-            Cache cache = cacheMap.get(key);
+        // The key is not reused since it may be stored in the cache of a
+        // scene which is being styled concurrently on another thread
+        final Key key = new Key();
+        key.className = cname;
+        key.id = id;
+        for(int n=0, nMax=styleClasses.size(); n<nMax; n++) {
 
-            if (cache != null) {
-                // key will be reused, so clear the styleClasses for next use
-                key.styleClasses.clear();
+            final String styleClass = styleClasses.get(n);
+            if (styleClass == null || styleClass.isEmpty()) continue;
 
-            } else {
+            key.styleClasses.add(StyleClassSet.getStyleClass(styleClass));
+        }
+
+        Cache cache;
+        final int cacheGeneration;
+        synchronized (cacheContainer) {
+            cache = cacheContainer.getCacheMap(parentStylesheets,regionUserAgentStylesheet).get(key);
+            cacheGeneration = cacheContainer.generation;
+        }
 
-                // If the cache is null, then we need to create a new Cache and
-                // add it to the cache map
+        if (cache == null) {
 
-                // Construct the list of Selectors that could possibly apply
-                final List<Selector> selectorData = new ArrayList<>();
+            // If the cache is null, then we need to create a new Cache and
+            // add it to the cache map
 
+            // Construct the list of Selectors that could possibly apply
+            final List<Selector> selectorData = new ArrayList<>();
+
+            synchronized (styleLock) {
                 // User agent stylesheets have lowest precedence and go first
                 if (hasSubSceneUserAgentStylesheet || hasSceneUserAgentStylesheet) {
 
@@ -1833,22 +1840,33 @@ final public class StyleManager {
                         }
                     }
                 }
+            }
 
-                // create a new Cache from these selectors.
-                cache = new Cache(selectorData);
-                cacheMap.put(key, cache);
-
-                // cause a new Key to be created the next time this method is called
-                key = null;
+            // create a new Cache from these selectors.
+            cache = new Cache(selectorData);
+
+            synchronized (cacheContainer) {
+                // Another thread may have added a Cache for the same key in
+                // the meantime. If the cache was cleared while the selectors
+                // were being gathered, they may be stale and must not be
+                // remembered, but they are still good enough for this node
+                // which will get its css reapplied.
+                if (cacheContainer.generation == cacheGeneration) {
+                    final Cache existing =
+                            cacheContainer.getCacheMap(parentStylesheets,regionUserAgentStylesheet).putIfAbsent(key, cache);
+                    if (existing != null) {
+                        cache = existing;
+                    }
+                }
             }
+        }
 
-            //
-            // Create a style helper for this node from the styles that match.
-            //
-            StyleMap smap = cache.getStyleMap(cacheContainer, node, triggerStates, hasInlineStyles);
+        //
+        // Create a style helper for this node from the styles that match.
+        //
+        StyleMap smap = cache.getStyleMap(cacheContainer, node, triggerStates, hasInlineStyles);
 
-            return smap;
-        }
+        return smap;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -1894,9 +1912,8 @@ final public class StyleManager {
     //
     ////////////////////////////////////////////////////////////////////////////
 
-    private static List<String> cacheMapKey;
-
-    // Each Scene has its own cache
+    // Each Scene has its own cache. All access to the state of a CacheContainer
+    // is synchronized on the container so that scenes can be styled concurrently.
     // package for testing
     static class CacheContainer {
 
@@ -1905,52 +1922,82 @@ final public class StyleManager {
             return styleCache;
         }
 
+        // must be called while holding the lock on this container
         private Map<Key,Cache> getCacheMap(List<StylesheetContainer> parentStylesheets, String regionUserAgentStylesheet) {
 
+            assert Thread.holdsLock(this);
+
             if (cacheMap == null) {
                 cacheMap = new HashMap<List<String>,Map<Key,Cache>>();
             }
 
-            synchronized (styleLock) {
-                if ((parentStylesheets == null || parentStylesheets.isEmpty()) &&
-                        (regionUserAgentStylesheet == null || regionUserAgentStylesheet.isEmpty())) {
+            if ((parentStylesheets == null || parentStylesheets.isEmpty()) &&
+                    (regionUserAgentStylesheet == null || regionUserAgentStylesheet.isEmpty())) {
 
-                    Map<Key,Cache> cmap = cacheMap.get(null);
-                    if (cmap == null) {
-                        cmap = new HashMap<Key,Cache>();
-                        cacheMap.put(null, cmap);
-                    }
-                    return cmap;
+                Map<Key,Cache> cmap = cacheMap.get(null);
+                if (cmap == null) {
+                    cmap = new HashMap<Key,Cache>();
+                    cacheMap.put(null, cmap);
+                }
+                return cmap;
+
+            } else {
 
+                final int nMax = parentStylesheets.size();
+                if (cacheMapKey == null) {
+                    cacheMapKey = new ArrayList<String>(nMax);
+                }
+                for (int n=0; n<nMax; n++) {
+                    StylesheetContainer sc = parentStylesheets.get(n);
+                    if (sc == null || sc.fname == null || sc.fname.isEmpty()) continue;
+                    cacheMapKey.add(sc.fname);
+                }
+                if (regionUserAgentStylesheet != null) {
+                    cacheMapKey.add(regionUserAgentStylesheet);
+                }
+                Map<Key,Cache> cmap = cacheMap.get(cacheMapKey);
+                if (cmap == null) {
+                    cmap = new HashMap<Key,Cache>();
+                    cacheMap.put(cacheMapKey, cmap);
+                    // create a new cacheMapKey the next time this method is called
+                    cacheMapKey = null;
                 } else {
+                    // reuse cacheMapKey, but not the data, the next time this method is called
+                    cacheMapKey.clear();
+                }
+                return cmap;
 
-                    final int nMax = parentStylesheets.size();
-                    if (cacheMapKey == null) {
-                        cacheMapKey = new ArrayList<String>(nMax);
-                    }
-                    for (int n=0; n<nMax; n++) {
-                        StylesheetContainer sc = parentStylesheets.get(n);
-                        if (sc == null || sc.fname == null || sc.fname.isEmpty()) continue;
-                        cacheMapKey.add(sc.fname);
-                    }
-                    if (regionUserAgentStylesheet != null) {
-                        cacheMapKey.add(regionUserAgentStylesheet);
-                    }
-                    Map<Key,Cache> cmap = cacheMap.get(cacheMapKey);
-                    if (cmap == null) {
-                        cmap = new HashMap<Key,Cache>();
-                        cacheMap.put(cacheMapKey, cmap);
-                        // create a new cacheMapKey the next time this method is called
-                        cacheMapKey = null;
-                    } else {
-                        // reuse cacheMapKey, but not the data, the next time this method is called
-                        cacheMapKey.clear();
-                    }
-                    return cmap;
+            }
+
+        }
+
+        /*
+         * Removes the cache maps that were built from the given stylesheet.
+         */
+        private synchronized void removeCacheMaps(String fname) {
+
+            if (cacheMap == null || cacheMap.isEmpty()) {
+                return;
+            }
 
+            List<List<String>> entriesToRemove = new ArrayList<>();
+
+            for (Entry<List<String>, Map<Key,Cache>> cacheMapEntry : cacheMap.entrySet()) {
+                List<String> cacheMapKey = cacheMapEntry.getKey();
+                if (cacheMapKey != null ? cacheMapKey.contains(fname) : fname == null) {
+                    entriesToRemove.add(cacheMapKey);
                 }
             }
 
+            if (!entriesToRemove.isEmpty()) {
+                for (List<String> cacheMapKey : entriesToRemove) {
+                    Map<Key,Cache> cacheEntry = cacheMap.remove(cacheMapKey);
+                    if (cacheEntry != null) {
+                        cacheEntry.clear();
+                    }
+                }
+                generation++;
+            }
         }
 
         private List<StyleMap> getStyleMapList() {
@@ -1967,7 +2014,7 @@ final public class StyleManager {
             getStyleMapList().add(smap);
         }
 
-        public StyleMap getStyleMap(int smapId) {
+        public synchronized StyleMap getStyleMap(int smapId) {
 
             final int correctedId = smapId - baseStyleMapId;
 
@@ -1978,7 +2025,9 @@ final public class StyleManager {
             return StyleMap.EMPTY_MAP;
         }
 
-        private void clearCache() {
+        private synchronized void clearCache() {
+
+            generation++;
 
             if (cacheMap != null) cacheMap.clear();
             if (styleCache != null) styleCache.clear();
@@ -2048,6 +2097,13 @@ final public class StyleManager {
 
         private Map<List<String>, Map<Key,Cache>> cacheMap;
 
+        // reused by getCacheMap to avoid creating a key for every lookup
+        private List<String> cacheMapKey;
+
+        // incremented whenever cache maps are removed, so that a Cache built
+        // from stylesheets which have since changed is not put back
+        private int generation = 0;
+
         private List<StyleMap> styleMapList;
 
         /**
@@ -2122,13 +2178,30 @@ final public class StyleManager {
         // the helper cache is created by the StylesheetContainer. Note that
         // SelectorPartioning sorts the matched selectors by ordinal, so this
         // list of selectors will be in the same order in which the selectors
-        // appear in the stylesheets.
+        // appear in the stylesheets. The list is never modified, so the
+        // selectors can be matched against a node without holding a lock.
         private final List<Selector> selectors;
+        // For each selector, what the ancestors of a node must have for the
+        // selector to apply, or null. See AncestorFilter.
+        private final int[][] ancestorHashes;
+        // guarded by the lock on the CacheContainer which holds this Cache
         private final Map<Key, Integer> cache;
 
         Cache(List<Selector> selectors) {
-            this.selectors = selectors;
+            this.selectors = Collections.unmodifiableList(selectors);
             this.cache = new HashMap<Key, Integer>();
+
+            int[][] hashes = null;
+            if (AncestorFilter.enabled) {
+                for (int s = 0, sMax = selectors.size(); s < sMax; s++) {
+                    final int[] h = AncestorFilter.getAncestorHashes(selectors.get(s));
+                    if (h != null) {
+                        if (hashes == null) hashes = new int[sMax][];
+                        hashes[s] = h;
+                    }
+                }
+            }
+            this.ancestorHashes = hashes;
         }
 
         private StyleMap getStyleMap(CacheContainer cacheContainer, Node node, Set<PseudoClass>[] triggerStates, boolean hasInlineStyle) {
@@ -2153,10 +2226,27 @@ final public class StyleManager {
             long key[] = new long[selectorDataSize/Long.SIZE + 1];
             boolean nothingMatched = true;
 
+            // created lazily since most candidates may be simple selectors
+            AncestorFilter ancestorFilter = null;
+
             for (int s = 0; s < selectorDataSize; s++) {
 
                 final Selector sel = selectors.get(s);
 
+                //
+                // Reject descendant and child selectors whose ancestor parts
+                // cannot match anything above this node without walking up
+                // the parent chain.
+                //
+                if (ancestorHashes != null && ancestorHashes[s] != null) {
+                    if (ancestorFilter == null) {
+                        ancestorFilter = new AncestorFilter(node);
+                    }
+                    if (!ancestorFilter.mightContainAll(ancestorHashes[s])) {
+                        continue;
+                    }
+                }
+
                 //
                 // This particular flavor of applies takes a PseudoClassState[]
                 // fills in the pseudo-class states from the selectors where
@@ -2191,44 +2281,46 @@ final public class StyleManager {
             final String inlineStyle = node.getStyle();
             final Key keyObj = new Key(key, inlineStyle);
 
-            if (cache.containsKey(keyObj)) {
-                Integer styleMapId = cache.get(keyObj);
-                final StyleMap styleMap = styleMapId != null
-                        ? cacheContainer.getStyleMap(styleMapId.intValue())
-                        : StyleMap.EMPTY_MAP;
-                return styleMap;
-            }
+            synchronized (cacheContainer) {
+                if (cache.containsKey(keyObj)) {
+                    Integer styleMapId = cache.get(keyObj);
+                    final StyleMap styleMap = styleMapId != null
+                            ? cacheContainer.getStyleMap(styleMapId.intValue())
+                            : StyleMap.EMPTY_MAP;
+                    return styleMap;
+                }
 
-            final List<Selector> selectors = new ArrayList<>();
+                final List<Selector> selectors = new ArrayList<>();
 
-            if (hasInlineStyle) {
-                Selector selector = cacheContainer.getInlineStyleSelector(inlineStyle);
-                if (selector != null) selectors.add(selector);
-            }
+                if (hasInlineStyle) {
+                    Selector selector = cacheContainer.getInlineStyleSelector(inlineStyle);
+                    if (selector != null) selectors.add(selector);
+                }
 
-            for (int k = 0; k<key.length; k++) {
+                for (int k = 0; k<key.length; k++) {
 
-                if (key[k] == 0) continue;
+                    if (key[k] == 0) continue;
 
-                final int offset = k * Long.SIZE;
+                    final int offset = k * Long.SIZE;
 
-                for (int b = 0; b<Long.SIZE; b++) {
+                    for (int b = 0; b<Long.SIZE; b++) {
 
-                    // bit at b in key[k] set?
-                    final long mask = 1l << b;
-                    if ((mask & key[k]) != mask) continue;
+                        // bit at b in key[k] set?
+                        final long mask = 1l << b;
+                        if ((mask & key[k]) != mask) continue;
 
-                    final Selector pair = this.selectors.get(offset + b);
-                    selectors.add(pair);
+                        final Selector pair = this.selectors.get(offset + b);
+                        selectors.add(pair);
+                    }
                 }
-            }
 
-            int id = cacheContainer.nextSmapId();
-            cache.put(keyObj, Integer.valueOf(id));
+                int id = cacheContainer.nextSmapId();
+                cache.put(keyObj, Integer.valueOf(id));
 
-            final StyleMap styleMap = new StyleMap(id, selectors);
-            cacheContainer.addStyleMap(styleMap);
-            return styleMap;
+                final StyleMap styleMap = new StyleMap(id, selectors);
+                cacheContainer.addStyleMap(styleMap);
+                return styleMap;
+            }
         }
 
     }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import com.sun.javafx.logging.PlatformLogger;
+import com.sun.javafx.logging.PlatformLogger.Level;
+import javafx.css.CssParser;
+import javafx.css.Stylesheet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+
+/**
+ * An on-disk cache of parsed stylesheets in binary (.bss) format. The cache
+ * is keyed by a digest of the stylesheet URL, the JavaFX runtime version and
+ * the content of the stylesheet, so a stylesheet that is edited is simply
+ * parsed again and stale entries are never used. The cache is enabled by
+ * setting the {@code javafx.css.cache} system property to {@code true}.
+ * Cache files are stored in the {@code css} directory of the JavaFX user
+ * cache, see {@code javafx.cachedir}.
+ * <p>
+ * Stylesheets that use {@code @import} are not cached, since their parsed
+ * rules depend on the content of other stylesheets.
+ */
+final class StylesheetCache {
+
+    private static PlatformLogger getLogger() {
+        return com.sun.javafx.util.Logging.getCSSLogger();
+    }
+
+    static final boolean enabled =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.css.cache"));
+
+    private static final File cacheDir =
+            AccessController.doPrivileged((PrivilegedAction<File>) () -> {
+                String userCache = System.getProperty("javafx.cachedir", "");
+                if (userCache.isEmpty()) {
+                    userCache = System.getProperty("user.home") + "/.openjfx/cache";
+                }
+                return new File(userCache, "css");
+            });
+
+    private StylesheetCache() {
+    }
+
+    /**
+     * Loads the stylesheet from the given URL, using the cached binary form
+     * if there is one for the current content of the stylesheet, and parsing
+     * it otherwise. A newly parsed stylesheet is added to the cache.
+     *
+     * @param url the URL of the css file
+     * @return the stylesheet
+     * @throws IOException if the stylesheet could not be read
+     */
+    static Stylesheet load(URL url) throws IOException {
+        return load(url, cacheDir);
+    }
+
+    // package for testing
+    static Stylesheet load(URL url, File cacheDir) throws IOException {
+
+        final byte[] content;
+        try (InputStream stream = url.openStream()) {
+            content = readAll(stream);
+        }
+        // CssParser.parse(URL) reads the stream with the default charset
+        final String text = new String(content, Charset.defaultCharset());
+        final String docbase = url.toExternalForm();
+
+        if (text.contains("@import")) {
+            return new CssParser().parse(docbase, text);
+        }
+
+        final File file = getCacheFile(cacheDir, docbase, content);
+        if (file != null) {
+            final Stylesheet stylesheet = read(file, docbase);
+            if (stylesheet != null) {
+                return stylesheet;
+            }
+        }
+
+        final Stylesheet stylesheet = new CssParser().parse(docbase, text);
+
+        if (file != null) {
+            write(cacheDir, file, stylesheet);
+        }
+        return stylesheet;
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(8 * 1024);
+        final byte[] buf = new byte[8 * 1024];
+        int n;
+        while ((n = stream.read(buf)) != -1) {
+            baos.write(buf, 0, n);
+        }
+        return baos.toByteArray();
+    }
+
+    private static File getCacheFile(File cacheDir, String docbase, byte[] content) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final String version = AccessController.doPrivileged(
+                    (PrivilegedAction<String>) () -> System.getProperty("javafx.runtime.version", ""));
+            digest.update(version.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(docbase.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(content);
+
+            final StringBuilder name = new StringBuilder(80);
+            for (byte b : digest.digest()) {
+                name.append(Character.forDigit((b >> 4) & 0xf, 16));
+                name.append(Character.forDigit(b & 0xf, 16));
+            }
+            return new File(cacheDir, name.append(".bss").toString());
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static Stylesheet read(File file, String docbase) {
+        return AccessController.doPrivileged((PrivilegedAction<Stylesheet>) () -> {
+            if (!file.isFile()) {
+                return null;
+            }
+            try (InputStream stream = new FileInputStream(file)) {
+                return StylesheetHelper.loadBinary(stream, docbase);
+            } catch (IOException | RuntimeException e) {
+                // A corrupt or truncated cache file is dropped and the
+                // stylesheet is parsed again.
+                if (getLogger().isLoggable(Level.FINE)) {
+                    getLogger().fine("Could not read cached stylesheet " + file + ": " + e);
+                }
+                file.delete();
+                return null;
+            }
+        });
+    }
+
+    private static void write(File cacheDir, File file, Stylesheet stylesheet) {
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            File tmp = null;
+            try {
+                if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+                    return null;
+                }
+                // Write to a temporary file first so that a concurrently
+                // running application never sees a partially written file.
+                tmp = File.createTempFile("css", ".tmp", cacheDir);
+                try (FileOutputStream stream = new FileOutputStream(tmp)) {
+                    StylesheetHelper.writeBinary(stylesheet, stream);
+                }
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                tmp = null;
+            } catch (IOException | SecurityException e) {
+                if (getLogger().isLoggable(Level.FINE)) {
+                    getLogger().fine("Could not cache stylesheet " + file + ": " + e);
+                }
+            } finally {
+                if (tmp != null) {
+                    tmp.delete();
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -25,7 +25,7 @@
 
 package com.sun.javafx.font;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 public class CompositeGlyphMapper extends CharToGlyphMapper {
 
@@ -47,18 +47,27 @@ public class CompositeGlyphMapper extends CharToGlyphMapper {
     CompositeFontResource font;
     CharToGlyphMapper slotMappers[];
 
-    /* For now, we'll use a Map to store the char->glyph lookup result.
-     * Maybe later I could use arrays for "common" values and
-     * perhaps for less common values, just not cache at all if
-     * lookup is relatively inexpensive. Or let the slot fonts do
-     * the caching ? So a variety of strategies are possible.
+    /* The glyph codes looked up so far, in pages of BLOCKSZ code points
+     * which are only allocated when one of their code points is looked up,
+     * indexed by plane and by page within the plane. There is one mapper
+     * per composite font resource, so the cache is shared by all of its
+     * strikes. Code points which no slot supports are cached too, but
+     * looked up again once a fallback slot has been added.
      */
-    HashMap<Integer, Integer> glyphMap;
+    private static final int UNMAPPED = -1;
+    private static final int UNSUPPORTED = -2;
+    private static final int PAGE_SHIFT = 8;
+    private static final int PAGE_MASK = BLOCKSZ - 1;
+    private static final int PLANE_SHIFT = 16;
+    private static final int PAGES_PER_PLANE = 1 << (PLANE_SHIFT - PAGE_SHIFT);
+
+    private final int[][][] glyphPages =
+        new int[(Character.MAX_CODE_POINT >> PLANE_SHIFT) + 1][][];
+    private int unsupportedNumSlots;
 
     public CompositeGlyphMapper(CompositeFontResource compFont) {
         font = compFont;
         missingGlyph = 0; // TrueType font standard, avoids lookup.
-        glyphMap = new HashMap<Integer, Integer>();
         slotMappers = new CharToGlyphMapper[compFont.getNumSlots()];
         asciiCacheOK = true;
     }
@@ -90,8 +99,9 @@ public class CompositeGlyphMapper extends CharToGlyphMapper {
         return ((slot) << 24 | (glyphCode & GLYPHMASK));
     }
 
-    private final int convertToGlyph(int unicode) {
-        for (int slot = 0; slot < font.getNumSlots(); slot++) {
+    private final int convertToGlyph(int unicode, int[] page) {
+        int numSlots = font.getNumSlots();
+        for (int slot = 0; slot < numSlots; slot++) {
             if (slot >= 255) { // not supposed to happen.
                 return missingGlyph;
             }
@@ -99,13 +109,59 @@ public class CompositeGlyphMapper extends CharToGlyphMapper {
             int glyphCode = mapper.charToGlyph(unicode);
             if (glyphCode != mapper.getMissingGlyphCode()) {
                 glyphCode = compositeGlyphCode(slot, glyphCode);
-                glyphMap.put(unicode, glyphCode);
+                if (page != null) {
+                    page[unicode & PAGE_MASK] = glyphCode;
+                }
                 return glyphCode;
             }
         }
+        if (page != null) {
+            if (numSlots != unsupportedNumSlots) {
+                forgetUnsupported();
+                unsupportedNumSlots = numSlots;
+            }
+            page[unicode & PAGE_MASK] = UNSUPPORTED;
+        }
         return missingGlyph;
     }
 
+    private int[] getGlyphPage(int unicode) {
+        int[][] plane = glyphPages[unicode >> PLANE_SHIFT];
+        if (plane == null) {
+            plane = new int[PAGES_PER_PLANE][];
+            glyphPages[unicode >> PLANE_SHIFT] = plane;
+        }
+        int index = (unicode >> PAGE_SHIFT) & (PAGES_PER_PLANE - 1);
+        int[] page = plane[index];
+        if (page == null) {
+            page = new int[BLOCKSZ];
+            Arrays.fill(page, UNMAPPED);
+            plane[index] = page;
+        }
+        return page;
+    }
+
+    /* Slots have been added since the unsupported code points were looked
+     * up, so they have to be looked up again.
+     */
+    private void forgetUnsupported() {
+        for (int[][] plane : glyphPages) {
+            if (plane == null) {
+                continue;
+            }
+            for (int[] page : plane) {
+                if (page == null) {
+                    continue;
+                }
+                for (int i = 0; i < page.length; i++) {
+                    if (page[i] == UNSUPPORTED) {
+                        page[i] = UNMAPPED;
+                    }
+                }
+            }
+        }
+    }
+
     private int getAsciiGlyphCode(int charCode) {
 
         // Check if charCode is in ASCII range
@@ -140,17 +196,26 @@ public class CompositeGlyphMapper extends CharToGlyphMapper {
     }
 
     public int getGlyphCode(int charCode) {
-        // If ASCII then array lookup, else use glyphMap
+        // If ASCII then array lookup, else use the glyph pages
         int retVal = getAsciiGlyphCode(charCode);
         if (retVal >= 0) {
             return retVal;
         }
 
-        Integer codeInt = glyphMap.get(charCode);
-        if (codeInt != null) {
-            return codeInt.intValue();
-        } else {
-            return convertToGlyph(charCode);
+        if (charCode < 0 || charCode > Character.MAX_CODE_POINT) {
+            return convertToGlyph(charCode, null);
+        }
+        int[] page = getGlyphPage(charCode);
+        int glyphCode = page[charCode & PAGE_MASK];
+        if (glyphCode == UNMAPPED) {
+            return convertToGlyph(charCode, page);
+        }
+        if (glyphCode == UNSUPPORTED) {
+            if (font.getNumSlots() == unsupportedNumSlots) {
+                return missingGlyph;
+            }
+            return convertToGlyph(charCode, page);
         }
+        return glyphCode;
     }
 }
@@ -46,7 +46,6 @@ import javafx.scene.shape.StrokeLineCap;
 import javafx.scene.shape.StrokeLineJoin;
 import javafx.scene.shape.StrokeType;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.WeakHashMap;
 
@@ -197,6 +196,25 @@ public class NGRegion extends NGGroup {
      */
     private Integer cacheKey;
 
+    /**
+     * Determined when a border is set on the region, this flag indicates whether the
+     * border strokes can be cached. Only borders made of solid, fixed width strokes
+     * painted with colors or linear gradients can be cached and stretched.
+     */
+    private int borderCacheMode;
+
+    /**
+     * The combined insets of all the border strokes, taking their widths and radii
+     * into account. These are the fixed slices of a cached border image.
+     */
+    private Insets borderInsets;
+
+    /**
+     * Is the key into the image cache that identifies the required border
+     * for the region.
+     */
+    private Integer borderCacheKey;
+
     /**
      * Simple Helper Function for cleanup.
      */
@@ -251,6 +269,7 @@ public class NGRegion extends NGGroup {
         this.height = height;
         invalidateOpaqueRegion();
         cacheKey = null;
+        borderCacheKey = null;
         visualsChanged();
         // We only have to clear the background insets when the size changes if the
         // background has fills who's insets are dependent on the size (as would be
@@ -281,6 +300,37 @@ public class NGRegion extends NGGroup {
         final Border old = border;
         border = b == null ? Border.EMPTY : b;
 
+        final List<BorderStroke> strokes = border.getStrokes();
+        borderCacheMode = 0;
+        if (!PrismSettings.disableRegionCaching && !strokes.isEmpty() && border.getImages().isEmpty()) {
+            borderCacheMode = CACHE_SLICE_H | CACHE_SLICE_V;
+            for (int i=0, max=strokes.size(); i<max && borderCacheMode != 0; i++) {
+                // Percentage widths depend on the size of the region, so they cannot be
+                // stretched from a cached image. The individual sides are then checked for
+                // their style and paint.
+                final BorderStroke stroke = strokes.get(i);
+                final BorderWidths widths = stroke.getWidths();
+                if (widths.isTopAsPercentage() || widths.isRightAsPercentage() ||
+                        widths.isBottomAsPercentage() || widths.isLeftAsPercentage()) {
+                    borderCacheMode = 0;
+                } else {
+                    borderCacheMode &= getBorderCacheMode(stroke.getTopStyle(), stroke.getTopStroke());
+                    borderCacheMode &= getBorderCacheMode(stroke.getRightStyle(), stroke.getRightStroke());
+                    borderCacheMode &= getBorderCacheMode(stroke.getBottomStyle(), stroke.getBottomStroke());
+                    borderCacheMode &= getBorderCacheMode(stroke.getLeftStyle(), stroke.getLeftStroke());
+                }
+            }
+            // A single squared stroke is cheaper to draw than to cache
+            if (strokes.size() == 1) {
+                final CornerRadii radii = strokes.get(0).getRadii();
+                if (radii.isUniform() && radii.getTopLeftHorizontalRadius() == 0) {
+                    borderCacheMode = 0;
+                }
+            }
+        }
+        borderInsets = null;
+        borderCacheKey = null;
+
         // Determine whether the geometry has changed, or if only the visuals have
         // changed. Geometry changes will require more work, and an equals check
         // on the border objects is generally very fast (either for identity or
@@ -473,6 +523,48 @@ public class NGRegion extends NGGroup {
         return cache;
     }
 
+    /**
+     * Determines in which directions one side of a border stroke can be stretched. Dashes
+     * are laid out along the whole length of a side, so only solid strokes can be sliced.
+     */
+    private static int getBorderCacheMode(BorderStrokeStyle style, javafx.scene.paint.Paint paint) {
+        if (style == BorderStrokeStyle.NONE) {
+            return CACHE_SLICE_H | CACHE_SLICE_V;
+        }
+        if (!style.getDashArray().isEmpty()) {
+            return 0;
+        }
+        int mode = CACHE_SLICE_H | CACHE_SLICE_V;
+        if (paint instanceof LinearGradient) {
+            LinearGradient linear = (LinearGradient) paint;
+            if (linear.getStartX() != linear.getEndX()) {
+                mode &= ~CACHE_SLICE_H;
+            }
+            if (linear.getStartY() != linear.getEndY()) {
+                mode &= ~CACHE_SLICE_V;
+            }
+        } else if (!(paint instanceof Color)) {
+            //Either radial gradient or image pattern
+            mode = 0;
+        }
+        return mode;
+    }
+
+    // This method exists only for the sake of testing.
+    boolean canSliceBorder(boolean horizontal) {
+        return (borderCacheMode & (horizontal ? CACHE_SLICE_H : CACHE_SLICE_V)) != 0;
+    }
+
+    private Integer getBorderCacheKey(int w, int h) {
+        if (borderCacheKey == null) {
+            int key = 31 * w;
+            key = key * 37 + h;
+            key = key * 53 + border.hashCode();
+            borderCacheKey = key;
+        }
+        return borderCacheKey;
+    }
+
     private Integer getCacheKey(int w, int h) {
         if (cacheKey == null) {
             int key = 31 * w;
@@ -619,7 +711,7 @@ public class NGRegion extends NGGroup {
                     final Integer key = getCacheKey(textureWidth, textureHeight);
                     rect = TEMP_RECT;
                     rect.setBounds(0, 0, textureWidth + border, textureHeight + border);
-                    boolean render = imageCache.getImageLocation(key, rect, background, shape, g);
+                    boolean render = imageCache.getImageLocation(key, rect, background, null, shape, g);
                     if (!rect.isEmpty()) {
                         // An empty rect indicates a failure occurred in the imageCache
                         cached = imageCache.getBackingStore();
@@ -817,7 +909,7 @@ public class NGRegion extends NGGroup {
                 final Integer key = getCacheKey(textureWidth, textureHeight);
                 rect = TEMP_RECT;
                 rect.setBounds(0, 0, textureWidth + border, textureHeight + border);
-                boolean render = imageCache.getImageLocation(key, rect, background, shape, g);
+                boolean render = imageCache.getImageLocation(key, rect, background, null, shape, g);
                 if (!rect.isEmpty()) {
                     // An empty rect indicates a failure occurred in the imageCache
                     cached = imageCache.getBackingStore();
@@ -843,10 +935,13 @@ public class NGRegion extends NGGroup {
         // "cached" might not be null if either there was a cached image, or we just created one.
         // In either case, we need to now render from the cached texture to the graphics
         if (cached != null) {
-            renderBackgroundRectangleFromCache(
+            renderRectangleFromCache(
                     g, cached, rect, textureWidth, textureHeight,
                     topInset, rightInset, bottomInset, leftInset,
                     outsetsTop, outsetsRight, outsetsBottom, outsetsLeft);
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Cached region background image used");
+            }
         } else {
             // no cache, rendering backgrounds directly to graphics
             renderBackgroundRectanglesDirectly(g, width, height);
@@ -978,7 +1073,7 @@ public class NGRegion extends NGGroup {
         }
     }
 
-    private void renderBackgroundRectangleFromCache(
+    private void renderRectangleFromCache(
             Graphics g, RTTexture cached, Rectangle rect, int textureWidth, int textureHeight,
             double topInset, double rightInset, double bottomInset, double leftInset,
             int outsetsTop, int outsetsRight, int outsetsBottom, int outsetsLeft) {
@@ -1073,10 +1168,6 @@ public class NGRegion extends NGGroup {
                                 dstLeftX, dstTopY, dstRightX, dstBottomY,
                                 srcLeftX, srcTopY, srcRightX, srcBottomY);
         }
-
-        if (PULSE_LOGGING_ENABLED) {
-            PulseLogger.incrementCounter("Cached region background image used");
-        }
     }
 
     private void renderBackgroundRectanglesDirectly(Graphics g, float width, float height) {
@@ -1139,7 +1230,202 @@ public class NGRegion extends NGGroup {
 
     private void renderBorderRectangle(Graphics g) {
         final List<BorderImage> images = border.getImages();
-        final List<BorderStroke> strokes = images.isEmpty() ? border.getStrokes() : Collections.emptyList();
+        if (images.isEmpty()) {
+            renderBorderStrokes(g);
+        }
+
+        for (int i = 0, max = images.size(); i < max; i++) {
+            final BorderImage ib = images.get(i);
+            final Image prismImage = (Image) Toolkit.getImageAccessor().getPlatformImage(ib.getImage());
+            if (prismImage == null) {
+                // The prismImage might be null if the Image has not completed loading.
+                // In that case, we simply must skip rendering of that layer this
+                // time around.
+                continue;
+            }
+            final int imgWidth = prismImage.getWidth();
+            final int imgHeight = prismImage.getHeight();
+            final float imgScale = prismImage.getPixelScale();
+            final BorderWidths widths = ib.getWidths();
+            final Insets insets = ib.getInsets();
+            final BorderWidths slices = ib.getSlices();
+
+            // we will get gaps if we don't round to pixel boundaries
+            final int topInset = (int) Math.round(insets.getTop());
+            final int rightInset = (int) Math.round(insets.getRight());
+            final int bottomInset = (int) Math.round(insets.getBottom());
+            final int leftInset = (int) Math.round(insets.getLeft());
+
+            final int topWidth = widthSize(widths.isTopAsPercentage(), widths.getTop(), height);
+            final int rightWidth = widthSize(widths.isRightAsPercentage(), widths.getRight(), width);
+            final int bottomWidth = widthSize(widths.isBottomAsPercentage(), widths.getBottom(), height);
+            final int leftWidth = widthSize(widths.isLeftAsPercentage(), widths.getLeft(), width);
+
+            final int topSlice = sliceSize(slices.isTopAsPercentage(), slices.getTop(), imgHeight, imgScale);
+            final int rightSlice = sliceSize(slices.isRightAsPercentage(), slices.getRight(), imgWidth, imgScale);
+            final int bottomSlice = sliceSize(slices.isBottomAsPercentage(), slices.getBottom(), imgHeight, imgScale);
+            final int leftSlice = sliceSize(slices.isLeftAsPercentage(), slices.getLeft(), imgWidth, imgScale);
+
+            // handle case where region is too small to fit in borders
+            if ((leftInset + leftWidth + rightInset + rightWidth) > width
+                    || (topInset + topWidth + bottomInset + bottomWidth) > height) {
+                continue;
+            }
+
+            // calculate some things we can share
+            final int centerMinX = leftInset + leftWidth;
+            final int centerMinY = topInset + topWidth;
+            final int centerW = Math.round(width) - rightInset - rightWidth - centerMinX;
+            final int centerH = Math.round(height) - bottomInset - bottomWidth - centerMinY;
+            final int centerMaxX = centerW + centerMinX;
+            final int centerMaxY = centerH + centerMinY;
+            final int centerSliceWidth = imgWidth - leftSlice - rightSlice;
+            final int centerSliceHeight = imgHeight - topSlice - bottomSlice;
+            // paint top left corner
+            paintTiles(g, prismImage, BorderRepeat.STRETCH, BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
+                       leftInset, topInset, leftWidth, topWidth, // target bounds
+                       0, 0, leftSlice, topSlice, // src image bounds
+                       0, 0, leftWidth, topWidth); // tile bounds
+            // paint top slice
+            float tileWidth = (ib.getRepeatX() == BorderRepeat.STRETCH) ?
+                    centerW : (topSlice > 0 ? (centerSliceWidth * topWidth) / topSlice : 0);
+            float tileHeight = topWidth;
+            paintTiles(
+                    g, prismImage, ib.getRepeatX(), BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
+                    centerMinX, topInset, centerW, topWidth,
+                    leftSlice, 0, centerSliceWidth, topSlice,
+                    (centerW - tileWidth) / 2, 0, tileWidth, tileHeight);
+            // paint top right corner
+            paintTiles(g, prismImage, BorderRepeat.STRETCH, BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
+                       centerMaxX, topInset, rightWidth, topWidth,
+                       (imgWidth - rightSlice), 0, rightSlice, topSlice,
+                       0, 0, rightWidth, topWidth);
+            // paint left slice
+            tileWidth = leftWidth;
+            tileHeight = (ib.getRepeatY() == BorderRepeat.STRETCH) ?
+                    centerH : (leftSlice > 0 ? (leftWidth * centerSliceHeight) / leftSlice : 0);
+            paintTiles(g, prismImage, BorderRepeat.STRETCH, ib.getRepeatY(), Side.LEFT, Side.TOP,
+                       leftInset, centerMinY, leftWidth, centerH,
+                       0, topSlice, leftSlice, centerSliceHeight,
+                       0, (centerH - tileHeight) / 2, tileWidth, tileHeight);
+            // paint right slice
+            tileWidth = rightWidth;
+            tileHeight = (ib.getRepeatY() == BorderRepeat.STRETCH) ?
+                    centerH : (rightSlice > 0 ? (rightWidth * centerSliceHeight) / rightSlice : 0);
+            paintTiles(g, prismImage, BorderRepeat.STRETCH, ib.getRepeatY(), Side.LEFT, Side.TOP,
+                       centerMaxX, centerMinY, rightWidth, centerH,
+                       imgWidth - rightSlice, topSlice, rightSlice, centerSliceHeight,
+                       0, (centerH - tileHeight) / 2, tileWidth, tileHeight);
+            // paint bottom left corner
+            paintTiles(g, prismImage, BorderRepeat.STRETCH, BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
+                       leftInset, centerMaxY, leftWidth, bottomWidth,
+                       0, imgHeight - bottomSlice, leftSlice, bottomSlice,
+                       0, 0, leftWidth, bottomWidth);
+            // paint bottom slice
+            tileWidth = (ib.getRepeatX() == BorderRepeat.STRETCH) ?
+                    centerW : (bottomSlice > 0 ? (centerSliceWidth * bottomWidth) / bottomSlice : 0);
+            tileHeight = bottomWidth;
+            paintTiles(g, prismImage, ib.getRepeatX(), BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
+                       centerMinX, centerMaxY, centerW, bottomWidth,
+                       leftSlice, imgHeight - bottomSlice, centerSliceWidth, bottomSlice,
+                       (centerW - tileWidth) / 2, 0, tileWidth, tileHeight);
+            // paint bottom right corner
+            paintTiles(g, prismImage, BorderRepeat.STRETCH, BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
+                       centerMaxX, centerMaxY, rightWidth, bottomWidth,
+                       imgWidth - rightSlice, imgHeight - bottomSlice, rightSlice, bottomSlice,
+                       0, 0, rightWidth, bottomWidth);
+            // paint the center slice
+            if (ib.isFilled()) {
+                // handle no repeat as stretch
+                final float imgW = (ib.getRepeatX() == BorderRepeat.STRETCH) ? centerW : centerSliceWidth;
+                final float imgH = (ib.getRepeatY() == BorderRepeat.STRETCH) ? centerH : centerSliceHeight;
+                paintTiles(g, prismImage, ib.getRepeatX(), ib.getRepeatY(), Side.LEFT, Side.TOP,
+                           centerMinX, centerMinY, centerW, centerH,
+                           leftSlice, topSlice, centerSliceWidth, centerSliceHeight,
+                           0, 0, imgW, imgH);
+            }
+        }
+    }
+
+    private void renderBorderStrokes(Graphics g) {
+        // The border strokes are cached the same way as the background fills. The corners
+        // and edges are rendered once into a cached image which is only as wide and tall as
+        // the fixed slices, and the middle of it is stretched to the size of the region. Since
+        // the cached image does not depend on the size of the region, it is reused as the
+        // region is resized.
+        if (borderInsets == null) updateBorderInsets();
+        final double leftInset = borderInsets.getLeft() + 1;
+        final double rightInset = borderInsets.getRight() + 1;
+        final double topInset = borderInsets.getTop() + 1;
+        final double bottomInset = borderInsets.getBottom() + 1;
+
+        int cacheWidth = roundUp(width);
+        if ((borderCacheMode & CACHE_SLICE_H) != 0) {
+            cacheWidth = Math.min(cacheWidth, (int) (leftInset + rightInset));
+        }
+        int cacheHeight = roundUp(height);
+        if ((borderCacheMode & CACHE_SLICE_V) != 0) {
+            cacheHeight = Math.min(cacheHeight, (int) (topInset + bottomInset));
+        }
+
+        final Insets outsets = border.getOutsets();
+        final int outsetsTop = roundUp(outsets.getTop());
+        final int outsetsRight = roundUp(outsets.getRight());
+        final int outsetsBottom = roundUp(outsets.getBottom());
+        final int outsetsLeft = roundUp(outsets.getLeft());
+
+        final int textureWidth = outsetsLeft + cacheWidth + outsetsRight;
+        final int textureHeight = outsetsTop + cacheHeight + outsetsBottom;
+
+        // Normalized radii mean that the raw radii overflow the region at its current size,
+        // in which case the cached image would not match what is drawn directly.
+        final boolean cache =
+                borderCacheMode != 0 &&
+                normalizedStrokeCorners == null &&
+                g.getTransformNoClone().isTranslateOrIdentity() &&
+                !(g instanceof PrinterGraphics);
+        final int border = 1;
+        RTTexture cached = null;
+        Rectangle rect = null;
+        if (cache) {
+            RegionImageCache imageCache = getImageCache(g);
+            if (imageCache.isImageCachable(textureWidth, textureHeight)) {
+                final Integer key = getBorderCacheKey(textureWidth, textureHeight);
+                rect = TEMP_RECT;
+                rect.setBounds(0, 0, textureWidth + border, textureHeight + border);
+                boolean render = imageCache.getImageLocation(key, rect, null, this.border, null, g);
+                if (!rect.isEmpty()) {
+                    // An empty rect indicates a failure occurred in the imageCache
+                    cached = imageCache.getBackingStore();
+                }
+                if (cached != null && render) {
+                    Graphics cacheGraphics = cached.createGraphics();
+                    cacheGraphics.translate(rect.x + outsetsLeft, rect.y + outsetsTop);
+                    renderBorderStrokesDirectly(cacheGraphics, cacheWidth, cacheHeight);
+
+                    if (PULSE_LOGGING_ENABLED) {
+                        PulseLogger.incrementCounter("Rendering region border image to cache");
+                    }
+                }
+            }
+        }
+
+        if (cached != null) {
+            renderRectangleFromCache(
+                    g, cached, rect, textureWidth, textureHeight,
+                    topInset, rightInset, bottomInset, leftInset,
+                    outsetsTop, outsetsRight, outsetsBottom, outsetsLeft);
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Cached region border image used");
+            }
+        } else {
+            renderBorderStrokesDirectly(g, width, height);
+        }
+    }
+
+    // package-private for testing
+    void renderBorderStrokesDirectly(Graphics g, float width, float height) {
+        final List<BorderStroke> strokes = border.getStrokes();
         for (int i = 0, max = strokes.size(); i < max; i++) {
             final BorderStroke stroke = strokes.get(i);
             final BorderWidths widths = stroke.getWidths();
@@ -1284,7 +1570,7 @@ public class NGRegion extends NGGroup {
                 // more sides, and either the radii are not uniform, or they are uniform but greater
                 // than 0. In this case we have to take a much slower rendering path by turning this
                 // stroke into a path (or in the current implementation, an array of paths).
-                Shape[] paths = createPaths(t, l, b, r, radii);
+                Shape[] paths = createPaths(width, height, t, l, b, r, radii);
                 if (topStyle != BorderStrokeStyle.NONE) {
                     double rsum = radii.getTopLeftHorizontalRadius() + radii.getTopRightHorizontalRadius();
                     double topLineLength = width + rsum * (Math.PI / 4 - 1);
@@ -1315,118 +1601,6 @@ public class NGRegion extends NGGroup {
                 }
             }
         }
-
-        for (int i = 0, max = images.size(); i < max; i++) {
-            final BorderImage ib = images.get(i);
-            final Image prismImage = (Image) Toolkit.getImageAccessor().getPlatformImage(ib.getImage());
-            if (prismImage == null) {
-                // The prismImage might be null if the Image has not completed loading.
-                // In that case, we simply must skip rendering of that layer this
-                // time around.
-                continue;
-            }
-            final int imgWidth = prismImage.getWidth();
-            final int imgHeight = prismImage.getHeight();
-            final float imgScale = prismImage.getPixelScale();
-            final BorderWidths widths = ib.getWidths();
-            final Insets insets = ib.getInsets();
-            final BorderWidths slices = ib.getSlices();
-
-            // we will get gaps if we don't round to pixel boundaries
-            final int topInset = (int) Math.round(insets.getTop());
-            final int rightInset = (int) Math.round(insets.getRight());
-            final int bottomInset = (int) Math.round(insets.getBottom());
-            final int leftInset = (int) Math.round(insets.getLeft());
-
-            final int topWidth = widthSize(widths.isTopAsPercentage(), widths.getTop(), height);
-            final int rightWidth = widthSize(widths.isRightAsPercentage(), widths.getRight(), width);
-            final int bottomWidth = widthSize(widths.isBottomAsPercentage(), widths.getBottom(), height);
-            final int leftWidth = widthSize(widths.isLeftAsPercentage(), widths.getLeft(), width);
-
-            final int topSlice = sliceSize(slices.isTopAsPercentage(), slices.getTop(), imgHeight, imgScale);
-            final int rightSlice = sliceSize(slices.isRightAsPercentage(), slices.getRight(), imgWidth, imgScale);
-            final int bottomSlice = sliceSize(slices.isBottomAsPercentage(), slices.getBottom(), imgHeight, imgScale);
-            final int leftSlice = sliceSize(slices.isLeftAsPercentage(), slices.getLeft(), imgWidth, imgScale);
-
-            // handle case where region is too small to fit in borders
-            if ((leftInset + leftWidth + rightInset + rightWidth) > width
-                    || (topInset + topWidth + bottomInset + bottomWidth) > height) {
-                continue;
-            }
-
-            // calculate some things we can share
-            final int centerMinX = leftInset + leftWidth;
-            final int centerMinY = topInset + topWidth;
-            final int centerW = Math.round(width) - rightInset - rightWidth - centerMinX;
-            final int centerH = Math.round(height) - bottomInset - bottomWidth - centerMinY;
-            final int centerMaxX = centerW + centerMinX;
-            final int centerMaxY = centerH + centerMinY;
-            final int centerSliceWidth = imgWidth - leftSlice - rightSlice;
-            final int centerSliceHeight = imgHeight - topSlice - bottomSlice;
-            // paint top left corner
-            paintTiles(g, prismImage, BorderRepeat.STRETCH, BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
-                       leftInset, topInset, leftWidth, topWidth, // target bounds
-                       0, 0, leftSlice, topSlice, // src image bounds
-                       0, 0, leftWidth, topWidth); // tile bounds
-            // paint top slice
-            float tileWidth = (ib.getRepeatX() == BorderRepeat.STRETCH) ?
-                    centerW : (topSlice > 0 ? (centerSliceWidth * topWidth) / topSlice : 0);
-            float tileHeight = topWidth;
-            paintTiles(
-                    g, prismImage, ib.getRepeatX(), BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
-                    centerMinX, topInset, centerW, topWidth,
-                    leftSlice, 0, centerSliceWidth, topSlice,
-                    (centerW - tileWidth) / 2, 0, tileWidth, tileHeight);
-            // paint top right corner
-            paintTiles(g, prismImage, BorderRepeat.STRETCH, BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
-                       centerMaxX, topInset, rightWidth, topWidth,
-                       (imgWidth - rightSlice), 0, rightSlice, topSlice,
-                       0, 0, rightWidth, topWidth);
-            // paint left slice
-            tileWidth = leftWidth;
-            tileHeight = (ib.getRepeatY() == BorderRepeat.STRETCH) ?
-                    centerH : (leftSlice > 0 ? (leftWidth * centerSliceHeight) / leftSlice : 0);
-            paintTiles(g, prismImage, BorderRepeat.STRETCH, ib.getRepeatY(), Side.LEFT, Side.TOP,
-                       leftInset, centerMinY, leftWidth, centerH,
-                       0, topSlice, leftSlice, centerSliceHeight,
-                       0, (centerH - tileHeight) / 2, tileWidth, tileHeight);
-            // paint right slice
-            tileWidth = rightWidth;
-            tileHeight = (ib.getRepeatY() == BorderRepeat.STRETCH) ?
-                    centerH : (rightSlice > 0 ? (rightWidth * centerSliceHeight) / rightSlice : 0);
-            paintTiles(g, prismImage, BorderRepeat.STRETCH, ib.getRepeatY(), Side.LEFT, Side.TOP,
-                       centerMaxX, centerMinY, rightWidth, centerH,
-                       imgWidth - rightSlice, topSlice, rightSlice, centerSliceHeight,
-                       0, (centerH - tileHeight) / 2, tileWidth, tileHeight);
-            // paint bottom left corner
-            paintTiles(g, prismImage, BorderRepeat.STRETCH, BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
-                       leftInset, centerMaxY, leftWidth, bottomWidth,
-                       0, imgHeight - bottomSlice, leftSlice, bottomSlice,
-                       0, 0, leftWidth, bottomWidth);
-            // paint bottom slice
-            tileWidth = (ib.getRepeatX() == BorderRepeat.STRETCH) ?
-                    centerW : (bottomSlice > 0 ? (centerSliceWidth * bottomWidth) / bottomSlice : 0);
-            tileHeight = bottomWidth;
-            paintTiles(g, prismImage, ib.getRepeatX(), BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
-                       centerMinX, centerMaxY, centerW, bottomWidth,
-                       leftSlice, imgHeight - bottomSlice, centerSliceWidth, bottomSlice,
-                       (centerW - tileWidth) / 2, 0, tileWidth, tileHeight);
-            // paint bottom right corner
-            paintTiles(g, prismImage, BorderRepeat.STRETCH, BorderRepeat.STRETCH, Side.LEFT, Side.TOP,
-                       centerMaxX, centerMaxY, rightWidth, bottomWidth,
-                       imgWidth - rightSlice, imgHeight - bottomSlice, rightSlice, bottomSlice,
-                       0, 0, rightWidth, bottomWidth);
-            // paint the center slice
-            if (ib.isFilled()) {
-                // handle no repeat as stretch
-                final float imgW = (ib.getRepeatX() == BorderRepeat.STRETCH) ? centerW : centerSliceWidth;
-                final float imgH = (ib.getRepeatY() == BorderRepeat.STRETCH) ? centerH : centerSliceHeight;
-                paintTiles(g, prismImage, ib.getRepeatX(), ib.getRepeatY(), Side.LEFT, Side.TOP,
-                           centerMinX, centerMinY, centerW, centerH,
-                           leftSlice, topSlice, centerSliceWidth, centerSliceHeight,
-                           0, 0, imgW, imgH);
-            }
-        }
     }
 
     /**
@@ -1454,6 +1628,31 @@ public class NGRegion extends NGGroup {
         backgroundInsets = new Insets(roundUp(top), roundUp(right), roundUp(bottom), roundUp(left));
     }
 
+    /**
+     * Visits each of the border strokes and takes their widths and radii into account to determine
+     * the insets. The borderInsets variable is cleared whenever the border changes. Only borders
+     * with fixed widths are cached, so the insets do not depend on the size of the region.
+     */
+    private void updateBorderInsets() {
+        float top=0, right=0, bottom=0, left=0;
+        final List<BorderStroke> strokes = border.getStrokes();
+        for (int i=0, max=strokes.size(); i<max; i++) {
+            // Where two sides of different widths meet, the corner may be as thick as the
+            // widest of them, so the widest side is used for all four slices.
+            final BorderStroke stroke = strokes.get(i);
+            final BorderWidths widths = stroke.getWidths();
+            final Insets insets = stroke.getInsets();
+            final CornerRadii radii = stroke.getRadii();
+            final double w = Math.max(Math.max(widths.getTop(), widths.getRight()),
+                                      Math.max(widths.getBottom(), widths.getLeft()));
+            top = (float) Math.max(top, insets.getTop() + w + Math.max(radii.getTopLeftVerticalRadius(), radii.getTopRightVerticalRadius()));
+            right = (float) Math.max(right, insets.getRight() + w + Math.max(radii.getTopRightHorizontalRadius(), radii.getBottomRightHorizontalRadius()));
+            bottom = (float) Math.max(bottom, insets.getBottom() + w + Math.max(radii.getBottomRightVerticalRadius(), radii.getBottomLeftVerticalRadius()));
+            left = (float) Math.max(left, insets.getLeft() + w + Math.max(radii.getTopLeftHorizontalRadius(), radii.getBottomLeftHorizontalRadius()));
+        }
+        borderInsets = new Insets(roundUp(top), roundUp(right), roundUp(bottom), roundUp(left));
+    }
+
     private int widthSize(boolean isPercent, double sliceSize, float objSize) {
         //Not strictly correct. See RT-34051
         return (int) Math.round(isPercent ? sliceSize * objSize : sliceSize);
@@ -1750,7 +1949,7 @@ public class NGRegion extends NGGroup {
      * Each side as a separate path.  The sides are returned in the CSS standard
      * order of top, right, bottom, left.
      */
-    private Path2D[] createPaths(float t, float l, float bo, float ro, CornerRadii radii)
+    private Path2D[] createPaths(float width, float height, float t, float l, float bo, float ro, CornerRadii radii)
     {
         float r = width - ro;
         float b = height - bo;
@@ -26,6 +26,7 @@
 package com.sun.javafx.sg.prism;
 
 import javafx.scene.layout.Background;
+import javafx.scene.layout.Border;
 import java.util.HashMap;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.Shape;
@@ -110,24 +111,34 @@ class RegionImageCache {
      * @param rect the rect image. On input, width and height determine the requested
      *        texture space. On ouput, the x and y the location in the texture
      * @param background the background used to validated if the correct image was found
+     * @param border the border used to validated if the correct image was found
      * @param shape the shape used to validated if the correct image was found
      * @param g the graphics to flush if the texture needs to be restarted
      * @return true means to caller needs to render to rect to initialize the content.
      */
     boolean getImageLocation(Integer key, Rectangle rect, Background background,
-                             Shape shape, Graphics g) {
+                             Border border, Shape shape, Graphics g) {
         CachedImage cache = imageMap.get(key);
         if (cache != null) {
-            if (cache.equals(rect.width, rect.height, background, shape)) {
+            if (cache.equals(rect.width, rect.height, background, border, shape)) {
                 rect.x = cache.x;
                 rect.y = cache.y;
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Region image cache hit");
+                }
                 return false;
             }
             // hash collision, mark rectangle empty indicates the caller to
             // disable caching
             rect.width = rect.height = -1;
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Region image cache collision");
+            }
             return false;
         }
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Region image cache miss");
+        }
         boolean vertical = rect.height > 64;
         RectanglePacker packer = vertical ? vPacker : hPacker;
 
@@ -143,28 +154,31 @@ class RegionImageCache {
                 PulseLogger.incrementCounter("Region image cache flushed");
             }
         }
-        imageMap.put(key, new CachedImage(rect, background, shape));
+        imageMap.put(key, new CachedImage(rect, background, border, shape));
         return true;
     }
 
     static class CachedImage {
         Background background;
+        Border border;
         Shape shape;
         int x, y, width, height;
 
-        CachedImage(Rectangle rect, Background background, Shape shape) {
+        CachedImage(Rectangle rect, Background background, Border border, Shape shape) {
             this.x = rect.x;
             this.y = rect.y;
             this.width = rect.width;
             this.height = rect.height;
             this.background = background;
+            this.border = border;
             this.shape = shape;
         }
 
-        public boolean equals(int width, int height, Background background, Shape shape) {
+        public boolean equals(int width, int height, Background background, Border border, Shape shape) {
             return this.width == width &&
                    this.height == height &&
                    (this.background == null ? background == null : this.background.equals(background)) &&
+                   (this.border == null ? border == null : this.border.equals(border)) &&
                    (this.shape == null ? shape == null : this.shape.equals(shape));
         }
     }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.text;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A thread safe cache which is bounded by the total weight of its values,
+ * such as their number of chars, and evicts the least recently used values
+ * first when a new value does not fit. The number of hits, misses and
+ * evictions is recorded to help tuning the size of the cache.
+ * <p>
+ * Values larger than the whole cache are never added. The values are handed
+ * out to all threads, so they must not be modified once they are added.
+ * <p>
+ * All the methods synchronize on the cache, so all threads share a single
+ * lock. Each access only looks up or relinks a few entries, which keeps the
+ * lock held briefly, but the cache does not scale with concurrent readers.
+ */
+public final class LRUCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final int weight;
+
+        Entry(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    // from the least to the most recently used entry; entries are moved to
+    // the end explicitly, only when they are actually used
+    private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>();
+    private final int maxWeight;
+    private int weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates a cache holding values of a total weight of at most
+     * {@code maxWeight}.
+     */
+    public LRUCache(int maxWeight) {
+        this.maxWeight = Math.max(0, maxWeight);
+    }
+
+    /**
+     * Returns the value for the given key and marks it as the most recently
+     * used one, or returns null if there is no such value.
+     */
+    public V get(K key) {
+        return get(key, null);
+    }
+
+    /**
+     * Returns the value for the given key if it is accepted by the given
+     * predicate, and marks it as the most recently used one. Otherwise
+     * returns null and counts a miss, leaving the value where it is in the
+     * eviction order. This lets callers whose keys may collide, such as hash
+     * codes, check the value before it counts as a hit.
+     *
+     * @param isValid the predicate the value must satisfy, or null to accept
+     *     any value
+     */
+    public synchronized V get(K key, Predicate<? super V> isValid) {
+        final Entry<V> entry = map.get(key);
+        if (entry == null || (isValid != null && !isValid.test(entry.value))) {
+            missCount++;
+            return null;
+        }
+        // move the entry to the end
+        map.remove(key);
+        map.put(key, entry);
+        hitCount++;
+        return entry.value;
+    }
+
+    /**
+     * Adds the value for the given key, replacing any previous value, and
+     * evicts the least recently used values until the total weight fits
+     * into the cache again.
+     */
+    public synchronized void put(K key, V value, int valueWeight) {
+        if (valueWeight < 0 || valueWeight > maxWeight) {
+            return;
+        }
+        // remove first, so that the new entry is added at the end
+        final Entry<V> old = map.remove(key);
+        map.put(key, new Entry<>(value, valueWeight));
+        if (old != null) {
+            weight -= old.weight;
+        }
+        weight += valueWeight;
+        // the new entry is the most recently used, so it is never evicted
+        final Iterator<Entry<V>> entries = map.values().iterator();
+        while (weight > maxWeight) {
+            weight -= entries.next().weight;
+            entries.remove();
+            evictionCount++;
+        }
+    }
+
+    public synchronized void clear() {
+        map.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns the total weight of the values in the cache.
+     */
+    public synchronized int getWeight() {
+        return weight;
+    }
+
+    public int getMaxWeight() {
+        return maxWeight;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "LRUCache[size=" + map.size() + ", weight=" + weight + "/" + maxWeight
+                + ", hits=" + hitCount + ", misses=" + missCount
+                + ", evictions=" + evictionCount + "]";
+    }
+}
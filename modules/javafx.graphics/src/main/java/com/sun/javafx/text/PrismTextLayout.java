@@ -50,7 +50,6 @@ import java.text.Bidi;
 import java.text.BreakIterator;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Hashtable;
 
 public class PrismTextLayout implements TextLayout {
     private static final BaseTransform IDENTITY = BaseTransform.IDENTITY_TRANSFORM;
@@ -59,11 +58,10 @@ public class PrismTextLayout implements TextLayout {
     private static final int X_MAX_INDEX = 2;
     private static final int Y_MAX_INDEX = 3;
 
-    private static final Hashtable<Integer, LayoutCache> stringCache = new Hashtable<>();
-    private static final Object  CACHE_SIZE_LOCK = new Object();
-    private static int cacheSize = 0;
     private static final int MAX_STRING_SIZE = 256;
     private static final int MAX_CACHE_SIZE = PrismFontFactory.cacheLayoutSize;
+    /* Layouts of short strings, weighted by their number of chars */
+    private static final LRUCache<Integer, LayoutCache> stringCache = new LRUCache<>(MAX_CACHE_SIZE);
 
     private char[] text;
     private TextSpan[] spans;   /* Rich text  (null for single font text) */
@@ -668,6 +666,14 @@ public class PrismTextLayout implements TextLayout {
      *                                                                         *
      **************************************************************************/
 
+    /**
+     * Returns the cache of the layouts of short strings, which is shared by
+     * all the text layouts, for its statistics.
+     */
+    public static LRUCache<Integer, ?> getStringCache() {
+        return stringCache;
+    }
+
     private int getLineIndex(float y) {
         int index = 0;
         float bottom = 0;
@@ -691,8 +697,11 @@ public class PrismTextLayout implements TextLayout {
     private void initCache() {
         if (cacheKey != null) {
             if (layoutCache == null) {
-                LayoutCache cache = stringCache.get(cacheKey);
-                if (cache != null && cache.font.equals(font) && Arrays.equals(cache.text, text)) {
+                /* The key is a hash code, so only count a hit when the
+                 * cached layout is for the same font and text. */
+                LayoutCache cache = stringCache.get(cacheKey,
+                        c -> c.font.equals(font) && Arrays.equals(c.text, text));
+                if (cache != null) {
                     layoutCache = cache;
                     runs = cache.runs;
                     runCount = cache.runCount;
@@ -1292,7 +1301,8 @@ public class PrismTextLayout implements TextLayout {
 
 
         if (layoutCache != null) {
-            if (cacheKey != null && !layoutCache.valid && !copyCache()) {
+            final boolean share = cacheKey != null && !layoutCache.valid && !copyCache();
+            if (share) {
                 /* After layoutCache is added to the stringCache it can be
                  * accessed by multiple threads. All the data in it must
                  * be immutable. See copyCache() for the cases where the entire
@@ -1306,17 +1316,13 @@ public class PrismTextLayout implements TextLayout {
                 layoutCache.layoutWidth = layoutWidth;
                 layoutCache.layoutHeight = layoutHeight;
                 layoutCache.analysis = flags & ANALYSIS_MASK;
-                synchronized (CACHE_SIZE_LOCK) {
-                    int charCount = chars.length;
-                    if (cacheSize + charCount > MAX_CACHE_SIZE) {
-                        stringCache.clear();
-                        cacheSize = 0;
-                    }
-                    stringCache.put(cacheKey, layoutCache);
-                    cacheSize += charCount;
-                }
             }
             layoutCache.valid = true;
+            if (share) {
+                /* Only add it once it is complete, since other threads
+                 * fill in the glyphs and advances of an invalid one. */
+                stringCache.put(cacheKey, layoutCache, chars.length);
+            }
         }
     }
 
@@ -41,6 +41,7 @@ import com.sun.prism.impl.shape.MaskData;
 import com.sun.prism.paint.Color;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.WeakHashMap;
 
@@ -77,18 +78,22 @@ public class GlyphCache {
     // Using them for subpixel
     private static final int SUBPIXEL_SHIFT = 27;
 
-    private RectanglePacker packer;
+    // Maximum number of levels reclaimed to make room for a single glyph
+    // before falling back to clearing the whole cache.
+    private static final int MAX_RECLAIMED_LEVELS = 4;
+
+    private GlyphAtlas atlas;
 
     private boolean isLCDCache;
 
     /* Share a RectanglePacker and its associated texture cache
      * for all uses on a particular screen.
      */
-    static WeakHashMap<BaseContext, RectanglePacker> greyPackerMap =
-        new WeakHashMap<BaseContext, RectanglePacker>();
+    static WeakHashMap<BaseContext, GlyphAtlas> greyAtlasMap =
+        new WeakHashMap<BaseContext, GlyphAtlas>();
 
-    static WeakHashMap<BaseContext, RectanglePacker> lcdPackerMap =
-        new WeakHashMap<BaseContext, RectanglePacker>();
+    static WeakHashMap<BaseContext, GlyphAtlas> lcdAtlasMap =
+        new WeakHashMap<BaseContext, GlyphAtlas>();
 
     public GlyphCache(BaseContext context, FontStrike strike) {
         this.context = context;
@@ -97,10 +102,10 @@ public class GlyphCache {
         //int numSegments = (numGlyphs + SEGSIZE-1)/SEGSIZE;
         //this.glyphs = new GlyphData[numSegments][];
         isLCDCache = strike.getAAMode() == FontResource.AA_LCD;
-        WeakHashMap<BaseContext, RectanglePacker>
-            packerMap = isLCDCache ? lcdPackerMap : greyPackerMap;
-        packer = packerMap.get(context);
-        if (packer == null) {
+        WeakHashMap<BaseContext, GlyphAtlas>
+            atlasMap = isLCDCache ? lcdAtlasMap : greyAtlasMap;
+        atlas = atlasMap.get(context);
+        if (atlas == null) {
             ResourceFactory factory = context.getResourceFactory();
             Texture tex = factory.createMaskTexture(WIDTH, HEIGHT,
                                                     WrapMode.CLAMP_NOT_NEEDED);
@@ -110,8 +115,8 @@ public class GlyphCache {
                 factory.setGlyphTexture(tex);
             }
             tex.setLinearFiltering(false);
-            packer = new RectanglePacker(tex, WIDTH, HEIGHT);
-            packerMap.put(context, packer);
+            atlas = new GlyphAtlas(new RectanglePacker(tex, WIDTH, HEIGHT));
+            atlasMap.put(context, atlas);
         }
     }
 
@@ -129,6 +134,7 @@ public class GlyphCache {
         }
         Texture tex = getBackingStore();
         VertexBuffer vb = ctx.getVertexBuffer();
+        long useCount = ++atlas.useCount;
 
         int len = gl.getGlyphCount();
         Color currentColor = null;
@@ -148,6 +154,9 @@ public class GlyphCache {
             int subPixel = strike.getQuantizedPosition(pt);
             GlyphData data = getCachedGlyph(gc, subPixel);
             if (data != null) {
+                if (data.level != null) {
+                    data.level.lastUsed = useCount;
+                }
                 if (clip != null) {
                     // Always check clipping using user space.
                     if (x + gl.getPosX(gi) > clip.getMaxX()) break;
@@ -223,7 +232,7 @@ public class GlyphCache {
     }
 
     public Texture getBackingStore() {
-        return packer.getBackingStore();
+        return atlas.packer.getBackingStore();
     }
 
     public void clear() {
@@ -235,7 +244,44 @@ public class GlyphCache {
         // of the glyph cache texture.
         context.flushVertexBuffer();
         context.clearGlyphCaches();
-        packer.clear();
+        atlas.clear();
+    }
+
+    /**
+     * Makes room for the given rectangle by evicting the glyphs of the least
+     * recently used levels of the packer, all strikes included.
+     *
+     * @return true if the rectangle could be added to the packer
+     */
+    private boolean reclaimAndAdd(Rectangle rect) {
+        boolean flushed = false;
+        for (int i = 0; i < MAX_RECLAIMED_LEVELS; i++) {
+            LevelData victim = atlas.findLeastRecentlyUsed(rect.height);
+            if (victim == null) {
+                return false;
+            }
+            if (!flushed) {
+                // flush any pending vertices that may refer to the glyphs
+                // about to be evicted.
+                context.flushVertexBuffer();
+                flushed = true;
+            }
+            atlas.evict(victim);
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Font Glyph Cache Level Evicted");
+            }
+            if (atlas.packer.add(rect)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remove(int segIndex, int subIndex, GlyphData data) {
+        GlyphData[] segment = glyphDataMap.get(segIndex);
+        if (segment != null && segment[subIndex] == data) {
+            segment[subIndex] = null;
+        }
     }
 
     private GlyphData getCachedGlyph(int glyphCode, int subPixel) {
@@ -245,12 +291,18 @@ public class GlyphCache {
         GlyphData[] segment = glyphDataMap.get(segIndex);
         if (segment != null) {
             if (segment[subIndex] != null) {
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Font Glyph Cache Hit");
+                }
                 return segment[subIndex];
             }
         } else {
             segment = new GlyphData[SEGSIZE];
             glyphDataMap.put(segIndex, segment);
         }
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Font Glyph Cache Miss");
+        }
 
         // Render the glyph and insert it in the cache
         GlyphData data = null;
@@ -285,14 +337,15 @@ public class GlyphCache {
                                      glyph.getPixelYAdvance(),
                                      rect);
 
-                if (!packer.add(rect)) {
+                if (!atlas.packer.add(rect) && !reclaimAndAdd(rect)) {
                     if (PULSE_LOGGING_ENABLED) {
                         PulseLogger.incrementCounter("Font Glyph Cache Cleared");
                     }
-                    // If add fails,clear up the cache. Try add again.
+                    // If reclaiming fails, clear up the cache. Try add again.
                     clearAll();
-                    packer.add(rect);
+                    atlas.packer.add(rect);
                 }
+                atlas.track(this, segIndex, subIndex, data);
 
                 // We always pass skipFlush=true to backingStore.update()
                 // since we are in control of the contents of the backingStore
@@ -336,6 +389,86 @@ public class GlyphCache {
         return data;
     }
 
+    /**
+     * The RectanglePacker shared by all the GlyphCaches of a context, along
+     * with the glyphs stored in each of its levels and the last time they
+     * were used, so that the least recently used levels can be reclaimed
+     * when the packer is full.
+     */
+    static class GlyphAtlas {
+        final RectanglePacker packer;
+
+        // levels of the packer, keyed by their y offset
+        private final HashMap<Integer, LevelData> levels =
+            new HashMap<Integer, LevelData>();
+
+        // incremented for each rendered glyph list
+        long useCount;
+
+        GlyphAtlas(RectanglePacker packer) {
+            this.packer = packer;
+        }
+
+        void track(GlyphCache owner, int segIndex, int subIndex, GlyphData data) {
+            Rectangle rect = data.getRect();
+            LevelData level = levels.get(rect.y);
+            if (level == null) {
+                level = new LevelData(rect, packer.getLevelSize(rect));
+                levels.put(rect.y, level);
+            }
+            data.owner = owner;
+            data.segIndex = segIndex;
+            data.subIndex = subIndex;
+            data.level = level;
+            level.lastUsed = useCount;
+            level.glyphs.add(data);
+        }
+
+        /**
+         * Returns the least recently used level able to hold a rectangle of
+         * the given height, ignoring the levels used by the glyph list being
+         * rendered.
+         */
+        LevelData findLeastRecentlyUsed(int height) {
+            LevelData lru = null;
+            for (LevelData level : levels.values()) {
+                if (level.size >= height && level.lastUsed < useCount &&
+                    (lru == null || level.lastUsed < lru.lastUsed))
+                {
+                    lru = level;
+                }
+            }
+            return lru;
+        }
+
+        void evict(LevelData level) {
+            for (GlyphData data : level.glyphs) {
+                data.owner.remove(data.segIndex, data.subIndex, data);
+                data.level = null;
+            }
+            levels.remove(level.rect.y);
+            packer.clearLevel(level.rect);
+        }
+
+        void clear() {
+            levels.clear();
+            packer.clear();
+        }
+    }
+
+    static class LevelData {
+        // A rectangle placed in this level, identifying it in the packer
+        final Rectangle rect;
+        final int size;
+        final ArrayList<GlyphData> glyphs = new ArrayList<GlyphData>();
+        long lastUsed;
+
+        LevelData(Rectangle rect, int size) {
+            this.rect = new Rectangle(rect);
+            this.size = size;
+        }
+    }
+
     static class GlyphData {
         // The following must be defined and used VERY precisely. This is
         // the offset from the upper-left corner of this rectangle (Java
@@ -355,6 +488,13 @@ public class GlyphCache {
         // The rectangle on the backing store corresponding to this glyph
         private final Rectangle rect;
 
+        // The cache entry of this glyph and the level of the backing store
+        // holding it, used to evict the glyph along with its level
+        private GlyphCache owner;
+        private int segIndex;
+        private int subIndex;
+        private LevelData level;
+
         GlyphData(int originX, int originY, int blankBoundary,
                   float xAdvance, float yAdvance, Rectangle rect)
         {
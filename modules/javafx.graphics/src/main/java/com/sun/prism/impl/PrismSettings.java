@@ -87,6 +87,9 @@ public final class PrismSettings {
     public static final boolean forceUploadingPainter;
     public static final boolean forceAlphaTestShader;
     public static final boolean forceNonAntialiasedShape;
+    public static final boolean swTiledRendering;
+    public static final int swTileCount;
+    public static final boolean sortBatches;
 
     public static enum RasterizerType {
         JavaPisces("Java-based Pisces Rasterizer"),
@@ -390,6 +393,17 @@ public final class PrismSettings {
         // Force non anti-aliasing (not smooth) shape rendering
         forceNonAntialiasedShape = getBoolean(systemProperties, "prism.forceNonAntialiasedShape", false);
 
+        // Split the SW pipeline render target into horizontal tiles that are
+        // rasterized in parallel
+        swTiledRendering = getBoolean(systemProperties, "prism.sw.tiled", false);
+        swTileCount = Utils.clamp(1, getInt(systemProperties, "prism.sw.tiles",
+                Runtime.getRuntime().availableProcessors(),
+                "Try -Dprism.sw.tiles=<number>"), 64);
+
+        // Reorder non-overlapping 2D operations so that operations sharing
+        // the same shader and textures are submitted together
+        sortBatches = getBoolean(systemProperties, "prism.sortbatches", false);
+
     }
 
     private static int parseInt(String s, int dflt, int trueDflt,
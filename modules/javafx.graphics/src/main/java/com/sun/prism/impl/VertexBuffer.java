@@ -35,9 +35,9 @@ public final class VertexBuffer {
 
     protected static final int FLOATS_PER_TC   = 2;
     protected static final int FLOATS_PER_VC   = 3;
-    protected static final int FLOATS_PER_VERT = FLOATS_PER_VC + (2 * FLOATS_PER_TC);
+    public static final int FLOATS_PER_VERT = FLOATS_PER_VC + (2 * FLOATS_PER_TC);
 
-    protected static final int BYTES_PER_VERT = 4;
+    public static final int BYTES_PER_VERT = 4;
 
     protected static final int VCOFF = 0;
     protected static final int TC1OFF = VCOFF  + FLOATS_PER_VC;
@@ -104,6 +104,13 @@ public final class VertexBuffer {
         index = 0;
     }
 
+    /**
+     * Returns the number of pending vertices in the buffer.
+     */
+    public final int getVertexCount() {
+        return index;
+    }
+
     private void grow() {
         capacity *= 2;
         colorArray = Arrays.copyOf(colorArray, capacity * BYTES_PER_VERT);
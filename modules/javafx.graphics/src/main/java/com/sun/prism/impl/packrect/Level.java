@@ -39,6 +39,17 @@ class Level {
         this.sizeOffset = sizeOffset;
     }
 
+    int getSizeOffset() {
+        return sizeOffset;
+    }
+
+    /**
+     * Frees all the rectangles of this level, keeping its size and position.
+     */
+    void clear() {
+        lengthOffset = 0;
+    }
+
     /**
      * Tries to add the given rectangle to this level.
      */
@@ -141,6 +141,14 @@ public class RectanglePacker {
 
         // Try to add a new Level.
         if (!newLevelFlag) {
+            // Levels preceding newIndex may have room again if they were
+            // emptied by clearLevel()
+            for (int i = 0; i < newIndex; i++) {
+                if (levels.get(i).add(rect, x, y, requestedLength, requestedSize, vertical)) {
+                    recentUsedLevelIndex = i;
+                    return true;
+                }
+            }
             return false;
         }
 
@@ -168,6 +176,45 @@ public class RectanglePacker {
         recentUsedLevelIndex = 0;
     }
 
+    /**
+     * Returns the size of the level containing the given rectangle, which
+     * must have been placed by this RectanglePacker, or -1 if there is no
+     * such level.
+     */
+    public int getLevelSize(Rectangle rect) {
+        Level level = findLevel(rect);
+        return level == null ? -1 : level.size;
+    }
+
+    /**
+     * Clears all Rectangles contained in the level holding the given
+     * rectangle, which must have been placed by this RectanglePacker.
+     * The space of the level can then be reused by subsequent calls to
+     * {@link #add}. The caller is responsible for no longer using any of
+     * the rectangles previously placed in that level.
+     *
+     * @return true if the level was found and cleared
+     */
+    public boolean clearLevel(Rectangle rect) {
+        Level level = findLevel(rect);
+        if (level == null) {
+            return false;
+        }
+        level.clear();
+        return true;
+    }
+
+    private Level findLevel(Rectangle rect) {
+        final int offset = vertical ? rect.x - x : rect.y - y;
+        for (int i = 0, max = levels.size(); i < max; i++) {
+            Level level = levels.get(i);
+            if (level.getSizeOffset() == offset) {
+                return level;
+            }
+        }
+        return null;
+    }
+
     /**
      * Disposes the backing store allocated by the
      * BackingStoreManager. This RectanglePacker may no longer be used
@@ -31,6 +31,7 @@ import com.sun.javafx.geom.transform.Affine3D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
 import com.sun.javafx.sg.prism.NGCamera;
+import com.sun.javafx.sg.prism.NGParallelCamera;
 import com.sun.prism.CompositeMode;
 import com.sun.prism.PixelFormat;
 import com.sun.prism.RTTexture;
@@ -39,6 +40,7 @@ import com.sun.prism.ResourceFactory;
 import com.sun.prism.Texture;
 import com.sun.prism.impl.BaseContext;
 import com.sun.prism.impl.BaseGraphics;
+import com.sun.prism.impl.PrismSettings;
 import com.sun.prism.paint.Color;
 import com.sun.prism.paint.Gradient;
 import com.sun.prism.paint.ImagePattern;
@@ -47,6 +49,7 @@ import com.sun.prism.paint.Paint;
 import com.sun.prism.paint.RadialGradient;
 import com.sun.prism.ps.Shader;
 import com.sun.prism.ps.ShaderFactory;
+import java.util.Arrays;
 
 /**
  * Maintains resources such as Shaders and GlyphCaches that are intended to
@@ -160,12 +163,31 @@ public abstract class BaseShaderContext extends BaseContext {
 
     private State state;
 
+    private StateSortingBatcher batcher;
+
     protected BaseShaderContext(Screen screen, ShaderFactory factory, int vbQuads) {
         super(screen, factory, vbQuads);
         this.factory = factory;
+        if (PrismSettings.sortBatches) {
+            batcher = new StateSortingBatcher();
+        }
         init();
     }
 
+    /**
+     * Enables or disables the reordering of non-overlapping 2D operations
+     * so that operations using the same shader and textures are drawn
+     * together, see {@code StateSortingBatcher}.
+     */
+    protected void setStateSortingEnabled(boolean enabled) {
+        if (enabled != (batcher != null)) {
+            if (state != null) {
+                flushVertexBuffer();
+            }
+            batcher = enabled ? new StateSortingBatcher() : null;
+        }
+    }
+
     protected void init() {
         state = null;
         if (externalShader != null && !externalShader.isValid()) {
@@ -196,6 +218,10 @@ public abstract class BaseShaderContext extends BaseContext {
 
     @Override
     protected void setPerspectiveTransform(GeneralTransform3D transform) {
+        if (batcher != null) {
+            // pending vertices must not be deferred past a projection change
+            flushVertexBuffer();
+        }
         state.isXformValid = false;
         super.setPerspectiveTransform(transform);
     }
@@ -326,6 +352,114 @@ public abstract class BaseShaderContext extends BaseContext {
                 || state.lastShader == specialShaders[SpecialShaderType.SUPER.ordinal()];
     }
 
+    /*
+     * Returns true if the given shader has no parameters besides its
+     * transform and the bound textures, so that the vertices rendered with
+     * it can be drawn later or together with those of other operations.
+     * These are the stock shaders for color paints, and the shaders for
+     * plain texture operations.
+     */
+    private boolean isSortable(Shader shader) {
+        if (shader == null || shader == externalShader) {
+            return false;
+        }
+        int rgb = SpecialShaderType.TEXTURE_RGB.ordinal();
+        int sup = SpecialShaderType.SUPER.ordinal();
+        if (shader == specialShaders[rgb] || shader == specialATShaders[rgb] ||
+            shader == specialShaders[sup] || shader == specialATShaders[sup])
+        {
+            return true;
+        }
+        // see getStockShaderIndex()
+        for (int i = Paint.Type.COLOR.ordinal() << 2; i < NUM_STOCK_SHADER_SLOTS; i += 1 << 4) {
+            if (shader == stockShaders[i] || shader == stockATShaders[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Called before the shader or a texture binding changes. With state
+     * sorting enabled, the pending vertices are kept in the vertex buffer
+     * as a segment with the current bindings instead of being flushed.
+     * Returns true if the vertex buffer was not flushed.
+     */
+    private boolean deferForBindingChange() {
+        if (batcher == null || state.lastState3D || batcher.isFull() ||
+            !isSortable(state.lastShader) || !isProjectionFlat())
+        {
+            flushVertexBuffer();
+            return false;
+        }
+        batcher.endSegment(getVertexBuffer().getVertexCount(),
+                           state.lastShader, state.lastTextures, true);
+        return true;
+    }
+
+    /*
+     * Returns true if vertices are projected onto the render target by the
+     * parallel camera alone, so that their transformed coordinates are device
+     * pixels. The overlap tests of the batcher are only valid in that case,
+     * which is why segments are never deferred under a perspective camera or
+     * a perspective transform (changing either of them flushes the vertex
+     * buffer).
+     */
+    private boolean isProjectionFlat() {
+        return (state.lastCamera == null || state.lastCamera instanceof NGParallelCamera) &&
+               getPerspectiveTransformNoClone().isIdentity();
+    }
+
+    @Override
+    public void drawQuads(float coordArray[], byte colorArray[], int numVertices) {
+        if (batcher == null || batcher.isEmpty()) {
+            super.drawQuads(coordArray, colorArray, numVertices);
+            return;
+        }
+        Shader curShader = state.lastShader;
+        Texture[] curTextures = state.lastTextures;
+        boundShader = curShader;
+        System.arraycopy(curTextures, 0, boundTextures, 0, boundTextures.length);
+        batcher.flush(this, coordArray, colorArray, numVertices,
+                      state.lastTransform,
+                      curShader, curTextures,
+                      isSortable(curShader) && isProjectionFlat());
+        // restore the bindings of the operation in progress
+        bindGroup(curShader, curTextures, 0);
+        boundShader = null;
+        Arrays.fill(boundTextures, null);
+    }
+
+    /* bindings in effect while the batcher draws its segments */
+    private Shader boundShader;
+    private final Texture[] boundTextures = new Texture[4];
+
+    private void bindGroup(Shader shader, Texture[] textures, int off) {
+        if (shader != boundShader && shader != null) {
+            shader.enable();
+            updateShaderTransform(shader, state.lastTransform);
+            boundShader = shader;
+        }
+        for (int t = 0; t < boundTextures.length; t++) {
+            Texture tex = textures[off + t];
+            if (tex != boundTextures[t]) {
+                updateTexture(t, tex);
+                boundTextures[t] = tex;
+            }
+        }
+    }
+
+    /**
+     * Draws a group of vertices recorded by the {@code StateSortingBatcher}
+     * with the given shader and textures.
+     */
+    void renderGroup(Shader shader, Texture[] textures, int off,
+                     float coordArray[], byte colorArray[], int numVertices)
+    {
+        bindGroup(shader, textures, off);
+        super.drawQuads(coordArray, colorArray, numVertices);
+    }
+
     private void updatePerVertexColor(Paint paint, float extraAlpha) {
         if (paint != null && paint.getType() == Paint.Type.COLOR) {
             getVertexBuffer().setPerVertexColor((Color)paint, extraAlpha);
@@ -650,9 +784,10 @@ public abstract class BaseShaderContext extends BaseContext {
     {
         setRenderTarget(g);
 
+        boolean deferred = false;
         if ((checkFlags & CHECK_SHADER) != 0) {
             if (shader != state.lastShader) {
-                flushVertexBuffer();
+                deferred = deferForBindingChange();
                 shader.enable();
                 state.lastShader = shader;
                 // the transform matrix is part of the state of each shader
@@ -665,7 +800,10 @@ public abstract class BaseShaderContext extends BaseContext {
 
         if ((checkFlags & CHECK_TRANSFORM) != 0) {
             if (!state.isXformValid || !xform.equals(state.lastTransform)) {
-                flushVertexBuffer();
+                // a shader change alone does not invalidate deferred segments
+                if (!deferred || !xform.equals(state.lastTransform)) {
+                    flushVertexBuffer();
+                }
                 updateShaderTransform(shader, xform);
                 state.lastTransform.setTransform(xform);
                 state.isXformValid = true;
@@ -694,7 +832,7 @@ public abstract class BaseShaderContext extends BaseContext {
     private void setTexture(int texUnit, Texture tex) {
         if (tex != null) tex.assertLocked();
         if (tex != state.lastTextures[texUnit]) {
-            flushVertexBuffer();
+            deferForBindingChange();
             updateTexture(texUnit, tex);
             state.lastTextures[texUnit] = tex;
         }
@@ -790,6 +928,9 @@ public abstract class BaseShaderContext extends BaseContext {
 
     @Override
     protected void releaseRenderTarget() {
+        if (batcher != null && !batcher.isEmpty()) {
+            flushVertexBuffer();
+        }
         // Null out hard references that cause memory leak reported in RT-17304
         if (state != null) {
             state.lastRenderTarget = null;
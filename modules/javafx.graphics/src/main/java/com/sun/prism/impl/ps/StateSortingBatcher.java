@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl.ps;
+
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.prism.Texture;
+import com.sun.prism.impl.VertexBuffer;
+import com.sun.prism.ps.Shader;
+import java.util.Arrays;
+
+/**
+ * Records the contents of the vertex buffer as a list of segments, one for
+ * every run of vertices rendered with the same shader and texture bindings,
+ * so that changing those bindings does not require an immediate flush.
+ * <p>
+ * When the vertex buffer is flushed, segments with the same bindings are
+ * merged into a single draw call. A segment is only moved ahead of the
+ * segments recorded before it if it does not touch any of their pixels, so
+ * the result is the same as drawing the segments in submission order.
+ * Segments can only be merged if their shader does not depend on parameters
+ * that are set for each operation, see
+ * {@code BaseShaderContext.isSortable()}.
+ * <p>
+ * The bounds of a segment are computed with the 2D transform of its
+ * operation only and are therefore assumed to be in device pixels. The
+ * context does not defer segments while a perspective camera or a
+ * perspective transform is in effect, since those projections are not
+ * taken into account here.
+ */
+final class StateSortingBatcher {
+
+    /* maximum number of segments before the vertex buffer is flushed */
+    static final int MAX_SEGMENTS = 64;
+
+    private static final int NUM_TEXTURES = 4;
+    private static final int FLOATS_PER_VERT = VertexBuffer.FLOATS_PER_VERT;
+    private static final int BYTES_PER_VERT = VertexBuffer.BYTES_PER_VERT;
+
+    private final int[] starts = new int[MAX_SEGMENTS + 1];
+    private final int[] ends = new int[MAX_SEGMENTS + 1];
+    private final boolean[] sortable = new boolean[MAX_SEGMENTS + 1];
+    private final boolean[] emitted = new boolean[MAX_SEGMENTS + 1];
+    private final Shader[] shaders = new Shader[MAX_SEGMENTS + 1];
+    private final Texture[] textures = new Texture[(MAX_SEGMENTS + 1) * NUM_TEXTURES];
+    /* pixel bounds of each segment in device space: x0, y0, x1, y1 */
+    private final int[] bounds = new int[(MAX_SEGMENTS + 1) * 4];
+    private final RectBounds tmpBounds = new RectBounds();
+
+    private int numSegments;
+    /* first vertex of the segment that is currently being recorded */
+    private int mark;
+
+    private float[] groupCoords = new float[0];
+    private byte[] groupColors = new byte[0];
+
+    boolean isEmpty() {
+        return numSegments == 0;
+    }
+
+    boolean isFull() {
+        return numSegments == MAX_SEGMENTS;
+    }
+
+    /**
+     * Ends the current segment at the given vertex. The textures of the
+     * segment stay locked until the segment has been drawn.
+     */
+    void endSegment(int vertexCount, Shader shader, Texture[] boundTextures,
+                    boolean canSort)
+    {
+        if (vertexCount <= mark) {
+            return;
+        }
+        int i = numSegments++;
+        starts[i] = mark;
+        ends[i] = vertexCount;
+        sortable[i] = canSort;
+        shaders[i] = shader;
+        for (int t = 0; t < NUM_TEXTURES; t++) {
+            Texture tex = boundTextures[t];
+            if (tex != null) {
+                tex.lock();
+            }
+            textures[i * NUM_TEXTURES + t] = tex;
+        }
+        mark = vertexCount;
+    }
+
+    /**
+     * Draws all segments, including the current one which ends at
+     * {@code numVertices}, and resets the batcher.
+     */
+    void flush(BaseShaderContext context,
+               float coordArray[], byte colorArray[], int numVertices,
+               BaseTransform xform,
+               Shader shader, Texture[] boundTextures, boolean canSort)
+    {
+        endSegment(numVertices, shader, boundTextures, canSort);
+
+        final int n = numSegments;
+        for (int i = 0; i < n; i++) {
+            computeBounds(i, coordArray, xform);
+        }
+        for (int i = 0; i < n; i++) {
+            if (emitted[i]) {
+                continue;
+            }
+            emitted[i] = true;
+            int count = ends[i] - starts[i];
+            boolean merged = false;
+            if (sortable[i]) {
+                for (int j = i + 1; j < n; j++) {
+                    if (!emitted[j] && sortable[j] && hasSameBindings(i, j) && canMoveAfter(i, j)) {
+                        if (!merged) {
+                            copyVertices(i, 0, coordArray, colorArray);
+                            merged = true;
+                        }
+                        copyVertices(j, count, coordArray, colorArray);
+                        count += ends[j] - starts[j];
+                        emitted[j] = true;
+                    }
+                }
+            }
+            if (merged) {
+                context.renderGroup(shaders[i], textures, i * NUM_TEXTURES,
+                                    groupCoords, groupColors, count);
+            } else if (starts[i] == 0) {
+                context.renderGroup(shaders[i], textures, i * NUM_TEXTURES,
+                                    coordArray, colorArray, count);
+            } else {
+                copyVertices(i, 0, coordArray, colorArray);
+                context.renderGroup(shaders[i], textures, i * NUM_TEXTURES,
+                                    groupCoords, groupColors, count);
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            for (int t = i * NUM_TEXTURES; t < (i + 1) * NUM_TEXTURES; t++) {
+                if (textures[t] != null) {
+                    textures[t].unlock();
+                    textures[t] = null;
+                }
+            }
+            shaders[i] = null;
+            emitted[i] = false;
+        }
+        numSegments = 0;
+        mark = 0;
+    }
+
+    private boolean hasSameBindings(int i, int j) {
+        if (shaders[i] != shaders[j]) {
+            return false;
+        }
+        for (int t = 0; t < NUM_TEXTURES; t++) {
+            if (textures[i * NUM_TEXTURES + t] != textures[j * NUM_TEXTURES + t]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Segment j can be drawn right after segment i if it does not share
+     * any pixel with the segments in between that are still to be drawn.
+     */
+    private boolean canMoveAfter(int i, int j) {
+        for (int k = i + 1; k < j; k++) {
+            if (!emitted[k] && intersects(k, j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean intersects(int a, int b) {
+        a *= 4;
+        b *= 4;
+        return bounds[a    ] < bounds[b + 2] && bounds[b    ] < bounds[a + 2] &&
+               bounds[a + 1] < bounds[b + 3] && bounds[b + 1] < bounds[a + 3];
+    }
+
+    /*
+     * The perspective projection, if any, is ignored: segments are only
+     * deferred when vertices are projected by a parallel camera.
+     */
+    private void computeBounds(int i, float coordArray[], BaseTransform xform) {
+        float x0 = Float.POSITIVE_INFINITY;
+        float y0 = Float.POSITIVE_INFINITY;
+        float x1 = Float.NEGATIVE_INFINITY;
+        float y1 = Float.NEGATIVE_INFINITY;
+        for (int v = starts[i]; v < ends[i]; v++) {
+            float x = coordArray[v * FLOATS_PER_VERT];
+            float y = coordArray[v * FLOATS_PER_VERT + 1];
+            if (x < x0) x0 = x;
+            if (y < y0) y0 = y;
+            if (x > x1) x1 = x;
+            if (y > y1) y1 = y;
+        }
+        BaseBounds b = tmpBounds.deriveWithNewBounds(x0, y0, 0, x1, y1, 0);
+        if (!xform.isIdentity()) {
+            b = xform.transform(b, b);
+        }
+        // conservatively round out to the pixels that may be touched
+        bounds[i * 4    ] = (int) Math.floor(b.getMinX());
+        bounds[i * 4 + 1] = (int) Math.floor(b.getMinY());
+        bounds[i * 4 + 2] = (int) Math.ceil(b.getMaxX());
+        bounds[i * 4 + 3] = (int) Math.ceil(b.getMaxY());
+    }
+
+    private void copyVertices(int i, int dstVertex, float coordArray[], byte colorArray[]) {
+        int numVerts = ends[i] - starts[i];
+        int needVerts = dstVertex + numVerts;
+        if (groupCoords.length < needVerts * FLOATS_PER_VERT) {
+            int newVerts = Math.max(needVerts, groupCoords.length / FLOATS_PER_VERT * 2);
+            groupCoords = Arrays.copyOf(groupCoords, newVerts * FLOATS_PER_VERT);
+            groupColors = Arrays.copyOf(groupColors, newVerts * BYTES_PER_VERT);
+        }
+        System.arraycopy(coordArray, starts[i] * FLOATS_PER_VERT,
+                         groupCoords, dstVertex * FLOATS_PER_VERT,
+                         numVerts * FLOATS_PER_VERT);
+        System.arraycopy(colorArray, starts[i] * BYTES_PER_VERT,
+                         groupColors, dstVertex * BYTES_PER_VERT,
+                         numVerts * BYTES_PER_VERT);
+    }
+}
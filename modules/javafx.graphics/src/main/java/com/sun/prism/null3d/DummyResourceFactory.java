@@ -49,7 +49,11 @@ class DummyResourceFactory extends BaseShaderFactory {
     private final DummyContext context;
 
     DummyResourceFactory(Screen screen) {
-        this.context = new DummyContext(screen, this);
+        this.context = createContext(screen);
+    }
+
+    DummyContext createContext(Screen screen) {
+        return new DummyContext(screen, this);
     }
 
     DummyContext getContext() {
@@ -52,6 +52,7 @@ import com.sun.prism.impl.shape.OpenPiscesPrismUtils;
 import com.sun.prism.impl.shape.ShapeUtil;
 
 import java.lang.ref.SoftReference;
+import java.util.Arrays;
 
 final class SWContext {
 
@@ -61,14 +62,14 @@ final class SWContext {
     private SoftReference<SWArgbPreTexture> imagePaintTextureRef;
 
     interface ShapeRenderer {
-        void renderShape(PiscesRenderer pr, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape);
+        void renderShape(PiscesRenderer pr, SWTiledRenderer tiles, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape);
         void dispose();
     }
 
     class NativeShapeRenderer implements ShapeRenderer {
         private SoftReference<SWMaskTexture> maskTextureRef;
 
-        public void renderShape(PiscesRenderer pr, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
+        public void renderShape(PiscesRenderer pr, SWTiledRenderer tiles, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
             final MaskData mask = ShapeUtil.rasterizeShape(shape, stroke, clip.toRectBounds(), tr, true, antialiasedShape);
             final SWMaskTexture tex = this.validateMaskTexture(mask.getWidth(), mask.getHeight());
             mask.uploadToTexture(tex, 0, 0, false);
@@ -114,7 +115,7 @@ final class SWContext {
     static final class JavaShapeRenderer implements ShapeRenderer {
         private final DirectRTPiscesAlphaConsumer alphaConsumer = new DirectRTPiscesAlphaConsumer();
 
-        public void renderShape(PiscesRenderer pr, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
+        public void renderShape(PiscesRenderer pr, SWTiledRenderer tiles, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
             if (stroke != null && stroke.getType() != BasicStroke.TYPE_CENTERED) {
                 // RT-27427
                 // TODO: Optimize the combinatorial strokes for simple
@@ -135,9 +136,10 @@ final class SWContext {
 
     static final class MarlinShapeRenderer implements ShapeRenderer {
         private final DirectRTMarlinAlphaConsumer alphaConsumer = new DirectRTMarlinAlphaConsumer();
+        private final TiledMarlinAlphaConsumer tiledAlphaConsumer = new TiledMarlinAlphaConsumer();
 
         @Override
-        public void renderShape(PiscesRenderer pr, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
+        public void renderShape(PiscesRenderer pr, SWTiledRenderer tiles, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
             if (stroke != null && stroke.getType() != BasicStroke.TYPE_CENTERED) {
                 // RT-27427
                 // TODO: Optimize the combinatorial strokes for simple
@@ -168,8 +170,14 @@ final class SWContext {
                 if ((w <= 0) || (h <= 0)) {
                     return;
                 }
-                alphaConsumer.initConsumer(outpix_xmin, outpix_ymin, w, h, pr);
-                renderer.produceAlphas(alphaConsumer);
+                if (tiles != null && tiles.shouldSplit(outpix_ymin, outpix_ymax, w)) {
+                    tiledAlphaConsumer.initConsumer(outpix_xmin, outpix_ymin, w, h, tiles);
+                    renderer.produceAlphas(tiledAlphaConsumer);
+                    tiledAlphaConsumer.flush();
+                } else {
+                    alphaConsumer.initConsumer(outpix_xmin, outpix_ymin, w, h, pr);
+                    renderer.produceAlphas(alphaConsumer);
+                }
             } finally {
                 if (renderer != null) {
                     renderer.dispose();
@@ -271,11 +279,162 @@ final class SWContext {
         }
     }
 
+    /**
+     * Alpha consumer buffering the rows produced by the Marlin renderer, so
+     * that they can be blended by all the tiles of a {@code SWTiledRenderer}
+     * in parallel. Rows are replayed with the very same alpha deltas, so the
+     * result is identical to the one of {@code DirectRTMarlinAlphaConsumer}.
+     */
+    static final class TiledMarlinAlphaConsumer implements MarlinAlphaConsumer {
+        // upper bound of buffered alpha deltas before the rows are flushed
+        private static final int MAX_BUFFERED_DELTAS = 1 << 20;
+
+        private byte alpha_map[];
+        private int x;
+        private int y;
+        private int w;
+        private int h;
+        private int rowNum;
+
+        private SWTiledRenderer tiles;
+
+        private int numRows;
+        private int[] rowY = new int[64];
+        private int[] rowFrom = new int[64];
+        private int[] rowTo = new int[64];
+        private int[] rowOffset = new int[64];
+        private int[] rowNums = new int[64];
+        private int[] deltas = new int[4096];
+        private int deltasUsed;
+
+        private final SWTiledRenderer.TileOp emitRows = (tpr, minY, maxY) -> {
+            final int n = numRows;
+            int i = 0;
+            while (i < n && rowY[i] < minY) {
+                i++;
+            }
+            for (; i < n && rowY[i] < maxY; i++) {
+                tpr.emitAndClearAlphaRow(alpha_map, deltas, rowY[i], rowFrom[i], rowTo[i],
+                                         rowOffset[i], rowNums[i]);
+            }
+        };
+
+        public void initConsumer(int x, int y, int w, int h, SWTiledRenderer tiles) {
+            this.x = x;
+            this.y = y;
+            this.w = w;
+            this.h = h;
+            rowNum = 0;
+            this.tiles = tiles;
+        }
+
+        void flush() {
+            if (numRows != 0) {
+                tiles.render(rowY[0], rowY[numRows - 1] + 1, emitRows);
+                numRows = 0;
+                deltasUsed = 0;
+            }
+        }
+
+        @Override
+        public int getOriginX() {
+            return x;
+        }
+
+        @Override
+        public int getOriginY() {
+            return y;
+        }
+
+        @Override
+        public int getWidth() {
+            return w;
+        }
+
+        @Override
+        public int getHeight() {
+            return h;
+        }
+
+        @Override
+        public void setMaxAlpha(int maxalpha) {
+            if ((alpha_map == null) || (alpha_map.length != maxalpha+1)) {
+                alpha_map = new byte[maxalpha+1];
+                for (int i = 0; i <= maxalpha; i++) {
+                    alpha_map[i] = (byte) ((i*255 + maxalpha/2)/maxalpha);
+                }
+            }
+        }
+
+        @Override
+        public boolean supportBlockFlags() {
+            return false;
+        }
+
+        @Override
+        public void clearAlphas(final int pix_y) {
+            // noop
+        }
+
+        @Override
+        public void setAndClearRelativeAlphas(final int[] alphaDeltas, final int pix_y,
+                                              final int pix_from, final int pix_to)
+        {
+            // the native renderer reads the deltas in [pix_from; pix_to]
+            final int len = pix_to - pix_from + 1;
+            final int from = pix_from - x;
+            final int n = Math.min(len, alphaDeltas.length - from);
+
+            if (numRows == rowY.length) {
+                final int newLength = numRows << 1;
+                rowY = Arrays.copyOf(rowY, newLength);
+                rowFrom = Arrays.copyOf(rowFrom, newLength);
+                rowTo = Arrays.copyOf(rowTo, newLength);
+                rowOffset = Arrays.copyOf(rowOffset, newLength);
+                rowNums = Arrays.copyOf(rowNums, newLength);
+            }
+            if (deltasUsed + len > deltas.length) {
+                deltas = Arrays.copyOf(deltas, Math.max(deltas.length << 1, deltasUsed + len));
+            }
+
+            System.arraycopy(alphaDeltas, from, deltas, deltasUsed, n);
+            if (n < len) {
+                Arrays.fill(deltas, deltasUsed + n, deltasUsed + len, 0);
+            }
+            // clear the alpha deltas as the native renderer would have done:
+            Arrays.fill(alphaDeltas, from, from + n, 0);
+
+            rowY[numRows] = pix_y;
+            rowFrom[numRows] = pix_from;
+            rowTo[numRows] = pix_to;
+            rowOffset[numRows] = deltasUsed;
+            rowNums[numRows] = rowNum++;
+            numRows++;
+            deltasUsed += len;
+
+            if (MarlinConst.DO_CHECKS) {
+                IntArrayCache.check(alphaDeltas, from, from + n, 0);
+            }
+
+            if (deltasUsed >= MAX_BUFFERED_DELTAS) {
+                flush();
+            }
+        }
+
+        @Override
+        public void setAndClearRelativeAlphas(final int[] blkFlags, final int[] alphaDeltas, final int pix_y,
+                                              final int pix_from, final int pix_to)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     static final class DMarlinShapeRenderer implements ShapeRenderer {
         private final DirectRTMarlinAlphaConsumer alphaConsumer = new DirectRTMarlinAlphaConsumer();
+        private final TiledMarlinAlphaConsumer tiledAlphaConsumer = new TiledMarlinAlphaConsumer();
 
         @Override
-        public void renderShape(PiscesRenderer pr, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
+        public void renderShape(PiscesRenderer pr, SWTiledRenderer tiles, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
             if (stroke != null && stroke.getType() != BasicStroke.TYPE_CENTERED) {
                 // RT-27427
                 // TODO: Optimize the combinatorial strokes for simple
@@ -306,8 +465,14 @@ final class SWContext {
                 if ((w <= 0) || (h <= 0)) {
                     return;
                 }
-                alphaConsumer.initConsumer(outpix_xmin, outpix_ymin, w, h, pr);
-                renderer.produceAlphas(alphaConsumer);
+                if (tiles != null && tiles.shouldSplit(outpix_ymin, outpix_ymax, w)) {
+                    tiledAlphaConsumer.initConsumer(outpix_xmin, outpix_ymin, w, h, tiles);
+                    renderer.produceAlphas(tiledAlphaConsumer);
+                    tiledAlphaConsumer.flush();
+                } else {
+                    alphaConsumer.initConsumer(outpix_xmin, outpix_ymin, w, h, pr);
+                    renderer.produceAlphas(alphaConsumer);
+                }
             } finally {
                 if (renderer != null) {
                     renderer.dispose();
@@ -340,8 +505,8 @@ final class SWContext {
         }
     }
 
-    void renderShape(PiscesRenderer pr, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
-        this.shapeRenderer.renderShape(pr, shape, stroke, tr, clip, antialiasedShape);
+    void renderShape(PiscesRenderer pr, SWTiledRenderer tiles, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
+        this.shapeRenderer.renderShape(pr, tiles, shape, stroke, tr, clip, antialiasedShape);
     }
 
     private SWRTTexture initRBBuffer(int width, int height) {
@@ -71,6 +71,7 @@ final class SWGraphics implements ReadbackGraphics {
     private static final Paint DEFAULT_PAINT = Color.WHITE;
 
     private final PiscesRenderer pr;
+    private final SWTiledRenderer tiles;
     private final SWContext context;
     private final SWRTTexture target;
     private final SWPaint swPaint;
@@ -108,11 +109,15 @@ final class SWGraphics implements ReadbackGraphics {
         return renderRoot;
     }
 
-    public SWGraphics(SWRTTexture target, SWContext context, PiscesRenderer pr) {
+    public SWGraphics(SWRTTexture target, SWContext context, PiscesRenderer pr, SWTiledRenderer tiles) {
         this.target = target;
         this.context = context;
         this.pr = pr;
+        this.tiles = tiles;
         this.swPaint = new SWPaint(context, pr);
+        if (tiles != null) {
+            tiles.setPaint(swPaint);
+        }
 
         this.setClipRect(null);
     }
@@ -262,6 +267,9 @@ final class SWGraphics implements ReadbackGraphics {
             clip = new Rectangle(clipRect);
         }
         pr.setClip(finalClip.x, finalClip.y, finalClip.width, finalClip.height);
+        if (tiles != null) {
+            tiles.setClip(finalClip);
+        }
     }
 
     public void setHasPreCullingBits(boolean hasBits) {
@@ -343,6 +351,9 @@ final class SWGraphics implements ReadbackGraphics {
                 throw new InternalError("Unrecognized composite mode: "+mode);
         }
         this.pr.setCompositeRule(piscesComp);
+        if (tiles != null) {
+            tiles.setCompositeRule(piscesComp);
+        }
     }
 
     public void setNodeBounds(RectBounds bounds) {
@@ -366,8 +377,14 @@ final class SWGraphics implements ReadbackGraphics {
         if (PrismSettings.debug) {
             System.out.println("+ PR.clear: " + color);
         }
+        final int w = target.getPhysicalWidth();
+        final int h = target.getPhysicalHeight();
         this.swPaint.setColor(color, 1f);
-        pr.clearRect(0, 0, target.getPhysicalWidth(), target.getPhysicalHeight());
+        if (tiles != null && tiles.shouldSplit(0, h, w)) {
+            tiles.render(0, h, (tpr, minY, maxY) -> tpr.clearRect(0, minY, w, maxY - minY));
+        } else {
+            pr.clearRect(0, 0, w, h);
+        }
         getRenderTarget().setOpaque(color.isOpaque());
     }
 
@@ -437,26 +454,38 @@ final class SWGraphics implements ReadbackGraphics {
                         imageMode = RendererBase.IMAGE_MODE_NORMAL;
                     } else {
                         imageMode = RendererBase.IMAGE_MODE_MULTIPLY;
-                        this.pr.setColor(255, 255, 255, (int)(255 * compositeAlpha));
+                        this.setImageModeColor(compositeAlpha);
                     }
 
-                    this.pr.drawImage(RendererBase.TYPE_INT_ARGB_PRE, imageMode,
+                    final int bboxX = (int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES);
+                    final int bboxY = (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES);
+                    final int bboxW = (int)(Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES);
+                    final int bboxH = (int)(Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES);
+                    final SWTiledRenderer.TileOp op = (tpr, minY, maxY) -> tpr.drawImage(RendererBase.TYPE_INT_ARGB_PRE, imageMode,
                             tex.getDataNoClone(), tex.getContentWidth(), tex.getContentHeight(),
                             tex.getOffset(), tex.getPhysicalWidth(),
                             piscesTx,
                             tex.getWrapMode() == Texture.WrapMode.REPEAT,
                             tex.getLinearFiltering(),
-                            (int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES), (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES),
-                            (int)(Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES), (int)(Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES),
+                            bboxX, bboxY, bboxW, bboxH,
                             RendererBase.IMAGE_FRAC_EDGE_KEEP, RendererBase.IMAGE_FRAC_EDGE_KEEP,
                             RendererBase.IMAGE_FRAC_EDGE_KEEP, RendererBase.IMAGE_FRAC_EDGE_KEEP,
                             0, 0, tex.getContentWidth()-1, tex.getContentHeight()-1,
                             tex.hasAlpha());
+                    this.renderRect(bboxX, bboxY, bboxW, bboxH, true, op);
                 }
             } else {
                 swPaint.setPaintFromShape(this.paint, this.tx, null, this.nodeBounds, x, y, width, height);
-                this.pr.fillRect((int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES), (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES),
-                        (int)(Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES), (int)(Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES));
+                final int rectX = (int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES);
+                final int rectY = (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES);
+                final int rectW = (int)(Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES);
+                final int rectH = (int)(Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES);
+                if (tiles != null && tiles.shouldSplit(rectY >> 16, (rectY + rectH + 0xffff) >> 16, rectW >> 16)) {
+                    tiles.render(rectY >> 16, (rectY + rectH + 0xffff) >> 16,
+                            (tpr, minY, maxY) -> tpr.fillRect(rectX, rectY, rectW, rectH));
+                } else {
+                    this.pr.fillRect(rectX, rectY, rectW, rectH);
+                }
             }
         } else {
             this.fillRoundRect(x, y, width, height, 0, 0);
@@ -514,7 +543,7 @@ final class SWGraphics implements ReadbackGraphics {
             System.out.println("Clip: " + finalClip);
             System.out.println("Composite rule: " + compositeMode);
         }
-        context.renderShape(this.pr, shape, st, tr, this.finalClip, isAntialiasedShape());
+        context.renderShape(this.pr, tiles, shape, st, tr, this.finalClip, isAntialiasedShape());
     }
 
     private void paintRoundRect(float x, float y, float width, float height, float arcw, float arch, BasicStroke st) {
@@ -691,15 +720,34 @@ final class SWGraphics implements ReadbackGraphics {
             imageMode = RendererBase.IMAGE_MODE_NORMAL;
         } else {
             imageMode = RendererBase.IMAGE_MODE_MULTIPLY;
-            this.pr.setColor(255, 255, 255, (int)(255 * compositeAlpha));
+            this.setImageModeColor(compositeAlpha);
+        }
+        this.drawTexture(tex, imageMode, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, lEdge, rEdge, tEdge, bEdge, true);
+    }
+
+    private void setImageModeColor(float compositeAlpha) {
+        this.swPaint.setColor(Color.WHITE, compositeAlpha);
+    }
+
+    /**
+     * Renders the given operation covering the rectangle (in 16.16 fixed point)
+     * either on the main renderer or, if the rectangle is big enough, on all
+     * the tiles it overlaps in parallel.
+     */
+    private void renderRect(int x, int y, int w, int h, boolean tilesInSync, SWTiledRenderer.TileOp op) {
+        final int minY = y >> 16;
+        final int maxY = (y + h + 0xffff) >> 16;
+        if (tilesInSync && tiles != null && tiles.shouldSplit(minY, maxY, w >> 16)) {
+            tiles.render(minY, maxY, op);
+        } else {
+            op.render(pr, 0, target.getPhysicalHeight());
         }
-        this.drawTexture(tex, imageMode, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, lEdge, rEdge, tEdge, bEdge);
     }
 
     private void drawTexture(Texture tex, int imageMode,
                             float dx1, float dy1, float dx2, float dy2,
                             float sx1, float sy1, float sx2, float sy2,
-                            int lEdge, int rEdge, int tEdge, int bEdge) {
+                            int lEdge, int rEdge, int tEdge, int bEdge, boolean tilesInSync) {
         if (PrismSettings.debug) {
             System.out.println("+ drawTexture: " + tex + ", imageMode: " + imageMode +
                     ", tex.w: " + tex.getPhysicalWidth() + ", tex.h: " + tex.getPhysicalHeight() +
@@ -738,17 +786,21 @@ final class SWGraphics implements ReadbackGraphics {
         final int txMax = Math.min(tex.getContentWidth() - 1, SWUtils.fastCeil(Math.max(sx1, sx2)) - 1);
         final int tyMax = Math.min(tex.getContentHeight() - 1, SWUtils.fastCeil(Math.max(sy1, sy2)) - 1);
 
-        this.pr.drawImage(RendererBase.TYPE_INT_ARGB_PRE, imageMode,
-                data, tex.getContentWidth(), tex.getContentHeight(),
-                swTex.getOffset(), tex.getPhysicalWidth(),
-                piscesTx,
-                tex.getWrapMode() == Texture.WrapMode.REPEAT,
-                tex.getLinearFiltering(),
-                (int)(SWUtils.TO_PISCES * dstBBox.getMinX()), (int)(SWUtils.TO_PISCES * dstBBox.getMinY()),
-                (int)(SWUtils.TO_PISCES * dstBBox.getWidth()), (int)(SWUtils.TO_PISCES * dstBBox.getHeight()),
-                lEdge, rEdge, tEdge, bEdge,
-                txMin, tyMin, txMax, tyMax,
-                swTex.hasAlpha());
+        final int bboxX = (int)(SWUtils.TO_PISCES * dstBBox.getMinX());
+        final int bboxY = (int)(SWUtils.TO_PISCES * dstBBox.getMinY());
+        final int bboxW = (int)(SWUtils.TO_PISCES * dstBBox.getWidth());
+        final int bboxH = (int)(SWUtils.TO_PISCES * dstBBox.getHeight());
+        this.renderRect(bboxX, bboxY, bboxW, bboxH, tilesInSync,
+                (tpr, minY, maxY) -> tpr.drawImage(RendererBase.TYPE_INT_ARGB_PRE, imageMode,
+                        data, tex.getContentWidth(), tex.getContentHeight(),
+                        swTex.getOffset(), tex.getPhysicalWidth(),
+                        piscesTx,
+                        tex.getWrapMode() == Texture.WrapMode.REPEAT,
+                        tex.getLinearFiltering(),
+                        bboxX, bboxY, bboxW, bboxH,
+                        lEdge, rEdge, tEdge, bEdge,
+                        txMin, tyMin, txMax, tyMax,
+                        swTex.hasAlpha()));
 
         if (PrismSettings.debug) {
             System.out.println("* drawTexture, DONE");
@@ -842,9 +894,10 @@ final class SWGraphics implements ReadbackGraphics {
         SWUtils.convertToPiscesTransform(this.tx, t6);
         this.pr.setLinearGradient(0, (int)(SWUtils.TO_PISCES * dy1), 0, (int)(SWUtils.TO_PISCES * dy2), fractions, argb,
                                   GradientColorMap.CYCLE_NONE, t6);
+        // the gradient is set on the main renderer only
         this.drawTexture(tex, RendererBase.IMAGE_MODE_MULTIPLY, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2,
                 RendererBase.IMAGE_FRAC_EDGE_KEEP, RendererBase.IMAGE_FRAC_EDGE_KEEP,
-                RendererBase.IMAGE_FRAC_EDGE_KEEP, RendererBase.IMAGE_FRAC_EDGE_KEEP);
+                RendererBase.IMAGE_FRAC_EDGE_KEEP, RendererBase.IMAGE_FRAC_EDGE_KEEP, false);
     }
 
     public void drawTextureRaw(Texture tex,
@@ -47,6 +47,16 @@ import com.sun.prism.paint.Stop;
 
 final class SWPaint {
 
+    /**
+     * A gradient or texture paint as computed for the renderer. It is
+     * immutable, so that the paint set on the renderer can be set on the
+     * renderers of the tiles of a {@code SWTiledRenderer} without computing
+     * it again.
+     */
+    private interface PaintSetup {
+        void apply(PiscesRenderer pr);
+    }
+
     private final SWContext context;
     private final PiscesRenderer pr;
 
@@ -56,6 +66,11 @@ final class SWPaint {
     private float compositeAlpha = 1.0f;
     private float px, py, pw, ph;
 
+    // the paint last set on the renderer, either a color or a paint setup
+    private int red, green, blue, alpha;
+    private PaintSetup paintSetup;
+    private int paintVersion;
+
     SWPaint(SWContext context, PiscesRenderer pr) {
         this.context = context;
         this.pr = pr;
@@ -73,10 +88,40 @@ final class SWPaint {
         if (PrismSettings.debug) {
             System.out.println("PR.setColor: " + c);
         }
-        this.pr.setColor((int) (c.getRed() * 255),
-                (int) (255 * c.getGreen()),
-                (int) (255 * c.getBlue()),
-                (int) (255 * c.getAlpha() * compositeAlpha));
+        this.red = (int) (c.getRed() * 255);
+        this.green = (int) (255 * c.getGreen());
+        this.blue = (int) (255 * c.getBlue());
+        this.alpha = (int) (255 * c.getAlpha() * compositeAlpha);
+        this.paintSetup = null;
+        this.paintVersion++;
+        this.pr.setColor(red, green, blue, alpha);
+    }
+
+    private void setPaintSetup(PaintSetup setup) {
+        this.paintSetup = setup;
+        this.paintVersion++;
+        setup.apply(this.pr);
+    }
+
+    /**
+     * Returns a number which changes whenever a new paint is set on the
+     * renderer.
+     */
+    int getPaintVersion() {
+        return paintVersion;
+    }
+
+    /**
+     * Sets the paint last set on the renderer of this {@code SWPaint} on
+     * another renderer. Gradient and texture paints are not computed again,
+     * the immutable result of the first computation is shared.
+     */
+    void copyPaintTo(PiscesRenderer other) {
+        if (paintSetup != null) {
+            paintSetup.apply(other);
+        } else {
+            other.setColor(red, green, blue, alpha);
+        }
     }
 
     void setPaintFromShape(Paint p, BaseTransform tx, Shape shape, RectBounds nodeBounds,
@@ -136,9 +181,15 @@ final class SWPaint {
                     x2 = x + width * x2;
                     y2 = y + height * y2;
                 }
-                this.pr.setLinearGradient((int)(SWUtils.TO_PISCES * x1), (int)(SWUtils.TO_PISCES * y1),
-                        (int)(SWUtils.TO_PISCES * x2), (int)(SWUtils.TO_PISCES * y2),
-                        getFractions(lg), getARGB(lg, this.compositeAlpha), getPiscesGradientCycleMethod(lg.getSpreadMethod()), piscesTx);
+                final int lx1 = (int)(SWUtils.TO_PISCES * x1);
+                final int ly1 = (int)(SWUtils.TO_PISCES * y1);
+                final int lx2 = (int)(SWUtils.TO_PISCES * x2);
+                final int ly2 = (int)(SWUtils.TO_PISCES * y2);
+                final int[] lfractions = getFractions(lg);
+                final int[] largb = getARGB(lg, this.compositeAlpha);
+                final int lcycle = getPiscesGradientCycleMethod(lg.getSpreadMethod());
+                final Transform6 ltx = new Transform6(piscesTx);
+                this.setPaintSetup(pgr -> pgr.setLinearGradient(lx1, ly1, lx2, ly2, lfractions, largb, lcycle, ltx));
                 break;
             case RADIAL_GRADIENT:
                 final RadialGradient rg = (RadialGradient)p;
@@ -169,9 +220,16 @@ final class SWPaint {
                 final float fx = (float)(cx + rg.getFocusDistance() * r * Math.cos(Math.toRadians(rg.getFocusAngle())));
                 final float fy = (float)(cy + rg.getFocusDistance() * r * Math.sin(Math.toRadians(rg.getFocusAngle())));
 
-                this.pr.setRadialGradient((int) (SWUtils.TO_PISCES * cx), (int) (SWUtils.TO_PISCES * cy),
-                        (int) (SWUtils.TO_PISCES * fx), (int) (SWUtils.TO_PISCES * fy), (int) (SWUtils.TO_PISCES * r),
-                        getFractions(rg), getARGB(rg, this.compositeAlpha), getPiscesGradientCycleMethod(rg.getSpreadMethod()), piscesTx);
+                final int rcx = (int) (SWUtils.TO_PISCES * cx);
+                final int rcy = (int) (SWUtils.TO_PISCES * cy);
+                final int rfx = (int) (SWUtils.TO_PISCES * fx);
+                final int rfy = (int) (SWUtils.TO_PISCES * fy);
+                final int rr = (int) (SWUtils.TO_PISCES * r);
+                final int[] rfractions = getFractions(rg);
+                final int[] rargb = getARGB(rg, this.compositeAlpha);
+                final int rcycle = getPiscesGradientCycleMethod(rg.getSpreadMethod());
+                final Transform6 rtx = new Transform6(piscesTx);
+                this.setPaintSetup(pgr -> pgr.setRadialGradient(rcx, rcy, rfx, rfy, rr, rfractions, rargb, rcycle, rtx));
                 break;
             case IMAGE_PATTERN:
                 final ImagePattern ip = (ImagePattern)p;
@@ -185,12 +243,16 @@ final class SWPaint {
                         tex.applyCompositeAlpha(this.compositeAlpha);
                     }
 
-                    this.pr.setTexture(RendererBase.TYPE_INT_ARGB_PRE, tex.getDataNoClone(),
-                            tex.getContentWidth(), tex.getContentHeight(), tex.getPhysicalWidth(),
-                            piscesTx,
-                            tex.getWrapMode() == Texture.WrapMode.REPEAT,
-                            tex.getLinearFiltering(),
-                            tex.hasAlpha());
+                    final int[] data = tex.getDataNoClone();
+                    final int texWidth = tex.getContentWidth();
+                    final int texHeight = tex.getContentHeight();
+                    final int texStride = tex.getPhysicalWidth();
+                    final Transform6 ttx = new Transform6(piscesTx);
+                    final boolean repeat = tex.getWrapMode() == Texture.WrapMode.REPEAT;
+                    final boolean linearFiltering = tex.getLinearFiltering();
+                    final boolean hasAlpha = tex.hasAlpha();
+                    this.setPaintSetup(pgr -> pgr.setTexture(RendererBase.TYPE_INT_ARGB_PRE, data,
+                            texWidth, texHeight, texStride, ttx, repeat, linearFiltering, hasAlpha));
                 }
                 break;
             default:
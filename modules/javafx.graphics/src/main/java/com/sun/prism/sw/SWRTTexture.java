@@ -41,6 +41,7 @@ import java.nio.IntBuffer;
 class SWRTTexture extends SWArgbPreTexture implements RTTexture {
 
     private PiscesRenderer pr;
+    private SWTiledRenderer tiles;
     private JavaSurface surface;
     private final Rectangle dimensions = new Rectangle();
     private boolean isOpaque;
@@ -113,10 +114,12 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
     }
 
     public Graphics createGraphics() {
+        final SWContext context = getResourceFactory().getContext();
         if (pr == null) {
             pr = new PiscesRenderer(this.surface);
+            tiles = SWTiledRenderer.create(this);
         }
-        return new SWGraphics(this, getResourceFactory().getContext(), pr);
+        return new SWGraphics(this, context, pr, tiles);
     }
 
     public boolean isOpaque() {
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.pisces.RendererBase;
+import com.sun.prism.impl.PrismSettings;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits an {@code SWRTTexture} into horizontal tiles which are rendered in
+ * parallel on a shared fork-join pool.
+ * <p>
+ * Every tile owns a {@code JavaSurface} and a {@code PiscesRenderer} over the
+ * pixel data of the render target, with the renderer clip restricted to the
+ * rows of the tile. Since the tiles never overlap, they write their pixels
+ * straight into the render target and no extra compositing step is needed.
+ * Only operations whose per-pixel result does not depend on the clip are
+ * split, so the output is identical to the single-threaded path.
+ * <p>
+ * The paint is only computed once, for the renderer of the
+ * {@code SWGraphics}. Before a tile renders, the result is copied to its
+ * renderer if the paint changed since the tile last rendered.
+ */
+final class SWTiledRenderer {
+
+    /* minimum height of a tile, in pixels */
+    private static final int MIN_TILE_HEIGHT = 32;
+
+    /* operations covering less pixels than this are not worth splitting */
+    private static final int MIN_PARALLEL_AREA = 128 * 128;
+
+    private static ForkJoinPool pool;
+
+    private static final class Tile {
+        final int minY;
+        final int maxY;
+        final PiscesRenderer pr;
+        boolean clipped;
+        int paintVersion;
+
+        private Tile(SWRTTexture target, int minY, int maxY) {
+            this.minY = minY;
+            this.maxY = maxY;
+            final JavaSurface surface = new JavaSurface(target.getDataNoClone(), RendererBase.TYPE_INT_ARGB_PRE,
+                    target.getPhysicalWidth(), target.getPhysicalHeight());
+            this.pr = new PiscesRenderer(surface);
+        }
+
+        void render(SWPaint paint, TileOp op) {
+            if (clipped) {
+                return;
+            }
+            final int version = paint.getPaintVersion();
+            if (paintVersion != version) {
+                paint.copyPaintTo(pr);
+                paintVersion = version;
+            }
+            op.render(pr, minY, maxY);
+        }
+    }
+
+    interface TileOp {
+        /**
+         * Renders into the pixel rows [minY, maxY) using the given renderer.
+         */
+        void render(PiscesRenderer pr, int minY, int maxY);
+    }
+
+    private final Tile[] tiles;
+    private SWPaint paint;
+    private int clipMinY;
+    private int clipMaxY;
+
+    private SWTiledRenderer(SWRTTexture target, int numTiles) {
+        final int height = target.getPhysicalHeight();
+        tiles = new Tile[numTiles];
+        for (int i = 0; i < numTiles; i++) {
+            tiles[i] = new Tile(target, (height * i) / numTiles, (height * (i + 1)) / numTiles);
+        }
+        clipMinY = 0;
+        clipMaxY = height;
+    }
+
+    /**
+     * Creates the tiled renderer for the given render target, or returns
+     * {@code null} if tiled rendering is disabled or the target is too
+     * small to be split.
+     */
+    static SWTiledRenderer create(SWRTTexture target) {
+        if (!PrismSettings.swTiledRendering) {
+            return null;
+        }
+        return create(target, PrismSettings.swTileCount);
+    }
+
+    static SWTiledRenderer create(SWRTTexture target, int maxTiles) {
+        final int numTiles = Math.min(maxTiles, target.getPhysicalHeight() / MIN_TILE_HEIGHT);
+        if (numTiles < 2) {
+            return null;
+        }
+        if (PrismSettings.verbose) {
+            System.out.println("SW pipeline: " + numTiles + " tiles for " + target);
+        }
+        return new SWTiledRenderer(target, numTiles);
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(Math.min(PrismSettings.swTileCount, Runtime.getRuntime().availableProcessors()),
+                    p -> {
+                        final ForkJoinWorkerThread t =
+                                ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                        t.setName("Prism SW Tile Worker " + t.getPoolIndex());
+                        t.setDaemon(true);
+                        return t;
+                    }, null, false);
+        }
+        return pool;
+    }
+
+    void setClip(Rectangle finalClip) {
+        clipMinY = finalClip.y;
+        clipMaxY = finalClip.y + finalClip.height;
+        for (Tile t : tiles) {
+            final int y1 = Math.max(clipMinY, t.minY);
+            final int y2 = Math.min(clipMaxY, t.maxY);
+            t.clipped = (y2 <= y1 || finalClip.width <= 0);
+            t.pr.setClip(finalClip.x, y1, finalClip.width, Math.max(0, y2 - y1));
+        }
+    }
+
+    void setCompositeRule(int compositeRule) {
+        for (Tile t : tiles) {
+            t.pr.setCompositeRule(compositeRule);
+        }
+    }
+
+    /**
+     * Sets the paint of the {@code SWGraphics} rendering into the tiles. Its
+     * current paint is copied to the renderers of the tiles when they render.
+     */
+    void setPaint(SWPaint paint) {
+        this.paint = paint;
+        for (Tile t : tiles) {
+            t.paintVersion = paint.getPaintVersion() - 1;
+        }
+    }
+
+    /**
+     * Returns true if an operation touching the pixel rows [minY, maxY) with
+     * the given width spans at least two visible tiles and is large enough
+     * to amortize the cost of a parallel dispatch.
+     */
+    boolean shouldSplit(int minY, int maxY, int width) {
+        minY = Math.max(minY, clipMinY);
+        maxY = Math.min(maxY, clipMaxY);
+        if (maxY <= minY || (long) (maxY - minY) * width < MIN_PARALLEL_AREA) {
+            return false;
+        }
+        int count = 0;
+        for (Tile t : tiles) {
+            if (!t.clipped && t.minY < maxY && t.maxY > minY) {
+                if (++count > 1) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs the operation on all visible tiles overlapping the pixel rows
+     * [minY, maxY) and waits for all of them to complete.
+     */
+    void render(int minY, int maxY, TileOp op) {
+        int lo = 0;
+        while (lo < tiles.length && tiles[lo].maxY <= minY) {
+            lo++;
+        }
+        int hi = tiles.length;
+        while (hi > lo && tiles[hi - 1].minY >= maxY) {
+            hi--;
+        }
+        if (hi - lo == 1) {
+            tiles[lo].render(paint, op);
+        } else if (hi > lo) {
+            getPool().invoke(new TileTask(tiles, paint, lo, hi, op));
+        }
+    }
+
+    private static final class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Tile[] tiles;
+        private final transient SWPaint paint;
+        private final int lo;
+        private final int hi;
+        private final transient TileOp op;
+
+        TileTask(Tile[] tiles, SWPaint paint, int lo, int hi, TileOp op) {
+            this.tiles = tiles;
+            this.paint = paint;
+            this.lo = lo;
+            this.hi = hi;
+            this.op = op;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                tiles[lo].render(paint, op);
+            } else {
+                final int mid = (lo + hi) >>> 1;
+                invokeAll(new TileTask(tiles, paint, lo, mid, op), new TileTask(tiles, paint, mid, hi, op));
+            }
+        }
+    }
+}
@@ -32,6 +32,7 @@ import javafx.collections.ObservableList;
 
 import com.sun.javafx.collections.TrackableObservableList;
 import com.sun.javafx.css.FontFaceImpl;
+import com.sun.javafx.css.StylesheetHelper;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
@@ -41,6 +42,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
@@ -57,6 +60,20 @@ import java.util.List;
  */
 public class Stylesheet {
 
+    static {
+        StylesheetHelper.setStylesheetAccessor(new StylesheetHelper.StylesheetAccessor() {
+            @Override
+            public Stylesheet loadBinary(InputStream stream, String url) throws IOException {
+                return Stylesheet.loadBinary(stream, url);
+            }
+
+            @Override
+            public void writeBinary(Stylesheet stylesheet, OutputStream stream) throws IOException {
+                stylesheet.writeBinary(stream);
+            }
+        });
+    }
+
     /**
      * Version number of binary CSS format. The value is incremented whenever the format of the
      * binary stream changes. This number does not correlate with JavaFX versions.
@@ -281,45 +298,57 @@ public class Stylesheet {
 
         if (url == null) return null;
 
+        try (InputStream stream = url.openStream()) {
+            return loadBinary(stream, url.toExternalForm());
+        } catch (FileNotFoundException fnfe) {
+            // This comes from url.openStream() and is expected.
+            // It just means that the .bss file doesn't exist.
+            return null;
+        }
+    }
+
+    /*
+     * Reads a binary stylesheet from the stream. The url is the location the
+     * stylesheet is reported to be loaded from, which is used to resolve
+     * relative URLs in the stylesheet. It need not be where the binary data
+     * is read from.
+     */
+    private static Stylesheet loadBinary(InputStream stream, String url) throws IOException {
+
         Stylesheet stylesheet = null;
 
-        try (DataInputStream dataInputStream =
-                     new DataInputStream(new BufferedInputStream(url.openStream(), 40 * 1024))) {
+        final DataInputStream dataInputStream =
+                new DataInputStream(new BufferedInputStream(stream, 40 * 1024));
 
-            // read file version
-            final int bssVersion = dataInputStream.readShort();
-            if (bssVersion > Stylesheet.BINARY_CSS_VERSION) {
-                throw new IOException(url.toString() + " wrong binary CSS version: "
-                        + bssVersion + ". Expected version less than or equal to" +
-                        Stylesheet.BINARY_CSS_VERSION);
-            }
-            // read strings
-            final String[] strings = StringStore.readBinary(dataInputStream);
-            // read binary data
-            stylesheet = new Stylesheet(url.toExternalForm());
+        // read file version
+        final int bssVersion = dataInputStream.readShort();
+        if (bssVersion > Stylesheet.BINARY_CSS_VERSION) {
+            throw new IOException(url + " wrong binary CSS version: "
+                    + bssVersion + ". Expected version less than or equal to" +
+                    Stylesheet.BINARY_CSS_VERSION);
+        }
+        // read strings
+        final String[] strings = StringStore.readBinary(dataInputStream);
+        // read binary data
+        stylesheet = new Stylesheet(url);
 
-            try {
+        try {
 
-                dataInputStream.mark(Integer.MAX_VALUE);
-                stylesheet.readBinary(bssVersion, dataInputStream, strings);
+            dataInputStream.mark(Integer.MAX_VALUE);
+            stylesheet.readBinary(bssVersion, dataInputStream, strings);
 
-            } catch (Exception e) {
+        } catch (Exception e) {
 
-                stylesheet = new Stylesheet(url.toExternalForm());
+            stylesheet = new Stylesheet(url);
 
-                dataInputStream.reset();
+            dataInputStream.reset();
 
-                if (bssVersion == 2) {
-                    // RT-31022
-                    stylesheet.readBinary(3, dataInputStream, strings);
-                } else {
-                    stylesheet.readBinary(Stylesheet.BINARY_CSS_VERSION, dataInputStream, strings);
-                }
+            if (bssVersion == 2) {
+                // RT-31022
+                stylesheet.readBinary(3, dataInputStream, strings);
+            } else {
+                stylesheet.readBinary(Stylesheet.BINARY_CSS_VERSION, dataInputStream, strings);
             }
-
-        } catch (FileNotFoundException fnfe) {
-            // This comes from url.openStream() and is expected.
-            // It just means that the .bss file doesn't exist.
         }
 
         // return stylesheet
@@ -357,16 +386,26 @@ public class Stylesheet {
         URI sourceURI = source.toURI();
         Stylesheet stylesheet = new CssParser().parse(sourceURI.toURL());
 
+        FileOutputStream fos = new FileOutputStream(destination);
+        stylesheet.writeBinary(fos);
+        fos.close();
+    }
+
+    /*
+     * Writes this stylesheet in binary format, including the version header
+     * and the string store, to the given stream.
+     */
+    private void writeBinary(OutputStream stream) throws IOException {
+
         // first write all the css binary data into the buffer and collect strings on way
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         DataOutputStream dos = new DataOutputStream(baos);
         StringStore stringStore = new StringStore();
-        stylesheet.writeBinary(dos, stringStore);
+        writeBinary(dos, stringStore);
         dos.flush();
         dos.close();
 
-        FileOutputStream fos = new FileOutputStream(destination);
-        DataOutputStream os = new DataOutputStream(fos);
+        DataOutputStream os = new DataOutputStream(stream);
 
         // write file version
         os.writeShort(BINARY_CSS_VERSION);
@@ -377,7 +416,6 @@ public class Stylesheet {
         // write binary css
         os.write(baos.toByteArray());
         os.flush();
-        os.close();
     }
 
     // Add the rules from the other stylesheet to this one
@@ -46,6 +46,7 @@ import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.PickRay;
 import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Vec3d;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.NoninvertibleTransformException;
 import com.sun.javafx.scene.CssFlags;
@@ -84,6 +85,14 @@ public abstract class Parent extends Node {
     // parent if it is currently a child of another parent.
     private static final boolean warnOnAutoMove = PropertyHelper.getBooleanProperty("javafx.sg.warn");
 
+    /**
+     * The minimum number of children for which picking looks the children up
+     * in a spatial index instead of visiting all of them. A value of 0 or less
+     * disables the index.
+     */
+    private static final int PICK_INDEX_THRESHOLD =
+            PropertyHelper.getIntegerProperty("javafx.sg.pickIndexThreshold", 512);
+
     /**
      * Threshold when it's worth to populate list of removed children.
      */
@@ -277,6 +286,7 @@ public abstract class Parent extends Node {
         }
 
         viewOrderChildren.clear();
+        pickIndex = null;
         if (viewOrderSet) {
             viewOrderChildren.addAll(children);
 
@@ -306,6 +316,11 @@ public abstract class Parent extends Node {
     // this case.
     private boolean childrenTriggerPermutation = false;
 
+    // Created the first time this parent is picked with enough children, see
+    // PICK_INDEX_THRESHOLD. Discarded when the children or their order change,
+    // so that it never refers to removed children.
+    private PickIndex pickIndex;
+
     //accumulates all removed nodes between pulses, for dirty area calculation.
     private List<Node> removed;
 
@@ -320,6 +335,7 @@ public abstract class Parent extends Node {
         protected void onChanged(Change<Node> c) {
             // proceed with updating the scene graph
             unmodifiableManagedChildren = null;
+            pickIndex = null;
             boolean relayout = false;
             boolean viewOrderChildrenDirty = false;
 
@@ -801,6 +817,14 @@ public abstract class Parent extends Node {
 
     boolean pickChildrenNode(PickRay pickRay, PickResultChooser result) {
         List<Node> orderedChildren = getOrderedChildren();
+        if (PICK_INDEX_THRESHOLD > 0 && orderedChildren.size() >= PICK_INDEX_THRESHOLD) {
+            // The index can only tell which children may be hit by a ray
+            // parallel to the z axis, which is always the case in 2D
+            final Vec3d d = pickRay.getDirectionNoClone();
+            if (d.x == 0 && d.y == 0) {
+                return pickIndexedChildrenNode(orderedChildren, pickRay, result);
+            }
+        }
         for (int i = orderedChildren.size() - 1; i >= 0; i--) {
             orderedChildren.get(i).pickNode(pickRay, result);
             if (result.isClosed()) {
@@ -810,6 +834,23 @@ public abstract class Parent extends Node {
         return true;
     }
 
+    private boolean pickIndexedChildrenNode(List<Node> orderedChildren,
+            PickRay pickRay, PickResultChooser result) {
+        if (pickIndex == null) {
+            pickIndex = new PickIndex();
+        }
+        final Vec3d o = pickRay.getOriginNoClone();
+        final int count = pickIndex.query(orderedChildren, o.x, o.y);
+        final int[] candidates = pickIndex.getCandidates();
+        for (int i = count - 1; i >= 0; i--) {
+            orderedChildren.get(candidates[i]).pickNode(pickRay, result);
+            if (result.isClosed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /*
      * Note: This method MUST only be called via its accessor method.
      */
@@ -1853,6 +1894,10 @@ public abstract class Parent extends Node {
      * Called by Node whenever its bounds have changed.
      */
     void childBoundsChanged(Node node) {
+        if (pickIndex != null) {
+            pickIndex.childBoundsChanged(node);
+        }
+
         // See comment above at "currentlyProcessedChild" field
         if (node == currentlyProcessedChild) {
             return;
@@ -1876,6 +1921,12 @@ public abstract class Parent extends Node {
      * Called by node whenever the visibility of the node changes.
      */
     void childVisibilityChanged(Node node) {
+        // Invisible children do not report their bounds changes, so the
+        // pick index may have them in the cells of their old bounds
+        if (pickIndex != null) {
+            pickIndex.childBoundsChanged(node);
+        }
+
         if (node.isVisible()) {
             childIncluded(node);
         } else {
@@ -1937,4 +1988,11 @@ public abstract class Parent extends Node {
     List<Node> test_getViewOrderChildren() {
         return viewOrderChildren;
     }
+
+    /**
+     * Note: The only user of this method is in unit test: PickIndexTest.
+     */
+    boolean test_hasPickIndex() {
+        return pickIndex != null;
+    }
 }
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import javafx.geometry.Bounds;
+
+/**
+ * A uniform grid over the bounds in parent of the children of a Parent. It
+ * is used to find the children which may be hit by a pick ray parallel to
+ * the z axis without visiting all of them.
+ * <p>
+ * Every child is registered in all the cells overlapped by its bounds in
+ * parent. The parent discards its index when the children or their order
+ * change, and creates a new one the next time it is picked.
+ * Children whose bounds change are only recorded and are moved to their new
+ * cells the next time the index is queried, so that a parent whose children
+ * are animated does not pay for the index until it is picked again.
+ */
+final class PickIndex {
+
+    /* average number of children per cell the grid is sized for */
+    private static final int CHILDREN_PER_CELL = 4;
+
+    /* upper limit of the number of rows or columns of the grid */
+    private static final int MAX_CELLS_PER_SIDE = 1024;
+
+    /* cell range markers of children which are not in any cell */
+    private static final int EMPTY = -1;
+    private static final int UNBOUNDED = -2;
+
+    private final IdentityHashMap<Node, Integer> indices = new IdentityHashMap<>();
+    private List<Node> children;
+    private boolean valid;
+
+    private double minX, minY, cellWidth, cellHeight;
+    private int cols, rows;
+    private int[][] cells;
+    private int[] cellSizes;
+
+    // For every child the min column, min row, max column and max row of the
+    // cells it is registered in, or EMPTY / UNBOUNDED as the min column
+    private int[] ranges;
+
+    // Children with infinite or NaN bounds, which are always candidates
+    private int[] unbounded = new int[4];
+    private int unboundedCount;
+
+    private boolean[] moved;
+    private int[] movedIndices;
+    private int movedCount;
+
+    private int[] candidates = new int[16];
+
+    /**
+     * Records that the bounds in parent of the given child have changed.
+     */
+    void childBoundsChanged(Node child) {
+        if (!valid) {
+            return;
+        }
+        final Integer index = indices.get(child);
+        if (index == null || moved[index]) {
+            return;
+        }
+        // When most of the children move, rebuilding is cheaper than moving them one by one
+        if (movedCount >= movedIndices.length / 4) {
+            valid = false;
+            return;
+        }
+        moved[index] = true;
+        movedIndices[movedCount++] = index;
+    }
+
+    /**
+     * Finds the children whose bounds in parent may contain the given point.
+     * Their indices into the given list are stored in ascending order into
+     * the array returned by {@link #getCandidates()}.
+     *
+     * @param orderedChildren the children of the parent in picking order
+     * @return the number of candidates
+     */
+    int query(List<Node> orderedChildren, double x, double y) {
+        if (!valid || children != orderedChildren) {
+            build(orderedChildren);
+        } else if (movedCount > 0) {
+            for (int i = 0; i < movedCount; i++) {
+                final int index = movedIndices[i];
+                moved[index] = false;
+                remove(index);
+                insert(index);
+            }
+            movedCount = 0;
+        }
+
+        final int cell = row(y) * cols + col(x);
+        final int size = cellSizes[cell];
+        final int count = size + unboundedCount;
+        if (candidates.length < count) {
+            candidates = new int[Math.max(count, candidates.length * 2)];
+        }
+        if (size > 0) {
+            System.arraycopy(cells[cell], 0, candidates, 0, size);
+        }
+        System.arraycopy(unbounded, 0, candidates, size, unboundedCount);
+        Arrays.sort(candidates, 0, count);
+        return count;
+    }
+
+    int[] getCandidates() {
+        return candidates;
+    }
+
+    private void build(List<Node> orderedChildren) {
+        children = orderedChildren;
+        final int n = orderedChildren.size();
+
+        indices.clear();
+        double x1 = Double.POSITIVE_INFINITY, y1 = Double.POSITIVE_INFINITY;
+        double x2 = Double.NEGATIVE_INFINITY, y2 = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            final Node child = orderedChildren.get(i);
+            indices.put(child, i);
+            final Bounds b = child.getBoundsInParent();
+            if (!b.isEmpty() && isFinite(b)) {
+                x1 = Math.min(x1, b.getMinX());
+                y1 = Math.min(y1, b.getMinY());
+                x2 = Math.max(x2, b.getMaxX());
+                y2 = Math.max(y2, b.getMaxY());
+            }
+        }
+        if (x1 > x2) {
+            x1 = y1 = x2 = y2 = 0;
+        }
+
+        // Size the cells so that they have about the aspect ratio of the
+        // area covered by the children
+        final double w = Math.max(x2 - x1, 1);
+        final double h = Math.max(y2 - y1, 1);
+        final int count = Math.max(1, n / CHILDREN_PER_CELL);
+        cols = clamp((int) Math.round(Math.sqrt(count * w / h)));
+        rows = clamp((count + cols - 1) / cols);
+        minX = x1;
+        minY = y1;
+        cellWidth = w / cols;
+        cellHeight = h / rows;
+
+        cells = new int[cols * rows][];
+        cellSizes = new int[cols * rows];
+        ranges = new int[n * 4];
+        moved = new boolean[n];
+        movedIndices = new int[n];
+        movedCount = 0;
+        unboundedCount = 0;
+        for (int i = 0; i < n; i++) {
+            insert(i);
+        }
+        valid = true;
+    }
+
+    private void insert(int index) {
+        final Bounds b = children.get(index).getBoundsInParent();
+        final int r = index * 4;
+        if (b.isEmpty()) {
+            ranges[r] = EMPTY;
+            return;
+        }
+        if (!isFinite(b)) {
+            ranges[r] = UNBOUNDED;
+            if (unboundedCount == unbounded.length) {
+                unbounded = Arrays.copyOf(unbounded, unboundedCount * 2);
+            }
+            unbounded[unboundedCount++] = index;
+            return;
+        }
+        final int c1 = col(b.getMinX()), r1 = row(b.getMinY());
+        final int c2 = col(b.getMaxX()), r2 = row(b.getMaxY());
+        ranges[r] = c1;
+        ranges[r + 1] = r1;
+        ranges[r + 2] = c2;
+        ranges[r + 3] = r2;
+        for (int row = r1; row <= r2; row++) {
+            for (int col = c1; col <= c2; col++) {
+                final int cell = row * cols + col;
+                int[] entries = cells[cell];
+                final int size = cellSizes[cell];
+                if (entries == null) {
+                    entries = cells[cell] = new int[CHILDREN_PER_CELL];
+                } else if (size == entries.length) {
+                    entries = cells[cell] = Arrays.copyOf(entries, size * 2);
+                }
+                entries[size] = index;
+                cellSizes[cell] = size + 1;
+            }
+        }
+    }
+
+    private void remove(int index) {
+        final int r = index * 4;
+        final int c1 = ranges[r];
+        if (c1 == EMPTY) {
+            return;
+        }
+        if (c1 == UNBOUNDED) {
+            removeEntry(unbounded, unboundedCount--, index);
+            return;
+        }
+        final int r1 = ranges[r + 1], c2 = ranges[r + 2], r2 = ranges[r + 3];
+        for (int row = r1; row <= r2; row++) {
+            for (int col = c1; col <= c2; col++) {
+                final int cell = row * cols + col;
+                removeEntry(cells[cell], cellSizes[cell]--, index);
+            }
+        }
+    }
+
+    /* removes the value from the first size entries, by moving the last entry in its place */
+    private static void removeEntry(int[] entries, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (entries[i] == value) {
+                entries[i] = entries[size - 1];
+                return;
+            }
+        }
+    }
+
+    private int col(double x) {
+        final double c = Math.floor((x - minX) / cellWidth);
+        return c <= 0 ? 0 : c >= cols ? cols - 1 : (int) c;
+    }
+
+    private int row(double y) {
+        final double r = Math.floor((y - minY) / cellHeight);
+        return r <= 0 ? 0 : r >= rows ? rows - 1 : (int) r;
+    }
+
+    private static int clamp(int cells) {
+        return Math.max(1, Math.min(cells, MAX_CELLS_PER_SIDE));
+    }
+
+    private static boolean isFinite(Bounds b) {
+        return Double.isFinite(b.getMinX()) && Double.isFinite(b.getMinY()) &&
+               Double.isFinite(b.getMaxX()) && Double.isFinite(b.getMaxY());
+    }
+}
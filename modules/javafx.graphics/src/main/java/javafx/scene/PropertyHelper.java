@@ -44,4 +44,17 @@ class PropertyHelper {
         return false;
     }
 
+    // Function to return the value of an integer system property, or the given
+    // default if the property is not set or is not a valid integer.
+    static int getIntegerProperty(final String propName, final int defaultValue) {
+        try {
+            int answer =
+                AccessController.doPrivileged((java.security.PrivilegedAction<Integer>) () ->
+                        Integer.getInteger(propName, defaultValue));
+            return answer;
+        } catch (Exception any) {
+        }
+        return defaultValue;
+    }
+
 }
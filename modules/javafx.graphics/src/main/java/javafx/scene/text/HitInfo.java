@@ -25,6 +25,7 @@
 
 package javafx.scene.text;
 
+import com.sun.javafx.scene.text.HitInfoHelper;
 import java.text.BreakIterator;
 
 /**
@@ -34,6 +35,13 @@ import java.text.BreakIterator;
  */
 public class HitInfo {
 
+    static {
+        // This is used by classes in different packages to get access to
+        // private and package private methods.
+        HitInfoHelper.setHitInfoAccessor((charIndex, insertionIndex, leading) ->
+                new HitInfo(charIndex, insertionIndex, leading, null));
+    }
+
     private int charIndex;
     private boolean leading;
     private int insertionIndex;
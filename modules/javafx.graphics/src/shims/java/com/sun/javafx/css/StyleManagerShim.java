@@ -59,7 +59,9 @@ public class StyleManagerShim {
     }
 
     public void cacheContainerMap_clear() {
-        sm.cacheContainerMap.clear();
+        synchronized (sm.cacheContainerMap) {
+            sm.cacheContainerMap.clear();
+        }
     }
 
     public int platformUserAgentStylesheetContainers_indexOf(String fname) {
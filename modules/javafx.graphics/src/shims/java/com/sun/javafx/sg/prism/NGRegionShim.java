@@ -30,6 +30,7 @@ import com.sun.javafx.geom.DirtyRegionPool;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.prism.Graphics;
 
 public class NGRegionShim extends NGRegion {
 
@@ -55,4 +56,20 @@ public class NGRegionShim extends NGRegion {
                 dirtyRegionContainer, tx, pvTx);
     }
 
+    public static boolean canSliceBorderH(NGRegion r) {
+        return r.canSliceBorder(true);
+    }
+
+    public static boolean canSliceBorderV(NGRegion r) {
+        return r.canSliceBorder(false);
+    }
+
+    public static void renderContent(NGRegion r, Graphics g) {
+        r.renderContent(g);
+    }
+
+    public static void renderBorderStrokesDirectly(NGRegion r, Graphics g, float width, float height) {
+        r.renderBorderStrokesDirectly(g, width, height);
+    }
+
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.null3d;
+
+import com.sun.glass.ui.Screen;
+import com.sun.prism.ResourceFactory;
+import com.sun.prism.Texture;
+import com.sun.prism.impl.BaseContext;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DummyResourceFactoryShim {
+
+    /**
+     * Counts the draw calls and records the texture bound for each of them,
+     * to test the batching of operations.
+     */
+    private static class CountingContext extends DummyContext {
+        private Texture boundTexture;
+        int drawCalls;
+        int drawnQuads;
+        final List<Texture> drawnTextures = new ArrayList<>();
+
+        CountingContext(Screen screen, DummyResourceFactory factory) {
+            super(screen, factory);
+        }
+
+        @Override
+        protected void renderQuads(float coordArray[], byte colorArray[], int numVertices) {
+            drawCalls++;
+            drawnQuads += numVertices / 4;
+            drawnTextures.add(boundTexture);
+        }
+
+        @Override
+        protected void updateTexture(int texUnit, Texture tex) {
+            if (texUnit == 0) {
+                boundTexture = tex;
+            }
+        }
+
+        void enableStateSorting(boolean enabled) {
+            setStateSortingEnabled(enabled);
+        }
+
+        void resetStatistics() {
+            drawCalls = 0;
+            drawnQuads = 0;
+            drawnTextures.clear();
+        }
+    }
+
+    private static class CountingResourceFactory extends DummyResourceFactory {
+        CountingResourceFactory() {
+            super(null);
+        }
+
+        @Override
+        DummyContext createContext(Screen screen) {
+            return new CountingContext(screen, this);
+        }
+    }
+
+    public static ResourceFactory createResourceFactory() {
+        return new CountingResourceFactory();
+    }
+
+    /**
+     * Creates the context of a new resource factory, with a render target set
+     * as when a frame is being rendered.
+     */
+    public static BaseContext createContext() {
+        DummyResourceFactory factory = new DummyResourceFactory(null);
+        DummyContext context = factory.getContext();
+        context.init();
+        factory.createRTTexture(1, 1, Texture.WrapMode.CLAMP_NOT_NEEDED).createGraphics().clear();
+        return context;
+    }
+
+    private static CountingContext getContext(ResourceFactory factory) {
+        return (CountingContext) ((DummyResourceFactory) factory).getContext();
+    }
+
+    public static void setStateSortingEnabled(ResourceFactory factory, boolean enabled) {
+        getContext(factory).enableStateSorting(enabled);
+    }
+
+    public static void flush(ResourceFactory factory) {
+        getContext(factory).flushVertexBuffer();
+    }
+
+    public static void resetStatistics(ResourceFactory factory) {
+        getContext(factory).resetStatistics();
+    }
+
+    public static int getDrawCalls(ResourceFactory factory) {
+        return getContext(factory).drawCalls;
+    }
+
+    public static int getDrawnQuads(ResourceFactory factory) {
+        return getContext(factory).drawnQuads;
+    }
+
+    public static List<Texture> getDrawnTextures(ResourceFactory factory) {
+        return getContext(factory).drawnTextures;
+    }
+}
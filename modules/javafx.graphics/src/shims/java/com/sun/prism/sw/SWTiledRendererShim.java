@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import com.sun.glass.utils.NativeLibLoader;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.pisces.RendererBase;
+import com.sun.prism.Graphics;
+import com.sun.prism.RTTexture;
+
+public class SWTiledRendererShim {
+
+    private static SWResourceFactory factory;
+
+    /**
+     * Loads the native Pisces renderer, returns false if it is not available.
+     */
+    public static boolean isSupported() {
+        if (factory == null) {
+            try {
+                NativeLibLoader.loadLibrary("prism_sw");
+            } catch (UnsatisfiedLinkError e) {
+                return false;
+            }
+            factory = new SWResourceFactory(null);
+        }
+        return true;
+    }
+
+    public static RTTexture createRTTexture(int width, int height) {
+        return new SWRTTexture(factory, width, height);
+    }
+
+    /**
+     * Creates a graphics rendering into the target split into at most
+     * maxTiles tiles, or on a single renderer if maxTiles is less than 2.
+     */
+    public static Graphics createGraphics(RTTexture target, int maxTiles) {
+        final SWRTTexture swTarget = (SWRTTexture) target;
+        final PiscesRenderer pr = new PiscesRenderer(new JavaSurface(swTarget.getDataNoClone(),
+                RendererBase.TYPE_INT_ARGB_PRE, swTarget.getPhysicalWidth(), swTarget.getPhysicalHeight()));
+        final SWTiledRenderer tiles = maxTiles < 2 ? null : SWTiledRenderer.create(swTarget, maxTiles);
+        if (maxTiles >= 2 && tiles == null) {
+            throw new IllegalArgumentException("target too small to be split: " + target);
+        }
+        return new SWGraphics(swTarget, factory.getContext(), pr, tiles);
+    }
+}
@@ -48,6 +48,10 @@ public class ParentShim extends Parent {
         return p.test_getRemoved();
     }
 
+    public static boolean test_hasPickIndex(Parent p) {
+        return p.test_hasPickIndex();
+    }
+
     public static List<Node> test_getViewOrderChildren(Parent p) {
         return p.test_getViewOrderChildren();
     }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.AncestorFilterShim;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import javafx.css.Selector;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AncestorFilterTest {
+
+    private Group root;
+    private Group middle;
+    private Rectangle rect;
+
+    @Before
+    public void setUp() {
+        rect = new Rectangle();
+        rect.getStyleClass().add("leaf");
+        middle = new Group(rect);
+        middle.setId("middle");
+        middle.getStyleClass().addAll("inner", "other");
+        root = new Group(middle);
+        root.getStyleClass().add("outer");
+    }
+
+    private boolean mightApply(String selector) {
+        return AncestorFilterShim.mightApply(rect, Selector.createSelector(selector));
+    }
+
+    @Test
+    public void testSimpleSelectorIsNotFiltered() {
+        assertTrue(mightApply(".leaf"));
+        assertTrue(mightApply(".nomatch"));
+    }
+
+    @Test
+    public void testMatchingAncestorsAreNeverRejected() {
+        assertTrue(mightApply(".outer .leaf"));
+        assertTrue(mightApply(".outer > .inner > .leaf"));
+        assertTrue(mightApply("Group.inner.other .leaf"));
+        assertTrue(mightApply("#middle > .leaf"));
+        assertTrue(mightApply("Group.outer Group .leaf"));
+        assertTrue(mightApply("* > .leaf"));
+    }
+
+    @Test
+    public void testMissingAncestorIsRejected() {
+        assertFalse(mightApply(".nomatch .leaf"));
+        assertFalse(mightApply(".outer #nomatch .leaf"));
+        assertFalse(mightApply("Rectangle .leaf"));
+    }
+
+    @Test
+    public void testNodeItselfIsNotAnAncestor() {
+        assertFalse(mightApply(".leaf .leaf"));
+    }
+
+    @Test
+    public void testDescendantSelectorsStillApply() throws IOException {
+        File css = File.createTempFile("AncestorFilterTest", ".css");
+        css.deleteOnExit();
+        try (FileWriter writer = new FileWriter(css)) {
+            writer.write(".nomatch .leaf { -fx-fill: red; }\n" +
+                         ".outer .inner > .leaf { -fx-fill: blue; }\n" +
+                         ".inner .nomatch > .leaf { -fx-stroke: red; }");
+        }
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add(css.toURI().toURL().toExternalForm());
+        root.applyCss();
+        assertEquals(Color.BLUE, rect.getFill());
+        assertEquals(null, rect.getStroke());
+    }
+
+}
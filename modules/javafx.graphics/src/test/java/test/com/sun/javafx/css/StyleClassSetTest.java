@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.StyleClassSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import javafx.css.StyleClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StyleClassSetTest {
+
+    private static final int THREADS = 8;
+    private static final int CLASSES = 2000;
+
+    @Test
+    public void testStyleClassesAddedConcurrently() throws InterruptedException {
+        // every thread adds the same new style classes, plus some of its own
+        final String prefix = "concurrent-" + System.nanoTime() + "-";
+        final StyleClass[][] results = new StyleClass[THREADS][2 * CLASSES];
+        final List<Throwable> errors = new ArrayList<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            Thread th = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < CLASSES; i++) {
+                        results[thread][2 * i] = StyleClassSet.getStyleClass(prefix + i);
+                        results[thread][2 * i + 1] =
+                                StyleClassSet.getStyleClass(prefix + thread + "-" + i);
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            });
+            threads.add(th);
+            th.start();
+        }
+        start.countDown();
+        for (Thread th : threads) {
+            th.join();
+        }
+        assertTrue(errors.toString(), errors.isEmpty());
+
+        final Set<Integer> indices = new HashSet<>();
+        for (int i = 0; i < CLASSES; i++) {
+            final StyleClass shared = StyleClassSet.getStyleClass(prefix + i);
+            assertEquals(prefix + i, shared.getStyleClassName());
+            assertTrue(indices.add(shared.getIndex()));
+            for (int t = 0; t < THREADS; t++) {
+                assertSame(shared, results[t][2 * i]);
+                final StyleClass own = results[t][2 * i + 1];
+                assertSame(own, StyleClassSet.getStyleClass(prefix + t + "-" + i));
+                assertEquals(prefix + t + "-" + i, own.getStyleClassName());
+                assertTrue(indices.add(own.getIndex()));
+            }
+        }
+    }
+
+    @Test
+    public void testSetsOfConcurrentlyAddedStyleClasses() throws InterruptedException {
+        final String prefix = "set-" + System.nanoTime() + "-";
+        final List<Thread> threads = new ArrayList<>();
+        final List<StyleClassSet> sets = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final StyleClassSet set = new StyleClassSet();
+            sets.add(set);
+            Thread th = new Thread(() -> {
+                for (int i = 0; i < CLASSES; i++) {
+                    set.add(StyleClassSet.getStyleClass(prefix + i));
+                }
+            });
+            threads.add(th);
+            th.start();
+        }
+        for (Thread th : threads) {
+            th.join();
+        }
+        for (StyleClassSet set : sets) {
+            assertEquals(CLASSES, set.size());
+            assertEquals(sets.get(0), set);
+        }
+    }
+}
@@ -1099,4 +1099,51 @@ public class StyleManagerTest {
         assertFalse("Exception during CSS processing on BG thread", err.get());
     }
 
+    @Test
+    public void testConcurrentStylingOfSeparateScenes() {
+        final int NUM_THREADS = 4;
+        final Thread[] bgThreads = new Thread[NUM_THREADS];
+        final AtomicBoolean err = new AtomicBoolean(false);
+        for (int i = 0; i < NUM_THREADS; i++) {
+            final String stylesheet = (i % 2 == 0)
+                    ? "test/com/sun/javafx/css/ua0.css"
+                    : "test/com/sun/javafx/css/ua1.css";
+            final Color expectedFill = (i % 2 == 0) ? Color.RED : Color.BLACK;
+            Thread thr = new Thread(() -> {
+                try {
+                    for (int j = 0; j < 200; j++) {
+                        Rectangle rect = new Rectangle();
+                        rect.getStyleClass().add("rect");
+                        Scene scene = new Scene(new Group(new Group(rect)));
+                        scene.setUserAgentStylesheet(stylesheet);
+                        scene.getRoot().applyCss();
+                        if (!expectedFill.equals(rect.getFill())) {
+                            err.set(true);
+                        }
+                    }
+                } catch (RuntimeException ex) {
+                    err.set(true);
+                    throw ex;
+                }
+            });
+            thr.setName("MyThread-" + i);
+            thr.setDaemon(true);
+            bgThreads[i] = thr;
+        }
+
+        for (Thread thr : bgThreads) {
+            thr.start();
+        }
+
+        try {
+            for (Thread thr : bgThreads) {
+                thr.join();
+            }
+        } catch (InterruptedException ex) {
+            fail("Unexpected exception waiting for threads to finish");
+        }
+
+        assertFalse("Wrong style or exception during CSS processing on BG thread", err.get());
+    }
+
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.StylesheetCacheShim;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import javafx.css.Declaration;
+import javafx.css.Rule;
+import javafx.css.Stylesheet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StylesheetCacheTest {
+
+    private File dir;
+    private File cacheDir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = File.createTempFile("StylesheetCacheTest", "");
+        assertTrue(dir.delete());
+        assertTrue(dir.mkdirs());
+        cacheDir = new File(dir, "cache");
+    }
+
+    @After
+    public void tearDown() {
+        delete(dir);
+    }
+
+    private static void delete(File file) {
+        final File[] files = file.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                delete(f);
+            }
+        }
+        file.delete();
+    }
+
+    private URL writeCss(String name, String css) throws IOException {
+        final File file = new File(dir, name);
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(css);
+        }
+        return file.toURI().toURL();
+    }
+
+    private int cacheFileCount() {
+        final String[] names = cacheDir.list((d, name) -> name.endsWith(".bss"));
+        return names == null ? 0 : names.length;
+    }
+
+    @Test
+    public void testMissParsesAndStoresStylesheet() throws IOException {
+        final URL url = writeCss("a.css", ".a { -fx-fill: red; } .b { -fx-stroke: blue; }");
+
+        final Stylesheet stylesheet = StylesheetCacheShim.load(url, cacheDir);
+        assertEquals(url.toExternalForm(), stylesheet.getUrl());
+        assertEquals(2, stylesheet.getRules().size());
+        assertEquals(1, cacheFileCount());
+    }
+
+    @Test
+    public void testHitMatchesParsedStylesheet() throws IOException {
+        final URL url = writeCss("a.css", ".a { -fx-fill: red; } .b > .c:hover { -fx-stroke: blue; }");
+
+        final Stylesheet parsed = StylesheetCacheShim.load(url, cacheDir);
+        final Stylesheet cached = StylesheetCacheShim.load(url, cacheDir);
+
+        assertNotSame(parsed, cached);
+        assertEquals(url.toExternalForm(), cached.getUrl());
+        assertEquals(parsed.getRules().size(), cached.getRules().size());
+        for (int n = 0; n < parsed.getRules().size(); n++) {
+            final Rule expected = parsed.getRules().get(n);
+            final Rule actual = cached.getRules().get(n);
+            assertEquals(expected.getSelectors().toString(), actual.getSelectors().toString());
+            assertEquals(expected.getDeclarations().toString(), actual.getDeclarations().toString());
+        }
+        assertEquals(1, cacheFileCount());
+    }
+
+    @Test
+    public void testRelativeUrlResolvesAgainstStylesheet() throws IOException {
+        final URL url = writeCss("a.css", ".a { -fx-background-image: url(\"img.png\"); }");
+
+        StylesheetCacheShim.load(url, cacheDir);
+        final Stylesheet cached = StylesheetCacheShim.load(url, cacheDir);
+
+        final List<Rule> rules = cached.getRules();
+        final Declaration decl = rules.get(0).getDeclarations().get(0);
+        final Object value = decl.getParsedValue().convert(null);
+        final String resolved = value instanceof String[] ? ((String[])value)[0] : String.valueOf(value);
+        assertEquals(new URL(url, "img.png").toExternalForm(), resolved);
+    }
+
+    @Test
+    public void testChangedContentIsParsedAgain() throws IOException {
+        URL url = writeCss("a.css", ".a { -fx-fill: red; }");
+        StylesheetCacheShim.load(url, cacheDir);
+
+        url = writeCss("a.css", ".a { -fx-fill: red; } .b { -fx-fill: green; }");
+        final Stylesheet stylesheet = StylesheetCacheShim.load(url, cacheDir);
+
+        assertEquals(2, stylesheet.getRules().size());
+        assertEquals(2, cacheFileCount());
+    }
+
+    @Test
+    public void testCorruptCacheFileIsIgnored() throws IOException {
+        final URL url = writeCss("a.css", ".a { -fx-fill: red; }");
+        StylesheetCacheShim.load(url, cacheDir);
+
+        final File[] files = cacheDir.listFiles((d, name) -> name.endsWith(".bss"));
+        assertEquals(1, files.length);
+        try (FileWriter writer = new FileWriter(files[0])) {
+            writer.write("garbage");
+        }
+
+        final Stylesheet stylesheet = StylesheetCacheShim.load(url, cacheDir);
+        assertEquals(1, stylesheet.getRules().size());
+    }
+
+    @Test
+    public void testImportIsNotCached() throws IOException {
+        writeCss("b.css", ".b { -fx-fill: blue; }");
+        final URL url = writeCss("a.css", "@import \"b.css\"; .a { -fx-fill: red; }");
+
+        final Stylesheet stylesheet = StylesheetCacheShim.load(url, cacheDir);
+        assertEquals(2, stylesheet.getRules().size());
+        assertEquals(0, cacheFileCount());
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.font;
+
+import com.sun.javafx.font.CharToGlyphMapper;
+import com.sun.javafx.font.CompositeFontResource;
+import com.sun.javafx.font.CompositeGlyphMapper;
+import com.sun.javafx.font.FontResource;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CompositeGlyphMapperTest {
+
+    /* Maps the code points in [start, end) to code point - start + 1 */
+    static class RangeMapper extends CharToGlyphMapper {
+        final int start, end;
+        int lookups;
+
+        RangeMapper(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override public int getGlyphCode(int charCode) {
+            lookups++;
+            return charCode >= start && charCode < end
+                    ? charCode - start + 1 : missingGlyph;
+        }
+    }
+
+    private final List<RangeMapper> slots = new ArrayList<>();
+    private CompositeGlyphMapper mapper;
+
+    private static FontResource slotResource(CharToGlyphMapper mapper) {
+        return (FontResource) Proxy.newProxyInstance(
+                FontResource.class.getClassLoader(),
+                new Class<?>[] { FontResource.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getGlyphMapper")) {
+                        return mapper;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Before
+    public void setUp() {
+        slots.add(new RangeMapper(0x20, 0x250));    // latin
+        slots.add(new RangeMapper(0x400, 0x500));   // cyrillic
+        slots.add(new RangeMapper(0x4E00, 0xA000)); // CJK
+        slots.add(new RangeMapper(0x1F300, 0x1F700)); // emoji
+        CompositeFontResource font = (CompositeFontResource) Proxy.newProxyInstance(
+                CompositeFontResource.class.getClassLoader(),
+                new Class<?>[] { CompositeFontResource.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getNumSlots":
+                            return slots.size();
+                        case "getSlotResource":
+                            return slotResource(slots.get((Integer) args[0]));
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        mapper = new CompositeGlyphMapper(font);
+    }
+
+    private int expected(int slot, int codePoint) {
+        return mapper.compositeGlyphCode(slot, codePoint - slots.get(slot).start + 1);
+    }
+
+    @Test
+    public void glyphCodesIdentifyTheSlot() {
+        assertEquals(expected(0, 'A'), mapper.charToGlyph('A'));
+        assertEquals(expected(0, 0xE9), mapper.charToGlyph(0xE9));
+        assertEquals(expected(1, 0x416), mapper.charToGlyph(0x416));
+        assertEquals(expected(2, 0x6F22), mapper.charToGlyph(0x6F22));
+        assertEquals(expected(3, 0x1F600), mapper.charToGlyph(0x1F600));
+        assertEquals(0, mapper.charToGlyph(0x0E01));
+        assertEquals(0, mapper.charToGlyph(0x10FFFF));
+        assertEquals(0, mapper.charToGlyph(0x110000));
+        assertEquals(0, mapper.charToGlyph(-1));
+    }
+
+    @Test
+    public void glyphCodesAreLookedUpOnce() {
+        int[] codePoints = { 0xE9, 0x416, 0x6F22, 0x1F600, 0x0E01 };
+        for (int cp : codePoints) {
+            mapper.charToGlyph(cp);
+        }
+        int[] lookups = new int[slots.size()];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = slots.get(i).lookups;
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected(0, 0xE9), mapper.charToGlyph(0xE9));
+            assertEquals(expected(1, 0x416), mapper.charToGlyph(0x416));
+            assertEquals(expected(2, 0x6F22), mapper.charToGlyph(0x6F22));
+            assertEquals(expected(3, 0x1F600), mapper.charToGlyph(0x1F600));
+            assertEquals(0, mapper.charToGlyph(0x0E01));
+        }
+        for (int i = 0; i < lookups.length; i++) {
+            assertEquals(lookups[i], slots.get(i).lookups);
+        }
+    }
+
+    @Test
+    public void unsupportedCodePointIsLookedUpAgainWhenASlotIsAdded() {
+        assertEquals(0, mapper.charToGlyph(0x0E01));
+        assertEquals(0, mapper.charToGlyph(0x0E02));
+        assertEquals(expected(1, 0x416), mapper.charToGlyph(0x416));
+
+        slots.add(new RangeMapper(0x0E00, 0x0E80)); // thai
+        assertEquals(expected(4, 0x0E01), mapper.charToGlyph(0x0E01));
+        assertEquals(expected(4, 0x0E02), mapper.charToGlyph(0x0E02));
+        assertEquals(expected(1, 0x416), mapper.charToGlyph(0x416));
+        assertEquals(0, mapper.charToGlyph(0x0E80));
+    }
+
+    @Test
+    public void charsToGlyphsMapsSurrogatePairs() {
+        String text = "AЖ漢😀";
+        char[] chars = text.toCharArray();
+        int[] glyphs = new int[chars.length];
+        mapper.charsToGlyphs(0, chars.length, chars, glyphs, 0);
+        assertEquals(expected(0, 'A'), glyphs[0]);
+        assertEquals(expected(1, 0x416), glyphs[1]);
+        assertEquals(expected(2, 0x6F22), glyphs[2]);
+        assertEquals(expected(3, 0x1F600), glyphs[3]);
+        assertEquals(CharToGlyphMapper.INVISIBLE_GLYPH_ID, glyphs[4]);
+    }
+}
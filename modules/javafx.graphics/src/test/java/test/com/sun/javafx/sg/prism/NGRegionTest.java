@@ -28,18 +28,37 @@ package test.com.sun.javafx.sg.prism;
 import com.sun.javafx.scene.NodeHelper;
 import com.sun.javafx.sg.prism.NGNodeShim;
 import com.sun.javafx.sg.prism.NGRegion;
+import com.sun.javafx.sg.prism.NGRegionShim;
+import com.sun.prism.Graphics;
+import com.sun.prism.RTTexture;
+import com.sun.prism.sw.SWTiledRendererShim;
+import java.util.Arrays;
+import java.util.function.Consumer;
 import javafx.geometry.Insets;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderStrokeStyle;
+import javafx.scene.layout.BorderWidths;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.RadialGradient;
+import javafx.scene.paint.Stop;
 import javafx.scene.shape.ClosePath;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
 import org.junit.Test;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 /**
  */
@@ -140,4 +159,173 @@ public class NGRegionTest {
         NodeHelper.updatePeer(r);
         assertTrue(NGNodeShim.isOpaqueRegionInvalid(peer));
     }
+
+    private static BorderStroke stroke(javafx.scene.paint.Paint paint, BorderStrokeStyle style,
+                                       CornerRadii radii, BorderWidths widths) {
+        return new BorderStroke(paint, style, radii, widths);
+    }
+
+    @Test public void roundedSolidBorderCanBeSlicedBothWays() {
+        NGRegion r = new NGRegion();
+        r.updateBorder(new Border(stroke(Color.RED, BorderStrokeStyle.SOLID, new CornerRadii(5), BorderWidths.DEFAULT)));
+        assertTrue(NGRegionShim.canSliceBorderH(r));
+        assertTrue(NGRegionShim.canSliceBorderV(r));
+    }
+
+    @Test public void multipleSquaredStrokesCanBeSliced() {
+        NGRegion r = new NGRegion();
+        r.updateBorder(new Border(
+                stroke(Color.RED, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT),
+                stroke(Color.BLUE, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, new BorderWidths(2))));
+        assertTrue(NGRegionShim.canSliceBorderH(r));
+        assertTrue(NGRegionShim.canSliceBorderV(r));
+    }
+
+    @Test public void singleSquaredStrokeIsNotCached() {
+        NGRegion r = new NGRegion();
+        r.updateBorder(new Border(stroke(Color.RED, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT)));
+        assertFalse(NGRegionShim.canSliceBorderH(r));
+        assertFalse(NGRegionShim.canSliceBorderV(r));
+    }
+
+    @Test public void dashedBorderIsNotCached() {
+        NGRegion r = new NGRegion();
+        r.updateBorder(new Border(stroke(Color.RED, BorderStrokeStyle.DASHED, new CornerRadii(5), BorderWidths.DEFAULT)));
+        assertFalse(NGRegionShim.canSliceBorderH(r));
+        assertFalse(NGRegionShim.canSliceBorderV(r));
+    }
+
+    @Test public void percentageWidthBorderIsNotCached() {
+        NGRegion r = new NGRegion();
+        r.updateBorder(new Border(stroke(Color.RED, BorderStrokeStyle.SOLID, new CornerRadii(5),
+                new BorderWidths(0.1, 0.1, 0.1, 0.1, true, true, true, true))));
+        assertFalse(NGRegionShim.canSliceBorderH(r));
+        assertFalse(NGRegionShim.canSliceBorderV(r));
+    }
+
+    @Test public void verticalGradientBorderCanOnlyBeSlicedHorizontally() {
+        NGRegion r = new NGRegion();
+        LinearGradient gradient = new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
+                new Stop(0, Color.RED), new Stop(1, Color.BLUE));
+        r.updateBorder(new Border(stroke(gradient, BorderStrokeStyle.SOLID, new CornerRadii(5), BorderWidths.DEFAULT)));
+        assertTrue(NGRegionShim.canSliceBorderH(r));
+        assertFalse(NGRegionShim.canSliceBorderV(r));
+    }
+
+    @Test public void radialGradientBorderIsNotCached() {
+        NGRegion r = new NGRegion();
+        RadialGradient gradient = new RadialGradient(0, 0, 0.5, 0.5, 0.5, true, CycleMethod.NO_CYCLE,
+                new Stop(0, Color.RED), new Stop(1, Color.BLUE));
+        r.updateBorder(new Border(stroke(gradient, BorderStrokeStyle.SOLID, new CornerRadii(5), BorderWidths.DEFAULT)));
+        assertFalse(NGRegionShim.canSliceBorderH(r));
+        assertFalse(NGRegionShim.canSliceBorderV(r));
+    }
+
+    private static final int MARGIN = 10;
+
+    private static int[] renderRegion(int width, int height, Consumer<Graphics> painter) {
+        final RTTexture target = SWTiledRendererShim.createRTTexture(width + 2 * MARGIN, height + 2 * MARGIN);
+        final Graphics g = SWTiledRendererShim.createGraphics(target, 1);
+        g.clear(com.sun.prism.paint.Color.WHITE);
+        g.translate(MARGIN, MARGIN);
+        painter.accept(g);
+        return target.getPixels().clone();
+    }
+
+    /**
+     * Compares the pixels allowing each channel to be off by one, since blending the
+     * cached image goes through one more premultiplied round trip than blending the
+     * antialiased strokes directly.
+     */
+    private static void assertSamePixels(String message, int[] expected, int[] actual) {
+        assertEquals(message, expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            for (int shift = 0; shift < 32; shift += 8) {
+                final int e = (expected[i] >>> shift) & 0xff;
+                final int a = (actual[i] >>> shift) & 0xff;
+                if (Math.abs(e - a) > 1) {
+                    fail(message + ": pixel " + i + " expected " + Integer.toHexString(expected[i])
+                            + " but was " + Integer.toHexString(actual[i]));
+                }
+            }
+        }
+    }
+
+    private static int[] regionTexturePixels() {
+        final RTTexture target = SWTiledRendererShim.createRTTexture(1, 1);
+        final RTTexture cache = (RTTexture) target.createGraphics().getResourceFactory().getRegionTexture();
+        return cache == null ? null : cache.getPixels().clone();
+    }
+
+    /**
+     * Renders the region through renderContent, which slices the border from the
+     * region image cache, and checks the result against the border strokes
+     * rendered directly. Returns whether the border was rendered into the cache.
+     */
+    private static boolean assertCachedBorderMatchesStrokes(NGRegion r, int width, int height) {
+        final int[] cacheBefore = regionTexturePixels();
+        final int[] cached = renderRegion(width, height, g -> NGRegionShim.renderContent(r, g));
+        final int[] direct = renderRegion(width, height,
+                g -> NGRegionShim.renderBorderStrokesDirectly(r, g, width, height));
+        assertSamePixels("border rendered at " + width + "x" + height, direct, cached);
+        final int[] cacheAfter = regionTexturePixels();
+        assertNotNull(cacheAfter);
+        return !Arrays.equals(cacheBefore, cacheAfter);
+    }
+
+    private static Border roundedBorder(Color outer, Color inner, double innerInset) {
+        return new Border(
+                stroke(outer, BorderStrokeStyle.SOLID, new CornerRadii(6), new BorderWidths(2)),
+                new BorderStroke(inner, BorderStrokeStyle.SOLID, new CornerRadii(4),
+                        new BorderWidths(1, 3, 1, 3), new Insets(innerInset)));
+    }
+
+    @Test public void cachedBorderMatchesStrokesAtSeveralSizes() {
+        assumeTrue(SWTiledRendererShim.isSupported());
+        NGRegion r = new NGRegion();
+        r.updateBorder(roundedBorder(Color.DARKBLUE, Color.ORANGE, 2));
+        assertTrue(NGRegionShim.canSliceBorderH(r));
+        assertTrue(NGRegionShim.canSliceBorderV(r));
+        r.setSize(40, 30);
+        assertTrue(assertCachedBorderMatchesStrokes(r, 40, 30));
+        // the sliced image does not depend on the size, so resizing reuses it
+        r.setSize(100, 60);
+        assertFalse(assertCachedBorderMatchesStrokes(r, 100, 60));
+        r.setSize(257, 33);
+        assertFalse(assertCachedBorderMatchesStrokes(r, 257, 33));
+        r.setSize(40, 30);
+        assertFalse(assertCachedBorderMatchesStrokes(r, 40, 30));
+    }
+
+    @Test public void cachedGradientBorderMatchesStrokes() {
+        assumeTrue(SWTiledRendererShim.isSupported());
+        NGRegion r = new NGRegion();
+        LinearGradient gradient = new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
+                new Stop(0, Color.RED), new Stop(1, Color.BLUE));
+        r.updateBorder(new Border(stroke(gradient, BorderStrokeStyle.SOLID, new CornerRadii(5), new BorderWidths(2))));
+        r.setSize(120, 24);
+        assertTrue(assertCachedBorderMatchesStrokes(r, 120, 24));
+        r.setSize(61, 24);
+        assertFalse(assertCachedBorderMatchesStrokes(r, 61, 24));
+    }
+
+    @Test public void borderCacheIsInvalidatedWhenBorderChanges() {
+        assumeTrue(SWTiledRendererShim.isSupported());
+        NGRegion r = new NGRegion();
+        r.updateBorder(roundedBorder(Color.GREEN, Color.PURPLE, 2));
+        r.setSize(80, 50);
+        assertTrue(assertCachedBorderMatchesStrokes(r, 80, 50));
+        r.updateBorder(roundedBorder(Color.GREEN, Color.CRIMSON, 2));
+        assertTrue(assertCachedBorderMatchesStrokes(r, 80, 50));
+    }
+
+    @Test public void borderCacheIsInvalidatedWhenInsetsChange() {
+        assumeTrue(SWTiledRendererShim.isSupported());
+        NGRegion r = new NGRegion();
+        r.updateBorder(roundedBorder(Color.TEAL, Color.PURPLE, 2));
+        r.setSize(80, 50);
+        assertTrue(assertCachedBorderMatchesStrokes(r, 80, 50));
+        r.updateBorder(roundedBorder(Color.TEAL, Color.PURPLE, 5));
+        assertTrue(assertCachedBorderMatchesStrokes(r, 80, 50));
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.text;
+
+import com.sun.javafx.text.LRUCache;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LRUCacheTest {
+
+    @Test public void testGetReturnsPutValue() {
+        LRUCache<String, String> cache = new LRUCache<>(100);
+        assertNull(cache.get("a"));
+        cache.put("a", "A", 1);
+        assertEquals("A", cache.get("a"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getWeight());
+    }
+
+    @Test public void testLeastRecentlyUsedValueIsEvictedFirst() {
+        LRUCache<String, String> cache = new LRUCache<>(30);
+        cache.put("a", "A", 10);
+        cache.put("b", "B", 10);
+        cache.put("c", "C", 10);
+        // a is now more recently used than b
+        assertEquals("A", cache.get("a"));
+        cache.put("d", "D", 10);
+
+        assertNull(cache.get("b"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("C", cache.get("c"));
+        assertEquals("D", cache.get("d"));
+        assertEquals(30, cache.getWeight());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test public void testEvictsUntilNewValueFits() {
+        LRUCache<String, String> cache = new LRUCache<>(30);
+        cache.put("a", "A", 10);
+        cache.put("b", "B", 10);
+        cache.put("c", "C", 10);
+        cache.put("d", "D", 25);
+
+        assertEquals(1, cache.size());
+        assertEquals("D", cache.get("d"));
+        assertEquals(25, cache.getWeight());
+        assertEquals(3, cache.getEvictionCount());
+    }
+
+    @Test public void testReplacingValueUpdatesWeight() {
+        LRUCache<String, String> cache = new LRUCache<>(30);
+        cache.put("a", "A", 10);
+        cache.put("a", "AA", 20);
+        assertEquals(1, cache.size());
+        assertEquals(20, cache.getWeight());
+        assertEquals("AA", cache.get("a"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test public void testValueLargerThanCacheIsNotAdded() {
+        LRUCache<String, String> cache = new LRUCache<>(30);
+        cache.put("a", "A", 10);
+        cache.put("b", "B", 31);
+        assertNull(cache.get("b"));
+        assertEquals("A", cache.get("a"));
+        assertEquals(10, cache.getWeight());
+    }
+
+    @Test public void testEmptyCacheHoldsNothing() {
+        LRUCache<String, String> cache = new LRUCache<>(0);
+        cache.put("a", "A", 1);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test public void testStatistics() {
+        LRUCache<String, String> cache = new LRUCache<>(10);
+        cache.get("a");
+        cache.put("a", "A", 5);
+        cache.get("a");
+        cache.get("a");
+        cache.put("b", "B", 5);
+        cache.put("c", "C", 5);
+        cache.get("a");
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test public void testRejectedValueIsAMiss() {
+        LRUCache<String, String> cache = new LRUCache<>(10);
+        cache.put("a", "A", 5);
+        assertNull(cache.get("a", "B"::equals));
+        assertEquals("A", cache.get("a", "A"::equals));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test public void testRejectedValueIsNotMarkedAsUsed() {
+        LRUCache<String, String> cache = new LRUCache<>(20);
+        cache.put("a", "A", 10);
+        cache.put("b", "B", 10);
+        // a colliding key does not make a more recently used than b
+        assertNull(cache.get("a", "B"::equals));
+        cache.put("c", "C", 10);
+
+        assertNull(cache.get("a"));
+        assertEquals("B", cache.get("b"));
+        assertEquals("C", cache.get("c"));
+    }
+
+    @Test public void testReplacedValueIsMostRecentlyUsed() {
+        LRUCache<String, String> cache = new LRUCache<>(20);
+        cache.put("a", "A", 10);
+        cache.put("b", "B", 10);
+        cache.put("a", "AA", 10);
+        cache.put("c", "C", 10);
+
+        assertNull(cache.get("b"));
+        assertEquals("AA", cache.get("a"));
+    }
+
+    @Test public void testClear() {
+        LRUCache<String, String> cache = new LRUCache<>(10);
+        cache.put("a", "A", 5);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeight());
+        assertNull(cache.get("a"));
+    }
+
+    @Test public void testRepeatedValuesStayCachedWhileOthersChurn() {
+        // like the same labels drawn in many table cells between unique ones
+        LRUCache<Integer, String> cache = new LRUCache<>(100);
+        for (int i = 0; i < 1000; i++) {
+            for (int label = 0; label < 5; label++) {
+                if (cache.get(label) == null) {
+                    cache.put(label, "label " + label, 10);
+                }
+            }
+            cache.put(1000 + i, "unique " + i, 10);
+        }
+        assertEquals(5, cache.getMissCount());
+        assertEquals(5 * 1000 - 5, cache.getHitCount());
+    }
+
+    @Test public void testConcurrentAccess() throws InterruptedException {
+        final LRUCache<Integer, Integer> cache = new LRUCache<>(500);
+        final List<Thread> threads = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int seed = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    int key = (i * 31 + seed) % 1000;
+                    Integer value = cache.get(key);
+                    if (value == null) {
+                        cache.put(key, key, 1 + key % 7);
+                    } else if (value != key) {
+                        synchronized (errors) {
+                            errors.add(new AssertionError("Wrong value for " + key));
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(errors.isEmpty());
+        assertTrue(cache.getWeight() <= 500);
+        assertEquals(4 * 20000, cache.getHitCount() + cache.getMissCount());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.marlin;
+
+import com.sun.marlin.MarlinConst;
+import com.sun.marlin.MaskMarlinAlphaConsumer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MaskMarlinAlphaConsumerTest {
+
+    private static final int MAX_ALPHA = MarlinConst.MAX_AA_ALPHA;
+
+    private static int toAlpha(int coverage) {
+        return (coverage * 255 + (MAX_ALPHA >> 2)) / MAX_ALPHA;
+    }
+
+    private static void checkRow(int x, int w, int from, int to, int[] coverage) {
+        final MaskMarlinAlphaConsumer ac = new MaskMarlinAlphaConsumer(w * 2);
+        ac.setBoundsNoClone(x, 10, w, 2);
+        ac.setMaxAlpha(MAX_ALPHA);
+
+        final ByteBuffer mask = ac.getMaskData().getMaskBuffer();
+        // dirty the row to check that pixels outside of the span are cleared:
+        for (int i = 0; i < w * 2; i++) {
+            mask.put(i, (byte) 0x7F);
+        }
+
+        final int[] deltas = new int[Math.max(w, to - x) + 2];
+        int prev = 0;
+        for (int i = 0; i < coverage.length; i++) {
+            deltas[from - x + i] = coverage[i] - prev;
+            prev = coverage[i];
+        }
+        deltas[from - x + coverage.length] = -prev;
+
+        ac.setAndClearRelativeAlphas(deltas, 11, from, to);
+
+        for (int i = 0; i < w; i++) {
+            final int c = i - (from - x);
+            final int expected = (c >= 0 && c < coverage.length && i < to - x) ? toAlpha(coverage[c]) : 0;
+            assertEquals("pixel " + i, expected, mask.get(w + i) & 0xFF);
+        }
+        for (int i = 0; i < w; i++) {
+            assertEquals("row 0 pixel " + i, 0x7F, mask.get(i));
+        }
+        for (int i = 0; i < deltas.length; i++) {
+            assertEquals("delta " + i, 0, deltas[i]);
+        }
+    }
+
+    private static int[] ramp(int len) {
+        final int[] coverage = new int[len];
+        for (int i = 0; i < len; i++) {
+            coverage[i] = ((i * 37) % (MAX_ALPHA + 1));
+        }
+        return coverage;
+    }
+
+    @Test
+    public void testNarrowRow() {
+        checkRow(0, 16, 3, 10, ramp(7));
+    }
+
+    @Test
+    public void testShortSpans() {
+        for (int len = 1; len <= 9; len++) {
+            checkRow(5, 24, 7, 7 + len, ramp(len));
+        }
+    }
+
+    @Test
+    public void testFastFillRow() {
+        // narrow span inside a wide row takes the zero-fill path
+        checkRow(0, 256, 100, 110, ramp(10));
+    }
+
+    @Test
+    public void testWideRow() {
+        checkRow(-20, 200, -18, 175, ramp(193));
+    }
+
+    @Test
+    public void testSpanClippedToRowWidth() {
+        final int[] coverage = new int[12];
+        Arrays.fill(coverage, MAX_ALPHA);
+        checkRow(0, 40, 30, 42, coverage);
+    }
+}
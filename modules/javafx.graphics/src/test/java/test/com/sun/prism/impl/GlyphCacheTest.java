@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.impl;
+
+import com.sun.javafx.font.FontResource;
+import com.sun.javafx.font.FontStrike;
+import com.sun.javafx.font.Glyph;
+import com.sun.javafx.font.Metrics;
+import com.sun.javafx.geom.Point2D;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.scene.text.GlyphList;
+import com.sun.javafx.scene.text.TextSpan;
+import com.sun.prism.impl.BaseContext;
+import com.sun.prism.impl.GlyphCache;
+import com.sun.prism.impl.GlyphCacheShim;
+import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.null3d.DummyResourceFactoryShim;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Fills the glyph cache with glyphs sized so that each level of the backing
+ * store holds GLYPHS_PER_LEVEL of them, and checks which levels are reclaimed
+ * when there is no room left.
+ */
+public class GlyphCacheTest {
+
+    private static final int GLYPHS_PER_LEVEL = 4;
+    // the glyph rectangles have a one pixel border on each side
+    private static final int GLYPH_WIDTH = PrismSettings.glyphCacheWidth / GLYPHS_PER_LEVEL - 2;
+    private static final int GLYPH_HEIGHT = PrismSettings.glyphCacheHeight / GLYPHS_PER_LEVEL - 2;
+    private static final int LEVELS = 4;
+
+    private BaseContext context;
+    private TestStrike strike;
+    private GlyphCache cache;
+
+    @Before
+    public void setUp() {
+        context = DummyResourceFactoryShim.createContext();
+        strike = new TestStrike();
+        cache = context.getGlyphCache(strike);
+    }
+
+    private void render(int... glyphCodes) {
+        cache.render(context, new TestGlyphList(glyphCodes), 0, 0, 0, 0, null, null,
+                     BaseTransform.IDENTITY_TRANSFORM, null);
+    }
+
+    /**
+     * Renders each level of glyphs in its own glyph list, so that the first
+     * level is the least recently used one.
+     */
+    private void fillCache() {
+        for (int level = 0; level < LEVELS; level++) {
+            render(level(level));
+        }
+        for (int gc = 0; gc < LEVELS * GLYPHS_PER_LEVEL; gc++) {
+            assertTrue("glyph " + gc, GlyphCacheShim.isCached(cache, gc));
+            assertEquals(1, strike.rasterized[gc]);
+        }
+    }
+
+    private static int[] level(int level) {
+        int[] glyphCodes = new int[GLYPHS_PER_LEVEL];
+        for (int i = 0; i < GLYPHS_PER_LEVEL; i++) {
+            glyphCodes[i] = level * GLYPHS_PER_LEVEL + i;
+        }
+        return glyphCodes;
+    }
+
+    private void assertLevelCached(int level, boolean cached) {
+        for (int gc : level(level)) {
+            assertEquals("glyph " + gc, cached, GlyphCacheShim.isCached(cache, gc));
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedLevelIsEvicted() {
+        fillCache();
+        // use the first level again, leaving the second level the oldest
+        render(level(0));
+        final int extra = LEVELS * GLYPHS_PER_LEVEL;
+        render(extra);
+        assertTrue(GlyphCacheShim.isCached(cache, extra));
+        assertLevelCached(0, true);
+        assertLevelCached(1, false);
+        assertLevelCached(2, true);
+        assertLevelCached(3, true);
+        for (int gc : level(0)) {
+            assertEquals(1, strike.rasterized[gc]);
+        }
+    }
+
+    @Test
+    public void testGlyphsInUseAreNotEvicted() {
+        fillCache();
+        // the first level is the least recently used one, but it is used by
+        // the glyph list which needs the room
+        final int extra = LEVELS * GLYPHS_PER_LEVEL;
+        render(0, extra);
+        assertTrue(GlyphCacheShim.isCached(cache, extra));
+        assertLevelCached(0, true);
+        assertLevelCached(1, false);
+        assertLevelCached(2, true);
+        assertLevelCached(3, true);
+    }
+
+    @Test
+    public void testEvictedGlyphsAreRasterizedAgain() {
+        fillCache();
+        final int extra = LEVELS * GLYPHS_PER_LEVEL;
+        render(extra);
+        assertLevelCached(0, false);
+        // the evicted glyph goes in the room left next to the extra glyph
+        render(0);
+        assertTrue(GlyphCacheShim.isCached(cache, 0));
+        assertEquals(2, strike.rasterized[0]);
+        assertTrue(GlyphCacheShim.isCached(cache, extra));
+        assertEquals(1, strike.rasterized[extra]);
+        assertLevelCached(1, true);
+        assertLevelCached(2, true);
+        assertLevelCached(3, true);
+        // glyphs still cached are not rasterized again
+        render(level(1));
+        for (int gc : level(1)) {
+            assertEquals(1, strike.rasterized[gc]);
+        }
+    }
+
+    private static class TestStrike implements FontStrike {
+        final int[] rasterized = new int[64];
+
+        @Override public Glyph getGlyph(int glyphCode) {
+            return new TestGlyph(this, glyphCode);
+        }
+
+        @Override public Glyph getGlyph(char symbol) {
+            return getGlyph((int) symbol);
+        }
+
+        @Override public int getQuantizedPosition(Point2D point) {
+            return 0;
+        }
+
+        @Override public int getAAMode() {
+            return FontResource.AA_GREYSCALE;
+        }
+
+        @Override public FontResource getFontResource() { return null; }
+        @Override public float getSize() { return GLYPH_HEIGHT; }
+        @Override public BaseTransform getTransform() { return BaseTransform.IDENTITY_TRANSFORM; }
+        @Override public boolean drawAsShapes() { return false; }
+        @Override public Metrics getMetrics() { return null; }
+        @Override public void clearDesc() { }
+        @Override public float getCharAdvance(char ch) { return GLYPH_WIDTH; }
+        @Override public Shape getOutline(GlyphList gl, BaseTransform transform) { return null; }
+    }
+
+    private static class TestGlyph implements Glyph {
+        private final TestStrike strike;
+        private final int glyphCode;
+
+        TestGlyph(TestStrike strike, int glyphCode) {
+            this.strike = strike;
+            this.glyphCode = glyphCode;
+        }
+
+        @Override public byte[] getPixelData(int subPixel) {
+            strike.rasterized[glyphCode]++;
+            return new byte[GLYPH_WIDTH * GLYPH_HEIGHT];
+        }
+
+        @Override public byte[] getPixelData() { return getPixelData(0); }
+        @Override public int getGlyphCode() { return glyphCode; }
+        @Override public RectBounds getBBox() { return new RectBounds(0, 0, GLYPH_WIDTH, GLYPH_HEIGHT); }
+        @Override public float getAdvance() { return GLYPH_WIDTH; }
+        @Override public Shape getShape() { return null; }
+        @Override public float getPixelXAdvance() { return GLYPH_WIDTH; }
+        @Override public float getPixelYAdvance() { return 0; }
+        @Override public boolean isLCDGlyph() { return false; }
+        @Override public int getWidth() { return GLYPH_WIDTH; }
+        @Override public int getHeight() { return GLYPH_HEIGHT; }
+        @Override public int getOriginX() { return 0; }
+        @Override public int getOriginY() { return 0; }
+    }
+
+    private static class TestGlyphList implements GlyphList {
+        private final int[] glyphCodes;
+
+        TestGlyphList(int[] glyphCodes) {
+            this.glyphCodes = glyphCodes;
+        }
+
+        @Override public int getGlyphCount() { return glyphCodes.length; }
+        @Override public int getGlyphCode(int glyphIndex) { return glyphCodes[glyphIndex]; }
+        @Override public float getPosX(int glyphIndex) { return glyphIndex * GLYPH_WIDTH; }
+        @Override public float getPosY(int glyphIndex) { return 0; }
+        @Override public float getWidth() { return glyphCodes.length * GLYPH_WIDTH; }
+        @Override public float getHeight() { return GLYPH_HEIGHT; }
+        @Override public RectBounds getLineBounds() { return new RectBounds(0, 0, getWidth(), getHeight()); }
+        @Override public Point2D getLocation() { return new Point2D(); }
+        @Override public int getCharOffset(int glyphIndex) { return glyphIndex; }
+        @Override public boolean isComplex() { return false; }
+        @Override public TextSpan getTextSpan() { return null; }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.impl.packrect;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.prism.impl.packrect.RectanglePacker;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RectanglePackerTest {
+
+    private RectanglePacker packer;
+
+    @Before
+    public void setUp() {
+        packer = new RectanglePacker(null, 64, 64);
+    }
+
+    private Rectangle add(int w, int h) {
+        Rectangle rect = new Rectangle(0, 0, w, h);
+        assertTrue(packer.add(rect));
+        return rect;
+    }
+
+    @Test
+    public void testLevelSize() {
+        Rectangle r1 = add(10, 10);
+        Rectangle r2 = add(10, 20);
+        assertEquals(12, packer.getLevelSize(r1));
+        assertEquals(20, packer.getLevelSize(r2));
+        assertEquals(-1, packer.getLevelSize(new Rectangle(0, 63, 1, 1)));
+    }
+
+    @Test
+    public void testClearLevelAllowsReuse() {
+        // fill the packer with 4 levels of 4 rectangles each
+        Rectangle first = null;
+        for (int i = 0; i < 16; i++) {
+            Rectangle r = add(16, 16);
+            if (first == null) {
+                first = r;
+            }
+        }
+        assertFalse(packer.add(new Rectangle(0, 0, 16, 16)));
+
+        assertTrue(packer.clearLevel(first));
+        for (int i = 0; i < 4; i++) {
+            Rectangle r = add(16, 16);
+            assertEquals(first.y, r.y);
+        }
+        assertFalse(packer.add(new Rectangle(0, 0, 16, 16)));
+    }
+
+    @Test
+    public void testClearUnknownLevel() {
+        add(10, 10);
+        assertFalse(packer.clearLevel(new Rectangle(0, 40, 1, 1)));
+    }
+}
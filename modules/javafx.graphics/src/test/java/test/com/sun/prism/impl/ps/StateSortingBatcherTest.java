@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.impl.ps;
+
+import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.prism.Graphics;
+import com.sun.prism.PixelFormat;
+import com.sun.prism.RTTexture;
+import com.sun.prism.ResourceFactory;
+import com.sun.prism.Texture;
+import com.sun.prism.Texture.Usage;
+import com.sun.prism.Texture.WrapMode;
+import com.sun.prism.null3d.DummyResourceFactoryShim;
+import com.sun.prism.paint.Color;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Counts the draw calls issued by the null3d pipeline to check that state
+ * sorting merges the draws of operations which use the same shader and
+ * textures, without changing the order of overlapping operations.
+ */
+public class StateSortingBatcherTest {
+
+    private static final int CELLS = 8;
+
+    private ResourceFactory factory;
+    private Graphics g;
+    private Texture texA;
+    private Texture texB;
+
+    @Before
+    public void setUp() {
+        factory = DummyResourceFactoryShim.createResourceFactory();
+        RTTexture rtt = factory.createRTTexture(400, 200, WrapMode.CLAMP_NOT_NEEDED);
+        g = rtt.createGraphics();
+        texA = factory.createTexture(PixelFormat.INT_ARGB_PRE, Usage.DEFAULT,
+                                     WrapMode.CLAMP_TO_EDGE, 16, 16);
+        texB = factory.createTexture(PixelFormat.INT_ARGB_PRE, Usage.DEFAULT,
+                                     WrapMode.CLAMP_TO_EDGE, 16, 16);
+    }
+
+    private void render(boolean sorted, boolean overlap, Texture... textures) {
+        DummyResourceFactoryShim.setStateSortingEnabled(factory, sorted);
+        DummyResourceFactoryShim.flush(factory);
+        DummyResourceFactoryShim.resetStatistics(factory);
+        for (int i = 0; i < CELLS; i++) {
+            float x = i * 40;
+            g.setPaint((i & 1) == 0 ? Color.RED : Color.BLUE);
+            g.fillRect(x, 0, 20, 20);
+            // image border drawn below the background, or over both the
+            // background of its own cell and the one of the next cell
+            if (overlap) {
+                g.drawTexture(textures[i % textures.length], x + 10, 0, 40, 20);
+            } else {
+                g.drawTexture(textures[i % textures.length], x, 30, 20, 20);
+            }
+        }
+        DummyResourceFactoryShim.flush(factory);
+    }
+
+    @Test
+    public void testUnsortedDrawsFlushOnEveryChange() {
+        render(false, false, texA);
+        assertEquals(2 * CELLS, DummyResourceFactoryShim.getDrawCalls(factory));
+        assertEquals(2 * CELLS, DummyResourceFactoryShim.getDrawnQuads(factory));
+    }
+
+    @Test
+    public void testNonOverlappingDrawsAreMerged() {
+        render(true, false, texA);
+        assertEquals(2, DummyResourceFactoryShim.getDrawCalls(factory));
+        assertEquals(2 * CELLS, DummyResourceFactoryShim.getDrawnQuads(factory));
+        assertEquals(Arrays.asList(null, texA), DummyResourceFactoryShim.getDrawnTextures(factory));
+    }
+
+    @Test
+    public void testDrawsAreGroupedByTexture() {
+        render(true, false, texA, texB);
+        assertEquals(3, DummyResourceFactoryShim.getDrawCalls(factory));
+        assertEquals(2 * CELLS, DummyResourceFactoryShim.getDrawnQuads(factory));
+        assertEquals(Arrays.asList(null, texA, texB), DummyResourceFactoryShim.getDrawnTextures(factory));
+    }
+
+    @Test
+    public void testOverlappingDrawsKeepTheirOrder() {
+        render(true, true, texA);
+        assertEquals(2 * CELLS, DummyResourceFactoryShim.getDrawCalls(factory));
+        for (int i = 0; i < 2 * CELLS; i++) {
+            assertEquals((i & 1) == 0 ? null : texA,
+                         DummyResourceFactoryShim.getDrawnTextures(factory).get(i));
+        }
+    }
+
+    @Test
+    public void testTransformChangeFlushesDeferredDraws() {
+        DummyResourceFactoryShim.setStateSortingEnabled(factory, true);
+        DummyResourceFactoryShim.flush(factory);
+        DummyResourceFactoryShim.resetStatistics(factory);
+        g.setPaint(Color.RED);
+        g.fillRect(0, 0, 20, 20);
+        g.drawTexture(texA, 0, 30, 20, 20);
+        g.scale(2, 2);
+        g.drawTexture(texA, 40, 0, 20, 20);
+        DummyResourceFactoryShim.flush(factory);
+        assertEquals(3, DummyResourceFactoryShim.getDrawCalls(factory));
+    }
+
+    @Test
+    public void testDrawsAreNotDeferredUnderPerspectiveTransform() {
+        GeneralTransform3D perspective = new GeneralTransform3D();
+        perspective.perspective(true, Math.toRadians(30), 2, 0.1, 100);
+        g.setPerspectiveTransform(perspective);
+        render(true, false, texA);
+        assertEquals(2 * CELLS, DummyResourceFactoryShim.getDrawCalls(factory));
+
+        g.setPerspectiveTransform(null);
+        render(true, false, texA);
+        assertEquals(2, DummyResourceFactoryShim.getDrawCalls(factory));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.sw;
+
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.Graphics;
+import com.sun.prism.Image;
+import com.sun.prism.RTTexture;
+import com.sun.prism.paint.Color;
+import com.sun.prism.paint.Gradient;
+import com.sun.prism.paint.ImagePattern;
+import com.sun.prism.paint.LinearGradient;
+import com.sun.prism.paint.RadialGradient;
+import com.sun.prism.paint.Stop;
+import com.sun.prism.sw.SWTiledRendererShim;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that rendering split into tiles produces exactly the same pixels as
+ * rendering on a single renderer.
+ */
+public class SWTiledRendererTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 300;
+
+    private final Stop[] stops = {
+        new Stop(new Color(1f, 0f, 0f, 1f), 0f),
+        new Stop(new Color(0f, 0.5f, 1f, 0.75f), 0.4f),
+        new Stop(new Color(0.2f, 1f, 0.2f, 1f), 1f)
+    };
+
+    @Before
+    public void setUp() {
+        assumeTrue(SWTiledRendererShim.isSupported());
+    }
+
+    private static int[] render(int maxTiles, Consumer<Graphics> painter) {
+        final RTTexture target = SWTiledRendererShim.createRTTexture(WIDTH, HEIGHT);
+        final Graphics g = SWTiledRendererShim.createGraphics(target, maxTiles);
+        g.clear(new Color(0.9f, 0.9f, 0.85f, 1f));
+        painter.accept(g);
+        return target.getPixels().clone();
+    }
+
+    private static void assertSamePixels(Consumer<Graphics> painter) {
+        final int[] expected = render(1, painter);
+        final int[] background = render(1, g -> { });
+        assertFalse("nothing was rendered", Arrays.equals(expected, background));
+        for (int tiles = 2; tiles <= 5; tiles++) {
+            final int[] actual = render(tiles, painter);
+            for (int i = 0; i < expected.length; i++) {
+                if (expected[i] != actual[i]) {
+                    fail("pixel (" + (i % WIDTH) + ", " + (i / WIDTH) + ") with " + tiles + " tiles: expected "
+                            + Integer.toHexString(expected[i]) + " but was " + Integer.toHexString(actual[i]));
+                }
+            }
+        }
+    }
+
+    private static Image createImage() {
+        final int[] pixels = new int[16 * 16];
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 16; x++) {
+                pixels[y * 16 + x] = ((x ^ y) & 4) == 0 ? 0xff2040c0 : 0x80800000;
+            }
+        }
+        return Image.fromIntArgbPreData(pixels, 16, 16);
+    }
+
+    @Test
+    public void testColorFills() {
+        assertSamePixels(g -> {
+            g.setPaint(new Color(0.1f, 0.3f, 0.8f, 1f));
+            g.fillRect(10.5f, 7.25f, 350.5f, 270.75f);
+            g.setPaint(new Color(1f, 0.5f, 0f, 0.6f));
+            g.fill(new Ellipse2D(40.3f, 20.7f, 300f, 250f));
+            g.setExtraAlpha(0.5f);
+            g.setPaint(new Color(0f, 0f, 0f, 1f));
+            g.fill(new RoundRectangle2D(100f, 50f, 200f, 220f, 30f, 30f));
+        });
+    }
+
+    @Test
+    public void testGradientFills() {
+        assertSamePixels(g -> {
+            g.setPaint(new LinearGradient(0f, 0f, 1f, 1f, null, true, Gradient.REFLECT, Arrays.asList(stops)));
+            g.fillRect(0f, 0f, 390f, 290f);
+            g.setPaint(new RadialGradient(200f, 150f, 30f, 0.5f, 120f, null, false, Gradient.REPEAT, Arrays.asList(stops)));
+            g.fill(new Ellipse2D(20f, 10f, 360f, 280f));
+            g.setExtraAlpha(0.4f);
+            g.setPaint(new LinearGradient(0f, 0f, 0f, 300f, null, false, Gradient.PAD, Arrays.asList(stops)));
+            g.fill(new RoundRectangle2D(50f, 30f, 300f, 240f, 40f, 20f));
+        });
+    }
+
+    @Test
+    public void testImagePatternFills() {
+        final Image image = createImage();
+        assertSamePixels(g -> {
+            g.setPaint(new ImagePattern(image, 3f, 5f, 40f, 24f, false, false));
+            g.fillRect(5f, 5f, 380f, 280f);
+            g.setExtraAlpha(0.7f);
+            g.setPaint(new ImagePattern(image, 0f, 0f, 0.25f, 0.25f, true, false));
+            g.fill(new Ellipse2D(30f, 20f, 330f, 260f));
+        });
+    }
+
+    @Test
+    public void testStrokesAndClip() {
+        assertSamePixels(g -> {
+            final Path2D path = new Path2D();
+            path.moveTo(10f, 290f);
+            for (int i = 1; i <= 20; i++) {
+                path.lineTo(i * 19f, (i % 2 == 0) ? 290f - i * 12f : 10f + i * 7f);
+            }
+            path.quadTo(380f, 10f, 200f, 150f);
+            g.setPaint(new LinearGradient(0f, 0f, 400f, 300f, null, false, Gradient.PAD, Arrays.asList(stops)));
+            g.setStroke(new BasicStroke(7.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10f));
+            g.draw(path);
+            g.setClipRect(new Rectangle(50, 45, 280, 190));
+            g.setPaint(new Color(0.3f, 0.1f, 0.5f, 0.8f));
+            g.setStroke(new BasicStroke(3f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 4f, new float[] {12f, 5f}, 0f));
+            g.draw(new Ellipse2D(15f, 5f, 370f, 290f));
+            g.fillRect(0f, 0f, 400f, 300f);
+        });
+    }
+
+    @Test
+    public void testTextures() {
+        final RTTexture texture = SWTiledRendererShim.createRTTexture(64, 64);
+        final Graphics tg = texture.createGraphics();
+        tg.clear(new Color(0f, 0f, 0f, 0f));
+        tg.setPaint(new RadialGradient(32f, 32f, 0f, 0f, 32f, null, false, Gradient.PAD, Arrays.asList(stops)));
+        tg.fill(new Ellipse2D(0f, 0f, 64f, 64f));
+        assertSamePixels(g -> {
+            g.drawTexture(texture, 10.5f, 10.5f, 370f, 270f);
+            g.setExtraAlpha(0.5f);
+            g.drawTexture(texture, 100f, 40f, 300f, 260f, 8f, 8f, 56f, 56f);
+        });
+    }
+}
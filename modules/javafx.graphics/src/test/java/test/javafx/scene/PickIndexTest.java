@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.ParentShim;
+import javafx.scene.Scene;
+import javafx.scene.SceneShim;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Rotate;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests picking in parents with enough children to be picked through a
+ * spatial index, which must give the same results as visiting all children.
+ */
+public class PickIndexTest {
+
+    private static final int COLS = 40;
+    private static final int ROWS = 25;
+    private static final int SIZE = 10;
+
+    private Rectangle[] rects;
+    private Group root;
+    private Scene scene;
+
+    @Before
+    public void setUp() {
+        // A grid of 10x10 cells with 8x8 rectangles, 2 pixel gaps between them
+        rects = new Rectangle[COLS * ROWS];
+        root = new Group();
+        for (int i = 0; i < rects.length; i++) {
+            rects[i] = new Rectangle((i % COLS) * SIZE, (i / COLS) * SIZE, SIZE - 2, SIZE - 2);
+            root.getChildren().add(rects[i]);
+        }
+        scene = new Scene(root, COLS * SIZE, ROWS * SIZE);
+    }
+
+    private Node pick(double x, double y) {
+        return SceneShim.test_pick(scene, x, y);
+    }
+
+    @Test
+    public void testPickEveryChild() {
+        for (int i = 0; i < rects.length; i++) {
+            assertSame(rects[i], pick((i % COLS) * SIZE + 4, (i / COLS) * SIZE + 4));
+        }
+    }
+
+    @Test
+    public void testPickGaps() {
+        assertNull(pick(9, 9));
+        assertNull(pick(COLS * SIZE - 1, 5));
+        assertNull(pick(-100, -100));
+        assertNull(pick(10000, 10000));
+    }
+
+    @Test
+    public void testPickTopmostOfOverlappingChildren() {
+        final Rectangle big = new Rectangle(0, 0, 100, 100);
+        root.getChildren().add(big);
+        assertSame(big, pick(5, 5));
+        big.toBack();
+        assertSame(rects[0], pick(5, 5));
+        assertSame(big, pick(9, 9));
+    }
+
+    @Test
+    public void testPickMovedChild() {
+        assertSame(rects[0], pick(5, 5));
+        rects[0].setX(1000);
+        assertNull(pick(5, 5));
+        assertSame(rects[0], pick(1005, 5));
+        rects[0].setTranslateY(50);
+        assertNull(pick(1005, 5));
+        assertSame(rects[0], pick(1005, 55));
+    }
+
+    @Test
+    public void testPickChildMovedWhileInvisible() {
+        assertSame(rects[0], pick(5, 5));
+        rects[0].setVisible(false);
+        assertNull(pick(5, 5));
+        rects[0].setX(1000);
+        rects[0].setVisible(true);
+        assertNull(pick(5, 5));
+        assertSame(rects[0], pick(1005, 5));
+    }
+
+    @Test
+    public void testPickAfterManyChildrenMoved() {
+        for (Rectangle r : rects) {
+            r.setTranslateX(5);
+        }
+        assertNull(pick(2, 2));
+        assertSame(rects[0], pick(7, 2));
+    }
+
+    @Test
+    public void testPickRemovedAndAddedChildren() {
+        assertSame(rects[1], pick(15, 5));
+        root.getChildren().remove(rects[1]);
+        assertNull(pick(15, 5));
+        final Circle circle = new Circle(15, 5, 3);
+        root.getChildren().add(0, circle);
+        assertSame(circle, pick(15, 5));
+        assertSame(rects[0], pick(5, 5));
+    }
+
+    @Test
+    public void testIndexIsDiscardedWhenChildrenChange() {
+        assertSame(rects[0], pick(5, 5));
+        // the index must not keep removed children alive, even if the parent
+        // has too few children left to ever build it again
+        root.getChildren().remove(1, rects.length);
+        assertFalse(ParentShim.test_hasPickIndex(root));
+        assertSame(rects[0], pick(5, 5));
+        assertNull(pick(15, 5));
+    }
+
+    @Test
+    public void testPickInvisibleChild() {
+        rects[0].setVisible(false);
+        assertNull(pick(5, 5));
+        rects[0].setVisible(true);
+        assertSame(rects[0], pick(5, 5));
+    }
+
+    @Test
+    public void testPickWithViewOrder() {
+        final Rectangle big = new Rectangle(0, 0, 100, 100);
+        root.getChildren().add(big);
+        assertSame(big, pick(5, 5));
+        big.setViewOrder(1);
+        assertSame(rects[0], pick(5, 5));
+        rects[0].setViewOrder(2);
+        assertSame(big, pick(5, 5));
+    }
+
+    @Test
+    public void testPickTransformedParent() {
+        // Rays which are not parallel to the z axis in the parent visit all children
+        root.getTransforms().add(new Rotate(30, 200, 125, 0, Rotate.Y_AXIS));
+        final Rectangle r = rects[12 * COLS + 20];
+        final javafx.geometry.Point2D p = r.localToScene(r.getX() + 4, r.getY() + 4);
+        assertSame(r, pick(p.getX(), p.getY()));
+    }
+}
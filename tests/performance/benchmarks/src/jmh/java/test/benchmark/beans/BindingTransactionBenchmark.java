@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.benchmark.beans;
+
+import java.util.concurrent.TimeUnit;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ObservableDoubleValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures updating all inputs of a layered graph of bindings in which every
+ * binding depends on two neighbours in the layer above, so that the paths
+ * from the inputs form many diamonds. Every binding of the last layer has a
+ * change listener. Compares updating the inputs one by one with updating
+ * them in a binding transaction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BindingTransactionBenchmark {
+
+    private static final int WIDTH = 64;
+
+    @Param({"2", "8"})
+    public int layers;
+
+    private DoubleProperty[] inputs;
+    private double offset;
+    private double sum;
+
+    private static final class Average extends DoubleBinding {
+        private final ObservableDoubleValue left;
+        private final ObservableDoubleValue right;
+
+        Average(ObservableDoubleValue left, ObservableDoubleValue right) {
+            this.left = left;
+            this.right = right;
+            bind(left, right);
+        }
+
+        @Override
+        protected double computeValue() {
+            return 0.5 * (left.get() + right.get());
+        }
+    }
+
+    @Setup
+    public void setup() {
+        inputs = new DoubleProperty[WIDTH];
+        for (int i = 0; i < WIDTH; i++) {
+            inputs[i] = new SimpleDoubleProperty(i);
+        }
+        ObservableDoubleValue[] layer = inputs;
+        for (int l = 0; l < layers; l++) {
+            final ObservableDoubleValue[] next = new ObservableDoubleValue[WIDTH];
+            for (int i = 0; i < WIDTH; i++) {
+                next[i] = new Average(layer[i], layer[(i + 1) % WIDTH]);
+            }
+            layer = next;
+        }
+        for (ObservableDoubleValue output : layer) {
+            // the change listeners validate the outputs after every change
+            output.addListener((o, oldValue, newValue) -> sum += newValue.doubleValue());
+        }
+    }
+
+    private void updateInputs() {
+        offset++;
+        for (int i = 0; i < WIDTH; i++) {
+            inputs[i].set(i + offset);
+        }
+    }
+
+    @Benchmark
+    public double updateOneByOne() {
+        updateInputs();
+        return sum;
+    }
+
+    @Benchmark
+    public double updateInTransaction() {
+        Bindings.transaction(this::updateInputs);
+        return sum;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.benchmark.beans;
+
+import java.util.concurrent.TimeUnit;
+import javafx.beans.binding.NumberExpression;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures setting a property, including the notification of its listeners
+ * and the invalidation of the bindings depending on it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyBenchmark {
+
+    @State(Scope.Thread)
+    public static class Listeners {
+        @Param({"1", "4", "32"})
+        public int count;
+
+        IntegerProperty invalidated;
+        IntegerProperty changed;
+        int sum;
+
+        @Setup
+        public void setup() {
+            invalidated = new SimpleIntegerProperty();
+            changed = new SimpleIntegerProperty();
+            for (int i = 0; i < count; i++) {
+                // every listener captures its own id, so that they are distinct
+                final int id = i;
+                invalidated.addListener(o -> sum += id);
+                changed.addListener((o, oldValue, newValue) -> sum += id + newValue.intValue());
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Chain {
+        @Param({"1", "10"})
+        public int length;
+
+        IntegerProperty root;
+        NumberExpression leaf;
+
+        @Setup
+        public void setup() {
+            root = new SimpleIntegerProperty();
+            NumberExpression expression = root;
+            for (int i = 0; i < length; i++) {
+                expression = expression.add(1);
+            }
+            leaf = expression;
+        }
+    }
+
+    @Benchmark
+    public int setWithInvalidationListeners(Listeners state) {
+        // getting the value validates the property, so that set notifies again
+        state.invalidated.set(state.invalidated.get() + 1);
+        return state.sum;
+    }
+
+    @Benchmark
+    public int setWithChangeListeners(Listeners state) {
+        state.changed.set(state.changed.get() + 1);
+        return state.sum;
+    }
+
+    @Benchmark
+    public int setAndGetBindingChain(Chain state) {
+        state.root.set(state.root.get() + 1);
+        return state.leaf.intValue();
+    }
+}
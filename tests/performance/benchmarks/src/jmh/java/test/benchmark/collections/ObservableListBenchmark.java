@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.benchmark.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures edits of an observable array list, including building the change
+ * and delivering it to a listener which walks it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObservableListBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ObservableList<Integer> list;
+    private Integer[] content;
+    private int index;
+    private int changes;
+    private boolean descending;
+
+    @Setup
+    public void setup() {
+        content = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = i;
+        }
+        list = FXCollections.observableArrayList(Arrays.asList(content));
+        list.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                changes += c.getFrom() + c.getAddedSize() + c.getRemovedSize();
+            }
+        });
+    }
+
+    @Benchmark
+    public int addAndRemoveLast() {
+        list.add(index);
+        list.remove(list.size() - 1);
+        return changes;
+    }
+
+    @Benchmark
+    public int addAndRemoveFirst() {
+        list.add(0, index);
+        list.remove(0);
+        return changes;
+    }
+
+    @Benchmark
+    public int set() {
+        index = (index + 1) % size;
+        list.set(index, content[size - 1 - index]);
+        return changes;
+    }
+
+    @Benchmark
+    public int setAll() {
+        list.setAll(content);
+        return changes;
+    }
+
+    @Benchmark
+    public int sort() {
+        // alternates the order, so that every call has to permute the list
+        descending = !descending;
+        FXCollections.sort(list, descending ? Comparator.reverseOrder() : Comparator.naturalOrder());
+        return changes;
+    }
+}
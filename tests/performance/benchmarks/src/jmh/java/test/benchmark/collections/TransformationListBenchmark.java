@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.benchmark.collections;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how a {@link FilteredList} and a {@link SortedList} follow the
+ * edits of their source list. Each list has its own source, so that the
+ * measurements don't include the other one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformationListBenchmark {
+
+    private static final Predicate<Integer> EVEN = i -> (i & 1) == 0;
+    private static final Predicate<Integer> MULTIPLE_OF_3 = i -> i % 3 == 0;
+
+    @State(Scope.Thread)
+    public static class Source {
+        @Param({"1000", "100000"})
+        public int size;
+
+        ObservableList<Integer> source;
+        int index;
+        int next;
+        int changes;
+
+        void init() {
+            source = FXCollections.observableArrayList();
+            for (int i = 0; i < size; i++) {
+                // scattered values, so that sorting moves the elements around
+                source.add((int) ((i * 2654435761L) % size));
+            }
+        }
+
+        <E> void observe(ObservableList<E> list) {
+            list.addListener((ListChangeListener<E>) c -> {
+                while (c.next()) {
+                    changes += c.getFrom() + c.getAddedSize() + c.getRemovedSize();
+                }
+            });
+        }
+
+        int nextIndex() {
+            index = (index + 7919) % size;
+            return index;
+        }
+    }
+
+    public static class Filtered extends Source {
+        FilteredList<Integer> list;
+
+        @Setup
+        public void setup() {
+            init();
+            list = new FilteredList<>(source, EVEN);
+            observe(list);
+        }
+    }
+
+    public static class Sorted extends Source {
+        SortedList<Integer> list;
+
+        @Setup
+        public void setup() {
+            init();
+            list = new SortedList<>(source, Integer::compare);
+            observe(list);
+        }
+    }
+
+    @Benchmark
+    public int filteredSet(Filtered state) {
+        // flips the element in and out of the filtered list
+        final int i = state.nextIndex();
+        state.source.set(i, state.source.get(i) + 1);
+        return state.changes;
+    }
+
+    @Benchmark
+    public int filteredAddAndRemove(Filtered state) {
+        final int i = state.nextIndex();
+        state.source.add(i, state.next++ * 2);
+        state.source.remove(i);
+        return state.changes;
+    }
+
+    @Benchmark
+    public int filteredPredicateChange(Filtered state) {
+        state.list.setPredicate(state.list.getPredicate() == EVEN ? MULTIPLE_OF_3 : EVEN);
+        return state.changes;
+    }
+
+    @Benchmark
+    public int sortedSet(Sorted state) {
+        final int i = state.nextIndex();
+        state.source.set(i, state.next++ % state.size);
+        return state.changes;
+    }
+
+    @Benchmark
+    public int sortedAddAndRemove(Sorted state) {
+        final int i = state.nextIndex();
+        state.source.add(i, state.next++ % state.size);
+        state.source.remove(i);
+        return state.changes;
+    }
+}
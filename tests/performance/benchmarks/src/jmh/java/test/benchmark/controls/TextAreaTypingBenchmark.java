@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.benchmark.controls;
+
+import java.util.concurrent.TimeUnit;
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.TextArea;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import test.benchmark.FxThread;
+
+/**
+ * Measures typing into the middle of a large TextArea document: inserting
+ * a character or a line break and deleting it again with backspace, with a
+ * listener on the paragraphs and on the length, like a skin has. The text
+ * area is not in a scene, so it can be edited on the benchmark thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class TextAreaTypingBenchmark {
+
+    private static final String LINE = "The quick brown fox jumps over the lazy dog, again and again.";
+
+    /* document size in characters */
+    @Param({"100000", "10000000"})
+    public int documentSize;
+
+    private TextArea textArea;
+    private int caret;
+    private int changes;
+
+    @Setup
+    public void setup() {
+        FxThread.start();
+        final StringBuilder text = new StringBuilder(documentSize + LINE.length());
+        while (text.length() < documentSize) {
+            text.append(LINE).append('\n');
+        }
+        textArea = new TextArea(text.toString());
+        textArea.getParagraphs().addListener((ListChangeListener<CharSequence>) c -> {
+            while (c.next()) {
+                changes += c.getFrom();
+            }
+        });
+        textArea.lengthProperty().addListener((o, oldLength, newLength) -> changes++);
+        caret = documentSize / 2;
+    }
+
+    @Benchmark
+    public int typeCharacter() {
+        textArea.selectRange(caret, caret);
+        textArea.replaceSelection("x");
+        textArea.deletePreviousChar();
+        return changes;
+    }
+
+    @Benchmark
+    public int typeLineBreak() {
+        textArea.selectRange(caret, caret);
+        textArea.replaceSelection("\n");
+        textArea.deletePreviousChar();
+        return changes;
+    }
+
+    @Benchmark
+    public int typeCharacterAndReadText() {
+        textArea.selectRange(caret, caret);
+        textArea.replaceSelection("x");
+        textArea.deletePreviousChar();
+        // the whole text is only created when it is asked for
+        return changes + textArea.getText().length();
+    }
+}
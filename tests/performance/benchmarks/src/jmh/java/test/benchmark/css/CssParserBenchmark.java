@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.benchmark.css;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableSet;
+import javafx.css.CssMetaData;
+import javafx.css.CssParser;
+import javafx.css.PseudoClass;
+import javafx.css.Styleable;
+import javafx.css.Stylesheet;
+import javafx.scene.control.Control;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing modena.css, the largest stylesheet shipped, and a typical
+ * inline style.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CssParserBenchmark {
+
+    private static final String MODENA = "/com/sun/javafx/scene/control/skin/modena/modena.css";
+
+    private static final String INLINE_STYLE =
+            "-fx-background-color: linear-gradient(to bottom, #f0f0f0, #d0d0d0), white; "
+            + "-fx-background-insets: 0, 1; -fx-background-radius: 3, 2; "
+            + "-fx-padding: 0.333333em 0.666667em; -fx-text-fill: -fx-text-base-color; "
+            + "-fx-font: bold 12px \"Helvetica\"; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.4), 5, 0, 0, 1);";
+
+    private String modena;
+    private Styleable styled;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = Control.class.getResourceAsStream(MODENA)) {
+            if (in == null) {
+                throw new IOException("Cannot read " + MODENA);
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            modena = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+        styled = new InlineStyled(INLINE_STYLE);
+    }
+
+    @Benchmark
+    public Stylesheet parseModena() {
+        return new CssParser().parse(modena);
+    }
+
+    @Benchmark
+    public Stylesheet parseInlineStyle() {
+        return new CssParser().parseInlineStyle(styled);
+    }
+
+    /**
+     * The parser reads only the style of the styleable.
+     */
+    private static final class InlineStyled implements Styleable {
+        private final String style;
+
+        InlineStyled(String style) {
+            this.style = style;
+        }
+
+        @Override public String getTypeSelector() {
+            return "InlineStyled";
+        }
+
+        @Override public String getId() {
+            return null;
+        }
+
+        @Override public ObservableList<String> getStyleClass() {
+            return FXCollections.emptyObservableList();
+        }
+
+        @Override public String getStyle() {
+            return style;
+        }
+
+        @Override public List<CssMetaData<? extends Styleable, ?>> getCssMetaData() {
+            return Collections.emptyList();
+        }
+
+        @Override public Styleable getStyleableParent() {
+            return null;
+        }
+
+        @Override public ObservableSet<PseudoClass> getPseudoClassStates() {
+            return FXCollections.emptyObservableSet();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.benchmark.css;
+
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TitledPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import test.benchmark.FxThread;
+
+/**
+ * Measures selector matching over modena.css: changing a style class of the
+ * root of a deep tree of controls makes every node match its candidate
+ * selectors again when css is applied. Runs on the JavaFX Application
+ * Thread, since the controls are in a scene.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SelectorMatchingBenchmark {
+
+    @Param({"4", "12"})
+    public int depth;
+
+    private VBox root;
+
+    @Setup
+    public void setup() {
+        FxThread.start();
+        FxThread.run(() -> {
+            root = new VBox();
+            Parent content = createControls(0);
+            for (int i = 0; i < depth; i++) {
+                final TitledPane pane = new TitledPane("Level " + i, new VBox(content, createControls(i)));
+                content = (i % 3 == 0) ? new ScrollPane(pane) : pane;
+            }
+            root.getChildren().add(content);
+            new Scene(root, 800, 600);
+            root.applyCss();
+            root.layout();
+        });
+    }
+
+    private static Parent createControls(int i) {
+        final HBox box = new HBox(
+                new Label("Label " + i),
+                new Button("Button " + i),
+                new CheckBox("Check " + i),
+                new TextField("Text " + i));
+        box.getStyleClass().add("bench-row");
+        return box;
+    }
+
+    @Benchmark
+    public void restyle() {
+        FxThread.run(() -> {
+            if (!root.getStyleClass().remove("bench")) {
+                root.getStyleClass().add("bench");
+            }
+            root.applyCss();
+        });
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.benchmark.image;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import com.sun.javafx.image.PixelConverter;
+import com.sun.javafx.image.PixelGetter;
+import com.sun.javafx.image.PixelSetter;
+import com.sun.javafx.image.PixelUtils;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritablePixelFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures converting a 1024x1024 image between the pixel formats used when
+ * images are loaded, uploaded into textures and read back with a
+ * {@code PixelReader}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PixelConverterBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({
+        "ByteBgra:IntArgbPre",
+        "ByteBgraPre:IntArgbPre",
+        "ByteRgb:ByteBgraPre",
+        "IntArgb:IntArgbPre",
+        "IntArgbPre:ByteBgra",
+    })
+    public String conversion;
+
+    private PixelConverter<Buffer, Buffer> converter;
+    private Buffer src;
+    private Buffer dst;
+    private int srcScan;
+    private int dstScan;
+
+    @Setup
+    public void setup() {
+        final String[] formats = conversion.split(":");
+        final PixelFormat<?> srcFormat = format(formats[0]);
+        final PixelFormat<?> dstFormat = format(formats[1]);
+        final PixelGetter<?> getter = PixelUtils.getGetter(srcFormat);
+        final PixelSetter<?> setter = PixelUtils.getSetter((WritablePixelFormat<?>) dstFormat);
+        converter = (PixelConverter<Buffer, Buffer>) PixelUtils.getConverter(getter, setter);
+        srcScan = SIZE * getter.getNumElements();
+        dstScan = SIZE * setter.getNumElements();
+        src = buffer(srcFormat, srcScan * SIZE);
+        dst = buffer(dstFormat, dstScan * SIZE);
+
+        // random opaque and translucent pixels, premultiplied where needed
+        final Random random = new Random(0);
+        if (src instanceof ByteBuffer) {
+            final byte[] data = ((ByteBuffer) src).array();
+            random.nextBytes(data);
+        } else {
+            final int[] data = ((IntBuffer) src).array();
+            for (int i = 0; i < data.length; i++) {
+                data[i] = random.nextInt();
+            }
+        }
+        if (srcFormat.isPremultiplied()) {
+            // makes the source valid by converting it from its non premultiplied form
+            final PixelFormat<?> nonPre = formats[0].startsWith("Byte")
+                    ? PixelFormat.getByteBgraInstance() : PixelFormat.getIntArgbInstance();
+            final PixelConverter<Buffer, Buffer> premultiply = (PixelConverter<Buffer, Buffer>)
+                    PixelUtils.getConverter(PixelUtils.getGetter(nonPre), PixelUtils.getSetter((WritablePixelFormat<?>) srcFormat));
+            premultiply.convert(src, 0, srcScan, src, 0, srcScan, SIZE, SIZE);
+        }
+    }
+
+    private static PixelFormat<?> format(String name) {
+        switch (name) {
+            case "ByteBgra": return PixelFormat.getByteBgraInstance();
+            case "ByteBgraPre": return PixelFormat.getByteBgraPreInstance();
+            case "ByteRgb": return PixelFormat.getByteRgbInstance();
+            case "IntArgb": return PixelFormat.getIntArgbInstance();
+            case "IntArgbPre": return PixelFormat.getIntArgbPreInstance();
+            default: throw new IllegalArgumentException(name);
+        }
+    }
+
+    private static Buffer buffer(PixelFormat<?> format, int elements) {
+        return format.getType().name().startsWith("BYTE")
+                ? ByteBuffer.wrap(new byte[elements])
+                : IntBuffer.wrap(new int[elements]);
+    }
+
+    @Benchmark
+    public Buffer convert() {
+        converter.convert(src, 0, srcScan, dst, 0, dstScan, SIZE, SIZE);
+        return dst;
+    }
+}
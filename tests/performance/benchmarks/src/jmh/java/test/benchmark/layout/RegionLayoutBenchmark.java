@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.benchmark.layout;
+
+import java.util.concurrent.TimeUnit;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import test.benchmark.FxThread;
+
+/**
+ * Measures the layout of a grid of regions built from a VBox of HBoxes,
+ * after one leaf changes its preferred width and after the whole grid is
+ * resized. The regions are not in a scene, so they can be laid out on the
+ * benchmark thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RegionLayoutBenchmark {
+
+    @Param({"10", "50"})
+    public int rows;
+
+    @Param({"10"})
+    public int columns;
+
+    private VBox root;
+    private Region leaf;
+    private boolean toggle;
+
+    @Setup
+    public void setup() {
+        FxThread.start();
+        root = new VBox(2);
+        for (int r = 0; r < rows; r++) {
+            final HBox row = new HBox(2);
+            for (int c = 0; c < columns; c++) {
+                final Region cell = new Region();
+                cell.setPrefSize(20 + c, 10 + r % 5);
+                cell.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+                row.getChildren().add(cell);
+            }
+            root.getChildren().add(row);
+        }
+        final HBox middle = (HBox) root.getChildren().get(rows / 2);
+        leaf = (Region) middle.getChildren().get(columns / 2);
+        root.resize(1000, 1000);
+        root.layout();
+    }
+
+    @Benchmark
+    public double relayoutAfterLeafChange() {
+        toggle = !toggle;
+        leaf.setPrefWidth(toggle ? 40 : 30);
+        root.layout();
+        return leaf.getWidth();
+    }
+
+    @Benchmark
+    public double relayoutAfterResize() {
+        toggle = !toggle;
+        root.resize(toggle ? 1200 : 1000, 1000);
+        root.layout();
+        return leaf.getLayoutX();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.benchmark.marlin;
+
+import java.util.concurrent.TimeUnit;
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.shape.MaskData;
+import com.sun.prism.impl.shape.ShapeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rasterization of standard shapes into coverage masks by the
+ * Marlin renderer selected in {@code PrismSettings}, as done for every shape
+ * drawn by the SW and ES2 pipelines that misses the shape cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RasterizationBenchmark {
+
+    private static final RectBounds CLIP = new RectBounds(0, 0, 1024, 1024);
+
+    @Param({"ellipse", "roundRectangle", "curves"})
+    public String shape;
+
+    @Param({"64", "512"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean antialiased;
+
+    private Shape geometry;
+    private BasicStroke stroke;
+
+    @Setup
+    public void setup() {
+        final float s = size;
+        switch (shape) {
+            case "ellipse":
+                geometry = new Ellipse2D(10, 10, s, s * 0.75f);
+                break;
+            case "roundRectangle":
+                geometry = new RoundRectangle2D(10, 10, s, s * 0.75f, s / 8, s / 8);
+                break;
+            case "curves":
+                final Path2D path = new Path2D();
+                path.moveTo(10, 10 + s / 2);
+                path.curveTo(10 + s / 4, 10 - s / 4, 10 + s / 2, 10 + s, 10 + s, 10 + s / 2);
+                path.curveTo(10 + s / 2, 10 + s / 4, 10 + s / 3, 10 + s, 10, 10 + s / 2);
+                path.closePath();
+                geometry = path;
+                break;
+            default:
+                throw new IllegalArgumentException(shape);
+        }
+        stroke = new BasicStroke(3, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10);
+    }
+
+    @Benchmark
+    public MaskData fill() {
+        return ShapeUtil.rasterizeShape(geometry, null, CLIP, BaseTransform.IDENTITY_TRANSFORM, true, antialiased);
+    }
+
+    @Benchmark
+    public MaskData stroke() {
+        return ShapeUtil.rasterizeShape(geometry, stroke, CLIP, BaseTransform.IDENTITY_TRANSFORM, true, antialiased);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.benchmark.text;
+
+import java.util.concurrent.TimeUnit;
+import com.sun.javafx.font.CharToGlyphMapper;
+import com.sun.javafx.font.CompositeFontResource;
+import com.sun.javafx.font.CompositeGlyphMapper;
+import com.sun.javafx.font.FontResource;
+import com.sun.javafx.font.PrismFontFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures mapping text to the glyphs of the "System" logical font, which
+ * looks the characters up in the primary font and its fallback fonts, once
+ * the characters are cached and for a new mapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GlyphMapperBenchmark {
+
+    private static final String LATIN =
+            "The quick brown fox jumps over the lazy dog, naïve café à la crème. ";
+    private static final String CYRILLIC =
+            "Съешь же ещё этих мягких французских булок, да выпей чаю. ";
+    private static final String CJK =
+            "日本語の文章を表示する。中文字符和汉字的显示。한국어 텍스트 표시. ";
+    private static final String EMOJI =
+            "Done ✅ 😀 👍 🎉 🚀 ok. ";
+
+    @Param({"latin", "cyrillic", "cjk", "mixed"})
+    public String script;
+
+    private CompositeFontResource font;
+    private CharToGlyphMapper mapper;
+    private char[] chars;
+    private int[] glyphs;
+
+    @Setup
+    public void setup() {
+        final FontResource resource = PrismFontFactory.getFontFactory()
+                .createFont("System Regular", 12f).getFontResource();
+        font = (CompositeFontResource) resource;
+        mapper = font.getGlyphMapper();
+
+        final String sample;
+        switch (script) {
+            case "latin": sample = LATIN; break;
+            case "cyrillic": sample = CYRILLIC; break;
+            case "cjk": sample = CJK; break;
+            case "mixed": sample = LATIN + CYRILLIC + CJK + EMOJI; break;
+            default: throw new IllegalArgumentException(script);
+        }
+        final StringBuilder text = new StringBuilder();
+        while (text.length() < 4096) {
+            text.append(sample);
+        }
+        chars = text.toString().toCharArray();
+        glyphs = new int[chars.length];
+
+        // maps the text once so that every slot font is loaded
+        mapper.charsToGlyphs(0, chars.length, chars, glyphs, 0);
+    }
+
+    @Benchmark
+    public int[] charsToGlyphs() {
+        mapper.charsToGlyphs(0, chars.length, chars, glyphs, 0);
+        return glyphs;
+    }
+
+    @Benchmark
+    public int[] charsToGlyphsNewMapper() {
+        final CharToGlyphMapper newMapper = new CompositeGlyphMapper(font);
+        newMapper.charsToGlyphs(0, chars.length, chars, glyphs, 0);
+        return glyphs;
+    }
+}